@@ -1,14 +1,21 @@
 package com.foodopia.apiGateway;
 
+import com.foodopia.apiGateway.filters.ResponseCacheGatewayFilterFactory;
+import com.foodopia.apiGateway.loadbalancer.LeastInFlightLoadBalancerConfiguration;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpMethod;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 @SpringBootApplication
+@LoadBalancerClients(defaultConfiguration = LeastInFlightLoadBalancerConfiguration.class)
 public class ApiGatewayApplication {
 
 	public static void main(String[] args) {
@@ -16,7 +23,11 @@ public class ApiGatewayApplication {
 	}
 
 	@Bean
-	public RouteLocator foodopiaRouteLocator(RouteLocatorBuilder builder) {
+	public RouteLocator foodopiaRouteLocator(RouteLocatorBuilder builder,
+											 ResponseCacheGatewayFilterFactory responseCache,
+											 @Value("${foodopia.gateway.cache.ttl.dishes:5m}") Duration dishesTtl,
+											 @Value("${foodopia.gateway.cache.ttl.meal-templates:10m}") Duration mealTemplatesTtl,
+											 @Value("${foodopia.gateway.cache.ttl.meal-plan-types:30m}") Duration mealPlanTypesTtl) {
 		return builder.routes()
 				// Authentication Service Routes
 				.route(p -> p
@@ -25,6 +36,26 @@ public class ApiGatewayApplication {
 								.addResponseHeader("X-Response-Time", LocalDateTime.now().toString()))
 						.uri("lb://authentication-service"))
 
+				// Meal Service Catalog Routes - GETs served from the gateway response cache
+				.route("catalog-dishes", p -> p
+						.method(HttpMethod.GET).and().path("/foodopia/api/dishes/**")
+						.filters(f -> f.rewritePath("/foodopia/api/(?<segment>.*)", "/api/${segment}")
+								.addResponseHeader("X-Response-Time", LocalDateTime.now().toString())
+								.filter(responseCache.apply(c -> c.setTtl(dishesTtl))))
+						.uri("lb://meal-service"))
+				.route("catalog-meal-templates", p -> p
+						.method(HttpMethod.GET).and().path("/foodopia/api/meal-templates/**")
+						.filters(f -> f.rewritePath("/foodopia/api/(?<segment>.*)", "/api/${segment}")
+								.addResponseHeader("X-Response-Time", LocalDateTime.now().toString())
+								.filter(responseCache.apply(c -> c.setTtl(mealTemplatesTtl))))
+						.uri("lb://meal-service"))
+				.route("catalog-meal-plan-types", p -> p
+						.method(HttpMethod.GET).and().path("/foodopia/api/meal-plan-types/**")
+						.filters(f -> f.rewritePath("/foodopia/api/(?<segment>.*)", "/api/${segment}")
+								.addResponseHeader("X-Response-Time", LocalDateTime.now().toString())
+								.filter(responseCache.apply(c -> c.setTtl(mealPlanTypesTtl))))
+						.uri("lb://meal-service"))
+
 				// Meal Service Routes
 				.route(p -> p
 						.path("/foodopia/api/meals/**", "/foodopia/api/dishes/**")
@@ -32,6 +63,20 @@ public class ApiGatewayApplication {
 								.addResponseHeader("X-Response-Time", LocalDateTime.now().toString()))
 						.uri("lb://meal-service"))
 
+				// Customer Service Routes
+				.route(p -> p
+						.path("/foodopia/api/profiles/**", "/foodopia/api/subscriptions/**")
+						.filters(f -> f.rewritePath("/foodopia/api/(?<segment>.*)", "/api/${segment}")
+								.addResponseHeader("X-Response-Time", LocalDateTime.now().toString()))
+						.uri("lb://customer-service"))
+
+				// Scheduling Service Routes
+				.route(p -> p
+						.path("/foodopia/api/delivery-plans/**", "/foodopia/api/schedule-jobs/**", "/foodopia/api/slots/**")
+						.filters(f -> f.rewritePath("/foodopia/api/(?<segment>.*)", "/api/${segment}")
+								.addResponseHeader("X-Response-Time", LocalDateTime.now().toString()))
+						.uri("lb://scheduling-service"))
+
 				// Notification Service Routes
 				.route(p -> p
 						.path("/foodopia/api/notifications/**")
@@ -0,0 +1,25 @@
+package com.foodopia.apiGateway.dto;
+
+import java.util.List;
+
+/**
+ * A dish, meal template or meal plan type changed in meal-service, received on meal-catalog-events
+ *
+ * @param resource Catalog resource as named in its REST path: dishes, meal-templates or meal-plan-types
+ * @param id ID of the changed item, null when several changed
+ * @param ids IDs of the changed items when several changed, null when unknown
+ */
+public record CatalogChangeEventDto(
+        String resource,
+        String id,
+        List<String> ids
+) {
+
+    /**
+     * IDs of the changed items, null when the whole resource may have changed
+     */
+    public List<String> changedIds() {
+        if (id != null) return List.of(id);
+        return ids != null && !ids.isEmpty() ? ids : null;
+    }
+}
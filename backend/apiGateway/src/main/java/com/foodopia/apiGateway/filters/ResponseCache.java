@@ -0,0 +1,211 @@
+package com.foodopia.apiGateway.filters;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory store of the responses cached by ResponseCacheGatewayFilterFactory, bounded by the
+ * total size of the cached bodies. When full, the least recently used responses are evicted.
+ * It also remembers, per route, which request headers the route's responses vary on.
+ * <p>
+ * Every purge bumps a generation. A response fetched upstream is stored only if no purge
+ * since the generation read before the fetch covers its path, so a fetch that started before a
+ * purge cannot put the purged content back.
+ */
+@Component
+public class ResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseCache.class);
+
+    // Rough per-entry overhead of the key, headers and bookkeeping
+    private static final int ENTRY_OVERHEAD = 512;
+    // Purges remembered for fetches under way; a fetch older than all of them is not stored
+    private static final int MAX_TRACKED_PURGES = 1024;
+    // Catalog items are keyed by MongoDB ObjectIds, any other path segment names a list
+    private static final Pattern ITEM_ID = Pattern.compile("[0-9a-f]{24}");
+
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+    private final Map<String, List<String>> varyHeadersByRoute = new ConcurrentHashMap<>();
+    private final ArrayDeque<Purge> purges = new ArrayDeque<>();
+    private long totalBytes;
+    private long purgeGeneration;
+
+    public ResponseCache(@Value("${foodopia.gateway.cache.max-size:64MB}") DataSize maxSize,
+                         @Value("${foodopia.gateway.cache.max-entry-size:1MB}") DataSize maxEntrySize) {
+        this.maxBytes = maxSize.toBytes();
+        this.maxEntryBytes = maxEntrySize.toBytes();
+    }
+
+    /**
+     * Cached response of the key, or null when missing or past its stale window
+     */
+    public synchronized CachedResponse get(String key) {
+        CachedResponse cached = entries.get(key);
+        if (cached != null && System.nanoTime() - cached.staleUntil() >= 0) {
+            remove(key);
+            return null;
+        }
+        return cached;
+    }
+
+    public boolean fits(long bytes) {
+        return bytes <= maxEntryBytes;
+    }
+
+    /**
+     * Store a response fetched since the given purge generation, unless a purge since then covers
+     * its path
+     * @return false when dropped for a purge
+     */
+    public synchronized boolean put(String key, CachedResponse response, long fetchedAtGeneration) {
+        if (purgedSince(response.path(), fetchedAtGeneration)) {
+            logger.debug("Dropped cached response {} fetched before a purge of its path", key);
+            return false;
+        }
+        put(key, response);
+        return true;
+    }
+
+    public synchronized void put(String key, CachedResponse response) {
+        long size = size(key, response);
+        if (size - ENTRY_OVERHEAD > maxEntryBytes) return;
+        remove(key);
+        entries.put(key, response);
+        totalBytes += size;
+        Iterator<Map.Entry<String, CachedResponse>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, CachedResponse> entry = eldest.next();
+            totalBytes -= size(entry.getKey(), entry.getValue());
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Drop every response whose upstream path starts with the prefix, returning how many
+     */
+    public synchronized int purge(String pathPrefix) {
+        return purge(pathPrefix, path -> pathPrefix == null || path.startsWith(pathPrefix));
+    }
+
+    /**
+     * Drop the responses of the given items of a collection such as /api/dishes, and the
+     * collection's list responses, which may include them. Responses of the collection's other
+     * items stay cached.
+     */
+    public synchronized int purgeItems(String collectionPath, Collection<String> ids) {
+        return purge(collectionPath + " " + ids, path -> {
+            if (!path.startsWith(collectionPath)) return false;
+            if (path.length() == collectionPath.length()) return true;
+            if (path.charAt(collectionPath.length()) != '/') return false;
+            int end = path.indexOf('/', collectionPath.length() + 1);
+            String segment = path.substring(collectionPath.length() + 1, end < 0 ? path.length() : end);
+            return ids.contains(segment) || !ITEM_ID.matcher(segment).matches();
+        });
+    }
+
+    private int purge(String description, Predicate<String> covers) {
+        purges.addLast(new Purge(++purgeGeneration, covers));
+        if (purges.size() > MAX_TRACKED_PURGES) purges.removeFirst();
+        int purged = 0;
+        Iterator<Map.Entry<String, CachedResponse>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, CachedResponse> entry = iterator.next();
+            if (covers.test(entry.getValue().path())) {
+                totalBytes -= size(entry.getKey(), entry.getValue());
+                iterator.remove();
+                purged++;
+            }
+        }
+        logger.debug("Purged {} cached responses under {}, {} bytes cached", purged, description, totalBytes);
+        return purged;
+    }
+
+    /**
+     * Generation to read before fetching a response upstream, and to store it with
+     */
+    public synchronized long getPurgeGeneration() {
+        return purgeGeneration;
+    }
+
+    /**
+     * Request headers the last response cached on the route varied on, empty before the first one
+     */
+    public List<String> getVaryHeaders(String routeId) {
+        return varyHeadersByRoute.getOrDefault(routeId, List.of());
+    }
+
+    public void setVaryHeaders(String routeId, List<String> varyHeaders) {
+        varyHeadersByRoute.put(routeId, varyHeaders);
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Claim the revalidation of a key, false when another request is already revalidating it
+     */
+    public boolean startRevalidation(String key) {
+        return revalidating.add(key);
+    }
+
+    public void endRevalidation(String key) {
+        revalidating.remove(key);
+    }
+
+    private void remove(String key) {
+        CachedResponse removed = entries.remove(key);
+        if (removed != null) {
+            totalBytes -= size(key, removed);
+        }
+    }
+
+    private boolean purgedSince(String path, long generation) {
+        if (generation == purgeGeneration) return false;
+        // Purges after the generation were forgotten already, one of them may have covered the path
+        if (purges.isEmpty() || purges.peekFirst().generation() > generation + 1) return true;
+        for (Purge purge : purges) {
+            if (purge.generation() > generation && purge.covers().test(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long size(String key, CachedResponse response) {
+        return ENTRY_OVERHEAD + 2L * key.length() + response.body().length;
+    }
+
+    private record Purge(long generation, Predicate<String> covers) {
+    }
+
+    /**
+     * A cached 200 response; fresh until {@code freshUntil}, served stale while being revalidated
+     * until {@code staleUntil} (both System.nanoTime() values)
+     */
+    public record CachedResponse(String path, HttpHeaders headers, byte[] body, String etag,
+                                 long freshUntil, long staleUntil) {
+
+        public boolean isFresh() {
+            return System.nanoTime() - freshUntil < 0;
+        }
+    }
+}
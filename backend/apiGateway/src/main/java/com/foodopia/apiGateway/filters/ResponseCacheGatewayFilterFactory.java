@@ -0,0 +1,304 @@
+package com.foodopia.apiGateway.filters;
+
+import com.foodopia.apiGateway.filters.ResponseCache.CachedResponse;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Caches the 200 responses of GET requests on a route in the {@link ResponseCache}, for routes
+ * whose content changes rarely. A response is served from memory for {@code ttl}; for a further
+ * {@code staleWhileRevalidate} it is still served, while one background request per key fetches
+ * a fresh copy from the route's service. Responses carry an ETag (the upstream one, or a hash of
+ * the body), and a matching If-None-Match is answered with 304 without touching the body.
+ * Responses are keyed by the request headers listed in their Vary header, so for instance gzip
+ * and identity encodings of a path are cached separately. Responses fetched before a purge of
+ * their path are passed on but not stored.
+ * X-Cache tells whether a response was a HIT, STALE or MISS.
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    // After RewritePath (order 0) and RequestTraceFilter (order 1), so keys use the upstream path
+    private static final int ORDER = 2;
+    private static final Duration REVALIDATION_TIMEOUT = Duration.ofSeconds(10);
+    private static final List<String> CACHED_HEADERS = List.of(HttpHeaders.CONTENT_TYPE,
+            HttpHeaders.CONTENT_ENCODING, HttpHeaders.CONTENT_LANGUAGE, HttpHeaders.VARY, HttpHeaders.LAST_MODIFIED);
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseCacheGatewayFilterFactory.class);
+
+    private final ResponseCache responseCache;
+    private final FilterUtility filterUtility;
+    private final WebClient webClient;
+
+    public ResponseCacheGatewayFilterFactory(ResponseCache responseCache,
+                                             FilterUtility filterUtility,
+                                             ObjectProvider<ReactorLoadBalancerExchangeFilterFunction> loadBalancer) {
+        super(Config.class);
+        this.responseCache = responseCache;
+        this.filterUtility = filterUtility;
+        WebClient.Builder builder = WebClient.builder();
+        loadBalancer.ifAvailable(builder::filter);
+        this.webClient = builder.build();
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("ttl", "staleWhileRevalidate");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET
+                    || request.getHeaders().getCacheControl() != null
+                    && request.getHeaders().getCacheControl().contains("no-store")) {
+                return chain.filter(exchange);
+            }
+            String key = key(exchange);
+            CachedResponse cached = responseCache.get(key);
+            if (cached != null && cached.isFresh()) {
+                return serve(exchange, cached, "HIT");
+            }
+            if (cached != null) {
+                revalidate(exchange, key, cached, config);
+                return serve(exchange, cached, "STALE");
+            }
+            long generation = responseCache.getPurgeGeneration();
+            return chain.filter(exchange.mutate().response(capture(exchange, config, generation)).build());
+        }, ORDER);
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, CachedResponse cached, String cacheStatus) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.putAll(cached.headers());
+        headers.setETag(cached.etag());
+        headers.set(CACHE_STATUS_HEADER, cacheStatus);
+        // The response trace filter does not run for responses served from the cache
+        String correlationId = filterUtility.getCorrelationId(exchange.getRequest().getHeaders());
+        if (correlationId != null) {
+            headers.set(FilterUtility.CORRELATION_ID, correlationId);
+        }
+        if (matches(exchange.getRequest().getHeaders().getIfNoneMatch(), cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    /**
+     * Response that stores the upstream body on its way to the client
+     */
+    private ServerHttpResponseDecorator capture(ServerWebExchange exchange, Config config, long generation) {
+        return new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                HttpHeaders headers = getHeaders();
+                HttpStatusCode status = getStatusCode();
+                if (status != null && status.value() != HttpStatus.OK.value() || !storable(headers)
+                        || headers.getContentLength() >= 0 && !responseCache.fits(headers.getContentLength())) {
+                    return super.writeWith(body);
+                }
+                return DataBufferUtils.join(body).flatMap(joined -> {
+                    byte[] bytes = new byte[joined.readableByteCount()];
+                    joined.read(bytes);
+                    DataBufferUtils.release(joined);
+                    CachedResponse cached = store(exchange, headers, bytes, config, generation);
+                    headers.setETag(cached.etag());
+                    headers.set(CACHE_STATUS_HEADER, "MISS");
+                    return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                });
+            }
+        };
+    }
+
+    /**
+     * Fetch a fresh copy of a stale response in the background, unless one is already under way
+     */
+    private void revalidate(ServerWebExchange exchange, String key, CachedResponse cached, Config config) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null || !responseCache.startRevalidation(key)) return;
+        long generation = responseCache.getPurgeGeneration();
+        webClient.get()
+                .uri(upstreamUri(route.getUri(), exchange.getRequest().getURI()))
+                .header(HttpHeaders.IF_NONE_MATCH, cached.etag())
+                .headers(headers -> {
+                    // Ask for the same variant as the cached one
+                    HttpHeaders requestHeaders = exchange.getRequest().getHeaders();
+                    for (String name : varyHeaders(cached.headers())) {
+                        List<String> values = requestHeaders.get(name);
+                        if (values != null) headers.put(name, values);
+                    }
+                })
+                .exchangeToMono(response -> {
+                    if (response.statusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                        responseCache.put(key, refreshed(cached, config), generation);
+                        return response.releaseBody();
+                    }
+                    if (response.statusCode().value() != HttpStatus.OK.value()
+                            || !storable(response.headers().asHttpHeaders())) {
+                        // Keep serving the stale copy until its stale window ends
+                        return response.releaseBody();
+                    }
+                    return response.bodyToMono(byte[].class)
+                            .defaultIfEmpty(new byte[0])
+                            .doOnNext(bytes -> store(exchange, response.headers().asHttpHeaders(), bytes, config,
+                                    generation))
+                            .then();
+                })
+                .timeout(REVALIDATION_TIMEOUT)
+                .doFinally(signal -> responseCache.endRevalidation(key))
+                .subscribe(null, error -> logger.debug("Failed to revalidate cached response {}: {}",
+                        key, error.getMessage()));
+    }
+
+    private CachedResponse store(ServerWebExchange exchange, HttpHeaders upstreamHeaders, byte[] body, Config config,
+                                 long generation) {
+        HttpHeaders headers = new HttpHeaders();
+        for (String name : CACHED_HEADERS) {
+            List<String> values = upstreamHeaders.get(name);
+            if (values != null) headers.put(name, values);
+        }
+        String etag = upstreamHeaders.getETag() != null ? upstreamHeaders.getETag()
+                : "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+        long now = System.nanoTime();
+        CachedResponse cached = new CachedResponse(exchange.getRequest().getPath().value(),
+                HttpHeaders.readOnlyHttpHeaders(headers), body, etag,
+                now + config.getTtl().toNanos(), now + config.getTtl().plus(config.staleWindow()).toNanos());
+        // The key is known only now that the response tells which request headers it varies on
+        List<String> varyHeaders = varyHeaders(upstreamHeaders);
+        responseCache.setVaryHeaders(routeId(exchange), varyHeaders);
+        responseCache.put(key(exchange, varyHeaders), cached, generation);
+        return cached;
+    }
+
+    private static CachedResponse refreshed(CachedResponse cached, Config config) {
+        long now = System.nanoTime();
+        return new CachedResponse(cached.path(), cached.headers(), cached.body(), cached.etag(),
+                now + config.getTtl().toNanos(), now + config.getTtl().plus(config.staleWindow()).toNanos());
+    }
+
+    private String key(ServerWebExchange exchange) {
+        return key(exchange, responseCache.getVaryHeaders(routeId(exchange)));
+    }
+
+    /**
+     * Route, upstream path and query, and the values of the request headers the response varies on
+     */
+    private static String key(ServerWebExchange exchange, List<String> varyHeaders) {
+        URI uri = exchange.getRequest().getURI();
+        StringBuilder key = new StringBuilder(routeId(exchange)).append(' ').append(uri.getRawPath());
+        if (uri.getRawQuery() != null) key.append('?').append(uri.getRawQuery());
+        HttpHeaders requestHeaders = exchange.getRequest().getHeaders();
+        for (String name : varyHeaders) {
+            List<String> values = requestHeaders.get(name);
+            key.append(' ').append(name).append('=').append(values != null ? String.join(",", values) : "");
+        }
+        return key.toString();
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "";
+    }
+
+    // Lower-cased and sorted, so that the same headers always give the same key
+    private static List<String> varyHeaders(HttpHeaders responseHeaders) {
+        return responseHeaders.getVary().stream()
+                .map(name -> name.trim().toLowerCase(Locale.ROOT))
+                .filter(name -> !name.isEmpty())
+                .distinct()
+                .sorted()
+                .toList();
+    }
+
+    private static URI upstreamUri(URI routeUri, URI requestUri) {
+        // Load-balanced service ids are resolved by the load balancer filter of the web client
+        String scheme = "lb".equals(routeUri.getScheme()) ? "http" : routeUri.getScheme();
+        return UriComponentsBuilder.fromUri(routeUri)
+                .scheme(scheme)
+                .replacePath(requestUri.getRawPath())
+                .replaceQuery(requestUri.getRawQuery())
+                .build(true)
+                .toUri();
+    }
+
+    private static boolean storable(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        // Vary: * means the response depends on more than the request headers
+        return (cacheControl == null || !(cacheControl.contains("no-store") || cacheControl.contains("private")))
+                && !headers.getVary().contains("*");
+    }
+
+    private static boolean matches(List<String> ifNoneMatch, String etag) {
+        String opaque = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String candidate : ifNoneMatch) {
+            if ("*".equals(candidate)) return true;
+            if ((candidate.startsWith("W/") ? candidate.substring(2) : candidate).equals(opaque)) return true;
+        }
+        return false;
+    }
+
+    public static class Config {
+
+        private Duration ttl = Duration.ofMinutes(1);
+        private Duration staleWhileRevalidate;
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public Config setTtl(Duration ttl) {
+            this.ttl = ttl;
+            return this;
+        }
+
+        public Duration getStaleWhileRevalidate() {
+            return staleWhileRevalidate;
+        }
+
+        public Config setStaleWhileRevalidate(Duration staleWhileRevalidate) {
+            this.staleWhileRevalidate = staleWhileRevalidate;
+            return this;
+        }
+
+        // Defaults to the TTL, so a response is served for at most twice its TTL without revalidation
+        Duration staleWindow() {
+            return staleWhileRevalidate != null ? staleWhileRevalidate : ttl;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.foodopia.apiGateway.functions;
+
+import com.foodopia.apiGateway.dto.CatalogChangeEventDto;
+import com.foodopia.apiGateway.filters.ResponseCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Consumers of the events that invalidate the gateway's response cache
+ */
+@Configuration
+public class GatewayFunctions {
+
+    private static final Logger logger = LoggerFactory.getLogger(GatewayFunctions.class);
+
+    /**
+     * Purge the cached responses of a catalog resource once meal-service changed it. Cached
+     * list responses may include the changed items, so they are purged along with the items;
+     * the responses of other items are kept. Without item IDs the whole resource is purged.
+     */
+    @Bean
+    public Consumer<CatalogChangeEventDto> purgeResponseCache(ResponseCache responseCache) {
+        return event -> {
+            String prefix = event.resource() != null ? "/api/" + event.resource() : null;
+            List<String> ids = event.changedIds();
+            int purged = prefix != null && ids != null
+                    ? responseCache.purgeItems(prefix, ids)
+                    : responseCache.purge(prefix);
+            logger.debug("Purged {} cached responses after {} change: {}", purged, event.resource(), ids);
+        };
+    }
+}
@@ -0,0 +1,118 @@
+package com.foodopia.apiGateway.loadbalancer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the requests in flight to every service instance, from the load balancer lifecycle
+ * callbacks of the gateway's lb:// routes. A request whose completion is never reported (e.g. a
+ * cancelled exchange) stops counting after {@code in-flight-expiry}, so a lost callback cannot
+ * keep an instance looking busy forever. Requests are tracked by identity: their equals and
+ * hashCode cover the exchange attributes, which change while the request is in flight.
+ */
+@Component
+public class InFlightRequestTracker implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    private static final Logger logger = LoggerFactory.getLogger(InFlightRequestTracker.class);
+
+    private final long expiryNanos;
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+    private final Map<RequestKey, Started> started = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep = new AtomicLong(System.nanoTime());
+
+    public InFlightRequestTracker(@Value("${foodopia.gateway.load-balancer.in-flight-expiry:60s}") Duration expiry) {
+        this.expiryNanos = expiry.toNanos();
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (lbResponse == null || !lbResponse.hasServer()) return;
+        String instance = key(lbResponse.getServer());
+        long now = System.nanoTime();
+        if (started.putIfAbsent(new RequestKey(request), new Started(instance, now)) == null) {
+            inFlight.computeIfAbsent(instance, k -> new AtomicInteger()).incrementAndGet();
+        }
+        sweep(now);
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Started request = started.remove(new RequestKey(completionContext.getLoadBalancerRequest()));
+        if (request != null) {
+            release(request.instance());
+        }
+    }
+
+    /**
+     * Requests currently in flight to the instance
+     */
+    public int inFlight(ServiceInstance instance) {
+        AtomicInteger count = inFlight.get(key(instance));
+        return count != null ? count.get() : 0;
+    }
+
+    private void release(String instance) {
+        AtomicInteger count = inFlight.get(instance);
+        if (count != null) {
+            count.updateAndGet(current -> Math.max(current - 1, 0));
+        }
+    }
+
+    // At most one thread per expiry interval walks the started requests
+    private void sweep(long now) {
+        long due = nextSweep.get();
+        if (now - due < 0 || !nextSweep.compareAndSet(due, now + expiryNanos)) return;
+        int expired = 0;
+        for (Map.Entry<RequestKey, Started> entry : started.entrySet()) {
+            if (now - entry.getValue().startedAt() > expiryNanos && started.remove(entry.getKey(), entry.getValue())) {
+                release(entry.getValue().instance());
+                expired++;
+            }
+        }
+        if (expired > 0) {
+            logger.debug("Stopped counting {} load balanced requests without a reported completion", expired);
+        }
+    }
+
+    static String key(ServiceInstance instance) {
+        return instance.getServiceId() + "@" + instance.getHost() + ":" + instance.getPort();
+    }
+
+    private record Started(String instance, long startedAt) {
+    }
+
+    private record RequestKey(Request<?> request) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof RequestKey key && key.request == request;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(request);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.foodopia.apiGateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Load balancer client configuration of every service, registered through
+ * {@code @LoadBalancerClients(defaultConfiguration = ...)}. Deliberately not a @Configuration:
+ * it is instantiated in each service's load balancer context, not in the application context.
+ */
+public class LeastInFlightLoadBalancerConfiguration {
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> leastInFlightLoadBalancer(Environment environment,
+                                                                          LoadBalancerClientFactory loadBalancerClientFactory,
+                                                                          InFlightRequestTracker tracker) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new LeastInFlightLoadBalancer(
+                loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+                serviceId, tracker);
+    }
+}
@@ -0,0 +1,128 @@
+package com.foodopia.apiGateway.filters;
+
+import com.foodopia.apiGateway.filters.ResponseCache.CachedResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheTests {
+
+    // ResponseCache counts 512 bytes of overhead plus two bytes per key character on top of the body
+    private static final int ENTRY_BYTES = 512 + 2 + 1000;
+
+    @Test
+    void evictsLeastRecentlyUsedWhenFull() {
+        ResponseCache cache = new ResponseCache(DataSize.ofBytes(2 * ENTRY_BYTES + 100), DataSize.ofKilobytes(2));
+
+        cache.put("a", response("/api/meals/a", 1000, Duration.ofMinutes(1), Duration.ofMinutes(1)));
+        cache.put("b", response("/api/meals/b", 1000, Duration.ofMinutes(1), Duration.ofMinutes(1)));
+        assertThat(cache.get("a")).isNotNull();
+        cache.put("c", response("/api/meals/c", 1000, Duration.ofMinutes(1), Duration.ofMinutes(1)));
+
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("a")).isNotNull();
+        assertThat(cache.get("c")).isNotNull();
+        assertThat(cache.getTotalBytes()).isEqualTo(2 * ENTRY_BYTES);
+    }
+
+    @Test
+    void accountsForReplacedAndRejectedEntries() {
+        ResponseCache cache = new ResponseCache(DataSize.ofKilobytes(64), DataSize.ofKilobytes(2));
+
+        cache.put("a", response("/api/meals/a", 500, Duration.ofMinutes(1), Duration.ofMinutes(1)));
+        cache.put("a", response("/api/meals/a", 1000, Duration.ofMinutes(1), Duration.ofMinutes(1)));
+        assertThat(cache.getTotalBytes()).isEqualTo(ENTRY_BYTES);
+
+        // Larger than the entry limit: neither stored nor counted
+        assertThat(cache.fits(4096)).isFalse();
+        cache.put("b", response("/api/meals/b", 4096, Duration.ofMinutes(1), Duration.ofMinutes(1)));
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.getTotalBytes()).isEqualTo(ENTRY_BYTES);
+
+        assertThat(cache.purge(null)).isEqualTo(1);
+        assertThat(cache.getTotalBytes()).isZero();
+    }
+
+    @Test
+    void servesStaleResponsesUntilTheirStaleWindowEnds() {
+        ResponseCache cache = new ResponseCache(DataSize.ofKilobytes(64), DataSize.ofKilobytes(2));
+
+        cache.put("fresh", response("/api/meals/fresh", 1000, Duration.ofMinutes(1), Duration.ofMinutes(1)));
+        cache.put("stale", response("/api/meals/stale", 1000, Duration.ofMinutes(-1), Duration.ofMinutes(2)));
+        cache.put("expired", response("/api/meals/expired", 1000, Duration.ofMinutes(-2), Duration.ofMinutes(1)));
+
+        assertThat(cache.get("fresh").isFresh()).isTrue();
+        assertThat(cache.get("stale").isFresh()).isFalse();
+        assertThat(cache.get("expired")).isNull();
+        // The expired entry is dropped on read
+        assertThat(cache.getTotalBytes()).isEqualTo(2L * (512 + 2 * "fresh".length() + 1000));
+    }
+
+    @Test
+    void purgesResponsesUnderPathPrefix() {
+        ResponseCache cache = new ResponseCache(DataSize.ofKilobytes(64), DataSize.ofKilobytes(2));
+
+        cache.put("a", response("/api/meals/1", 1000, Duration.ofMinutes(1), Duration.ofMinutes(1)));
+        cache.put("b", response("/api/meals/2", 1000, Duration.ofMinutes(1), Duration.ofMinutes(1)));
+        cache.put("c", response("/api/dishes/1", 1000, Duration.ofMinutes(1), Duration.ofMinutes(1)));
+
+        assertThat(cache.purge("/api/meals")).isEqualTo(2);
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isNotNull();
+        assertThat(cache.getTotalBytes()).isEqualTo(ENTRY_BYTES);
+    }
+
+    @Test
+    void purgesChangedItemsAndListsButNotOtherItems() {
+        ResponseCache cache = new ResponseCache(DataSize.ofKilobytes(64), DataSize.ofKilobytes(2));
+        String changed = "65f1c0a2b3d4e5f6a7b8c9d0";
+        String other = "65f1c0a2b3d4e5f6a7b8c9d1";
+
+        cache.put("item", response("/api/dishes/" + changed, 1000, Duration.ofMinutes(1), Duration.ofMinutes(1)));
+        cache.put("cost", response("/api/dishes/" + changed + "/cost", 1000, Duration.ofMinutes(1), Duration.ofMinutes(1)));
+        cache.put("all", response("/api/dishes", 1000, Duration.ofMinutes(1), Duration.ofMinutes(1)));
+        cache.put("category", response("/api/dishes/category/MAIN", 1000, Duration.ofMinutes(1), Duration.ofMinutes(1)));
+        cache.put("other", response("/api/dishes/" + other, 1000, Duration.ofMinutes(1), Duration.ofMinutes(1)));
+        cache.put("template", response("/api/meal-templates", 1000, Duration.ofMinutes(1), Duration.ofMinutes(1)));
+
+        long generation = cache.getPurgeGeneration();
+        assertThat(cache.purgeItems("/api/dishes", List.of(changed))).isEqualTo(4);
+        assertThat(cache.get("other")).isNotNull();
+        assertThat(cache.get("template")).isNotNull();
+        // A fetch of another item under way is still stored, one of a list is not
+        assertThat(cache.put("other", response("/api/dishes/" + other, 1000, Duration.ofMinutes(1), Duration.ofMinutes(1)),
+                generation)).isTrue();
+        assertThat(cache.put("all", response("/api/dishes", 1000, Duration.ofMinutes(1), Duration.ofMinutes(1)),
+                generation)).isFalse();
+    }
+
+    @Test
+    void dropsResponsesFetchedBeforeAPurgeOfTheirPath() {
+        ResponseCache cache = new ResponseCache(DataSize.ofKilobytes(64), DataSize.ofKilobytes(2));
+
+        long generation = cache.getPurgeGeneration();
+        cache.purge("/api/dishes");
+
+        assertThat(cache.put("a", response("/api/dishes/1", 1000, Duration.ofMinutes(1), Duration.ofMinutes(1)),
+                generation)).isFalse();
+        assertThat(cache.get("a")).isNull();
+        // Purges of other paths leave the response to be stored
+        assertThat(cache.put("b", response("/api/meals/1", 1000, Duration.ofMinutes(1), Duration.ofMinutes(1)),
+                generation)).isTrue();
+        assertThat(cache.put("c", response("/api/dishes/1", 1000, Duration.ofMinutes(1), Duration.ofMinutes(1)),
+                cache.getPurgeGeneration())).isTrue();
+        assertThat(cache.getTotalBytes()).isEqualTo(2 * ENTRY_BYTES);
+    }
+
+    private static CachedResponse response(String path, int bodyBytes, Duration freshFor, Duration staleFor) {
+        long now = System.nanoTime();
+        return new CachedResponse(path, HttpHeaders.readOnlyHttpHeaders(new HttpHeaders()), new byte[bodyBytes],
+                "\"etag\"", now + freshFor.toNanos(), now + freshFor.plus(staleFor).toNanos());
+    }
+}
@@ -0,0 +1,69 @@
+package com.foodopia.apiGateway.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InFlightRequestTrackerTests {
+
+    private final ServiceInstance first = new DefaultServiceInstance("meal-1", "meal", "10.0.0.1", 8082, false);
+    private final ServiceInstance second = new DefaultServiceInstance("meal-2", "meal", "10.0.0.2", 8082, false);
+
+    @Test
+    void countsRequestsUntilTheyComplete() {
+        InFlightRequestTracker tracker = new InFlightRequestTracker(Duration.ofMinutes(1));
+        DefaultRequest<Object> a = new DefaultRequest<>(Map.of("attempt", 1));
+        DefaultRequest<Object> b = new DefaultRequest<>(Map.of("attempt", 1));
+
+        tracker.onStartRequest(a, new DefaultResponse(first));
+        tracker.onStartRequest(b, new DefaultResponse(first));
+        assertThat(tracker.inFlight(first)).isEqualTo(2);
+        assertThat(tracker.inFlight(second)).isZero();
+
+        // The exchange attributes of a request change while it is in flight
+        a.setContext(Map.of("attempt", 2));
+        tracker.onComplete(completion(a, first));
+        assertThat(tracker.inFlight(first)).isEqualTo(1);
+        tracker.onComplete(completion(b, first));
+        assertThat(tracker.inFlight(first)).isZero();
+
+        // A repeated completion does not count twice
+        tracker.onComplete(completion(b, first));
+        assertThat(tracker.inFlight(first)).isZero();
+    }
+
+    @Test
+    void stopsCountingRequestsWithoutCompletionAfterExpiry() throws Exception {
+        InFlightRequestTracker tracker = new InFlightRequestTracker(Duration.ofMillis(20));
+        DefaultRequest<Object> lost = new DefaultRequest<>(Map.of());
+        DefaultRequest<Object> later = new DefaultRequest<>(Map.of());
+
+        tracker.onStartRequest(lost, new DefaultResponse(first));
+        Thread.sleep(40);
+        // The next request sweeps the expired one
+        tracker.onStartRequest(later, new DefaultResponse(first));
+        assertThat(tracker.inFlight(first)).isEqualTo(1);
+
+        // A completion reported after the sweep does not release the other request
+        tracker.onComplete(completion(lost, first));
+        assertThat(tracker.inFlight(first)).isEqualTo(1);
+        tracker.onComplete(completion(later, first));
+        assertThat(tracker.inFlight(first)).isZero();
+    }
+
+    private static CompletionContext<Object, ServiceInstance, Object> completion(Request<Object> request,
+                                                                              ServiceInstance instance) {
+        Response<ServiceInstance> response = new DefaultResponse(instance);
+        return new CompletionContext<>(CompletionContext.Status.SUCCESS, request, response);
+    }
+}
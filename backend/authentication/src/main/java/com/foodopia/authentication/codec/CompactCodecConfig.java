@@ -0,0 +1,27 @@
+package com.foodopia.authentication.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodopia.common.codec.CompactCodec;
+import com.foodopia.common.codec.CompactMessageConverter;
+import com.foodopia.common.codec.EventSchemaRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.converter.MessageConverter;
+
+@Configuration
+public class CompactCodecConfig {
+
+    @Bean
+    public CompactCodec compactCodec() {
+        return new CompactCodec(new EventSchemaRegistry()
+                .register(EventSchemas.AUTH_EVENT));
+    }
+
+    /**
+     * Picked up by Spring Cloud Stream next to its JSON converter
+     */
+    @Bean
+    public MessageConverter compactMessageConverter(CompactCodec compactCodec, ObjectMapper objectMapper) {
+        return new CompactMessageConverter(compactCodec, objectMapper);
+    }
+}
@@ -46,6 +46,12 @@ public class AbstractFoodopiaUser implements UserDetails {
     @Field("credentialsNonExpired")
     protected boolean credentialsNonExpired = true;
 
+    // Set on creation and removed once the registration event was published, so AuthEventOutboxRelay
+    // can recover an event whose outbox write was lost
+    @Field("registrationEventPending")
+    @Indexed(sparse = true)
+    protected Boolean registrationEventPending;
+
     public enum Role {
         ADMIN,
         CUSTOMER,
@@ -0,0 +1,67 @@
+package com.foodopia.authentication.entity;
+
+import com.foodopia.authentication.dto.AuthEventDto;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.Instant;
+
+/**
+ * Authentication event waiting in MongoDB to be published to Kafka. Entries are claimed by a relay
+ * instance for {@code leasedUntil}; an entry whose lease ran out without being deleted is published
+ * again, so consumers may see an event more than once.
+ */
+@Document(collection = "auth_event_outbox")
+@CompoundIndexes({
+        @CompoundIndex(name = "lease_created_idx", def = "{'leasedUntil': 1, 'createdAt': 1}")
+})
+@Getter @Setter @NoArgsConstructor
+public class AuthEventOutboxEntry {
+
+    @Id
+    private String id;
+
+    @Field("event")
+    private AuthEventDto event;
+
+    @Field("createdAt")
+    private Instant createdAt;
+
+    @Field("attempts")
+    private int attempts;
+
+    @Field("lastError")
+    private String lastError;
+
+    @Field("claimToken")
+    @Indexed(name = "claim_token_idx", sparse = true)
+    private String claimToken;
+
+    @Field("leasedUntil")
+    private Instant leasedUntil;
+
+    public AuthEventOutboxEntry(AuthEventDto event, Instant createdAt) {
+        this.event = event;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Entry for a user's registration event, keyed by the user so recovering it never adds a second entry
+     */
+    public static AuthEventOutboxEntry registration(AuthEventDto event, Instant createdAt) {
+        AuthEventOutboxEntry entry = new AuthEventOutboxEntry(event, createdAt);
+        entry.setId(registrationId(event.userId()));
+        return entry;
+    }
+
+    public static String registrationId(String userId) {
+        return "registration-" + userId;
+    }
+}
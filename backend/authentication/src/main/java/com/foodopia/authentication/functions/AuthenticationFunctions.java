@@ -1,5 +1,6 @@
 package com.foodopia.authentication.functions;
 
+import com.foodopia.authentication.dto.NotificationBatchResultDto;
 import com.foodopia.authentication.service.IAuthenticationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,29 +18,34 @@ public class AuthenticationFunctions {
 
     /**
      * Consumer function to handle notification confirmations from notification service
-     * Input: userId from notification service after successful notification delivery
+     * Input: one result per dispatched batch, listing the users whose notifications were delivered and
+     * those whose notifications failed; the failed events are dead-lettered by the notification service
      */
     @Bean
-    public Consumer<String> updateNotificationStatus() {
-        return userId -> {
-            log.info("Updating notification status for user ID: {}", userId);
+    public Consumer<NotificationBatchResultDto> updateNotificationStatus() {
+        return result -> {
+            log.info("Updating notification status for batch {}: {} delivered, {} failed", result.batchId(),
+                    result.deliveredUserIds().size(), result.failedUserIds().size());
 
-            try {
-                // Update notification delivery status in database if needed
-                // For now, just log the successful delivery confirmation
-                log.info("Notification delivery confirmed for user: {}", userId);
+            for (String userId : result.deliveredUserIds()) {
+                try {
+                    // Update notification delivery status in database if needed
+                    // For now, just log the successful delivery confirmation
+                    log.debug("Notification delivery confirmed for user: {}", userId);
 
-                // Future enhancement: Update user record with last notification timestamp
-                // authenticationService.updateLastNotificationTime(userId);
+                    // Future enhancement: Update user record with last notification timestamp
+                    // authenticationService.updateLastNotificationTime(userId);
 
-            } catch (Exception e) {
-                log.error("Failed to update notification status for user: {} - {}", userId, e.getMessage(), e);
+                } catch (Exception e) {
+                    log.error("Failed to update notification status for user: {} - {}", userId, e.getMessage(), e);
+                }
             }
+            result.failedUserIds().forEach(handleNotificationFailure());
         };
     }
 
     /**
-     * Additional consumer for handling notification failures (optional)
+     * Consumer for handling notification failures, applied to the failed users of each batch confirmation
      * This could be used for retry logic or alerting
      */
     @Bean
@@ -0,0 +1,212 @@
+package com.foodopia.authentication.outbox;
+
+import com.foodopia.authentication.domain.AbstractFoodopiaUser;
+import com.foodopia.authentication.dto.AuthEventDto;
+import com.foodopia.authentication.entity.Administrator;
+import com.foodopia.authentication.entity.AuthEventOutboxEntry;
+import com.foodopia.authentication.entity.Customer;
+import com.foodopia.authentication.entity.KitchenUser;
+import com.foodopia.authentication.entity.Operator;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Publishes the auth_event_outbox collection to foodopia-auth-events. Registration events are
+ * written there right after the user, and AuthEventPublisher diverts events there while Kafka
+ * is unavailable. A user is stored with registrationEventPending, removed here once its event was
+ * published; a user still pending after a lease has its entry written again, in case the write
+ * after the user was lost.
+ *
+ * Each round claims up to {@code batch-size} entries by stamping them with a claim token and a
+ * lease, publishes them over a synchronous binding and deletes the ones Kafka acknowledged. An
+ * instance that dies mid-batch leaves its claims to expire, after which another round publishes
+ * them again - delivery is at least once.
+ */
+@Component
+@Slf4j
+public class AuthEventOutboxRelay {
+
+    static final String BINDING = "relayAuthEvent-out-0";
+    private static final List<Class<? extends AbstractFoodopiaUser>> USER_TYPES =
+            List.of(Customer.class, Administrator.class, Operator.class, KitchenUser.class);
+
+    private final StreamBridge streamBridge;
+    private final MongoTemplate mongoTemplate;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration lease;
+
+    private volatile boolean running = true;
+    private volatile Thread relay;
+
+    public AuthEventOutboxRelay(StreamBridge streamBridge,
+                                MongoTemplate mongoTemplate,
+                                @Value("${foodopia.auth.outbox.batch-size:100}") int batchSize,
+                                @Value("${foodopia.auth.outbox.poll-interval:2s}") Duration pollInterval,
+                                @Value("${foodopia.auth.outbox.lease:30s}") Duration lease) {
+        this.streamBridge = streamBridge;
+        this.mongoTemplate = mongoTemplate;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.lease = lease;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (relay != null || !running) return;
+        relay = new Thread(this::run, "auth-event-outbox-relay");
+        relay.setDaemon(true);
+        relay.start();
+    }
+
+    /**
+     * Run the next round now instead of waiting for the poll interval, e.g. right after an
+     * entry was committed
+     */
+    public void wakeUp() {
+        Thread thread = relay;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        Thread thread = relay;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    private void run() {
+        while (running) {
+            int published;
+            try {
+                published = relayBatch();
+            } catch (Exception e) {
+                log.warn("Failed to relay authentication events from the outbox - {}", e.getMessage());
+                published = 0;
+            }
+            // A full batch means more entries are probably waiting
+            if (published < batchSize && running) {
+                LockSupport.parkNanos(this, pollInterval.toNanos());
+            }
+        }
+    }
+
+    /**
+     * Claim, publish and delete one batch, returning the number of published entries
+     */
+    int relayBatch() {
+        Instant now = Instant.now();
+        recoverRegistrations(now);
+        List<AuthEventOutboxEntry> claimed = claim(now);
+        if (claimed.isEmpty()) return 0;
+
+        List<String> published = new ArrayList<>(claimed.size());
+        List<String> registered = new ArrayList<>();
+        for (AuthEventOutboxEntry entry : claimed) {
+            try {
+                if (!streamBridge.send(BINDING, entry.getEvent())) {
+                    markFailed(entry, "StreamBridge rejected the event");
+                    break;
+                }
+                published.add(entry.getId());
+                if (AuthEventDto.USER_REGISTERED.equals(entry.getEvent().eventType())) {
+                    registered.add(entry.getEvent().userId());
+                }
+            } catch (Exception e) {
+                // Kafka is likely down, leave the rest of the batch for when the lease runs out
+                markFailed(entry, e.getMessage());
+                break;
+            }
+        }
+        if (!published.isEmpty()) {
+            mongoTemplate.remove(Query.query(Criteria.where("_id").in(published)), AuthEventOutboxEntry.class);
+        }
+        if (!registered.isEmpty()) {
+            Query pending = Query.query(Criteria.where("_id").in(registered));
+            Update unset = new Update().unset("registrationEventPending");
+            USER_TYPES.forEach(type -> mongoTemplate.updateMulti(pending, unset, type));
+        }
+        log.debug("Relayed {} of {} claimed authentication events", published.size(), claimed.size());
+        return published.size();
+    }
+
+    /**
+     * Write the outbox entry again for users registered over a lease ago whose event is still
+     * unpublished; an entry still waiting in the outbox is left as it is
+     */
+    private void recoverRegistrations(Instant now) {
+        // Users are keyed by ObjectIds, which start with their creation time
+        Query query = Query.query(Criteria.where("registrationEventPending").is(true)
+                .and("_id").lt(new ObjectId(Date.from(now.minus(lease))))).limit(batchSize);
+        for (Class<? extends AbstractFoodopiaUser> type : USER_TYPES) {
+            for (AbstractFoodopiaUser user : mongoTemplate.find(query, type)) {
+                AuthEventDto event = AuthEventDto.userRegistered(user.getUserId(), user.getUsername(), user.getEmail());
+                try {
+                    mongoTemplate.insert(AuthEventOutboxEntry.registration(event, now));
+                    log.info("Recovered registration event for user: {}", user.getUsername());
+                } catch (DuplicateKeyException e) {
+                    // Written after the user as usual, and not published yet
+                }
+            }
+        }
+    }
+
+    private List<AuthEventOutboxEntry> claim(Instant now) {
+        Criteria claimable = new Criteria().orOperator(
+                Criteria.where("leasedUntil").is(null),
+                Criteria.where("leasedUntil").lte(now));
+        Query candidates = Query.query(claimable).with(Sort.by("createdAt")).limit(batchSize);
+        candidates.fields().include("_id");
+        List<Object> ids = mongoTemplate.find(candidates, AuthEventOutboxEntry.class).stream()
+                .map(entry -> (Object) entry.getId())
+                .toList();
+        if (ids.isEmpty()) return List.of();
+
+        // Another instance may claim some of the candidates first, the re-check of the lease decides
+        String token = UUID.randomUUID().toString();
+        mongoTemplate.updateMulti(
+                Query.query(new Criteria().andOperator(Criteria.where("_id").in(ids), claimable)),
+                new Update().set("claimToken", token).set("leasedUntil", now.plus(lease)).inc("attempts", 1),
+                AuthEventOutboxEntry.class);
+        return mongoTemplate.find(
+                Query.query(Criteria.where("claimToken").is(token)).with(Sort.by("createdAt")),
+                AuthEventOutboxEntry.class);
+    }
+
+    private void markFailed(AuthEventOutboxEntry entry, String error) {
+        log.warn("Failed to relay authentication event {} for user: {} (attempt {}) - {}",
+                entry.getEvent().eventType(), entry.getEvent().username(), entry.getAttempts(), error);
+        try {
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(entry.getId())),
+                    Update.update("lastError", error), AuthEventOutboxEntry.class);
+        } catch (Exception e) {
+            log.debug("Could not record relay failure for outbox entry {}: {}", entry.getId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.foodopia.authentication.outbox;
+
+import com.foodopia.authentication.dto.AuthEventDto;
+import com.foodopia.authentication.entity.AuthEventOutboxEntry;
+import com.foodopia.authentication.repository.AuthEventOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * In-process outbox for authentication events. Request threads only enqueue a factory for the event
+ * on a bounded lock-free queue; a single publisher thread builds the events, collects them into
+ * batches (waiting up to {@code linger} for more) and hands them to Kafka, each send waiting for the
+ * broker's acknowledgement. Events that cannot be published - Kafka unavailable or the queue full -
+ * are written to the auth_event_outbox collection, from where AuthEventOutboxRelay publishes them
+ * once Kafka is reachable again. Events overflowing a full queue are written by a separate thread
+ * from a second bounded queue, so a request thread never waits on MongoDB either.
+ */
+@Component
+@Slf4j
+public class AuthEventPublisher {
+
+    static final String BINDING = "sendAuthEvent-out-0";
+    private static final long IDLE_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final StreamBridge streamBridge;
+    private final AuthEventOutboxRepository outboxRepository;
+    private final int capacity;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final Duration retryInterval;
+
+    private final ConcurrentLinkedQueue<PendingEvent> queue = new ConcurrentLinkedQueue<>();
+    private final BlockingQueue<Supplier<AuthEventDto>> overflow;
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicBoolean parked = new AtomicBoolean();
+    private final Timer publishLatency;
+    private final Counter publishedCounter;
+    private final Counter fallbackCounter;
+    private final Counter droppedCounter;
+
+    private volatile boolean running = true;
+    private volatile Thread publisher;
+    private volatile Thread overflowWriter;
+    private long kafkaRetryAt;
+
+    public AuthEventPublisher(StreamBridge streamBridge,
+                              AuthEventOutboxRepository outboxRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${foodopia.auth.events.queue-capacity:10000}") int capacity,
+                              @Value("${foodopia.auth.events.overflow-capacity:1000}") int overflowCapacity,
+                              @Value("${foodopia.auth.events.batch-size:100}") int batchSize,
+                              @Value("${foodopia.auth.events.linger:5ms}") Duration linger,
+                              @Value("${foodopia.auth.events.retry-interval:10s}") Duration retryInterval) {
+        this.streamBridge = streamBridge;
+        this.outboxRepository = outboxRepository;
+        this.capacity = capacity;
+        this.overflow = new ArrayBlockingQueue<>(Math.max(overflowCapacity, 1));
+        this.batchSize = batchSize;
+        this.lingerNanos = linger.toNanos();
+        this.retryInterval = retryInterval;
+
+        Gauge.builder("foodopia.auth.events.queue.depth", depth, AtomicInteger::get)
+                .description("Authentication events waiting to be published")
+                .register(meterRegistry);
+        this.publishLatency = Timer.builder("foodopia.auth.events.publish.latency")
+                .description("Time from enqueueing an authentication event to handing it to Kafka")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.publishedCounter = Counter.builder("foodopia.auth.events.published")
+                .description("Authentication events handed to Kafka")
+                .register(meterRegistry);
+        this.fallbackCounter = Counter.builder("foodopia.auth.events.fallback")
+                .description("Authentication events written to the MongoDB outbox instead of Kafka")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("foodopia.auth.events.dropped")
+                .description("Authentication events lost because both the queue and its overflow were full")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (publisher != null || !running) return;
+        publisher = new Thread(this::run, "auth-event-publisher");
+        publisher.setDaemon(true);
+        publisher.start();
+        overflowWriter = new Thread(this::writeOverflow, "auth-event-overflow");
+        overflowWriter.setDaemon(true);
+        overflowWriter.start();
+    }
+
+    /**
+     * Queue an event for publishing. The factory runs on the publisher thread, so anything
+     * expensive about building the event stays off the caller's thread. Never blocks: when the
+     * queue is full the event goes to the outbox by way of the overflow queue, and when that is
+     * full too it is dropped.
+     */
+    public void publish(Supplier<AuthEventDto> eventFactory) {
+        int current;
+        do {
+            current = depth.get();
+            if (current >= capacity) {
+                if (overflow.offer(eventFactory)) {
+                    log.warn("Authentication event queue is full ({}), writing event to the outbox", capacity);
+                } else {
+                    droppedCounter.increment();
+                    log.error("Authentication event queue and its overflow are full, event dropped");
+                }
+                return;
+            }
+        } while (!depth.compareAndSet(current, current + 1));
+        queue.offer(new PendingEvent(eventFactory, System.nanoTime()));
+        Thread thread = publisher;
+        if (thread != null && parked.get()) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        Thread thread = publisher;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        // Not interrupted, so an outbox write under way completes; it stops polling within a second
+        Thread writer = overflowWriter;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /**
+     * Write events overflowing the queue to the outbox, in batches of whatever has piled up
+     */
+    private void writeOverflow() {
+        List<Supplier<AuthEventDto>> factories = new ArrayList<>(batchSize);
+        while (running || !overflow.isEmpty()) {
+            try {
+                Supplier<AuthEventDto> first = overflow.poll(1, TimeUnit.SECONDS);
+                if (first == null) continue;
+                factories.add(first);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            overflow.drainTo(factories, batchSize - 1);
+            List<AuthEventDto> events = new ArrayList<>(factories.size());
+            for (Supplier<AuthEventDto> factory : factories) {
+                try {
+                    events.add(factory.get());
+                } catch (Exception e) {
+                    log.error("Failed to build authentication event - {}", e.getMessage(), e);
+                }
+            }
+            factories.clear();
+            if (!events.isEmpty()) {
+                saveToOutbox(events, "Queue full");
+            }
+        }
+    }
+
+    private void run() {
+        List<PendingEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            PendingEvent first = queue.poll();
+            if (first == null) {
+                if (!running) break;
+                park(IDLE_PARK_NANOS);
+                continue;
+            }
+            depth.decrementAndGet();
+            batch.add(first);
+            long deadline = System.nanoTime() + lingerNanos;
+            while (batch.size() < batchSize) {
+                PendingEvent next = queue.poll();
+                if (next != null) {
+                    depth.decrementAndGet();
+                    batch.add(next);
+                    continue;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !running) break;
+                park(remaining);
+            }
+            publishBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void park(long nanos) {
+        parked.set(true);
+        if (queue.isEmpty() && running) {
+            LockSupport.parkNanos(this, nanos);
+        }
+        parked.set(false);
+    }
+
+    private void publishBatch(List<PendingEvent> batch) {
+        List<AuthEventDto> unpublished = new ArrayList<>();
+        String error = null;
+        for (PendingEvent pending : batch) {
+            AuthEventDto event;
+            try {
+                event = pending.factory().get();
+            } catch (Exception e) {
+                log.error("Failed to build authentication event - {}", e.getMessage(), e);
+                continue;
+            }
+            if (!unpublished.isEmpty() || !kafkaAvailable()) {
+                unpublished.add(event);
+                continue;
+            }
+            error = send(event);
+            if (error != null) {
+                unpublished.add(event);
+                continue;
+            }
+            publishLatency.record(System.nanoTime() - pending.enqueuedAt(), TimeUnit.NANOSECONDS);
+        }
+        log.debug("Published batch of {} authentication events, {} diverted to the outbox",
+                batch.size() - unpublished.size(), unpublished.size());
+        if (!unpublished.isEmpty()) {
+            saveToOutbox(unpublished, error != null ? error : "Kafka unavailable");
+        }
+    }
+
+    /**
+     * Hand one event to Kafka, returning null on success or the reason it failed
+     */
+    private String send(AuthEventDto event) {
+        try {
+            if (streamBridge.send(BINDING, event)) {
+                publishedCounter.increment();
+                return null;
+            }
+            markKafkaUnavailable();
+            return "StreamBridge rejected the event";
+        } catch (Exception e) {
+            log.warn("Failed to send authentication event {} for user: {} - {}",
+                    event.eventType(), event.username(), e.getMessage());
+            markKafkaUnavailable();
+            return e.getMessage();
+        }
+    }
+
+    private boolean kafkaAvailable() {
+        return System.nanoTime() - kafkaRetryAt >= 0;
+    }
+
+    private void markKafkaUnavailable() {
+        kafkaRetryAt = System.nanoTime() + retryInterval.toNanos();
+    }
+
+    private void saveToOutbox(List<AuthEventDto> events, String reason) {
+        Instant now = Instant.now();
+        List<AuthEventOutboxEntry> entries = new ArrayList<>(events.size());
+        for (AuthEventDto event : events) {
+            AuthEventOutboxEntry entry = new AuthEventOutboxEntry(event, now);
+            entry.setLastError(reason);
+            entries.add(entry);
+        }
+        try {
+            outboxRepository.saveAll(entries);
+            fallbackCounter.increment(entries.size());
+            log.info("Wrote {} authentication events to the outbox: {}", entries.size(), reason);
+        } catch (Exception e) {
+            log.error("Failed to write {} authentication events to the outbox, events lost - {}",
+                    entries.size(), e.getMessage(), e);
+        }
+    }
+
+    private record PendingEvent(Supplier<AuthEventDto> factory, long enqueuedAt) {
+    }
+}
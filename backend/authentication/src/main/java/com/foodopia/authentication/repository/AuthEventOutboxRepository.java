@@ -0,0 +1,7 @@
+package com.foodopia.authentication.repository;
+
+import com.foodopia.authentication.entity.AuthEventOutboxEntry;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface AuthEventOutboxRepository extends MongoRepository<AuthEventOutboxEntry, String> {
+}
@@ -3,6 +3,10 @@ package com.foodopia.authentication.service;
 import com.foodopia.authentication.domain.AbstractFoodopiaUser;
 import com.foodopia.authentication.dto.RequestUserDto;
 import com.foodopia.authentication.dto.UserInfoResponse;
+import com.foodopia.authentication.entity.Administrator;
+import com.foodopia.authentication.entity.Customer;
+import com.foodopia.authentication.entity.KitchenUser;
+import com.foodopia.authentication.entity.Operator;
 import com.foodopia.authentication.exception.UserAlreadyExistsException;
 
 import java.util.Optional;
@@ -17,11 +21,11 @@ public interface IUserService {
     boolean isUsernameAvailable(String username);
     boolean isEmailAvailable(String email);
 
-    // User creation methods
-    void createCustomer(RequestUserDto dto) throws UserAlreadyExistsException;
-    void createAdmin(RequestUserDto dto, String adminLevel) throws UserAlreadyExistsException;
-    void createOperator(RequestUserDto dto, String department) throws UserAlreadyExistsException;
-    void createKitchenUser(RequestUserDto dto, String station) throws UserAlreadyExistsException;
+    // User creation methods, each also records the registration event in the outbox
+    Customer createCustomer(RequestUserDto dto) throws UserAlreadyExistsException;
+    Administrator createAdmin(RequestUserDto dto, String adminLevel) throws UserAlreadyExistsException;
+    Operator createOperator(RequestUserDto dto, String department) throws UserAlreadyExistsException;
+    KitchenUser createKitchenUser(RequestUserDto dto, String station) throws UserAlreadyExistsException;
 
     // User management
     void updateUserStatus(String userId, boolean enabled);
@@ -2,21 +2,25 @@ package com.foodopia.authentication.service.impl;
 
 import com.foodopia.authentication.domain.AbstractFoodopiaUser;
 import com.foodopia.authentication.dto.*;
+import com.foodopia.authentication.entity.Administrator;
+import com.foodopia.authentication.entity.Customer;
+import com.foodopia.authentication.entity.KitchenUser;
+import com.foodopia.authentication.entity.Operator;
 import com.foodopia.authentication.exception.UserAlreadyExistsException;
 import com.foodopia.authentication.exception.UserNotFoundException;
+import com.foodopia.authentication.outbox.AuthEventOutboxRelay;
+import com.foodopia.authentication.outbox.AuthEventPublisher;
 import com.foodopia.authentication.service.IAuthenticationService;
 import com.foodopia.authentication.service.IUserService;
 import com.foodopia.authentication.util.JwtUtil;
-import jakarta.servlet.http.HttpServletRequest;
+import com.foodopia.authentication.util.RequestMetadata;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cloud.stream.function.StreamBridge;
 import org.springframework.stereotype.Service;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -25,7 +29,8 @@ public class IAuthenticationServiceImpl implements IAuthenticationService {
 
     private final IUserService IUserService;
     private final JwtUtil jwtUtil;
-    private final StreamBridge streamBridge;
+    private final AuthEventPublisher authEventPublisher;
+    private final AuthEventOutboxRelay authEventOutboxRelay;
 
     // In-memory token blacklist (use Redis in production)
     private final Set<String> blacklistedTokens = ConcurrentHashMap.newKeySet();
@@ -62,50 +67,38 @@ public class IAuthenticationServiceImpl implements IAuthenticationService {
 
     @Override
     public void registerCustomer(RequestUserDto dto) throws UserAlreadyExistsException {
-        IUserService.createCustomer(dto);
+        Customer user = IUserService.createCustomer(dto);
 
-        // Find the created user to get the userId
-        AbstractFoodopiaUser user = IUserService.findUserByUsername(dto.getUsername())
-                .orElseThrow(() -> new RuntimeException("Failed to retrieve created user"));
-
-        // Send user registration notification
-        sendRegistrationNotification(user);
+        // The registration event was written to the outbox with the user, publish it right away
+        authEventOutboxRelay.wakeUp();
+        log.info("Registration notification queued for user: {}", user.getUsername());
     }
 
     @Override
     public void registerAdmin(RequestUserDto dto, String adminLevel) throws UserAlreadyExistsException {
-        IUserService.createAdmin(dto, adminLevel);
-
-        // Find the created user to get the userId
-        AbstractFoodopiaUser user = IUserService.findUserByUsername(dto.getUsername())
-                .orElseThrow(() -> new RuntimeException("Failed to retrieve created user"));
+        Administrator user = IUserService.createAdmin(dto, adminLevel);
 
-        // Send user registration notification
-        sendRegistrationNotification(user);
+        // The registration event was written to the outbox with the user, publish it right away
+        authEventOutboxRelay.wakeUp();
+        log.info("Registration notification queued for user: {}", user.getUsername());
     }
 
     @Override
     public void registerOperator(RequestUserDto dto, String department) throws UserAlreadyExistsException {
-        IUserService.createOperator(dto, department);
-
-        // Find the created user to get the userId
-        AbstractFoodopiaUser user = IUserService.findUserByUsername(dto.getUsername())
-                .orElseThrow(() -> new RuntimeException("Failed to retrieve created user"));
+        Operator user = IUserService.createOperator(dto, department);
 
-        // Send user registration notification
-        sendRegistrationNotification(user);
+        // The registration event was written to the outbox with the user, publish it right away
+        authEventOutboxRelay.wakeUp();
+        log.info("Registration notification queued for user: {}", user.getUsername());
     }
 
     @Override
     public void registerKitchenUser(RequestUserDto dto, String station) throws UserAlreadyExistsException {
-        IUserService.createKitchenUser(dto, station);
+        KitchenUser user = IUserService.createKitchenUser(dto, station);
 
-        // Find the created user to get the userId
-        AbstractFoodopiaUser user = IUserService.findUserByUsername(dto.getUsername())
-                .orElseThrow(() -> new RuntimeException("Failed to retrieve created user"));
-
-        // Send user registration notification
-        sendRegistrationNotification(user);
+        // The registration event was written to the outbox with the user, publish it right away
+        authEventOutboxRelay.wakeUp();
+        log.info("Registration notification queued for user: {}", user.getUsername());
     }
 
     @Override
@@ -227,38 +220,26 @@ public class IAuthenticationServiceImpl implements IAuthenticationService {
     }
 
     /**
-     * Send user registration notification
-     */
-    private void sendRegistrationNotification(AbstractFoodopiaUser user) {
-        AuthEventDto authEvent = AuthEventDto.userRegistered(
-                user.getUserId(),
-                user.getUsername(),
-                user.getEmail()
-        );
-
-        sendAuthEvent(authEvent);
-        log.info("Registration notification sent for user: {}", user.getUsername());
-    }
-
-    /**
-     * Send login notification with device/location info if available
+     * Send login notification with device/location info if available. Only the raw headers are
+     * captured here; parsing them and building the event happens on the publisher thread.
      */
     private void sendLoginNotification(AbstractFoodopiaUser user) {
-        String deviceInfo = getDeviceInfo();
-        String location = getLocationInfo();
-        String ipAddress = getClientIpAddress();
-
-        AuthEventDto authEvent = AuthEventDto.newDeviceLogin(
-                user.getUserId(),
-                user.getUsername(),
-                user.getEmail(),
-                deviceInfo,
-                location,
-                ipAddress
-        );
-
-        sendAuthEvent(authEvent);
-        log.info("Login notification sent for user: {}", user.getUsername());
+        RequestMetadata metadata = RequestMetadata.capture();
+        String userId = user.getUserId();
+        String username = user.getUsername();
+        String email = user.getEmail();
+
+        publishAuthEvent(AuthEventDto.NEW_DEVICE_LOGIN, username, () -> AuthEventDto.newDeviceLogin(
+                userId,
+                username,
+                email,
+                metadata.userAgent(),
+                // In production, this could use GeoIP service
+                // For now, null - notification service will handle gracefully
+                null,
+                metadata.clientIpAddress()
+        ));
+        log.debug("Login notification queued for user: {}", username);
     }
 
     /**
@@ -272,78 +253,23 @@ public class IAuthenticationServiceImpl implements IAuthenticationService {
         );
 
         sendAuthEvent(authEvent);
-        log.info("Password change notification sent for user: {}", user.getUsername());
+        log.info("Password change notification queued for user: {}", user.getUsername());
     }
 
     /**
-     * Send authentication event via Kafka to notification service
-     * Following EazyBank StreamBridge pattern exactly
+     * Queue an authentication event for the notification service. Publishing to Kafka happens
+     * asynchronously in {@link AuthEventPublisher}, so this never waits on the broker.
      */
     private void sendAuthEvent(AuthEventDto authEvent) {
-        try {
-            log.info("Sending authentication event: {} for user: {}",
-                    authEvent.eventType(), authEvent.username());
-
-            // Using the same pattern as EazyBank accounts service
-            var result = streamBridge.send("sendAuthEvent-out-0", authEvent);
-
-            if (result) {
-                log.info("Authentication event successfully sent to Kafka for user: {}",
-                        authEvent.username());
-            } else {
-                log.error("Failed to send authentication event to Kafka for user: {}",
-                        authEvent.username());
-            }
-        } catch (Exception e) {
-            log.error("Error sending authentication event for user: {} - {}",
-                    authEvent.username(), e.getMessage(), e);
-        }
-    }
-
-    // Helper methods to extract request context information
-    private String getDeviceInfo() {
-        try {
-            ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-            if (attributes != null) {
-                HttpServletRequest request = attributes.getRequest();
-                return request.getHeader("User-Agent");
-            }
-        } catch (Exception e) {
-            log.debug("Could not extract device info: {}", e.getMessage());
-        }
-        return null;
-    }
-
-    private String getLocationInfo() {
-        // In production, this could use GeoIP service
-        // For now, return null - notification service will handle gracefully
-        return null;
+        publishAuthEvent(authEvent.eventType(), authEvent.username(), () -> authEvent);
     }
 
-    private String getClientIpAddress() {
+    private void publishAuthEvent(String eventType, String username, Supplier<AuthEventDto> eventFactory) {
         try {
-            ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-            if (attributes != null) {
-                HttpServletRequest request = attributes.getRequest();
-
-                // Check for X-Forwarded-For header first (proxy/load balancer)
-                String xForwardedFor = request.getHeader("X-Forwarded-For");
-                if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-                    return xForwardedFor.split(",")[0].trim();
-                }
-
-                // Check for X-Real-IP header
-                String xRealIp = request.getHeader("X-Real-IP");
-                if (xRealIp != null && !xRealIp.isEmpty()) {
-                    return xRealIp;
-                }
-
-                // Fall back to remote address
-                return request.getRemoteAddr();
-            }
+            authEventPublisher.publish(eventFactory);
         } catch (Exception e) {
-            log.debug("Could not extract client IP: {}", e.getMessage());
+            log.error("Error queueing authentication event: {} for user: {} - {}",
+                    eventType, username, e.getMessage(), e);
         }
-        return null;
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package com.foodopia.authentication.service.impl;
 
 import com.foodopia.authentication.domain.AbstractFoodopiaUser;
+import com.foodopia.authentication.dto.AuthEventDto;
 import com.foodopia.authentication.dto.RequestUserDto;
 import com.foodopia.authentication.dto.UserInfoResponse;
 import com.foodopia.authentication.entity.*;
@@ -14,6 +15,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Optional;
 
 @Service
@@ -26,6 +28,7 @@ public class IUserServiceImpl implements IUserService {
     private final AdministratorRepository administratorRepository;
     private final OperatorRepository operatorRepository;
     private final KitchenUserRepository kitchenUserRepository;
+    private final AuthEventOutboxRepository authEventOutboxRepository;
     private final PasswordEncoder passwordEncoder;
 
     @Override
@@ -90,39 +93,51 @@ public class IUserServiceImpl implements IUserService {
     }
 
     @Override
-    public void createCustomer(RequestUserDto dto) throws UserAlreadyExistsException {
+    public Customer createCustomer(RequestUserDto dto) throws UserAlreadyExistsException {
         validateUserRegistration(dto);
         Customer customer = new Customer(dto.getUsername(), dto.getEmail());
         customer.setPassword(passwordEncoder.encode(dto.getPassword()));
-        customerRepository.save(customer);
+        customer.setRegistrationEventPending(true);
+        Customer saved = customerRepository.save(customer);
+        recordRegistration(saved);
         log.info("Customer created: {}", dto.getUsername());
+        return saved;
     }
 
     @Override
-    public void createAdmin(RequestUserDto dto, String adminLevel) throws UserAlreadyExistsException {
+    public Administrator createAdmin(RequestUserDto dto, String adminLevel) throws UserAlreadyExistsException {
         validateUserRegistration(dto);
         Administrator admin = new Administrator(dto.getUsername(), dto.getEmail(), adminLevel);
         admin.setPassword(passwordEncoder.encode(dto.getPassword()));
-        administratorRepository.save(admin);
+        admin.setRegistrationEventPending(true);
+        Administrator saved = administratorRepository.save(admin);
+        recordRegistration(saved);
         log.info("Administrator created: {}", dto.getUsername());
+        return saved;
     }
 
     @Override
-    public void createOperator(RequestUserDto dto, String department) throws UserAlreadyExistsException {
+    public Operator createOperator(RequestUserDto dto, String department) throws UserAlreadyExistsException {
         validateUserRegistration(dto);
         Operator operator = new Operator(dto.getUsername(), dto.getEmail(), department);
         operator.setPassword(passwordEncoder.encode(dto.getPassword()));
-        operatorRepository.save(operator);
+        operator.setRegistrationEventPending(true);
+        Operator saved = operatorRepository.save(operator);
+        recordRegistration(saved);
         log.info("Operator created: {}", dto.getUsername());
+        return saved;
     }
 
     @Override
-    public void createKitchenUser(RequestUserDto dto, String station) throws UserAlreadyExistsException {
+    public KitchenUser createKitchenUser(RequestUserDto dto, String station) throws UserAlreadyExistsException {
         validateUserRegistration(dto);
         KitchenUser kitchenUser = new KitchenUser(dto.getUsername(), dto.getEmail(), station);
         kitchenUser.setPassword(passwordEncoder.encode(dto.getPassword()));
-        kitchenUserRepository.save(kitchenUser);
+        kitchenUser.setRegistrationEventPending(true);
+        KitchenUser saved = kitchenUserRepository.save(kitchenUser);
+        recordRegistration(saved);
         log.info("Kitchen user created: {}", dto.getUsername());
+        return saved;
     }
 
     @Override
@@ -190,6 +205,21 @@ public class IUserServiceImpl implements IUserService {
         return passwordEncoder.matches(rawPassword, encodedPassword);
     }
 
+    /**
+     * Write the registration event to the outbox for AuthEventOutboxRelay to publish. The user was
+     * stored with registrationEventPending, so should this write be lost the relay recovers the event
+     * from the user document; consumers may then see it twice.
+     */
+    private void recordRegistration(AbstractFoodopiaUser user) {
+        AuthEventDto event = AuthEventDto.userRegistered(user.getUserId(), user.getUsername(), user.getEmail());
+        try {
+            authEventOutboxRepository.save(AuthEventOutboxEntry.registration(event, Instant.now()));
+        } catch (Exception e) {
+            log.warn("Failed to write registration event for user: {} to the outbox, leaving it to the relay - {}",
+                    user.getUsername(), e.getMessage());
+        }
+    }
+
     // Helper method
     private void validateUserRegistration(RequestUserDto dto) throws UserAlreadyExistsException {
         if (!isUsernameAvailable(dto.getUsername())) {
@@ -0,0 +1,44 @@
+package com.foodopia.authentication.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Raw client headers of the current request. Capturing only copies header references so it is
+ * cheap on the request thread; interpreting them is left to whoever builds the event later.
+ *
+ * @param userAgent User-Agent header
+ * @param forwardedFor X-Forwarded-For header
+ * @param realIp X-Real-IP header
+ * @param remoteAddress Address of the connecting client
+ */
+public record RequestMetadata(String userAgent, String forwardedFor, String realIp, String remoteAddress) {
+
+    private static final RequestMetadata EMPTY = new RequestMetadata(null, null, null, null);
+
+    public static RequestMetadata capture() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return EMPTY;
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        return new RequestMetadata(request.getHeader("User-Agent"), request.getHeader("X-Forwarded-For"),
+                request.getHeader("X-Real-IP"), request.getRemoteAddr());
+    }
+
+    public String clientIpAddress() {
+        // Check for X-Forwarded-For header first (proxy/load balancer)
+        if (forwardedFor != null && !forwardedFor.isEmpty()) {
+            int comma = forwardedFor.indexOf(',');
+            return (comma < 0 ? forwardedFor : forwardedFor.substring(0, comma)).trim();
+        }
+        // Check for X-Real-IP header
+        if (realIp != null && !realIp.isEmpty()) {
+            return realIp;
+        }
+        // Fall back to remote address
+        return remoteAddress;
+    }
+}
@@ -2,9 +2,14 @@ package com.foodopia.authentication.unitTests;
 
 import com.foodopia.authentication.domain.AbstractFoodopiaUser;
 import com.foodopia.authentication.dto.*;
+import com.foodopia.authentication.entity.Administrator;
 import com.foodopia.authentication.entity.Customer;
+import com.foodopia.authentication.entity.KitchenUser;
+import com.foodopia.authentication.entity.Operator;
 import com.foodopia.authentication.exception.UserAlreadyExistsException;
 import com.foodopia.authentication.exception.UserNotFoundException;
+import com.foodopia.authentication.outbox.AuthEventOutboxRelay;
+import com.foodopia.authentication.outbox.AuthEventPublisher;
 import com.foodopia.authentication.service.IUserService;
 import com.foodopia.authentication.service.impl.IAuthenticationServiceImpl;
 import com.foodopia.authentication.util.JwtUtil;
@@ -31,6 +36,12 @@ class AuthenticationServiceTest {
     @Mock
     private JwtUtil jwtUtil;
 
+    @Mock
+    private AuthEventPublisher authEventPublisher;
+
+    @Mock
+    private AuthEventOutboxRelay authEventOutboxRelay;
+
     @InjectMocks
     private IAuthenticationServiceImpl authenticationService;
 
@@ -148,7 +159,7 @@ class AuthenticationServiceTest {
     @DisplayName("Should register customer successfully")
     void testRegisterCustomer_Success() {
         // Given
-        doNothing().when(userService).createCustomer(testUserDto);
+        when(userService.createCustomer(testUserDto)).thenReturn(testCustomer);
 
         // When
         assertThatCode(() -> authenticationService.registerCustomer(testUserDto))
@@ -156,6 +167,8 @@ class AuthenticationServiceTest {
 
         // Then
         verify(userService).createCustomer(testUserDto);
+        verify(userService, never()).findUserByUsername(anyString());
+        verify(authEventOutboxRelay).wakeUp();
     }
 
     @Test
@@ -177,7 +190,8 @@ class AuthenticationServiceTest {
     @DisplayName("Should register admin successfully")
     void testRegisterAdmin_Success() {
         // Given
-        doNothing().when(userService).createAdmin(testUserDto, "SUPER_ADMIN");
+        when(userService.createAdmin(testUserDto, "SUPER_ADMIN"))
+                .thenReturn(new Administrator("testuser", "test@example.com", "SUPER_ADMIN"));
 
         // When
         assertThatCode(() -> authenticationService.registerAdmin(testUserDto, "SUPER_ADMIN"))
@@ -191,7 +205,8 @@ class AuthenticationServiceTest {
     @DisplayName("Should register operator successfully")
     void testRegisterOperator_Success() {
         // Given
-        doNothing().when(userService).createOperator(testUserDto, "OPERATIONS");
+        when(userService.createOperator(testUserDto, "OPERATIONS"))
+                .thenReturn(new Operator("testuser", "test@example.com", "OPERATIONS"));
 
         // When
         assertThatCode(() -> authenticationService.registerOperator(testUserDto, "OPERATIONS"))
@@ -205,7 +220,8 @@ class AuthenticationServiceTest {
     @DisplayName("Should register kitchen user successfully")
     void testRegisterKitchenUser_Success() {
         // Given
-        doNothing().when(userService).createKitchenUser(testUserDto, "PREP_STATION_1");
+        when(userService.createKitchenUser(testUserDto, "PREP_STATION_1"))
+                .thenReturn(new KitchenUser("testuser", "test@example.com", "PREP_STATION_1"));
 
         // When
         assertThatCode(() -> authenticationService.registerKitchenUser(testUserDto, "PREP_STATION_1"))
@@ -1,6 +1,7 @@
 package com.foodopia.authentication.unitTests;
 
 import com.foodopia.authentication.domain.AbstractFoodopiaUser;
+import com.foodopia.authentication.dto.AuthEventDto;
 import com.foodopia.authentication.dto.RequestUserDto;
 import com.foodopia.authentication.dto.UserInfoResponse;
 import com.foodopia.authentication.entity.*;
@@ -39,6 +40,9 @@ class UserServiceTest {
     @Mock
     private KitchenUserRepository kitchenUserRepository;
 
+    @Mock
+    private AuthEventOutboxRepository authEventOutboxRepository;
+
     @Mock
     private PasswordEncoder passwordEncoder;
 
@@ -240,6 +244,9 @@ class UserServiceTest {
         // Then
         verify(passwordEncoder).encode("Password123");
         verify(customerRepository).save(any(Customer.class));
+        verify(authEventOutboxRepository).save(argThat(entry ->
+                AuthEventDto.USER_REGISTERED.equals(entry.getEvent().eventType())
+                        && "customer123".equals(entry.getEvent().userId())));
     }
 
     @Test
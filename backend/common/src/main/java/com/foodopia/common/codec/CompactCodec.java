@@ -0,0 +1,216 @@
+package com.foodopia.common.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact binary encoding of registered events. A message is a magic byte, the schema id and the
+ * writer's schema version as varints, followed by the field values in the order of that version
+ * (see {@link FieldType} for the value encodings). Field names are never written; the reader takes
+ * them from the writer's version in the {@link EventSchemaRegistry}.
+ */
+public class CompactCodec {
+
+    static final byte MAGIC = (byte) 0xC7;
+
+    private static final int INITIAL_BUFFER_SIZE = 256;
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
+    private final EventSchemaRegistry registry;
+    private final ThreadLocal<Writer> writers = ThreadLocal.withInitial(Writer::new);
+
+    public CompactCodec(EventSchemaRegistry registry) {
+        this.registry = registry;
+    }
+
+    public EventSchemaRegistry registry() {
+        return registry;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> byte[] encode(T event) {
+        EventSchema<T> schema = (EventSchema<T>) registry.forType(event.getClass());
+        if (schema == null) {
+            throw new IllegalArgumentException("No compact schema registered for " + event.getClass().getName());
+        }
+        List<SchemaField> fields = schema.fields();
+        Object[] values = schema.extract(event);
+        Writer writer = writers.get();
+        writer.reset();
+        writer.buffer[writer.position++] = MAGIC;
+        writer.writeVarint(schema.id());
+        writer.writeVarint(schema.latestVersion());
+        for (int i = 0; i < fields.size(); i++) {
+            if (fields.get(i).type() == FieldType.STRING) {
+                writer.writeString((String) values[i]);
+            } else {
+                writer.writeInt((Integer) values[i]);
+            }
+        }
+        return writer.toByteArray();
+    }
+
+    public <T> T decode(byte[] bytes, Class<T> type) {
+        Object event = decode(bytes);
+        if (!type.isInstance(event)) {
+            throw new IllegalArgumentException("Expected " + type.getSimpleName() + " but message holds "
+                    + event.getClass().getSimpleName());
+        }
+        return type.cast(event);
+    }
+
+    public Object decode(byte[] bytes) {
+        Reader reader = new Reader(bytes);
+        if (bytes.length == 0 || reader.readByte() != MAGIC) {
+            throw new IllegalArgumentException("Not a compact encoded event");
+        }
+        int id = (int) reader.readVarint();
+        int version = (int) reader.readVarint();
+        EventSchema<?> schema = registry.forId(id);
+        if (schema == null) {
+            throw new IllegalArgumentException("Unknown compact schema id " + id);
+        }
+        return decode(reader, schema, version);
+    }
+
+    /**
+     * Whether the bytes start like a compact encoded event
+     */
+    public static boolean isCompact(byte[] bytes) {
+        return bytes.length > 0 && bytes[0] == MAGIC;
+    }
+
+    private <T> T decode(Reader reader, EventSchema<T> schema, int version) {
+        List<SchemaField> writerFields = schema.fields(version);
+        if (writerFields == null) {
+            throw new IllegalArgumentException("Unknown version " + version + " of compact schema "
+                    + schema.type().getSimpleName());
+        }
+        int[] projection = schema.projection(version);
+        Object[] values = new Object[schema.fields().size()];
+        for (int i = 0; i < writerFields.size(); i++) {
+            Object value = writerFields.get(i).type() == FieldType.STRING ? reader.readString() : reader.readInt();
+            if (projection[i] >= 0) {
+                values[projection[i]] = value;
+            }
+        }
+        return schema.create(values);
+    }
+
+    /**
+     * Per-thread growable output buffer, so encoding allocates only the resulting array
+     */
+    private static final class Writer {
+
+        private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+        private int position;
+
+        void reset() {
+            if (buffer.length > MAX_RETAINED_BUFFER_SIZE) {
+                buffer = new byte[INITIAL_BUFFER_SIZE];
+            }
+            position = 0;
+        }
+
+        void writeVarint(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeInt(Integer value) {
+            if (value == null) {
+                writeVarint(0);
+                return;
+            }
+            writeVarint(((((long) value) << 1) ^ (((long) value) >> 63)) + 1);
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarint(0);
+                return;
+            }
+            int length = value.length();
+            boolean ascii = true;
+            for (int i = 0; i < length && ascii; i++) {
+                ascii = value.charAt(i) < 0x80;
+            }
+            if (ascii) {
+                writeVarint(length + 1L);
+                ensureCapacity(length);
+                for (int i = 0; i < length; i++) {
+                    buffer[position++] = (byte) value.charAt(i);
+                }
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(utf8.length + 1L);
+            ensureCapacity(utf8.length);
+            System.arraycopy(utf8, 0, buffer, position, utf8.length);
+            position += utf8.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void ensureCapacity(int additional) {
+            if (position + additional > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+            }
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        byte readByte() {
+            if (position >= bytes.length) {
+                throw new IllegalArgumentException("Truncated compact encoded event");
+            }
+            return bytes[position++];
+        }
+
+        long readVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in compact encoded event");
+        }
+
+        Integer readInt() {
+            long encoded = readVarint();
+            if (encoded == 0) return null;
+            long zigzag = encoded - 1;
+            return (int) ((zigzag >>> 1) ^ -(zigzag & 1));
+        }
+
+        String readString() {
+            long encoded = readVarint();
+            if (encoded == 0) return null;
+            int length = (int) (encoded - 1);
+            if (length < 0 || length > bytes.length - position) {
+                throw new IllegalArgumentException("Truncated compact encoded event");
+            }
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.foodopia.common.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.AbstractMessageConverter;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.util.MimeType;
+
+import java.io.IOException;
+
+/**
+ * Spring Cloud Stream message converter for the compact event encoding, selected by a binding's
+ * {@code content-type: application/x-foodopia-compact}. Inbound payloads that are not compact
+ * encoded are read as JSON, so a consumer can switch first and keep reading events from producers
+ * that still send JSON during a rollout.
+ */
+public class CompactMessageConverter extends AbstractMessageConverter {
+
+    public static final MimeType COMPACT = MimeType.valueOf("application/x-foodopia-compact");
+
+    private final CompactCodec codec;
+    private final ObjectMapper objectMapper;
+
+    public CompactMessageConverter(CompactCodec codec, ObjectMapper objectMapper) {
+        super(COMPACT);
+        this.codec = codec;
+        this.objectMapper = objectMapper;
+        // Without a contentType header the payload is assumed to be JSON
+        setStrictContentTypeMatch(true);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return codec.registry().supports(clazz);
+    }
+
+    @Override
+    protected Object convertFromInternal(Message<?> message, Class<?> targetClass, Object conversionHint) {
+        Object payload = message.getPayload();
+        try {
+            if (payload instanceof byte[] bytes) {
+                return CompactCodec.isCompact(bytes) ? codec.decode(bytes, targetClass)
+                        : objectMapper.readValue(bytes, targetClass);
+            }
+            if (payload instanceof String json) {
+                return objectMapper.readValue(json, targetClass);
+            }
+            return null;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new MessageConversionException(message, "Failed to read " + targetClass.getSimpleName()
+                    + " from compact or JSON payload - " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    protected Object convertToInternal(Object payload, MessageHeaders headers, Object conversionHint) {
+        return codec.encode(payload);
+    }
+}
@@ -0,0 +1,138 @@
+package com.foodopia.common.codec;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Versioned schema of one event type for the compact encoding. Events are always written with the
+ * latest version; any registered version can be read and is projected onto the latest one by field
+ * name, so fields may be added or dropped between versions but never change their type. Fields a
+ * writer did not know are null for the reader.
+ *
+ * @param <T> Event type
+ */
+public final class EventSchema<T> {
+
+    private final int id;
+    private final Class<T> type;
+    private final NavigableMap<Integer, List<SchemaField>> versions;
+    private final Function<T, Object[]> extractor;
+    private final Function<Object[], T> factory;
+    // Per writer version: index of each writer field in the latest version, -1 when it was dropped
+    private final Map<Integer, int[]> projections = new HashMap<>();
+
+    private EventSchema(int id, Class<T> type, NavigableMap<Integer, List<SchemaField>> versions,
+                        Function<T, Object[]> extractor, Function<Object[], T> factory) {
+        this.id = id;
+        this.type = type;
+        this.versions = versions;
+        this.extractor = extractor;
+        this.factory = factory;
+
+        List<SchemaField> latest = versions.lastEntry().getValue();
+        Map<String, Integer> latestIndex = new HashMap<>();
+        for (int i = 0; i < latest.size(); i++) {
+            latestIndex.put(latest.get(i).name(), i);
+        }
+        versions.forEach((version, fields) -> {
+            int[] projection = new int[fields.size()];
+            for (int i = 0; i < fields.size(); i++) {
+                SchemaField field = fields.get(i);
+                Integer index = latestIndex.get(field.name());
+                if (index != null && latest.get(index).type() != field.type()) {
+                    throw new IllegalArgumentException("Field " + field.name() + " of schema " + type.getSimpleName()
+                            + " changes type in version " + version);
+                }
+                projection[i] = index != null ? index : -1;
+            }
+            projections.put(version, projection);
+        });
+    }
+
+    public static <T> Builder<T> builder(int id, Class<T> type) {
+        return new Builder<>(id, type);
+    }
+
+    public int id() {
+        return id;
+    }
+
+    public Class<T> type() {
+        return type;
+    }
+
+    public int latestVersion() {
+        return versions.lastKey();
+    }
+
+    public List<SchemaField> fields() {
+        return versions.lastEntry().getValue();
+    }
+
+    /**
+     * Fields of a writer version, null when this version is unknown
+     */
+    public List<SchemaField> fields(int version) {
+        return versions.get(version);
+    }
+
+    int[] projection(int version) {
+        return projections.get(version);
+    }
+
+    Object[] extract(T event) {
+        return extractor.apply(event);
+    }
+
+    T create(Object[] values) {
+        return factory.apply(values);
+    }
+
+    public static final class Builder<T> {
+
+        private final int id;
+        private final Class<T> type;
+        private final NavigableMap<Integer, List<SchemaField>> versions = new TreeMap<>();
+        private Function<T, Object[]> extractor;
+        private Function<Object[], T> factory;
+
+        private Builder(int id, Class<T> type) {
+            this.id = id;
+            this.type = type;
+        }
+
+        public Builder<T> version(int version, SchemaField... fields) {
+            versions.put(version, Collections.unmodifiableList(new ArrayList<>(List.of(fields))));
+            return this;
+        }
+
+        /**
+         * Field values of an event, in the order of the latest version
+         */
+        public Builder<T> extractor(Function<T, Object[]> extractor) {
+            this.extractor = extractor;
+            return this;
+        }
+
+        /**
+         * Create an event from field values in the order of the latest version
+         */
+        public Builder<T> factory(Function<Object[], T> factory) {
+            this.factory = factory;
+            return this;
+        }
+
+        public EventSchema<T> build() {
+            if (versions.isEmpty() || extractor == null || factory == null) {
+                throw new IllegalStateException("Schema " + type.getSimpleName() + " needs a version, an extractor and a factory");
+            }
+            return new EventSchema<>(id, type, new TreeMap<>(versions), extractor, factory);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.foodopia.common.codec;
+
+/**
+ * Ids of every compact event schema across the services, kept in one place so an id is never
+ * handed out twice. Ids must never be reused; add a version to a schema instead of changing it.
+ */
+public final class EventSchemaIds {
+
+    // Authentication events, 1-9
+    public static final int AUTH_EVENT = 1;
+
+    // Meal events, 10-19
+    public static final int MEAL_UPDATE_EVENT = 10;
+    public static final int INVENTORY_UPDATE_EVENT = 11;
+    public static final int DELIVERY_REQUEST_EVENT = 12;
+    public static final int MEAL_EVENT_CONFIRMATION = 13;
+
+    private EventSchemaIds() {
+    }
+}
@@ -0,0 +1,44 @@
+package com.foodopia.common.codec;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Local stand-in for a schema registry: every event type that may travel in the compact encoding
+ * is registered here under a numeric id that is shared by producer and consumer services, together
+ * with all versions of its schema.
+ */
+public class EventSchemaRegistry {
+
+    private final Map<Integer, EventSchema<?>> byId = new HashMap<>();
+    private final Map<Class<?>, EventSchema<?>> byType = new HashMap<>();
+
+    public EventSchemaRegistry register(EventSchema<?> schema) {
+        EventSchema<?> existing = byId.putIfAbsent(schema.id(), schema);
+        if (existing != null) {
+            throw new IllegalArgumentException("Schema id " + schema.id() + " is already taken by "
+                    + existing.type().getSimpleName());
+        }
+        byType.put(schema.type(), schema);
+        return this;
+    }
+
+    public boolean supports(Class<?> type) {
+        return byType.containsKey(type);
+    }
+
+    /**
+     * Schema registered for an event type, null when there is none
+     */
+    @SuppressWarnings("unchecked")
+    public <T> EventSchema<T> forType(Class<T> type) {
+        return (EventSchema<T>) byType.get(type);
+    }
+
+    /**
+     * Schema registered under an id, null when there is none
+     */
+    public EventSchema<?> forId(int id) {
+        return byId.get(id);
+    }
+}
@@ -0,0 +1,10 @@
+package com.foodopia.common.codec;
+
+/**
+ * Wire types of the compact event encoding. Both are nullable: STRING is written as a varint of
+ * (byte length + 1) followed by the UTF-8 bytes, INT as a varint of (zigzag value + 1); 0 is null.
+ */
+public enum FieldType {
+    STRING,
+    INT
+}
@@ -0,0 +1,16 @@
+package com.foodopia.common.codec;
+
+/**
+ * @param name Field name, matched between writer and reader schema versions
+ * @param type Wire type of the field
+ */
+public record SchemaField(String name, FieldType type) {
+
+    public static SchemaField string(String name) {
+        return new SchemaField(name, FieldType.STRING);
+    }
+
+    public static SchemaField integer(String name) {
+        return new SchemaField(name, FieldType.INT);
+    }
+}
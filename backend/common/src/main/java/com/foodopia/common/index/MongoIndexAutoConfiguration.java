@@ -0,0 +1,45 @@
+package com.foodopia.common.index;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Registers the background index manager, its readiness indicator and the mongoindexes endpoint
+ * in services that set foodopia.mongo.indexes.enabled=true.
+ */
+@AutoConfiguration(after = MongoDataAutoConfiguration.class)
+@ConditionalOnClass(MongoTemplate.class)
+@ConditionalOnBean(MongoTemplate.class)
+@ConditionalOnProperty(name = "foodopia.mongo.indexes.enabled", havingValue = "true")
+public class MongoIndexAutoConfiguration {
+
+    @Bean
+    public MongoIndexManager mongoIndexManager(MongoTemplate mongoTemplate,
+                                               MongoMappingContext mappingContext,
+                                               @Value("${foodopia.mongo.indexes.required:}") Set<String> requiredIndexNames,
+                                               @Value("${foodopia.mongo.indexes.retry-delay:30s}") Duration retryDelay) {
+        return new MongoIndexManager(mongoTemplate, mappingContext, requiredIndexNames, retryDelay);
+    }
+
+    @Bean
+    public MongoIndexHealthIndicator mongoIndexHealthIndicator(MongoIndexManager mongoIndexManager) {
+        return new MongoIndexHealthIndicator(mongoIndexManager);
+    }
+
+    @Bean
+    @ConditionalOnAvailableEndpoint
+    public MongoIndexEndpoint mongoIndexEndpoint(MongoIndexManager mongoIndexManager) {
+        return new MongoIndexEndpoint(mongoIndexManager);
+    }
+}
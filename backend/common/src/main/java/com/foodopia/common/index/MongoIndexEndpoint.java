@@ -0,0 +1,38 @@
+package com.foodopia.common.index;
+
+import lombok.AllArgsConstructor;
+import org.bson.Document;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exposes declared index state and live build progress at /actuator/mongoindexes.
+ */
+@Endpoint(id = "mongoindexes")
+@AllArgsConstructor
+public class MongoIndexEndpoint {
+
+    private final MongoIndexManager mongoIndexManager;
+
+    @ReadOperation
+    public Map<String, Object> indexes() {
+        List<MongoIndexManager.IndexStatus> statuses = mongoIndexManager.statuses();
+        Map<String, List<Document>> progress = new LinkedHashMap<>();
+        for (MongoIndexManager.IndexStatus status : statuses) {
+            if (status.state() == MongoIndexManager.IndexState.BUILDING) {
+                progress.computeIfAbsent(status.collection(), mongoIndexManager::buildProgress);
+            }
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("requiredReady", mongoIndexManager.requiredIndexesReady());
+        body.put("reconciled", mongoIndexManager.isReconciled());
+        body.put("indexes", new ArrayList<>(statuses));
+        body.put("buildProgress", progress);
+        return body;
+    }
+}
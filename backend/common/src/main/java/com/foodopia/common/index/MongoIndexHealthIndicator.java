@@ -0,0 +1,37 @@
+package com.foodopia.common.index;
+
+import lombok.AllArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import java.util.List;
+
+/**
+ * Part of the readiness group: only a missing required index takes the instance out of service.
+ * Optional indexes still building are reported as a detail and do not hold readiness back.
+ */
+@AllArgsConstructor
+public class MongoIndexHealthIndicator implements HealthIndicator {
+
+    private final MongoIndexManager mongoIndexManager;
+
+    @Override
+    public Health health() {
+        if (!mongoIndexManager.isInspected()) {
+            return Health.outOfService().withDetail("indexes", "inspecting").build();
+        }
+        List<String> missing = mongoIndexManager.missingRequiredIndexes().stream()
+                .map(status -> status.collection() + "." + status.name() + " (" + status.state() + ")")
+                .toList();
+        if (!missing.isEmpty()) {
+            return Health.outOfService().withDetail("missingRequiredIndexes", missing).build();
+        }
+        long optionalPending = mongoIndexManager.statuses().stream()
+                .filter(status -> !status.required() && status.state() != MongoIndexManager.IndexState.READY)
+                .count();
+        return Health.up()
+                .withDetail("indexes", mongoIndexManager.statuses().size())
+                .withDetail("optionalPending", optionalPending)
+                .build();
+    }
+}
@@ -0,0 +1,241 @@
+package com.foodopia.common.index;
+
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replaces implicit index creation at startup (spring.data.mongodb.auto-index-creation stays false).
+ * Once the application is ready, indexes declared through @Indexed / @CompoundIndex on @Document
+ * entities are compared with the indexes that exist, and missing ones are built one at a time on a
+ * background thread so boot is never blocked by a build on a large collection.
+ * Unique indexes, plus any listed in foodopia.mongo.indexes.required, are required for readiness.
+ */
+public class MongoIndexManager {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexManager.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+    private final Set<String> requiredIndexNames;
+    private final Duration retryDelay;
+    private final Map<String, IndexStatus> statuses = new ConcurrentHashMap<>();
+    private volatile boolean inspected;
+    private volatile boolean reconciled;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "mongo-index-manager");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public MongoIndexManager(MongoTemplate mongoTemplate,
+                             MongoMappingContext mappingContext,
+                             Set<String> requiredIndexNames,
+                             Duration retryDelay) {
+        this.mongoTemplate = mongoTemplate;
+        this.mappingContext = mappingContext;
+        this.requiredIndexNames = requiredIndexNames;
+        this.retryDelay = retryDelay;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileInBackground() {
+        executor.execute(this::reconcile);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Declared indexes with their current state, keyed by "collection.indexName"
+     */
+    public List<IndexStatus> statuses() {
+        return new ArrayList<>(statuses.values());
+    }
+
+    /**
+     * True once existing indexes have been compared with the declared ones, so statuses are meaningful
+     */
+    public boolean isInspected() {
+        return inspected;
+    }
+
+    /**
+     * True once every declared index has been processed, including optional ones
+     */
+    public boolean isReconciled() {
+        return reconciled;
+    }
+
+    /**
+     * True once inspection has run and every required index is present; optional builds may still be running
+     */
+    public boolean requiredIndexesReady() {
+        return inspected && missingRequiredIndexes().isEmpty();
+    }
+
+    /**
+     * Required indexes that are not (yet) present
+     */
+    public List<IndexStatus> missingRequiredIndexes() {
+        List<IndexStatus> missing = new ArrayList<>();
+        for (IndexStatus status : statuses.values()) {
+            if (status.required() && status.state() != IndexState.READY) {
+                missing.add(status);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Live progress of index builds on a collection as reported by MongoDB currentOp, if permitted
+     */
+    public List<Document> buildProgress(String collection) {
+        List<Document> progress = new ArrayList<>();
+        try {
+            Document result = mongoTemplate.getMongoDatabaseFactory().getMongoDatabase("admin").runCommand(
+                    new Document("currentOp", true)
+                            .append("command.createIndexes", collection));
+            List<Document> inprog = result.getList("inprog", Document.class, List.of());
+            for (Document op : inprog) {
+                Document entry = new Document("msg", op.getString("msg"));
+                if (op.get("progress") != null) {
+                    entry.append("progress", op.get("progress"));
+                }
+                progress.add(entry);
+            }
+        } catch (Exception e) {
+            log.debug("Index build progress unavailable for collection {}: {}", collection, e.getMessage());
+        }
+        return progress;
+    }
+
+    private void reconcile() {
+        try {
+            List<DeclaredIndex> declared = resolveDeclaredIndexes();
+            for (DeclaredIndex index : declared) {
+                boolean exists = existingIndexKeys(index.collection()).contains(keyPattern(index.definition()));
+                statuses.put(index.id(), new IndexStatus(index.collection(), index.name(), index.required(),
+                        exists ? IndexState.READY : IndexState.PENDING, null, LocalDateTime.now()));
+            }
+            inspected = true;
+            long missing = statuses.values().stream().filter(s -> s.state() == IndexState.PENDING).count();
+            log.info("Index reconciliation: {} declared, {} missing", declared.size(), missing);
+
+            // Required indexes gate readiness, so they go ahead of optional builds
+            for (boolean required : new boolean[]{true, false}) {
+                for (DeclaredIndex index : declared) {
+                    if (index.required() != required || statuses.get(index.id()).state() == IndexState.READY) {
+                        continue;
+                    }
+                    build(index);
+                }
+                if (required && requiredIndexesReady()) {
+                    log.info("All required indexes present, continuing with optional index builds");
+                }
+            }
+            reconciled = true;
+            if (statuses.values().stream().anyMatch(s -> s.state() == IndexState.FAILED)) {
+                executor.schedule(this::reconcile, retryDelay.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        } catch (Exception e) {
+            log.warn("Index reconciliation failed, retrying in {}", retryDelay, e);
+            if (!executor.isShutdown()) {
+                executor.schedule(this::reconcile, retryDelay.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void build(DeclaredIndex index) {
+        statuses.put(index.id(), new IndexStatus(index.collection(), index.name(), index.required(),
+                IndexState.BUILDING, null, LocalDateTime.now()));
+        long start = System.nanoTime();
+        try {
+            log.info("Building index {} on collection {}", index.name(), index.collection());
+            mongoTemplate.indexOps(index.collection()).ensureIndex(index.definition());
+            statuses.put(index.id(), new IndexStatus(index.collection(), index.name(), index.required(),
+                    IndexState.READY, null, LocalDateTime.now()));
+            log.info("Built index {} on collection {} in {} ms", index.name(), index.collection(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (Exception e) {
+            statuses.put(index.id(), new IndexStatus(index.collection(), index.name(), index.required(),
+                    IndexState.FAILED, e.getMessage(), LocalDateTime.now()));
+            log.warn("Failed to build index {} on collection {}", index.name(), index.collection(), e);
+        }
+    }
+
+    private List<DeclaredIndex> resolveDeclaredIndexes() {
+        IndexResolver resolver = IndexResolver.create(mappingContext);
+        List<DeclaredIndex> declared = new ArrayList<>();
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class)) continue;
+            for (IndexDefinition definition : resolver.resolveIndexFor(entity.getTypeInformation())) {
+                Document options = definition.getIndexOptions();
+                String name = options.getString("name");
+                if (name == null) name = keyPattern(definition);
+                boolean required = Boolean.TRUE.equals(options.get("unique")) || requiredIndexNames.contains(name);
+                declared.add(new DeclaredIndex(entity.getCollection(), name, definition, required));
+            }
+        }
+        return declared;
+    }
+
+    private List<String> existingIndexKeys(String collection) {
+        List<String> keys = new ArrayList<>();
+        for (Document index : mongoTemplate.getCollection(collection).listIndexes()) {
+            keys.add(keyPattern(index.get("key", Document.class)));
+        }
+        return keys;
+    }
+
+    private static String keyPattern(IndexDefinition definition) {
+        return keyPattern(definition.getIndexKeys());
+    }
+
+    // Field order and direction identify an index regardless of its name
+    private static String keyPattern(Document keys) {
+        StringBuilder pattern = new StringBuilder();
+        for (Map.Entry<String, Object> key : keys.entrySet()) {
+            if (!pattern.isEmpty()) pattern.append(',');
+            Object direction = key.getValue();
+            pattern.append(key.getKey()).append(':')
+                    .append(direction instanceof Number number ? String.valueOf(number.intValue()) : direction);
+        }
+        return pattern.toString();
+    }
+
+    public enum IndexState {
+        PENDING, BUILDING, READY, FAILED
+    }
+
+    public record IndexStatus(String collection, String name, boolean required, IndexState state,
+                              String error, LocalDateTime updatedAt) {
+    }
+
+    private record DeclaredIndex(String collection, String name, IndexDefinition definition, boolean required) {
+        String id() {
+            return collection + "." + name;
+        }
+    }
+}
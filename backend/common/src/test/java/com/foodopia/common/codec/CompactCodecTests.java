@@ -0,0 +1,134 @@
+package com.foodopia.common.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.foodopia.common.codec.SchemaField.integer;
+import static com.foodopia.common.codec.SchemaField.string;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompactCodecTests {
+
+    /**
+     * The event as a consumer reads it: version 2 adds locale and occurrences
+     */
+    record AuthEventDto(String eventType, String userId, String username, String email, String timestamp,
+                        String deviceInfo, String location, String ipAddress, Integer failedAttempts,
+                        String locale, Integer occurrences) {
+    }
+
+    /**
+     * The event as the producer writes it: schema version 1 without locale and occurrences
+     */
+    record ProducerAuthEvent(String eventType, String userId, String username, String email, String timestamp,
+                             String deviceInfo, String location, String ipAddress, Integer failedAttempts) {
+    }
+
+    private static final EventSchema<AuthEventDto> CONSUMER_SCHEMA =
+            EventSchema.builder(EventSchemaIds.AUTH_EVENT, AuthEventDto.class)
+                    .version(1, string("eventType"), string("userId"), string("username"), string("email"),
+                            string("timestamp"), string("deviceInfo"), string("location"), string("ipAddress"),
+                            integer("failedAttempts"))
+                    .version(2, string("eventType"), string("userId"), string("username"), string("email"),
+                            string("timestamp"), string("deviceInfo"), string("location"), string("ipAddress"),
+                            integer("failedAttempts"), string("locale"), integer("occurrences"))
+                    .extractor(event -> new Object[]{event.eventType(), event.userId(), event.username(),
+                            event.email(), event.timestamp(), event.deviceInfo(), event.location(),
+                            event.ipAddress(), event.failedAttempts(), event.locale(), event.occurrences()})
+                    .factory(values -> new AuthEventDto((String) values[0], (String) values[1], (String) values[2],
+                            (String) values[3], (String) values[4], (String) values[5], (String) values[6],
+                            (String) values[7], (Integer) values[8], (String) values[9], (Integer) values[10]))
+                    .build();
+
+    private static final EventSchema<ProducerAuthEvent> PRODUCER_SCHEMA =
+            EventSchema.builder(EventSchemaIds.AUTH_EVENT, ProducerAuthEvent.class)
+                    .version(1, string("eventType"), string("userId"), string("username"), string("email"),
+                            string("timestamp"), string("deviceInfo"), string("location"), string("ipAddress"),
+                            integer("failedAttempts"))
+                    .extractor(event -> new Object[]{event.eventType(), event.userId(), event.username(),
+                            event.email(), event.timestamp(), event.deviceInfo(), event.location(),
+                            event.ipAddress(), event.failedAttempts()})
+                    .factory(values -> {
+                        throw new UnsupportedOperationException();
+                    })
+                    .build();
+
+    private final CompactCodec codec = new CompactCodec(new EventSchemaRegistry().register(CONSUMER_SCHEMA));
+
+    @Test
+    void roundTripsEventsIncludingNullsNegativeNumbersAndUnicode() {
+        AuthEventDto event = new AuthEventDto("MULTIPLE_FAILED_ATTEMPTS_DIGEST", "user-1", "jürgen", null,
+                "2025-01-01 10:00:00", "Firefox 😀", null, "203.0.113.7", -3, "de-DE", Integer.MAX_VALUE);
+
+        byte[] encoded = codec.encode(event);
+
+        assertThat(codec.decode(encoded, AuthEventDto.class)).isEqualTo(event);
+    }
+
+    @Test
+    void readsEventsWrittenWithAnOlderSchemaVersion() {
+        CompactCodec producer = new CompactCodec(new EventSchemaRegistry().register(PRODUCER_SCHEMA));
+        ProducerAuthEvent event = new ProducerAuthEvent("NEW_DEVICE_LOGIN", "user-1", "jane.doe",
+                "jane@foodopia.test", "2025-01-01 10:00:00", "Firefox on Linux", null, "203.0.113.7", null);
+
+        AuthEventDto decoded = codec.decode(producer.encode(event), AuthEventDto.class);
+
+        assertThat(decoded).isEqualTo(new AuthEventDto("NEW_DEVICE_LOGIN", "user-1", "jane.doe",
+                "jane@foodopia.test", "2025-01-01 10:00:00", "Firefox on Linux", null, "203.0.113.7", null,
+                null, null));
+    }
+
+    @Test
+    void rejectsUnknownSchemasAndTruncatedMessages() {
+        byte[] encoded = codec.encode(new AuthEventDto("USER_REGISTERED", "user-1", "jane.doe", "jane@foodopia.test",
+                "2025-01-01 10:00:00", null, null, null, null, null, null));
+        byte[] unknownVersion = encoded.clone();
+        unknownVersion[2] = 9;
+
+        assertThatThrownBy(() -> codec.decode(unknownVersion)).hasMessageContaining("Unknown version 9");
+        assertThatThrownBy(() -> codec.decode(Arrays.copyOf(encoded, encoded.length - 3)))
+                .hasMessageContaining("Truncated");
+    }
+
+    @Test
+    void converterReadsCompactAndFallsBackToJson() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        CompactMessageConverter converter = new CompactMessageConverter(codec, objectMapper);
+        AuthEventDto event = new AuthEventDto("PASSWORD_CHANGED", "user-1", "jane.doe", "jane@foodopia.test",
+                "2025-01-01 10:00:00", null, null, null, null, null, null);
+        MessageHeaders headers = new MessageHeaders(Map.of(MessageHeaders.CONTENT_TYPE, CompactMessageConverter.COMPACT));
+
+        Message<?> compact = converter.toMessage(event, headers);
+        Message<byte[]> json = MessageBuilder.withPayload(objectMapper.writeValueAsString(event).getBytes(StandardCharsets.UTF_8))
+                .copyHeaders(headers)
+                .build();
+
+        assertThat(compact).isNotNull();
+        assertThat((byte[]) compact.getPayload()).hasSizeLessThan(json.getPayload().length);
+        assertThat(converter.fromMessage(compact, AuthEventDto.class)).isEqualTo(event);
+        assertThat(converter.fromMessage(json, AuthEventDto.class)).isEqualTo(event);
+    }
+
+    @Test
+    void schemaIdsAreUnique() throws Exception {
+        Set<Integer> ids = new HashSet<>();
+        for (Field field : EventSchemaIds.class.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && field.getType() == int.class) {
+                assertThat(ids.add(field.getInt(null))).as(field.getName()).isTrue();
+            }
+        }
+        assertThat(ids).isNotEmpty();
+    }
+}
@@ -0,0 +1,61 @@
+package com.foodopia.common.index;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MongoIndexHealthIndicatorTests {
+
+    private final MongoIndexManager manager = mock(MongoIndexManager.class);
+    private final MongoIndexHealthIndicator indicator = new MongoIndexHealthIndicator(manager);
+
+    @Test
+    void outOfServiceUntilExistingIndexesAreInspected() {
+        when(manager.isInspected()).thenReturn(false);
+
+        assertEquals(Status.OUT_OF_SERVICE, indicator.health().getStatus());
+    }
+
+    @Test
+    void outOfServiceWhileARequiredIndexIsMissing() {
+        IndexStatusFixture fixture = new IndexStatusFixture();
+        when(manager.isInspected()).thenReturn(true);
+        when(manager.missingRequiredIndexes()).thenReturn(List.of(fixture.requiredBuilding));
+
+        Health health = indicator.health();
+
+        assertEquals(Status.OUT_OF_SERVICE, health.getStatus());
+        assertEquals(List.of("dishes.name_idx (BUILDING)"), health.getDetails().get("missingRequiredIndexes"));
+    }
+
+    @Test
+    void upOnceRequiredIndexesExistWhileOptionalBuildsContinue() {
+        IndexStatusFixture fixture = new IndexStatusFixture();
+        when(manager.isInspected()).thenReturn(true);
+        when(manager.isReconciled()).thenReturn(false);
+        when(manager.missingRequiredIndexes()).thenReturn(List.of());
+        when(manager.statuses()).thenReturn(List.of(fixture.requiredReady, fixture.optionalBuilding));
+
+        Health health = indicator.health();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(1L, health.getDetails().get("optionalPending"));
+    }
+
+    private static final class IndexStatusFixture {
+        final LocalDateTime now = LocalDateTime.now();
+        final MongoIndexManager.IndexStatus requiredBuilding = new MongoIndexManager.IndexStatus(
+                "dishes", "name_idx", true, MongoIndexManager.IndexState.BUILDING, null, now);
+        final MongoIndexManager.IndexStatus requiredReady = new MongoIndexManager.IndexStatus(
+                "dishes", "name_idx", true, MongoIndexManager.IndexState.READY, null, now);
+        final MongoIndexManager.IndexStatus optionalBuilding = new MongoIndexManager.IndexStatus(
+                "dishes", "category_idx", false, MongoIndexManager.IndexState.BUILDING, null, now);
+    }
+}
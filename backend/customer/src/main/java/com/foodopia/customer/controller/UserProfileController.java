@@ -6,6 +6,7 @@ import com.foodopia.customer.dto.ResponseDto;
 import com.foodopia.customer.dto.UserProfileDto;
 import com.foodopia.customer.service.IUserProfileService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,6 +22,9 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+import java.util.Map;
+
 @RestController
 @RequestMapping(path = "/api/profiles", produces = MediaType.APPLICATION_JSON_VALUE)
 @RequiredArgsConstructor
@@ -73,4 +77,14 @@ public class UserProfileController {
                 .status(HttpStatus.EXPECTATION_FAILED)
                 .body(new ResponseDto(CustomerConstants.STATUS_417, CustomerConstants.MESSAGE_417_UPDATE));
     }
+
+    /**
+     * Diet preferences of up to 1000 users in one call, for services that fill meals in bulk
+     */
+    @PostMapping("/diet-preferences/search")
+    public ResponseEntity<Map<String, DietPreferenceDto>> fetchDietPreferences(
+            @RequestBody @Size(max = 1000) List<String> userIds) {
+        log.debug("Received request to fetch diet preferences for {} users", userIds.size());
+        return ResponseEntity.ok(profileService.fetchDietPreferences(userIds));
+    }
 }
@@ -4,6 +4,8 @@ import com.foodopia.customer.entity.UserProfile;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +14,6 @@ public interface UserProfileRepository extends MongoRepository<UserProfile, Stri
     Optional<UserProfile> findByUserId(String userId);
 
     boolean existsByUserId(String userId);
+
+    List<UserProfile> findByUserIdIn(Collection<String> userIds);
 }
@@ -3,6 +3,9 @@ package com.foodopia.customer.service;
 import com.foodopia.customer.dto.DietPreferenceDto;
 import com.foodopia.customer.dto.UserProfileDto;
 
+import java.util.Collection;
+import java.util.Map;
+
 public interface IUserProfileService {
 
     void createProfile(UserProfileDto profileDto);
@@ -12,4 +15,9 @@ public interface IUserProfileService {
     boolean updateProfile(String userId, UserProfileDto profileDto);
 
     boolean updateDietPreference(String userId, DietPreferenceDto dietPreferenceDto);
+
+    /**
+     * Diet preferences of the given users keyed by userId; users without a profile or preference are left out
+     */
+    Map<String, DietPreferenceDto> fetchDietPreferences(Collection<String> userIds);
 }
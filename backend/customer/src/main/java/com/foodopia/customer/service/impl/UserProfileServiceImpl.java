@@ -15,6 +15,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 @Service
 @RequiredArgsConstructor
 public class UserProfileServiceImpl implements IUserProfileService {
@@ -66,6 +70,20 @@ public class UserProfileServiceImpl implements IUserProfileService {
         return true;
     }
 
+    @Override
+    public Map<String, DietPreferenceDto> fetchDietPreferences(Collection<String> userIds) {
+        log.debug("Fetching diet preferences for {} users", userIds.size());
+        Map<String, DietPreferenceDto> preferences = new HashMap<>();
+        if (userIds.isEmpty()) return preferences;
+        for (UserProfile profile : profileRepository.findByUserIdIn(userIds)) {
+            DietPreferenceDto preference = DietPreferenceMapper.mapToDto(profile.getDietPreference(), new DietPreferenceDto());
+            if (preference != null) {
+                preferences.put(profile.getUserId(), preference);
+            }
+        }
+        return preferences;
+    }
+
     private UserProfile findByUserId(String userId) {
         return profileRepository.findByUserId(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("UserProfile", "userId", userId));
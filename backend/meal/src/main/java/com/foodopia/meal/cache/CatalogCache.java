@@ -0,0 +1,247 @@
+package com.foodopia.meal.cache;
+
+import com.foodopia.meal.domain.DishAvailabilityIndex;
+import com.foodopia.meal.entity.Dish;
+import com.foodopia.meal.entity.DishIngredient;
+import com.foodopia.meal.entity.Ingredient;
+import com.foodopia.meal.entity.MealPlanType;
+import com.foodopia.meal.entity.MealTemplate;
+import com.foodopia.meal.entity.NutritionFacts;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * In-memory copy of the meal catalog (dishes, ingredients, templates and plan types).
+ * Empty until {@link CatalogWarmup} loads it; services read through it once warm and
+ * write through it after every save so this instance never serves its own stale data.
+ *
+ * Write-throughs are also kept until the next load that started after them: a load replaces the
+ * whole catalog with what it read from MongoDB, so writes landing while it reads are applied again
+ * on top. The cache stores its own copies of written dishes and ingredients, and the instances it
+ * hands out are shared - callers must not modify them (services read the entity they change from
+ * its repository).
+ */
+@Component
+public class CatalogCache {
+
+    private volatile Catalog catalog;
+    private final AtomicLong writeSequence = new AtomicLong();
+    private final ConcurrentMap<String, Write> recentWrites = new ConcurrentHashMap<>();
+    // Bumped on every dish write; the availability index is rebuilt on the next read after a bump
+    private final AtomicLong dishVersion = new AtomicLong();
+    private volatile Availability availability;
+
+    public boolean isWarm() {
+        return catalog != null;
+    }
+
+    public String source() {
+        Catalog current = catalog;
+        return current == null ? null : current.source;
+    }
+
+    public LocalDateTime loadedAt() {
+        Catalog current = catalog;
+        return current == null ? null : current.loadedAt;
+    }
+
+    /**
+     * Mark the start of a load, before its data is read; pass the result to {@link #load}
+     */
+    public long beginLoad() {
+        return writeSequence.get();
+    }
+
+    /**
+     * Replace the catalog with a snapshot, keeping the writes made since {@code loadStartedAt}
+     */
+    public synchronized void load(CatalogSnapshot snapshot, String source, long loadStartedAt) {
+        Catalog loaded = new Catalog(
+                index(snapshot.dishes(), Dish::getId),
+                index(snapshot.ingredients(), Ingredient::getId),
+                index(snapshot.mealTemplates(), MealTemplate::getId),
+                index(snapshot.mealPlanTypes(), MealPlanType::getPlanCode),
+                source,
+                LocalDateTime.now());
+        // Earlier writes were saved before the load read them
+        recentWrites.values().removeIf(write -> write.sequence() <= loadStartedAt);
+        recentWrites.values().forEach(write -> write.change().accept(loaded));
+        catalog = loaded;
+        dishVersion.incrementAndGet();
+    }
+
+    public CatalogSnapshot snapshot() {
+        Catalog current = catalog;
+        if (current == null) {
+            return null;
+        }
+        return new CatalogSnapshot(LocalDateTime.now(),
+                new ArrayList<>(current.dishes.values()),
+                new ArrayList<>(current.ingredients.values()),
+                new ArrayList<>(current.mealTemplates.values()),
+                new ArrayList<>(current.mealPlanTypes.values()));
+    }
+
+    // ==================== Reads (only meaningful when warm) ====================
+
+    public List<Dish> dishes() {
+        return new ArrayList<>(catalog.dishes.values());
+    }
+
+    public Optional<Dish> findDish(String id) {
+        return Optional.ofNullable(catalog.dishes.get(id));
+    }
+
+    /**
+     * Dishes available on a delivery date, optionally of one category, from the availability index
+     */
+    public List<Dish> availableDishes(LocalDate date, String category) {
+        return availabilityIndex().availableOn(date, category);
+    }
+
+    public List<Ingredient> ingredients() {
+        return new ArrayList<>(catalog.ingredients.values());
+    }
+
+    public Optional<Ingredient> findIngredient(String id) {
+        return Optional.ofNullable(catalog.ingredients.get(id));
+    }
+
+    public List<MealTemplate> mealTemplates() {
+        return new ArrayList<>(catalog.mealTemplates.values());
+    }
+
+    public Optional<MealTemplate> findMealTemplate(String id) {
+        return Optional.ofNullable(catalog.mealTemplates.get(id));
+    }
+
+    public List<MealPlanType> mealPlanTypes() {
+        return new ArrayList<>(catalog.mealPlanTypes.values());
+    }
+
+    public Optional<MealPlanType> findMealPlanType(String planCode) {
+        return Optional.ofNullable(catalog.mealPlanTypes.get(planCode));
+    }
+
+    public int dishCount() {
+        Catalog current = catalog;
+        return current == null ? 0 : current.dishes.size();
+    }
+
+    // ==================== Write-through ====================
+
+    public void putDish(Dish dish) {
+        if (dish.getId() != null) {
+            Dish copy = copyOf(dish);
+            write("dish:" + dish.getId(), catalog -> catalog.dishes.put(copy.getId(), copy));
+            dishVersion.incrementAndGet();
+        }
+    }
+
+    public void putDishes(Collection<Dish> dishes) {
+        dishes.forEach(this::putDish);
+    }
+
+    public void putIngredient(Ingredient ingredient) {
+        if (ingredient.getId() != null) {
+            Ingredient copy = new Ingredient(ingredient.getId(), ingredient.getName(), ingredient.getUnitPrice(),
+                    ingredient.getCategory(), ingredient.getUnit(), copyOf(ingredient.getNutritionPer100g()));
+            write("ingredient:" + ingredient.getId(), catalog -> catalog.ingredients.put(copy.getId(), copy));
+        }
+    }
+
+    public void putMealTemplate(MealTemplate mealTemplate) {
+        if (mealTemplate.getId() != null) {
+            write("template:" + mealTemplate.getId(),
+                    catalog -> catalog.mealTemplates.put(mealTemplate.getId(), mealTemplate));
+        }
+    }
+
+    public void putMealPlanType(MealPlanType mealPlanType) {
+        if (mealPlanType.getPlanCode() != null) {
+            write("plan:" + mealPlanType.getPlanCode(),
+                    catalog -> catalog.mealPlanTypes.put(mealPlanType.getPlanCode(), mealPlanType));
+        }
+    }
+
+    // Serialized with load, so a write lands either in the catalog it swaps out and in its replay, or after the swap
+    private synchronized void write(String key, Consumer<Catalog> change) {
+        recentWrites.put(key, new Write(writeSequence.incrementAndGet(), change));
+        Catalog current = catalog;
+        if (current != null) {
+            change.accept(current);
+        }
+    }
+
+    private DishAvailabilityIndex availabilityIndex() {
+        Availability current = availability;
+        long version = dishVersion.get();
+        if (current != null && current.version == version) {
+            return current.index;
+        }
+        synchronized (this) {
+            version = dishVersion.get();
+            if (availability == null || availability.version != version) {
+                // A write during the build bumps the version again, so the next read rebuilds
+                availability = new Availability(version, DishAvailabilityIndex.build(catalog.dishes.values()));
+            }
+            return availability.index;
+        }
+    }
+
+    private static <T> ConcurrentMap<String, T> index(List<T> items, Function<T, String> key) {
+        ConcurrentMap<String, T> map = new ConcurrentHashMap<>();
+        if (items != null) {
+            for (T item : items) {
+                String k = key.apply(item);
+                if (k != null) map.put(k, item);
+            }
+        }
+        return map;
+    }
+
+    private record Catalog(
+            ConcurrentMap<String, Dish> dishes,
+            ConcurrentMap<String, Ingredient> ingredients,
+            ConcurrentMap<String, MealTemplate> mealTemplates,
+            ConcurrentMap<String, MealPlanType> mealPlanTypes,
+            String source,
+            LocalDateTime loadedAt) {
+    }
+
+    private record Availability(long version, DishAvailabilityIndex index) {
+    }
+
+    private record Write(long sequence, Consumer<Catalog> change) {
+    }
+
+    private static Dish copyOf(Dish dish) {
+        List<DishIngredient> ingredients = new ArrayList<>();
+        if (dish.getIngredients() != null) {
+            for (DishIngredient di : dish.getIngredients()) {
+                ingredients.add(new DishIngredient(di.getIngredientId(), di.getQuantity()));
+            }
+        }
+        return dish.toBuilder()
+                .ingredients(ingredients)
+                .nutritionPerServing(copyOf(dish.getNutritionPerServing()))
+                .dietaryTags(dish.getDietaryTags() != null ? new ArrayList<>(dish.getDietaryTags()) : new ArrayList<>())
+                .allergens(dish.getAllergens() != null ? new ArrayList<>(dish.getAllergens()) : new ArrayList<>())
+                .build();
+    }
+
+    private static NutritionFacts copyOf(NutritionFacts nutrition) {
+        return nutrition == null ? null : NutritionFacts.zero().addScaled(nutrition, 1.0);
+    }
+}
@@ -0,0 +1,20 @@
+package com.foodopia.meal.cache;
+
+import com.foodopia.meal.entity.Dish;
+import com.foodopia.meal.entity.Ingredient;
+import com.foodopia.meal.entity.MealPlanType;
+import com.foodopia.meal.entity.MealTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * On-disk form of the catalog cache, written after every full load from MongoDB.
+ */
+public record CatalogSnapshot(
+        LocalDateTime createdAt,
+        List<Dish> dishes,
+        List<Ingredient> ingredients,
+        List<MealTemplate> mealTemplates,
+        List<MealPlanType> mealPlanTypes) {
+}
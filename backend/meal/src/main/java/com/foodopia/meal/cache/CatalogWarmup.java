@@ -0,0 +1,200 @@
+package com.foodopia.meal.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.foodopia.meal.dto.CatalogChangeEventDto;
+import com.foodopia.meal.repository.DishRepository;
+import com.foodopia.meal.repository.IngredientRepository;
+import com.foodopia.meal.repository.MealPlanTypeRepository;
+import com.foodopia.meal.repository.MealTemplateRepository;
+import com.foodopia.meal.service.IDishEligibilityService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup phase that fills the {@link CatalogCache}. When a snapshot file is configured and present
+ * it is memory-mapped and loaded first, so a restarted pod is ready within seconds; the cache is then
+ * (re)loaded from MongoDB in the background, the snapshot rewritten, and refreshed periodically as a
+ * safety net. Catalog changes made through other instances are picked up as their catalog change
+ * events arrive, see {@link #applyChange}.
+ */
+@Component
+public class CatalogWarmup {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogWarmup.class);
+
+    private final CatalogCache catalogCache;
+    private final DishRepository dishRepository;
+    private final IngredientRepository ingredientRepository;
+    private final MealTemplateRepository mealTemplateRepository;
+    private final MealPlanTypeRepository mealPlanTypeRepository;
+    private final IDishEligibilityService dishEligibilityService;
+    private final ObjectMapper objectMapper;
+    private final String snapshotPath;
+    private final Duration refreshInterval;
+    private final Duration retryDelay;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-warmup");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CatalogWarmup(CatalogCache catalogCache,
+                         DishRepository dishRepository,
+                         IngredientRepository ingredientRepository,
+                         MealTemplateRepository mealTemplateRepository,
+                         MealPlanTypeRepository mealPlanTypeRepository,
+                         IDishEligibilityService dishEligibilityService,
+                         ObjectMapper objectMapper,
+                         @Value("${foodopia.meal.catalog.snapshot-path:}") String snapshotPath,
+                         @Value("${foodopia.meal.catalog.refresh-interval:5m}") Duration refreshInterval,
+                         @Value("${foodopia.meal.catalog.retry-delay:10s}") Duration retryDelay) {
+        this.catalogCache = catalogCache;
+        this.dishRepository = dishRepository;
+        this.ingredientRepository = ingredientRepository;
+        this.mealTemplateRepository = mealTemplateRepository;
+        this.mealPlanTypeRepository = mealPlanTypeRepository;
+        this.dishEligibilityService = dishEligibilityService;
+        this.objectMapper = objectMapper;
+        this.snapshotPath = snapshotPath;
+        this.refreshInterval = refreshInterval;
+        this.retryDelay = retryDelay;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        executor.execute(() -> {
+            loadSnapshot();
+            refreshFromDatabase();
+        });
+    }
+
+    /**
+     * Re-read the catalog items another instance changed (all items of the resource when ids is
+     * null) and write them through the cache
+     */
+    public void applyChange(String resource, List<String> ids) {
+        if (resource == null) {
+            return;
+        }
+        switch (resource) {
+            case CatalogChangeEventDto.DISHES -> {
+                catalogCache.putDishes(ids != null ? dishRepository.findAllById(ids) : dishRepository.findAll());
+                dishEligibilityService.invalidate();
+            }
+            case CatalogChangeEventDto.INGREDIENTS -> {
+                (ids != null ? ingredientRepository.findAllById(ids) : ingredientRepository.findAll())
+                        .forEach(catalogCache::putIngredient);
+                dishEligibilityService.invalidate();
+            }
+            case CatalogChangeEventDto.MEAL_TEMPLATES ->
+                    (ids != null ? mealTemplateRepository.findAllById(ids) : mealTemplateRepository.findAll())
+                            .forEach(catalogCache::putMealTemplate);
+            case CatalogChangeEventDto.MEAL_PLAN_TYPES ->
+                    (ids != null
+                            ? ids.stream().flatMap(code -> mealPlanTypeRepository.findByPlanCode(code).stream()).toList()
+                            : mealPlanTypeRepository.findAll())
+                            .forEach(catalogCache::putMealPlanType);
+            default -> {
+                log.debug("Ignoring catalog change of unknown resource: {}", resource);
+                return;
+            }
+        }
+        log.debug("Applied catalog change of {}: {}", resource, ids);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void refreshFromDatabase() {
+        try {
+            long start = System.nanoTime();
+            long loadStartedAt = catalogCache.beginLoad();
+            CatalogSnapshot snapshot = new CatalogSnapshot(LocalDateTime.now(),
+                    dishRepository.findAll(),
+                    ingredientRepository.findAll(),
+                    mealTemplateRepository.findAll(),
+                    mealPlanTypeRepository.findAll());
+            catalogCache.load(snapshot, "mongodb", loadStartedAt);
+            dishEligibilityService.invalidate();
+            log.info("Loaded catalog from MongoDB in {} ms: {} dishes, {} ingredients, {} templates, {} plan types",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), snapshot.dishes().size(),
+                    snapshot.ingredients().size(), snapshot.mealTemplates().size(), snapshot.mealPlanTypes().size());
+            writeSnapshot(snapshot);
+            schedule(refreshInterval);
+        } catch (Exception e) {
+            log.warn("Failed to load catalog from MongoDB, retrying in {}", retryDelay, e);
+            schedule(retryDelay);
+        }
+    }
+
+    private void schedule(Duration delay) {
+        if (!executor.isShutdown()) {
+            executor.schedule(this::refreshFromDatabase, delay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void loadSnapshot() {
+        if (snapshotPath.isBlank()) return;
+        Path path = Path.of(snapshotPath);
+        if (!Files.isRegularFile(path)) {
+            log.debug("No catalog snapshot found at {}", path);
+            return;
+        }
+        long start = System.nanoTime();
+        long loadStartedAt = catalogCache.beginLoad();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            CatalogSnapshot snapshot;
+            try (InputStream in = new ByteBufferBackedInputStream(buffer)) {
+                snapshot = objectMapper.readValue(in, CatalogSnapshot.class);
+            }
+            catalogCache.load(snapshot, "snapshot", loadStartedAt);
+            dishEligibilityService.invalidate();
+            log.info("Loaded catalog snapshot from {} (created at {}) in {} ms with {} dishes",
+                    path, snapshot.createdAt(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                    snapshot.dishes() == null ? 0 : snapshot.dishes().size());
+        } catch (Exception e) {
+            log.warn("Failed to load catalog snapshot from {}, falling back to MongoDB", path, e);
+        }
+    }
+
+    private void writeSnapshot(CatalogSnapshot snapshot) {
+        if (snapshotPath.isBlank()) return;
+        Path path = Path.of(snapshotPath).toAbsolutePath();
+        try {
+            Files.createDirectories(path.getParent());
+            Path temp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                objectMapper.writeValue(out, snapshot);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Wrote catalog snapshot to {}", path);
+        } catch (IOException e) {
+            log.warn("Failed to write catalog snapshot to {}", path, e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.foodopia.meal.cache;
+
+import lombok.AllArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Part of the readiness group: the instance only accepts traffic once the catalog cache is warm.
+ */
+@Component
+@AllArgsConstructor
+public class CatalogWarmupHealthIndicator implements HealthIndicator {
+
+    private final CatalogCache catalogCache;
+
+    @Override
+    public Health health() {
+        if (!catalogCache.isWarm()) {
+            return Health.outOfService().withDetail("catalog", "warming up").build();
+        }
+        return Health.up()
+                .withDetail("source", catalogCache.source())
+                .withDetail("loadedAt", catalogCache.loadedAt().toString())
+                .withDetail("dishes", catalogCache.dishCount())
+                .build();
+    }
+}
@@ -0,0 +1,39 @@
+package com.foodopia.meal.client;
+
+import com.foodopia.meal.client.dto.DietPreferenceClientDto;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.Collection;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+public class CustomerServiceClient {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerServiceClient.class);
+    private static final ParameterizedTypeReference<Map<String, DietPreferenceClientDto>> DIET_PREFERENCES =
+            new ParameterizedTypeReference<>() {};
+
+    private final RestClient customerServiceRestClient;
+
+    /**
+     * Diet preferences of up to 1000 users keyed by userId; users without one are left out
+     */
+    public Map<String, DietPreferenceClientDto> fetchDietPreferences(Collection<String> userIds) {
+        log.debug("Fetching diet preferences of {} users from customer-service", userIds.size());
+        if (userIds.isEmpty()) return Map.of();
+        Map<String, DietPreferenceClientDto> preferences = customerServiceRestClient.post()
+                .uri("/api/profiles/diet-preferences/search")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(userIds)
+                .retrieve()
+                .body(DIET_PREFERENCES);
+        return preferences != null ? preferences : Map.of();
+    }
+}
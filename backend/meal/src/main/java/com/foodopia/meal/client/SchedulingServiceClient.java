@@ -0,0 +1,74 @@
+package com.foodopia.meal.client;
+
+import com.foodopia.meal.client.dto.ScheduledMealClientDto;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class SchedulingServiceClient {
+
+    private static final Logger log = LoggerFactory.getLogger(SchedulingServiceClient.class);
+    private static final ParameterizedTypeReference<List<ScheduledMealClientDto>> SCHEDULED_MEALS =
+            new ParameterizedTypeReference<>() {};
+
+    private final RestClient schedulingServiceRestClient;
+
+    /**
+     * One page of the SCHEDULED meals of a delivery date, ordered by id
+     * @param afterId - id of the last meal of the previous page, null for the first page
+     */
+    public List<ScheduledMealClientDto> fetchScheduledMeals(LocalDate deliveryDate, String afterId, int limit) {
+        log.debug("Fetching up to {} scheduled meals for {} after id: {} from scheduling-service",
+                limit, deliveryDate, afterId);
+        List<ScheduledMealClientDto> scheduledMeals = schedulingServiceRestClient.get()
+                .uri(uri -> uri.path("/api/scheduled-meals")
+                        .queryParam("deliveryDate", deliveryDate)
+                        .queryParamIfPresent("after", Optional.ofNullable(afterId))
+                        .queryParam("limit", limit)
+                        .build())
+                .retrieve()
+                .body(SCHEDULED_MEALS);
+        return scheduledMeals != null ? scheduledMeals : List.of();
+    }
+
+    /**
+     * SCHEDULED meals of a user delivered from one date to another, both inclusive, ordered by date and sequence
+     */
+    public List<ScheduledMealClientDto> fetchUserScheduledMeals(String userId, LocalDate from, LocalDate to) {
+        log.debug("Fetching scheduled meals of user id: {} from {} to {} from scheduling-service", userId, from, to);
+        List<ScheduledMealClientDto> scheduledMeals = schedulingServiceRestClient.get()
+                .uri(uri -> uri.path("/api/scheduled-meals/user/{userId}")
+                        .queryParam("from", from)
+                        .queryParam("to", to)
+                        .build(userId))
+                .retrieve()
+                .body(SCHEDULED_MEALS);
+        return scheduledMeals != null ? scheduledMeals : List.of();
+    }
+
+    /**
+     * Up to 1000 scheduled meals by id; ids that do not exist are left out
+     */
+    public List<ScheduledMealClientDto> fetchScheduledMealsByIds(Collection<String> ids) {
+        log.debug("Looking up {} scheduled meals in scheduling-service", ids.size());
+        if (ids.isEmpty()) return List.of();
+        List<ScheduledMealClientDto> scheduledMeals = schedulingServiceRestClient.post()
+                .uri("/api/scheduled-meals/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ids)
+                .retrieve()
+                .body(SCHEDULED_MEALS);
+        return scheduledMeals != null ? scheduledMeals : List.of();
+    }
+}
@@ -0,0 +1,15 @@
+package com.foodopia.meal.client.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class DietPreferenceClientDto {
+
+    private boolean savory;
+    private List<String> dietaryGoals = new ArrayList<>();
+    private List<String> allergies = new ArrayList<>();
+    private List<String> foodsToAvoid = new ArrayList<>();
+}
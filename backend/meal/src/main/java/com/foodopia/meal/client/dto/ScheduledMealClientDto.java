@@ -0,0 +1,18 @@
+package com.foodopia.meal.client.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class ScheduledMealClientDto {
+
+    private String id;
+    private String userId;
+    private String subscriptionId;
+    private String planCode;
+    private int planLevel;
+    private LocalDate deliveryDate;
+    private int sequence;
+    private String status;
+}
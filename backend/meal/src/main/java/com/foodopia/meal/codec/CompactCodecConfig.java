@@ -0,0 +1,30 @@
+package com.foodopia.meal.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodopia.common.codec.CompactCodec;
+import com.foodopia.common.codec.CompactMessageConverter;
+import com.foodopia.common.codec.EventSchemaRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.converter.MessageConverter;
+
+@Configuration
+public class CompactCodecConfig {
+
+    @Bean
+    public CompactCodec compactCodec() {
+        return new CompactCodec(new EventSchemaRegistry()
+                .register(EventSchemas.MEAL_UPDATE_EVENT)
+                .register(EventSchemas.INVENTORY_UPDATE_EVENT)
+                .register(EventSchemas.DELIVERY_REQUEST_EVENT)
+                .register(EventSchemas.MEAL_EVENT_CONFIRMATION));
+    }
+
+    /**
+     * Picked up by Spring Cloud Stream next to its JSON converter
+     */
+    @Bean
+    public MessageConverter compactMessageConverter(CompactCodec compactCodec, ObjectMapper objectMapper) {
+        return new CompactMessageConverter(compactCodec, objectMapper);
+    }
+}
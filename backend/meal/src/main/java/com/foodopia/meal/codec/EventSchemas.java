@@ -0,0 +1,62 @@
+package com.foodopia.meal.codec;
+
+import com.foodopia.common.codec.EventSchema;
+import com.foodopia.common.codec.EventSchemaIds;
+import com.foodopia.meal.dto.DeliveryRequestEventDto;
+import com.foodopia.meal.dto.InventoryUpdateEventDto;
+import com.foodopia.meal.dto.MealEventConfirmationDto;
+import com.foodopia.meal.dto.MealUpdateEventDto;
+
+import static com.foodopia.common.codec.SchemaField.integer;
+import static com.foodopia.common.codec.SchemaField.string;
+
+/**
+ * Compact schemas of the events this service exchanges. Ids come from
+ * {@link EventSchemaIds} so they are shared with the other services.
+ */
+public final class EventSchemas {
+
+    public static final EventSchema<MealUpdateEventDto> MEAL_UPDATE_EVENT =
+            EventSchema.builder(EventSchemaIds.MEAL_UPDATE_EVENT, MealUpdateEventDto.class)
+                    .version(1, string("eventType"), string("customizationId"), string("scheduledMealId"),
+                            string("userId"), string("deliveryDate"), string("mealTemplateId"),
+                            integer("dishCount"), integer("totalPriceCents"))
+                    .extractor(event -> new Object[]{event.eventType(), event.customizationId(),
+                            event.scheduledMealId(), event.userId(), event.deliveryDate(), event.mealTemplateId(),
+                            event.dishCount(), event.totalPriceCents()})
+                    .factory(values -> new MealUpdateEventDto((String) values[0], (String) values[1],
+                            (String) values[2], (String) values[3], (String) values[4], (String) values[5],
+                            (Integer) values[6], (Integer) values[7]))
+                    .build();
+
+    public static final EventSchema<InventoryUpdateEventDto> INVENTORY_UPDATE_EVENT =
+            EventSchema.builder(EventSchemaIds.INVENTORY_UPDATE_EVENT, InventoryUpdateEventDto.class)
+                    .version(1, string("deliveryDate"), string("dishId"), integer("quantityDelta"),
+                            string("customizationId"))
+                    .extractor(event -> new Object[]{event.deliveryDate(), event.dishId(), event.quantityDelta(),
+                            event.customizationId()})
+                    .factory(values -> new InventoryUpdateEventDto((String) values[0], (String) values[1],
+                            (Integer) values[2], (String) values[3]))
+                    .build();
+
+    public static final EventSchema<DeliveryRequestEventDto> DELIVERY_REQUEST_EVENT =
+            EventSchema.builder(EventSchemaIds.DELIVERY_REQUEST_EVENT, DeliveryRequestEventDto.class)
+                    .version(1, string("eventType"), string("customizationId"), string("scheduledMealId"),
+                            string("userId"), string("deliveryDate"))
+                    .extractor(event -> new Object[]{event.eventType(), event.customizationId(),
+                            event.scheduledMealId(), event.userId(), event.deliveryDate()})
+                    .factory(values -> new DeliveryRequestEventDto((String) values[0], (String) values[1],
+                            (String) values[2], (String) values[3], (String) values[4]))
+                    .build();
+
+    public static final EventSchema<MealEventConfirmationDto> MEAL_EVENT_CONFIRMATION =
+            EventSchema.builder(EventSchemaIds.MEAL_EVENT_CONFIRMATION, MealEventConfirmationDto.class)
+                    .version(1, string("customizationId"), string("status"), string("message"))
+                    .extractor(event -> new Object[]{event.customizationId(), event.status(), event.message()})
+                    .factory(values -> new MealEventConfirmationDto((String) values[0], (String) values[1],
+                            (String) values[2]))
+                    .build();
+
+    private EventSchemas() {
+    }
+}
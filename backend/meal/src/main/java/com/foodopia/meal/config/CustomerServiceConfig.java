@@ -0,0 +1,18 @@
+package com.foodopia.meal.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestClient;
+
+@Configuration
+public class CustomerServiceConfig {
+
+    @Bean
+    public RestClient customerServiceRestClient(
+            @Value("${foodopia.customer-service.url:http://localhost:8083}") String customerServiceUrl) {
+        return RestClient.builder()
+                .baseUrl(customerServiceUrl)
+                .build();
+    }
+}
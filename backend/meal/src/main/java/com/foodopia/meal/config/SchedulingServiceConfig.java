@@ -0,0 +1,18 @@
+package com.foodopia.meal.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestClient;
+
+@Configuration
+public class SchedulingServiceConfig {
+
+    @Bean
+    public RestClient schedulingServiceRestClient(
+            @Value("${foodopia.scheduling-service.url:http://localhost:8084}") String schedulingServiceUrl) {
+        return RestClient.builder()
+                .baseUrl(schedulingServiceUrl)
+                .build();
+    }
+}
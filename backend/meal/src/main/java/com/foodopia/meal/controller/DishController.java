@@ -1,9 +1,11 @@
 package com.foodopia.meal.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -18,10 +20,15 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.foodopia.meal.constants.MealConstants;
+import com.foodopia.meal.dto.DietPreferenceFilterDto;
+import com.foodopia.meal.dto.DishCostDto;
 import com.foodopia.meal.dto.DishDto;
+import com.foodopia.meal.dto.DishEligibilityDto;
 import com.foodopia.meal.dto.ErrorResponseDto;
 import com.foodopia.meal.dto.ResponseDto;
+import com.foodopia.meal.service.IDishEligibilityService;
 import com.foodopia.meal.service.IDishService;
+import com.foodopia.meal.service.IIngredientPriceService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -44,6 +51,8 @@ public class DishController {
 
     private static final Logger log = LoggerFactory.getLogger(DishController.class);
     private IDishService dishService;
+    private IDishEligibilityService dishEligibilityService;
+    private IIngredientPriceService ingredientPriceService;
 
     @Operation(
             summary = "Create Dish REST API",
@@ -107,6 +116,28 @@ public class DishController {
         return ResponseEntity.status(HttpStatus.OK).body(dishes);
     }
 
+    @Operation(
+            summary = "Fetch Available Dishes REST API",
+            description = "REST API to fetch dishes available on a delivery date, optionally in one category"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @GetMapping("/dishes/available")
+    public ResponseEntity<List<DishDto>> fetchAvailableDishes(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String category) {
+        log.debug("Received request to fetch dishes available on {} in category: {}", date, category);
+        List<DishDto> dishes = dishService.fetchAvailableDishes(date, category);
+        log.debug("Successfully fetched {} dishes available on {}", dishes.size(), date);
+        return ResponseEntity.status(HttpStatus.OK).body(dishes);
+    }
+
     @Operation(
             summary = "Fetch Dishes by Category REST API",
             description = "REST API to fetch dishes by category"
@@ -208,6 +239,27 @@ public class DishController {
         return ResponseEntity.status(HttpStatus.OK).body(dishes);
     }
 
+    @Operation(
+            summary = "Fetch Eligible Dishes REST API",
+            description = "REST API to fetch IDs of available dishes compatible with a diet preference"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @PostMapping("/dishes/eligible")
+    public ResponseEntity<DishEligibilityDto> fetchEligibleDishes(@RequestBody DietPreferenceFilterDto filterDto) {
+        log.debug("Received request to fetch eligible dishes for diet preference");
+        DishEligibilityDto eligibility = dishEligibilityService.fetchEligibleDishes(filterDto);
+        log.debug("Successfully fetched {} eligible dishes for fingerprint: {}",
+                eligibility.getDishIds().size(), eligibility.getFingerprint());
+        return ResponseEntity.status(HttpStatus.OK).body(eligibility);
+    }
+
     @Operation(
             summary = "Update Dish REST API",
             description = "REST API to update dish details"
@@ -238,4 +290,25 @@ public class DishController {
         }
     }
 
-}
\ No newline at end of file
+    @Operation(
+            summary = "Fetch Dish Cost As Of REST API",
+            description = "REST API to fetch the cost of a dish at the ingredient prices in effect on a date"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @GetMapping("/dishes/{id}/cost")
+    public ResponseEntity<DishCostDto> fetchDishCostAsOf(
+            @PathVariable String id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        log.debug("Received request to fetch cost of dish id: {} as of {}", id, asOf);
+        DishCostDto cost = ingredientPriceService.fetchDishCostAsOf(id, asOf);
+        log.debug("Successfully fetched cost of dish id: {} as of {}", id, asOf);
+        return ResponseEntity.status(HttpStatus.OK).body(cost);
+    }
+}
@@ -1,9 +1,11 @@
 package com.foodopia.meal.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -20,7 +22,9 @@ import org.springframework.web.bind.annotation.RestController;
 import com.foodopia.meal.constants.MealConstants;
 import com.foodopia.meal.dto.ErrorResponseDto;
 import com.foodopia.meal.dto.IngredientDto;
+import com.foodopia.meal.dto.IngredientPriceDto;
 import com.foodopia.meal.dto.ResponseDto;
+import com.foodopia.meal.service.IIngredientPriceService;
 import com.foodopia.meal.service.IIngredientService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -44,6 +48,7 @@ public class IngredientController {
 
     private static final Logger log = LoggerFactory.getLogger(IngredientController.class);
     private IIngredientService ingredientService;
+    private IIngredientPriceService ingredientPriceService;
 
     @Operation(
             summary = "Create Ingredient REST API",
@@ -159,4 +164,45 @@ public class IngredientController {
         }
     }
 
-}
\ No newline at end of file
+    @Operation(
+            summary = "Fetch Ingredient Price History REST API",
+            description = "REST API to fetch the effective-dated unit price versions of an ingredient"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @GetMapping("/ingredients/{id}/price-history")
+    public ResponseEntity<List<IngredientPriceDto>> fetchPriceHistory(@PathVariable String id) {
+        log.debug("Received request to fetch price history of ingredient id: {}", id);
+        List<IngredientPriceDto> history = ingredientPriceService.fetchPriceHistory(id);
+        log.debug("Successfully fetched {} price versions of ingredient id: {}", history.size(), id);
+        return ResponseEntity.status(HttpStatus.OK).body(history);
+    }
+
+    @Operation(
+            summary = "Fetch Ingredient Price As Of REST API",
+            description = "REST API to fetch the unit price of an ingredient in effect on a date"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @GetMapping("/ingredients/{id}/price")
+    public ResponseEntity<IngredientPriceDto> fetchPriceAsOf(
+            @PathVariable String id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        log.debug("Received request to fetch price of ingredient id: {} as of {}", id, asOf);
+        IngredientPriceDto price = ingredientPriceService.fetchPriceAsOf(id, asOf);
+        log.debug("Successfully fetched price of ingredient id: {} as of {}", id, asOf);
+        return ResponseEntity.status(HttpStatus.OK).body(price);
+    }
+}
@@ -0,0 +1,101 @@
+package com.foodopia.meal.controller;
+
+import java.time.LocalDate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.foodopia.meal.constants.MealConstants;
+import com.foodopia.meal.dto.ErrorResponseDto;
+import com.foodopia.meal.dto.IngredientDemandReportDto;
+import com.foodopia.meal.dto.ResponseDto;
+import com.foodopia.meal.exception.InvalidRequestException;
+import com.foodopia.meal.service.IIngredientDemandService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+
+@Tag(
+        name = "REST APIs for Ingredient Demand",
+        description = "REST APIs to FETCH the ingredients needed for the customized meals of a delivery date range"
+)
+@RestController
+@RequestMapping(path = "/api", produces = {MediaType.APPLICATION_JSON_VALUE})
+@AllArgsConstructor
+@Validated
+public class IngredientDemandController {
+
+    private static final Logger log = LoggerFactory.getLogger(IngredientDemandController.class);
+    private IIngredientDemandService ingredientDemandService;
+
+    @Operation(
+            summary = "Fetch Ingredient Demand REST API",
+            description = "REST API to fetch per-ingredient quantities and cost of the customizations within a delivery date range"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+            @ApiResponse(responseCode = "400", description = "HTTP Status Bad Request"),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @GetMapping("/ingredient-demand")
+    public ResponseEntity<IngredientDemandReportDto> fetchDemand(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.debug("Received request to fetch ingredient demand from {} to {}", from, to);
+        validateRange(from, to);
+        IngredientDemandReportDto report = ingredientDemandService.fetchDemand(from, to);
+        log.debug("Successfully fetched demand for {} ingredients from {} to {}", report.getIngredients().size(), from, to);
+        return ResponseEntity.status(HttpStatus.OK).body(report);
+    }
+
+    @Operation(
+            summary = "Rebuild Ingredient Demand REST API",
+            description = "REST API to recompute the ingredient demand of a delivery date range from the customizations"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+            @ApiResponse(responseCode = "400", description = "HTTP Status Bad Request"),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @PostMapping("/ingredient-demand/rebuild")
+    public ResponseEntity<ResponseDto> rebuildDemand(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.debug("Received request to rebuild ingredient demand from {} to {}", from, to);
+        validateRange(from, to);
+        long customizations = ingredientDemandService.rebuildDemand(from, to);
+        log.debug("Successfully rebuilt ingredient demand from {} customizations", customizations);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(new ResponseDto(MealConstants.STATUS_200, MealConstants.MESSAGE_200));
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new InvalidRequestException("End date must not be before the start date");
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.foodopia.meal.controller;
+
+import java.time.LocalDate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.foodopia.meal.dto.AutoFillReportDto;
+import com.foodopia.meal.dto.ErrorResponseDto;
+import com.foodopia.meal.service.IMealAutoFillService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+
+@Tag(
+        name = "REST APIs for Meal Auto-Fill",
+        description = "REST APIs to CREATE default customizations for scheduled meals nobody customized"
+)
+@RestController
+@RequestMapping(path = "/api", produces = {MediaType.APPLICATION_JSON_VALUE})
+@AllArgsConstructor
+@Validated
+public class MealAutoFillController {
+
+    private static final Logger log = LoggerFactory.getLogger(MealAutoFillController.class);
+    private IMealAutoFillService mealAutoFillService;
+
+    @Operation(
+            summary = "Auto-Fill Meal Customizations REST API",
+            description = "REST API to fill the uncustomized scheduled meals of a delivery date with default dishes"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @PostMapping("/meal-customizations/auto-fill/{deliveryDate}")
+    public ResponseEntity<AutoFillReportDto> autoFill(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate deliveryDate) {
+        log.debug("Received request to auto-fill meal customizations for delivery date: {}", deliveryDate);
+        AutoFillReportDto report = mealAutoFillService.autoFill(deliveryDate);
+        log.debug("Successfully auto-filled {} meal customizations for delivery date: {}", report.getAutoFilled(), deliveryDate);
+        return ResponseEntity.status(HttpStatus.OK).body(report);
+    }
+}
@@ -8,15 +8,19 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.foodopia.meal.constants.MealConstants;
+import com.foodopia.meal.dto.CopyCustomizationsRequestDto;
+import com.foodopia.meal.dto.CopyCustomizationsResultDto;
 import com.foodopia.meal.dto.ErrorResponseDto;
 import com.foodopia.meal.dto.MealCustomizationDto;
 import com.foodopia.meal.dto.ResponseDto;
+import com.foodopia.meal.service.IMealCustomizationCopyService;
 import com.foodopia.meal.service.IMealCustomizationService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -40,6 +44,7 @@ public class MealCustomizationController {
 
     private static final Logger log = LoggerFactory.getLogger(MealCustomizationController.class);
     private IMealCustomizationService mealCustomizationService;
+    private IMealCustomizationCopyService mealCustomizationCopyService;
 
     @Operation(
             summary = "Fetch Customization REST API",
@@ -91,4 +96,26 @@ public class MealCustomizationController {
         }
     }
 
-}
\ No newline at end of file
+    @Operation(
+            summary = "Copy Customizations REST API",
+            description = "REST API to copy a user's customizations of a date range onto the scheduled meals of another range"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+            @ApiResponse(responseCode = "400", description = "HTTP Status Bad Request"),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @PostMapping("/meal-customizations/copy")
+    public ResponseEntity<CopyCustomizationsResultDto> copyCustomizations(@Valid @RequestBody CopyCustomizationsRequestDto request) {
+        log.debug("Received request to copy meal customizations of user id: {} from {} - {} to {}",
+                request.getUserId(), request.getSourceFrom(), request.getSourceTo(), request.getTargetFrom());
+        CopyCustomizationsResultDto result = mealCustomizationCopyService.copyCustomizations(request);
+        log.debug("Successfully copied {} meal customizations of user id: {}",
+                result.getCreated() + result.getReplaced(), request.getUserId());
+        return ResponseEntity.status(HttpStatus.OK).body(result);
+    }
+}
@@ -0,0 +1,142 @@
+package com.foodopia.meal.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.foodopia.meal.dto.ErrorResponseDto;
+import com.foodopia.meal.dto.NutritionRebuildReportDto;
+import com.foodopia.meal.dto.NutritionRollupDto;
+import com.foodopia.meal.exception.InvalidRequestException;
+import com.foodopia.meal.service.INutritionRollupService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+
+@Tag(
+        name = "REST APIs for Nutrition Rollups",
+        description = "REST APIs to FETCH nutrition totals of a user's meal customizations per range, day and week and REBUILD the weekly summaries"
+)
+@RestController
+@RequestMapping(path = "/api", produces = {MediaType.APPLICATION_JSON_VALUE})
+@AllArgsConstructor
+@Validated
+public class NutritionRollupController {
+
+    private static final Logger log = LoggerFactory.getLogger(NutritionRollupController.class);
+    private INutritionRollupService nutritionRollupService;
+
+    @Operation(
+            summary = "Fetch Total Nutrition REST API",
+            description = "REST API to fetch total nutrition of a user's customizations within a delivery date range"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @GetMapping("/nutrition/{userId}")
+    public ResponseEntity<NutritionRollupDto> fetchTotalNutrition(
+            @PathVariable String userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.debug("Received request to fetch total nutrition for user id: {} from {} to {}", userId, from, to);
+        NutritionRollupDto rollup = nutritionRollupService.fetchTotalNutrition(userId, from, to);
+        log.debug("Successfully fetched total nutrition over {} meals for user id: {}", rollup.getMealCount(), userId);
+        return ResponseEntity.status(HttpStatus.OK).body(rollup);
+    }
+
+    @Operation(
+            summary = "Fetch Daily Nutrition REST API",
+            description = "REST API to fetch nutrition per delivery date of a user's customizations within a range"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @GetMapping("/nutrition/{userId}/daily")
+    public ResponseEntity<List<NutritionRollupDto>> fetchDailyNutrition(
+            @PathVariable String userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.debug("Received request to fetch daily nutrition for user id: {} from {} to {}", userId, from, to);
+        List<NutritionRollupDto> rollups = nutritionRollupService.fetchDailyNutrition(userId, from, to);
+        log.debug("Successfully fetched nutrition for {} days for user id: {}", rollups.size(), userId);
+        return ResponseEntity.status(HttpStatus.OK).body(rollups);
+    }
+
+    @Operation(
+            summary = "Fetch Weekly Nutrition REST API",
+            description = "REST API to fetch nutrition per week (Monday to Sunday) of a user's customizations"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @GetMapping("/nutrition/{userId}/weekly")
+    public ResponseEntity<List<NutritionRollupDto>> fetchWeeklyNutrition(
+            @PathVariable String userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.debug("Received request to fetch weekly nutrition for user id: {} from {} to {}", userId, from, to);
+        List<NutritionRollupDto> rollups = nutritionRollupService.fetchWeeklyNutrition(userId, from, to);
+        log.debug("Successfully fetched nutrition for {} weeks for user id: {}", rollups.size(), userId);
+        return ResponseEntity.status(HttpStatus.OK).body(rollups);
+    }
+
+    @Operation(
+            summary = "Rebuild Weekly Nutrition Summaries REST API",
+            description = "REST API to backfill the nutrition of customizations within a delivery date range and recompute the weekly summaries"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+            @ApiResponse(responseCode = "400", description = "HTTP Status Bad Request"),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @PostMapping("/nutrition/rebuild")
+    public ResponseEntity<NutritionRebuildReportDto> rebuildSummaries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.debug("Received request to rebuild weekly nutrition summaries from {} to {}", from, to);
+        if (to.isBefore(from)) {
+            throw new InvalidRequestException("End date must not be before the start date");
+        }
+        NutritionRebuildReportDto report = nutritionRollupService.rebuildSummaries(from, to);
+        log.debug("Successfully backfilled {} customizations and invalidated {} weekly summaries",
+                report.getCustomizationsBackfilled(), report.getSummariesInvalidated());
+        return ResponseEntity.status(HttpStatus.OK).body(report);
+    }
+}
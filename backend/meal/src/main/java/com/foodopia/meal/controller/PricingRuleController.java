@@ -0,0 +1,136 @@
+package com.foodopia.meal.controller;
+
+import com.foodopia.meal.constants.MealConstants;
+import com.foodopia.meal.dto.ErrorResponseDto;
+import com.foodopia.meal.dto.PricingRuleDto;
+import com.foodopia.meal.dto.RepricingReportDto;
+import com.foodopia.meal.dto.ResponseDto;
+import com.foodopia.meal.service.IPricingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Tag(
+        name = "CRUD REST APIs for Pricing Rules",
+        description = "REST APIs to CREATE, FETCH and UPDATE the markup and promotion rules that price customized meals"
+)
+@RestController
+@RequestMapping(path = "/api", produces = {MediaType.APPLICATION_JSON_VALUE})
+@AllArgsConstructor
+@Validated
+public class PricingRuleController {
+
+    private static final Logger log = LoggerFactory.getLogger(PricingRuleController.class);
+    private IPricingService pricingService;
+
+    @Operation(
+            summary = "Create Pricing Rule REST API",
+            description = "REST API to create a markup or promotion rule and reprice future customized meals"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "HTTP Status CREATED"),
+            @ApiResponse(responseCode = "400", description = "HTTP Status Bad Request"),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @PostMapping("/pricing-rules")
+    public ResponseEntity<ResponseDto> createRule(@Valid @RequestBody PricingRuleDto ruleDto) {
+        log.debug("Received request to create pricing rule: {}", ruleDto.getName());
+        pricingService.createRule(ruleDto);
+        log.debug("Successfully created pricing rule: {}", ruleDto.getName());
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(new ResponseDto(MealConstants.STATUS_201, MealConstants.MESSAGE_201));
+    }
+
+    @Operation(
+            summary = "Fetch Pricing Rules REST API",
+            description = "REST API to fetch all pricing rules, highest priority first"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @GetMapping("/pricing-rules")
+    public ResponseEntity<List<PricingRuleDto>> fetchRules() {
+        log.debug("Received request to fetch pricing rules");
+        return ResponseEntity.ok(pricingService.fetchRules());
+    }
+
+    @Operation(
+            summary = "Update Pricing Rule REST API",
+            description = "REST API to update or deactivate a pricing rule and reprice future customized meals"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+            @ApiResponse(responseCode = "400", description = "HTTP Status Bad Request"),
+            @ApiResponse(responseCode = "417", description = "Expectation Failed"),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @PutMapping("/pricing-rules")
+    public ResponseEntity<ResponseDto> updateRule(@Valid @RequestBody PricingRuleDto ruleDto) {
+        log.debug("Received request to update pricing rule with id: {}", ruleDto.getId());
+        boolean isUpdated = pricingService.updateRule(ruleDto);
+        if (isUpdated) {
+            log.debug("Successfully updated pricing rule with id: {}", ruleDto.getId());
+            return ResponseEntity
+                    .status(HttpStatus.OK)
+                    .body(new ResponseDto(MealConstants.STATUS_200, MealConstants.MESSAGE_200));
+        } else {
+            log.warn("Failed to update pricing rule with id: {}", ruleDto.getId());
+            return ResponseEntity
+                    .status(HttpStatus.EXPECTATION_FAILED)
+                    .body(new ResponseDto(MealConstants.STATUS_417, MealConstants.MESSAGE_417_UPDATE));
+        }
+    }
+
+    @Operation(
+            summary = "Reprice Future Customizations REST API",
+            description = "REST API to reprice every customized meal delivered after today under the rules in effect"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @PostMapping("/pricing-rules/reprice")
+    public ResponseEntity<RepricingReportDto> repriceFutureCustomizations() {
+        log.debug("Received request to reprice future customizations");
+        RepricingReportDto report = pricingService.repriceFutureCustomizations();
+        log.debug("Successfully repriced {} of {} future customizations", report.getRepriced(), report.getScanned());
+        return ResponseEntity.status(HttpStatus.OK).body(report);
+    }
+}
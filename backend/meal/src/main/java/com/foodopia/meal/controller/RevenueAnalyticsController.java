@@ -0,0 +1,147 @@
+package com.foodopia.meal.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.foodopia.meal.dto.ErrorResponseDto;
+import com.foodopia.meal.dto.RevenueRebuildReportDto;
+import com.foodopia.meal.dto.RevenueRollupDto;
+import com.foodopia.meal.exception.InvalidRequestException;
+import com.foodopia.meal.service.IRevenueAnalyticsService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+
+@Tag(
+        name = "REST APIs for Revenue Analytics",
+        description = "REST APIs to FETCH revenue, cost and margin of the customized meals per day, plan and dish category"
+)
+@RestController
+@RequestMapping(path = "/api", produces = {MediaType.APPLICATION_JSON_VALUE})
+@AllArgsConstructor
+@Validated
+public class RevenueAnalyticsController {
+
+    private static final Logger log = LoggerFactory.getLogger(RevenueAnalyticsController.class);
+    private IRevenueAnalyticsService revenueAnalyticsService;
+
+    @Operation(
+            summary = "Fetch Daily Revenue REST API",
+            description = "REST API to fetch revenue, cost and margin per delivery date within a date range"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+            @ApiResponse(responseCode = "400", description = "HTTP Status Bad Request"),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @GetMapping("/revenue/daily")
+    public ResponseEntity<List<RevenueRollupDto>> fetchDailyRevenue(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.debug("Received request to fetch daily revenue from {} to {}", from, to);
+        validateRange(from, to);
+        List<RevenueRollupDto> revenue = revenueAnalyticsService.fetchDailyRevenue(from, to);
+        log.debug("Successfully fetched revenue for {} days from {} to {}", revenue.size(), from, to);
+        return ResponseEntity.status(HttpStatus.OK).body(revenue);
+    }
+
+    @Operation(
+            summary = "Fetch Revenue By Plan REST API",
+            description = "REST API to fetch revenue, cost and margin per meal plan within a delivery date range"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+            @ApiResponse(responseCode = "400", description = "HTTP Status Bad Request"),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @GetMapping("/revenue/by-plan")
+    public ResponseEntity<List<RevenueRollupDto>> fetchRevenueByPlan(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.debug("Received request to fetch revenue by plan from {} to {}", from, to);
+        validateRange(from, to);
+        List<RevenueRollupDto> revenue = revenueAnalyticsService.fetchRevenueByPlan(from, to);
+        log.debug("Successfully fetched revenue for {} plans from {} to {}", revenue.size(), from, to);
+        return ResponseEntity.status(HttpStatus.OK).body(revenue);
+    }
+
+    @Operation(
+            summary = "Fetch Revenue By Dish Category REST API",
+            description = "REST API to fetch revenue, cost and margin per dish category within a delivery date range"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+            @ApiResponse(responseCode = "400", description = "HTTP Status Bad Request"),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @GetMapping("/revenue/by-category")
+    public ResponseEntity<List<RevenueRollupDto>> fetchRevenueByCategory(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.debug("Received request to fetch revenue by dish category from {} to {}", from, to);
+        validateRange(from, to);
+        List<RevenueRollupDto> revenue = revenueAnalyticsService.fetchRevenueByCategory(from, to);
+        log.debug("Successfully fetched revenue for {} dish categories from {} to {}", revenue.size(), from, to);
+        return ResponseEntity.status(HttpStatus.OK).body(revenue);
+    }
+
+    @Operation(
+            summary = "Rebuild Revenue Rollups REST API",
+            description = "REST API to recompute the daily revenue rollups of a delivery date range from the customizations"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+            @ApiResponse(responseCode = "400", description = "HTTP Status Bad Request"),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @PostMapping("/revenue/rebuild")
+    public ResponseEntity<RevenueRebuildReportDto> rebuildRollups(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.debug("Received request to rebuild revenue rollups from {} to {}", from, to);
+        validateRange(from, to);
+        RevenueRebuildReportDto report = revenueAnalyticsService.rebuildRollups(from, to);
+        log.debug("Successfully rebuilt {} revenue rollup rows in {} ms", report.getRollupRows(), report.getElapsedMillis());
+        return ResponseEntity.status(HttpStatus.OK).body(report);
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new InvalidRequestException("End date must not be before the start date");
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.foodopia.meal.domain;
+
+import com.foodopia.meal.entity.Dish;
+import com.foodopia.meal.entity.MealTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Picks a default dish set for one meal template on one delivery date. The dishes of every
+ * category the template asks for are ranked by popularity once; a selection takes the dishes a
+ * preference allows from the front of each ranking and draws the required number among them
+ * weighted by popularity, so popular dishes dominate while customers still get some variety.
+ * Draws are seeded by the caller, which makes a selection repeatable.
+ */
+public final class DefaultMealSelector {
+
+    /**
+     * Extra candidates per category beyond the required count that a draw may pick from
+     */
+    static final int VARIETY = 3;
+
+    private final MealTemplate template;
+    private final Map<String, List<Dish>> rankedByCategory;
+
+    private DefaultMealSelector(MealTemplate template, Map<String, List<Dish>> rankedByCategory) {
+        this.template = template;
+        this.rankedByCategory = rankedByCategory;
+    }
+
+    /**
+     * @param template Template the selections must satisfy
+     * @param dishes Dish catalog
+     * @param deliveryDate Date the dishes must be available on
+     */
+    public static DefaultMealSelector build(MealTemplate template, Collection<Dish> dishes, LocalDate deliveryDate) {
+        List<String> required = template.getRequiredTags() != null ? template.getRequiredTags() : List.of();
+        List<String> forbidden = template.getForbiddenTags() != null ? template.getForbiddenTags() : List.of();
+        Map<String, List<Dish>> byCategory = new HashMap<>();
+        for (String category : template.getDishCategories().keySet()) {
+            byCategory.put(category, new ArrayList<>());
+        }
+        for (Dish dish : dishes) {
+            List<Dish> ranked = byCategory.get(dish.getCategory());
+            if (ranked == null || !dish.isAvailableOn(deliveryDate)) continue;
+            List<String> tags = dish.getDietaryTags() != null ? dish.getDietaryTags() : List.of();
+            if (!tags.containsAll(required) || tags.stream().anyMatch(forbidden::contains)) continue;
+            ranked.add(dish);
+        }
+        Comparator<Dish> byPopularity = Comparator.comparingDouble(Dish::getPopularityScore).reversed()
+                .thenComparing(Dish::getId);
+        byCategory.values().forEach(ranked -> ranked.sort(byPopularity));
+        return new DefaultMealSelector(template, byCategory);
+    }
+
+    public MealTemplate template() {
+        return template;
+    }
+
+    /**
+     * Select a template-valid dish set
+     *
+     * @param eligibleDishIds Dishes the customer's diet preference allows, null for any
+     * @param seed Seed of the weighted draw
+     * @return The dishes, or null when the allowed dishes cannot satisfy the template
+     */
+    public List<Dish> select(Set<String> eligibleDishIds, long seed) {
+        Random random = new Random(seed);
+        List<Dish> selection = new ArrayList<>(template.getTotalDishes());
+        for (Map.Entry<String, Integer> requirement : template.getDishCategories().entrySet()) {
+            int count = requirement.getValue();
+            List<Dish> candidates = new ArrayList<>(count + VARIETY);
+            for (Dish dish : rankedByCategory.get(requirement.getKey())) {
+                if (eligibleDishIds == null || eligibleDishIds.contains(dish.getId())) {
+                    candidates.add(dish);
+                    if (candidates.size() == count + VARIETY) break;
+                }
+            }
+            if (candidates.size() < count) return null;
+            for (int i = 0; i < count; i++) {
+                selection.add(candidates.remove(draw(candidates, random)));
+            }
+        }
+        return template.validateMeal(selection) ? selection : null;
+    }
+
+    private static int draw(List<Dish> candidates, Random random) {
+        double total = 0;
+        for (Dish dish : candidates) {
+            total += weight(dish);
+        }
+        double target = random.nextDouble() * total;
+        for (int i = 0; i < candidates.size(); i++) {
+            target -= weight(candidates.get(i));
+            if (target < 0) return i;
+        }
+        return candidates.size() - 1;
+    }
+
+    // Dishes nobody ordered yet still get a chance
+    private static double weight(Dish dish) {
+        return Math.max(dish.getPopularityScore(), 0) + 1;
+    }
+}
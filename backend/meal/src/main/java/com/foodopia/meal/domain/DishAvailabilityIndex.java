@@ -0,0 +1,124 @@
+package com.foodopia.meal.domain;
+
+import com.foodopia.meal.entity.Dish;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable interval tree over the availability windows of the available dishes, one tree for the
+ * whole catalog and one per category. A tree is an implicitly balanced search tree laid out over
+ * the windows sorted by start day, each node carrying the latest end day of its subtree, so "which
+ * dishes are available on day D" skips every subtree that ends before D or starts after it and
+ * costs O(log n + matches) instead of a catalog scan. Open-ended windows (no from or until date)
+ * are unbounded on that side.
+ */
+public final class DishAvailabilityIndex {
+
+    private final Tree all;
+    private final Map<String, Tree> byCategory;
+
+    private DishAvailabilityIndex(Tree all, Map<String, Tree> byCategory) {
+        this.all = all;
+        this.byCategory = byCategory;
+    }
+
+    public static DishAvailabilityIndex build(Collection<Dish> dishes) {
+        List<Dish> available = new ArrayList<>(dishes.size());
+        Map<String, List<Dish>> availableByCategory = new HashMap<>();
+        for (Dish dish : dishes) {
+            if (!dish.isAvailable()) continue;
+            // A window that closes before it opens never matches
+            if (startDay(dish) > endDay(dish)) continue;
+            available.add(dish);
+            if (dish.getCategory() != null) {
+                availableByCategory.computeIfAbsent(dish.getCategory(), category -> new ArrayList<>()).add(dish);
+            }
+        }
+        Map<String, Tree> byCategory = new HashMap<>();
+        availableByCategory.forEach((category, categoryDishes) -> byCategory.put(category, new Tree(categoryDishes)));
+        return new DishAvailabilityIndex(new Tree(available), byCategory);
+    }
+
+    /**
+     * Dishes available on the date, ordered by the start of their availability window
+     *
+     * @param category Category to restrict to, null for all categories
+     */
+    public List<Dish> availableOn(LocalDate date, String category) {
+        Tree tree = category == null ? all : byCategory.get(category);
+        if (tree == null) return new ArrayList<>();
+        return tree.stab(date.toEpochDay());
+    }
+
+    public int size() {
+        return all.dishes.length;
+    }
+
+    private static long startDay(Dish dish) {
+        return dish.getAvailableFrom() != null ? dish.getAvailableFrom().toEpochDay() : Long.MIN_VALUE;
+    }
+
+    private static long endDay(Dish dish) {
+        return dish.getAvailableUntil() != null ? dish.getAvailableUntil().toEpochDay() : Long.MAX_VALUE;
+    }
+
+    /**
+     * The node of the range [lo, hi) is its middle element, its subtrees the halves either side
+     */
+    private static final class Tree {
+
+        private final Dish[] dishes;
+        private final long[] starts;
+        private final long[] ends;
+        private final long[] maxEnds;
+
+        Tree(List<Dish> dishes) {
+            this.dishes = dishes.stream()
+                    .sorted(Comparator.comparingLong(DishAvailabilityIndex::startDay).thenComparing(Dish::getId,
+                            Comparator.nullsLast(Comparator.naturalOrder())))
+                    .toArray(Dish[]::new);
+            int size = this.dishes.length;
+            this.starts = new long[size];
+            this.ends = new long[size];
+            this.maxEnds = new long[size];
+            for (int i = 0; i < size; i++) {
+                starts[i] = startDay(this.dishes[i]);
+                ends[i] = endDay(this.dishes[i]);
+            }
+            augment(0, size);
+        }
+
+        private long augment(int lo, int hi) {
+            if (lo >= hi) return Long.MIN_VALUE;
+            int mid = (lo + hi) >>> 1;
+            long maxEnd = Math.max(ends[mid], Math.max(augment(lo, mid), augment(mid + 1, hi)));
+            maxEnds[mid] = maxEnd;
+            return maxEnd;
+        }
+
+        List<Dish> stab(long day) {
+            List<Dish> matches = new ArrayList<>();
+            stab(0, dishes.length, day, matches);
+            return matches;
+        }
+
+        private void stab(int lo, int hi, long day, List<Dish> matches) {
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                // Every window in this subtree closed before the day
+                if (maxEnds[mid] < day) return;
+                stab(lo, mid, day, matches);
+                // This and every later window opens after the day
+                if (starts[mid] > day) return;
+                if (ends[mid] >= day) matches.add(dishes[mid]);
+                lo = mid + 1;
+            }
+        }
+    }
+}
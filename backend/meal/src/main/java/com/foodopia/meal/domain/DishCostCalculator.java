@@ -0,0 +1,187 @@
+package com.foodopia.meal.domain;
+
+import com.foodopia.meal.entity.Dish;
+import com.foodopia.meal.entity.DishIngredient;
+import com.foodopia.meal.entity.Ingredient;
+import com.foodopia.meal.entity.NutritionFacts;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Cost and nutrition engine shared by dish create/update and ingredient price changes.
+ * Ingredients are laid out once into primitive arrays (index -> unit price, index -> nutrient
+ * vector per 100g) so recomputing a dish only touches doubles and writes the result in place.
+ */
+public final class DishCostCalculator {
+
+    public static final int CALORIES = 0;
+    public static final int PROTEIN = 1;
+    public static final int SUGAR = 2;
+    public static final int SALT = 3;
+    public static final int NUTRIENTS = 4;
+
+    private final Map<String, Integer> indexById;
+    private final double[] unitPrices;
+    private final double[] nutrientsPer100g;
+
+    private DishCostCalculator(Map<String, Integer> indexById, double[] unitPrices, double[] nutrientsPer100g) {
+        this.indexById = indexById;
+        this.unitPrices = unitPrices;
+        this.nutrientsPer100g = nutrientsPer100g;
+    }
+
+    public static DishCostCalculator of(Collection<Ingredient> ingredients) {
+        return of(ingredients, Ingredient::getUnitPrice);
+    }
+
+    /**
+     * Calculator pricing the ingredients as they were on a date instead of at their current price
+     */
+    public static DishCostCalculator asOf(Collection<Ingredient> ingredients, IngredientPriceHistory prices, LocalDate date) {
+        return of(ingredients, ingredient -> prices.priceAsOf(ingredient.getId(), date, ingredient.getUnitPrice()));
+    }
+
+    private static DishCostCalculator of(Collection<Ingredient> ingredients, ToDoubleFunction<Ingredient> unitPrice) {
+        Map<String, Integer> indexById = new HashMap<>(ingredients.size() * 2);
+        double[] unitPrices = new double[ingredients.size()];
+        double[] nutrients = new double[ingredients.size() * NUTRIENTS];
+        int i = 0;
+        for (Ingredient ingredient : ingredients) {
+            indexById.put(ingredient.getId(), i);
+            unitPrices[i] = unitPrice.applyAsDouble(ingredient);
+            NutritionFacts per100g = ingredient.getNutritionPer100g();
+            if (per100g != null) {
+                int base = i * NUTRIENTS;
+                nutrients[base + CALORIES] = per100g.getCaloriesKcal();
+                nutrients[base + PROTEIN] = per100g.getProteinG();
+                nutrients[base + SUGAR] = per100g.getSugarG();
+                nutrients[base + SALT] = per100g.getSaltMg();
+            }
+            i++;
+        }
+        return new DishCostCalculator(indexById, unitPrices, nutrients);
+    }
+
+    /**
+     * Index of an ingredient in the calculator's arrays, or -1 if unknown
+     */
+    public int indexOf(String ingredientId) {
+        Integer index = ingredientId == null ? null : indexById.get(ingredientId);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * First ingredient referenced by the dish that the calculator does not know, or null
+     */
+    public String findMissingIngredient(Dish dish) {
+        if (dish.getIngredients() == null) return null;
+        for (DishIngredient di : dish.getIngredients()) {
+            String id = di.getIngredientId();
+            if (id != null && !id.isBlank() && indexOf(id) < 0) {
+                return id;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Total cost of a dish without touching it, skipping unknown ingredients
+     */
+    public double cost(Dish dish) {
+        double cost = 0.0;
+        List<DishIngredient> lines = dish.getIngredients();
+        if (lines != null) {
+            for (int l = 0, n = lines.size(); l < n; l++) {
+                DishIngredient di = lines.get(l);
+                int index = indexOf(di.getIngredientId());
+                if (index >= 0) cost += unitPrices[index] * di.getQuantity();
+            }
+        }
+        return cost;
+    }
+
+    /**
+     * Recompute total cost and nutrition per serving of a dish, skipping unknown ingredients.
+     * The dish gets a new NutritionFacts, so one it shares with a cached copy is left untouched.
+     */
+    public void recalculate(Dish dish) {
+        recalculateAll(List.of(dish));
+    }
+
+    /**
+     * Recompute every dish in one pass over the shared ingredient arrays: the dishes' lines are
+     * resolved into the compressed form of the bulk mode below and the results written back
+     */
+    public void recalculateAll(List<Dish> dishes) {
+        int dishCount = dishes.size();
+        int[] offsets = new int[dishCount + 1];
+        for (int d = 0; d < dishCount; d++) {
+            List<DishIngredient> lines = dishes.get(d).getIngredients();
+            offsets[d + 1] = offsets[d] + (lines != null ? lines.size() : 0);
+        }
+        int[] ingredientIndexes = new int[offsets[dishCount]];
+        double[] quantities = new double[offsets[dishCount]];
+        for (int d = 0; d < dishCount; d++) {
+            List<DishIngredient> lines = dishes.get(d).getIngredients();
+            for (int l = offsets[d], end = offsets[d + 1]; l < end; l++) {
+                DishIngredient di = lines.get(l - offsets[d]);
+                ingredientIndexes[l] = indexOf(di.getIngredientId());
+                quantities[l] = di.getQuantity();
+            }
+        }
+
+        double[] costs = new double[dishCount];
+        double[] nutrients = new double[dishCount * NUTRIENTS];
+        recalculateAll(offsets, ingredientIndexes, quantities, costs, nutrients);
+
+        for (int d = 0; d < dishCount; d++) {
+            Dish dish = dishes.get(d);
+            int base = d * NUTRIENTS;
+            dish.setTotalCost(costs[d]);
+            dish.setNutritionPerServing(new NutritionFacts(nutrients[base + CALORIES], nutrients[base + PROTEIN],
+                    nutrients[base + SUGAR], nutrients[base + SALT]));
+        }
+    }
+
+    /**
+     * Bulk mode over pre-resolved dishes in compressed form: the lines of dish {@code d} are
+     * {@code ingredientIndexes[offsets[d] .. offsets[d + 1])} with matching {@code quantities}.
+     * Writes one cost per dish into {@code costs} and {@link #NUTRIENTS} values per dish into
+     * {@code nutrients}; allocates nothing.
+     */
+    public void recalculateAll(int[] offsets, int[] ingredientIndexes, double[] quantities,
+                               double[] costs, double[] nutrients) {
+        int dishCount = offsets.length - 1;
+        for (int d = 0; d < dishCount; d++) {
+            double cost = 0.0;
+            double calories = 0.0;
+            double protein = 0.0;
+            double sugar = 0.0;
+            double salt = 0.0;
+            for (int l = offsets[d], end = offsets[d + 1]; l < end; l++) {
+                int index = ingredientIndexes[l];
+                if (index < 0) continue;
+                double quantity = quantities[l];
+                cost += unitPrices[index] * quantity;
+                // quantity is treated as grams
+                double scale = quantity / 100.0;
+                int base = index * NUTRIENTS;
+                calories += nutrientsPer100g[base + CALORIES] * scale;
+                protein += nutrientsPer100g[base + PROTEIN] * scale;
+                sugar += nutrientsPer100g[base + SUGAR] * scale;
+                salt += nutrientsPer100g[base + SALT] * scale;
+            }
+            costs[d] = cost;
+            int out = d * NUTRIENTS;
+            nutrients[out + CALORIES] = calories;
+            nutrients[out + PROTEIN] = protein;
+            nutrients[out + SUGAR] = sugar;
+            nutrients[out + SALT] = salt;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.foodopia.meal.domain;
+
+import com.foodopia.meal.entity.Dish;
+import com.foodopia.meal.entity.DishIngredient;
+import com.foodopia.meal.entity.Ingredient;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable allergen/ingredient/tag index over the available dish catalog.
+ * Each term maps to a bitset of dish positions, so a preference is resolved
+ * with a handful of bitset operations instead of scanning every dish.
+ */
+public final class DishEligibilityIndex {
+
+    private final String[] dishIds;
+    private final BitSet available;
+    private final Map<String, BitSet> dishesByAllergen;
+    private final Map<String, BitSet> dishesByIngredientTerm;
+    private final Map<String, BitSet> dishesByDietaryTag;
+
+    private DishEligibilityIndex(String[] dishIds,
+                                 BitSet available,
+                                 Map<String, BitSet> dishesByAllergen,
+                                 Map<String, BitSet> dishesByIngredientTerm,
+                                 Map<String, BitSet> dishesByDietaryTag) {
+        this.dishIds = dishIds;
+        this.available = available;
+        this.dishesByAllergen = dishesByAllergen;
+        this.dishesByIngredientTerm = dishesByIngredientTerm;
+        this.dishesByDietaryTag = dishesByDietaryTag;
+    }
+
+    public static DishEligibilityIndex build(List<Dish> dishes, Map<String, Ingredient> ingredientsById) {
+        String[] dishIds = new String[dishes.size()];
+        BitSet available = new BitSet(dishes.size());
+        Map<String, BitSet> byAllergen = new HashMap<>();
+        Map<String, BitSet> byIngredientTerm = new HashMap<>();
+        Map<String, BitSet> byDietaryTag = new HashMap<>();
+
+        for (int i = 0; i < dishes.size(); i++) {
+            Dish dish = dishes.get(i);
+            dishIds[i] = dish.getId();
+            if (dish.isAvailable()) {
+                available.set(i);
+            }
+            if (dish.getAllergens() != null) {
+                for (String allergen : dish.getAllergens()) {
+                    mark(byAllergen, allergen, i);
+                }
+            }
+            if (dish.getDietaryTags() != null) {
+                for (String tag : dish.getDietaryTags()) {
+                    mark(byDietaryTag, tag, i);
+                }
+            }
+            if (dish.getIngredients() != null) {
+                for (DishIngredient di : dish.getIngredients()) {
+                    Ingredient ingredient = ingredientsById.get(di.getIngredientId());
+                    if (ingredient == null) {
+                        continue;
+                    }
+                    mark(byIngredientTerm, ingredient.getName(), i);
+                    mark(byIngredientTerm, ingredient.getCategory(), i);
+                }
+            }
+        }
+        return new DishEligibilityIndex(dishIds, available, byAllergen, byIngredientTerm, byDietaryTag);
+    }
+
+    /**
+     * Resolve the available dishes compatible with a preference.
+     * Allergies exclude dishes declaring the allergen or containing a matching ingredient;
+     * foods to avoid exclude dishes by ingredient name or category; dietary goals that match
+     * a known dietary tag must be present on every eligible dish, unknown goals are ignored.
+     */
+    public List<String> eligibleDishIds(Collection<String> allergies,
+                                        Collection<String> foodsToAvoid,
+                                        Collection<String> dietaryGoals) {
+        BitSet eligible = (BitSet) available.clone();
+        for (String allergy : allergies) {
+            exclude(eligible, dishesByAllergen.get(allergy));
+            exclude(eligible, dishesByIngredientTerm.get(allergy));
+        }
+        for (String food : foodsToAvoid) {
+            exclude(eligible, dishesByIngredientTerm.get(food));
+            exclude(eligible, dishesByAllergen.get(food));
+        }
+        for (String goal : dietaryGoals) {
+            BitSet tagged = dishesByDietaryTag.get(goal);
+            if (tagged != null) {
+                eligible.and(tagged);
+            }
+        }
+
+        List<String> result = new ArrayList<>(eligible.cardinality());
+        for (int i = eligible.nextSetBit(0); i >= 0; i = eligible.nextSetBit(i + 1)) {
+            result.add(dishIds[i]);
+        }
+        return result;
+    }
+
+    public int size() {
+        return dishIds.length;
+    }
+
+    public static String normalize(String term) {
+        return term == null ? "" : term.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static void mark(Map<String, BitSet> index, String term, int position) {
+        String key = normalize(term);
+        if (key.isEmpty()) {
+            return;
+        }
+        index.computeIfAbsent(key, k -> new BitSet()).set(position);
+    }
+
+    private static void exclude(BitSet eligible, BitSet excluded) {
+        if (excluded != null) {
+            eligible.andNot(excluded);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.foodopia.meal.domain;
+
+import com.foodopia.meal.entity.IngredientPriceVersion;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable as-of view over the ingredient price versions. The versions of each ingredient are
+ * kept as parallel arrays of effective epoch days and prices sorted by day, so an as-of lookup is
+ * one hash lookup and a binary search. Changes produce a new instance that shares every other
+ * ingredient's arrays.
+ */
+public final class IngredientPriceHistory {
+
+    private static final IngredientPriceHistory EMPTY = new IngredientPriceHistory(Map.of());
+
+    private final Map<String, Series> byIngredient;
+
+    private IngredientPriceHistory(Map<String, Series> byIngredient) {
+        this.byIngredient = byIngredient;
+    }
+
+    public static IngredientPriceHistory empty() {
+        return EMPTY;
+    }
+
+    public static IngredientPriceHistory of(Collection<IngredientPriceVersion> versions) {
+        Map<String, List<IngredientPriceVersion>> grouped = new HashMap<>();
+        for (IngredientPriceVersion version : versions) {
+            if (version.getIngredientId() == null || version.getEffectiveFrom() == null) continue;
+            grouped.computeIfAbsent(version.getIngredientId(), id -> new ArrayList<>()).add(version);
+        }
+        Map<String, Series> byIngredient = new HashMap<>(grouped.size() * 2);
+        grouped.forEach((ingredientId, ingredientVersions) -> byIngredient.put(ingredientId, Series.of(ingredientVersions)));
+        return new IngredientPriceHistory(byIngredient);
+    }
+
+    /**
+     * A copy with the version added, replacing a version of the same ingredient and day
+     */
+    public IngredientPriceHistory with(IngredientPriceVersion version) {
+        Map<String, Series> byIngredient = new HashMap<>(this.byIngredient);
+        Series current = byIngredient.get(version.getIngredientId());
+        byIngredient.put(version.getIngredientId(), current == null
+                ? Series.of(List.of(version))
+                : current.with(version.getEffectiveFrom().toEpochDay(), version.getUnitPrice()));
+        return new IngredientPriceHistory(byIngredient);
+    }
+
+    public boolean contains(String ingredientId) {
+        return byIngredient.containsKey(ingredientId);
+    }
+
+    /**
+     * Unit price in effect on the date; dates before the first version get the first version's
+     * price, ingredients without versions the fallback
+     */
+    public double priceAsOf(String ingredientId, LocalDate date, double fallback) {
+        Series series = ingredientId == null ? null : byIngredient.get(ingredientId);
+        return series == null ? fallback : series.priceAsOf(date.toEpochDay());
+    }
+
+    private static final class Series {
+
+        private final long[] days;
+        private final double[] prices;
+
+        private Series(long[] days, double[] prices) {
+            this.days = days;
+            this.prices = prices;
+        }
+
+        static Series of(List<IngredientPriceVersion> versions) {
+            List<IngredientPriceVersion> sorted = new ArrayList<>(versions);
+            sorted.sort(Comparator.comparing(IngredientPriceVersion::getEffectiveFrom));
+            long[] days = new long[sorted.size()];
+            double[] prices = new double[sorted.size()];
+            int size = 0;
+            for (IngredientPriceVersion version : sorted) {
+                long day = version.getEffectiveFrom().toEpochDay();
+                // The unique index allows one version per day, keep the last one seen regardless
+                if (size > 0 && days[size - 1] == day) size--;
+                days[size] = day;
+                prices[size] = version.getUnitPrice();
+                size++;
+            }
+            return new Series(Arrays.copyOf(days, size), Arrays.copyOf(prices, size));
+        }
+
+        Series with(long day, double price) {
+            int index = Arrays.binarySearch(days, day);
+            if (index >= 0) {
+                double[] newPrices = prices.clone();
+                newPrices[index] = price;
+                return new Series(days, newPrices);
+            }
+            int insertAt = -index - 1;
+            long[] newDays = new long[days.length + 1];
+            double[] newPrices = new double[prices.length + 1];
+            System.arraycopy(days, 0, newDays, 0, insertAt);
+            System.arraycopy(prices, 0, newPrices, 0, insertAt);
+            newDays[insertAt] = day;
+            newPrices[insertAt] = price;
+            System.arraycopy(days, insertAt, newDays, insertAt + 1, days.length - insertAt);
+            System.arraycopy(prices, insertAt, newPrices, insertAt + 1, prices.length - insertAt);
+            return new Series(newDays, newPrices);
+        }
+
+        double priceAsOf(long day) {
+            int index = Arrays.binarySearch(days, day);
+            if (index < 0) {
+                // Last version starting before the day, or the first one for days before it
+                index = Math.max(-index - 2, 0);
+            }
+            return prices[index];
+        }
+    }
+}
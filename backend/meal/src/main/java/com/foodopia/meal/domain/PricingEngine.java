@@ -0,0 +1,43 @@
+package com.foodopia.meal.domain;
+
+import com.foodopia.meal.entity.Dish;
+import com.foodopia.meal.entity.PricingRule;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Prices meals from the current {@link PricingTable}. A rule change compiles a new table off to
+ * the side and swaps it in with one reference write, so pricing never locks and never sees a
+ * half-applied rule set; a price evaluated across several dishes uses a single table.
+ */
+public final class PricingEngine {
+
+    private final double defaultMarkup;
+    private final AtomicReference<PricingTable> table;
+
+    public PricingEngine(double defaultMarkup) {
+        this.defaultMarkup = defaultMarkup;
+        this.table = new AtomicReference<>(PricingTable.empty(defaultMarkup));
+    }
+
+    /**
+     * Compile the rules and make them the ones in effect. Rules that do not compile leave the
+     * current table in place.
+     */
+    public PricingTable install(Collection<PricingRule> rules) {
+        PricingTable compiled = PricingTable.compile(rules, defaultMarkup);
+        table.set(compiled);
+        return compiled;
+    }
+
+    public PricingTable table() {
+        return table.get();
+    }
+
+    public double price(List<Dish> dishes, String planCode, int planLevel, LocalDate date) {
+        return table.get().price(dishes, planCode, planLevel, date);
+    }
+}
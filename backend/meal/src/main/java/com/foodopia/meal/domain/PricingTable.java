@@ -0,0 +1,229 @@
+package com.foodopia.meal.domain;
+
+import com.foodopia.meal.entity.Dish;
+import com.foodopia.meal.entity.PricingRule;
+import com.foodopia.meal.entity.PricingRuleType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Immutable decision table compiled from the active pricing rules. Every plan code, plan level and
+ * dish category named by a rule gets an index (0 stands for any other value), and the validity
+ * dates of the rules cut the calendar into segments within which no rule starts or ends. Compiling
+ * resolves the winning markup and promotion of every (plan, level, category, segment) cell up
+ * front, so pricing a dish is three map lookups, a binary search over the segment starts and two
+ * array reads.
+ */
+public final class PricingTable {
+
+    static final int MAX_CELLS = 1 << 20;
+
+    private static final Comparator<PricingRule> PRECEDENCE = Comparator
+            .comparingInt(PricingRule::getPriority).reversed()
+            .thenComparing(Comparator.comparingInt(PricingTable::specificity).reversed())
+            .thenComparing(PricingRule::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final double defaultMarkup;
+    private final int ruleCount;
+    private final Map<String, Integer> planIndex;
+    private final Map<Integer, Integer> levelIndex;
+    private final Map<String, Integer> categoryIndex;
+    private final long[] segmentStarts;
+    private final int levels;
+    private final int categories;
+    private final int segments;
+    private final double[] markups;
+    private final double[] discounts;
+
+    private PricingTable(double defaultMarkup, int ruleCount, Map<String, Integer> planIndex,
+                         Map<Integer, Integer> levelIndex, Map<String, Integer> categoryIndex,
+                         long[] segmentStarts, double[] markups, double[] discounts) {
+        this.defaultMarkup = defaultMarkup;
+        this.ruleCount = ruleCount;
+        this.planIndex = planIndex;
+        this.levelIndex = levelIndex;
+        this.categoryIndex = categoryIndex;
+        this.segmentStarts = segmentStarts;
+        this.levels = levelIndex.size() + 1;
+        this.categories = categoryIndex.size() + 1;
+        this.segments = segmentStarts.length + 1;
+        this.markups = markups;
+        this.discounts = discounts;
+    }
+
+    /**
+     * Compile the active rules; dishes no MARKUP rule matches get {@code defaultMarkup}
+     */
+    public static PricingTable compile(Collection<PricingRule> rules, double defaultMarkup) {
+        List<PricingRule> active = new ArrayList<>();
+        for (PricingRule rule : rules) {
+            if (!rule.isActive() || rule.getType() == null) continue;
+            validate(rule);
+            active.add(rule);
+        }
+        active.sort(PRECEDENCE);
+
+        Map<String, Integer> planIndex = new HashMap<>();
+        Map<Integer, Integer> levelIndex = new HashMap<>();
+        Map<String, Integer> categoryIndex = new HashMap<>();
+        TreeSet<Long> boundaries = new TreeSet<>();
+        for (PricingRule rule : active) {
+            if (rule.getPlanCode() != null) planIndex.putIfAbsent(rule.getPlanCode(), planIndex.size() + 1);
+            if (rule.getPlanLevel() != null) levelIndex.putIfAbsent(rule.getPlanLevel(), levelIndex.size() + 1);
+            if (rule.getCategory() != null) categoryIndex.putIfAbsent(normalize(rule.getCategory()), categoryIndex.size() + 1);
+            if (rule.getValidFrom() != null) boundaries.add(rule.getValidFrom().toEpochDay());
+            if (rule.getValidTo() != null) boundaries.add(rule.getValidTo().toEpochDay() + 1);
+        }
+        long[] segmentStarts = boundaries.stream().mapToLong(Long::longValue).toArray();
+
+        long cells = (long) (planIndex.size() + 1) * (levelIndex.size() + 1) * (categoryIndex.size() + 1)
+                * (segmentStarts.length + 1);
+        if (cells > MAX_CELLS) {
+            throw new IllegalArgumentException("Pricing rules expand to " + cells + " decision table cells, at most "
+                    + MAX_CELLS + " are supported");
+        }
+        String[] plans = keys(planIndex);
+        Integer[] planLevels = levelKeys(levelIndex);
+        String[] categoryNames = keys(categoryIndex);
+
+        double[] markups = new double[(int) cells];
+        double[] discounts = new double[(int) cells];
+        int cell = 0;
+        for (String plan : plans) {
+            for (Integer level : planLevels) {
+                for (String category : categoryNames) {
+                    for (int segment = 0; segment <= segmentStarts.length; segment++) {
+                        long day = segment == 0
+                                ? (segmentStarts.length == 0 ? 0 : segmentStarts[0] - 1)
+                                : segmentStarts[segment - 1];
+                        markups[cell] = defaultMarkup;
+                        PricingRule markup = firstMatch(active, PricingRuleType.MARKUP, plan, level, category, day);
+                        if (markup != null) markups[cell] = markup.getRate();
+                        PricingRule promotion = firstMatch(active, PricingRuleType.PROMOTION, plan, level, category, day);
+                        if (promotion != null) discounts[cell] = promotion.getRate();
+                        cell++;
+                    }
+                }
+            }
+        }
+        return new PricingTable(defaultMarkup, active.size(), planIndex, levelIndex, categoryIndex,
+                segmentStarts, markups, discounts);
+    }
+
+    public static PricingTable empty(double defaultMarkup) {
+        return compile(List.of(), defaultMarkup);
+    }
+
+    public int ruleCount() {
+        return ruleCount;
+    }
+
+    public double defaultMarkup() {
+        return defaultMarkup;
+    }
+
+    public double markup(String planCode, int planLevel, String category, LocalDate date) {
+        return markups[cell(planCode, planLevel, category, date)];
+    }
+
+    public double discount(String planCode, int planLevel, String category, LocalDate date) {
+        return discounts[cell(planCode, planLevel, category, date)];
+    }
+
+    /**
+     * Price of the dishes of one meal for a subscriber of the plan and level, delivered on the date
+     */
+    public double price(List<Dish> dishes, String planCode, int planLevel, LocalDate date) {
+        if (dishes == null || dishes.isEmpty()) return 0.0;
+        // Everything but the category is the same for all dishes of the meal
+        int base = planIndex(planCode) * levels + levelIndex.getOrDefault(planLevel, 0);
+        int segment = segment(date);
+        double price = 0.0;
+        for (Dish dish : dishes) {
+            int cell = (base * categories + categoryIndex(dish.getCategory())) * segments + segment;
+            price += dish.calculateCost() * (1 + markups[cell]) * (1 - discounts[cell]);
+        }
+        return price;
+    }
+
+    private int cell(String planCode, int planLevel, String category, LocalDate date) {
+        int base = planIndex(planCode) * levels + levelIndex.getOrDefault(planLevel, 0);
+        return (base * categories + categoryIndex(category)) * segments + segment(date);
+    }
+
+    private int planIndex(String planCode) {
+        return planCode != null ? planIndex.getOrDefault(planCode, 0) : 0;
+    }
+
+    private int categoryIndex(String category) {
+        return category != null && !categoryIndex.isEmpty() ? categoryIndex.getOrDefault(normalize(category), 0) : 0;
+    }
+
+    private int segment(LocalDate date) {
+        if (segmentStarts.length == 0 || date == null) return 0;
+        int position = Arrays.binarySearch(segmentStarts, date.toEpochDay());
+        // A date equal to a segment start belongs to that segment, otherwise to the one before the insertion point
+        return position >= 0 ? position + 1 : -position - 1;
+    }
+
+    private static PricingRule firstMatch(List<PricingRule> rules, PricingRuleType type, String plan, Integer level,
+                                          String category, long day) {
+        for (PricingRule rule : rules) {
+            if (rule.getType() != type) continue;
+            if (rule.getPlanCode() != null && !rule.getPlanCode().equals(plan)) continue;
+            if (rule.getPlanLevel() != null && !rule.getPlanLevel().equals(level)) continue;
+            if (rule.getCategory() != null && !normalize(rule.getCategory()).equals(category)) continue;
+            if (rule.getValidFrom() != null && day < rule.getValidFrom().toEpochDay()) continue;
+            if (rule.getValidTo() != null && day > rule.getValidTo().toEpochDay()) continue;
+            return rule;
+        }
+        return null;
+    }
+
+    private static void validate(PricingRule rule) {
+        if (rule.getType() == PricingRuleType.MARKUP && rule.getRate() <= -1) {
+            throw new IllegalArgumentException("Markup of pricing rule " + rule.getName() + " must be above -1");
+        }
+        if (rule.getType() == PricingRuleType.PROMOTION && (rule.getRate() < 0 || rule.getRate() > 1)) {
+            throw new IllegalArgumentException("Discount of pricing rule " + rule.getName() + " must be between 0 and 1");
+        }
+        if (rule.getValidFrom() != null && rule.getValidTo() != null && rule.getValidTo().isBefore(rule.getValidFrom())) {
+            throw new IllegalArgumentException("Pricing rule " + rule.getName() + " ends before it starts");
+        }
+    }
+
+    private static int specificity(PricingRule rule) {
+        int conditions = 0;
+        if (rule.getPlanCode() != null) conditions++;
+        if (rule.getPlanLevel() != null) conditions++;
+        if (rule.getCategory() != null) conditions++;
+        if (rule.getValidFrom() != null || rule.getValidTo() != null) conditions++;
+        return conditions;
+    }
+
+    // Index 0, any value no rule names, is represented by null
+    private static String[] keys(Map<String, Integer> index) {
+        String[] keys = new String[index.size() + 1];
+        index.forEach((key, position) -> keys[position] = key);
+        return keys;
+    }
+
+    private static Integer[] levelKeys(Map<Integer, Integer> index) {
+        Integer[] keys = new Integer[index.size() + 1];
+        index.forEach((key, position) -> keys[position] = key);
+        return keys;
+    }
+
+    private static String normalize(String category) {
+        return category.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,27 @@
+package com.foodopia.meal.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class AutoFillReportDto {
+
+    private LocalDate deliveryDate;
+
+    /**
+     * Scheduled meals of the date
+     */
+    private long scheduledMeals;
+
+    private long alreadyCustomized;
+
+    private long autoFilled;
+
+    /**
+     * Meals left empty because the plan has no template or the allowed dishes cannot satisfy it
+     */
+    private long unfillable;
+
+    private long elapsedMillis;
+}
@@ -0,0 +1,32 @@
+package com.foodopia.meal.dto;
+
+import java.util.List;
+
+/**
+ * A catalog resource was created or changed, sent on meal-catalog-events so the API gateway can
+ * purge the cached responses of that resource and the other meal-service instances can update
+ * their catalog cache
+ *
+ * @param resource Catalog resource as named in its REST path: dishes, ingredients, meal-templates or meal-plan-types
+ * @param id ID (plan code for meal plan types) of the changed item, null when several changed
+ * @param ids IDs of the changed items when several changed, null when unknown
+ */
+public record CatalogChangeEventDto(
+        String resource,
+        String id,
+        List<String> ids
+) {
+
+    public static final String DISHES = "dishes";
+    public static final String INGREDIENTS = "ingredients";
+    public static final String MEAL_TEMPLATES = "meal-templates";
+    public static final String MEAL_PLAN_TYPES = "meal-plan-types";
+
+    /**
+     * IDs of the changed items, null when the whole resource may have changed
+     */
+    public List<String> changedIds() {
+        if (id != null) return List.of(id);
+        return ids != null && !ids.isEmpty() ? ids : null;
+    }
+}
@@ -0,0 +1,31 @@
+package com.foodopia.meal.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class CopyCustomizationsRequestDto {
+
+    @NotEmpty(message = "User ID cannot be null or empty")
+    private String userId;
+
+    @NotNull(message = "Source start date cannot be null")
+    private LocalDate sourceFrom;
+
+    @NotNull(message = "Source end date cannot be null")
+    private LocalDate sourceTo;
+
+    /**
+     * First target date; the target range has the length of the source range
+     */
+    @NotNull(message = "Target start date cannot be null")
+    private LocalDate targetFrom;
+
+    /**
+     * Also replace customizations the user made on the target dates; auto-selected ones are always replaced
+     */
+    private boolean overwrite;
+}
@@ -0,0 +1,34 @@
+package com.foodopia.meal.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class CopyCustomizationsResultDto {
+
+    private String userId;
+
+    private LocalDate targetFrom;
+
+    private LocalDate targetTo;
+
+    private int created;
+
+    private int replaced;
+
+    /**
+     * Target meals kept because the user customized them and overwrite was not requested
+     */
+    private int skippedExisting;
+
+    /**
+     * Source customizations not copied because a dish is gone or not available on the target date
+     */
+    private int skippedUnavailable;
+
+    /**
+     * Source customizations without a scheduled meal to copy to on the target date
+     */
+    private int unmatched;
+}
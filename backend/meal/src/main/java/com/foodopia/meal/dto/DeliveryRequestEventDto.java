@@ -0,0 +1,20 @@
+package com.foodopia.meal.dto;
+
+/**
+ * Request to deliver a customized meal, sent to the delivery service on meal-delivery-events
+ * keyed by delivery date
+ *
+ * @param eventType CUSTOMIZATION_CREATED or CUSTOMIZATION_UPDATED, as for the customer service
+ * @param customizationId Meal customization ID
+ * @param scheduledMealId Scheduled meal ID of the customer service
+ * @param userId User ID
+ * @param deliveryDate Delivery date (ISO-8601)
+ */
+public record DeliveryRequestEventDto(
+        String eventType,
+        String customizationId,
+        String scheduledMealId,
+        String userId,
+        String deliveryDate
+) {
+}
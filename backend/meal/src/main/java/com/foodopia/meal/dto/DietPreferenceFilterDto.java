@@ -0,0 +1,19 @@
+package com.foodopia.meal.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact diet preference descriptor mirroring customer-service DietPreference.
+ */
+@Data
+public class DietPreferenceFilterDto {
+
+    private List<String> allergies = new ArrayList<>();
+
+    private List<String> foodsToAvoid = new ArrayList<>();
+
+    private List<String> dietaryGoals = new ArrayList<>();
+}
@@ -0,0 +1,22 @@
+package com.foodopia.meal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DishCostDto {
+
+    private String dishId;
+
+    private LocalDate asOf;
+
+    // Cost of the current recipe at the ingredient prices in effect on asOf
+    private double totalCost;
+
+    private double currentCost;
+}
@@ -0,0 +1,20 @@
+package com.foodopia.meal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DishEligibilityDto {
+
+    /**
+     * Stable fingerprint of the normalized preference; identical preferences share it
+     */
+    private String fingerprint;
+
+    private List<String> dishIds;
+}
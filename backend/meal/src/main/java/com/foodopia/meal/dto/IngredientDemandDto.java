@@ -0,0 +1,24 @@
+package com.foodopia.meal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngredientDemandDto {
+
+    private String ingredientId;
+
+    private String name;
+
+    private String unit;
+
+    private double quantity;
+
+    private int servings;
+
+    // Quantity at the current unit price
+    private double cost;
+}
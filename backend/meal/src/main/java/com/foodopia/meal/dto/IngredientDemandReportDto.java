@@ -0,0 +1,25 @@
+package com.foodopia.meal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngredientDemandReportDto {
+
+    private LocalDate periodStart;
+
+    private LocalDate periodEnd;
+
+    private double totalCost;
+
+    // Some dates of the range await a repair of failed increments, their demand may be off
+    private boolean stale;
+
+    private List<IngredientDemandDto> ingredients;
+}
@@ -0,0 +1,19 @@
+package com.foodopia.meal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngredientPriceDto {
+
+    private String ingredientId;
+
+    private LocalDate effectiveFrom;
+
+    private double unitPrice;
+}
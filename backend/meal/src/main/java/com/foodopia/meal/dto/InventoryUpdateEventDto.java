@@ -0,0 +1,18 @@
+package com.foodopia.meal.dto;
+
+/**
+ * Change in the number of servings of one dish needed on a delivery date, sent to the kitchen
+ * service on meal-inventory-events keyed by delivery date
+ *
+ * @param deliveryDate Delivery date (ISO-8601)
+ * @param dishId Dish ID
+ * @param quantityDelta Servings added (positive) or removed (negative)
+ * @param customizationId Meal customization that caused the change
+ */
+public record InventoryUpdateEventDto(
+        String deliveryDate,
+        String dishId,
+        Integer quantityDelta,
+        String customizationId
+) {
+}
@@ -21,9 +21,26 @@ public class MealCustomizationDto {
 
     private String mealTemplateId;
 
+    /**
+     * Plan of the scheduled meal, passed by the caller; without it the meal template's plan prices the meal
+     */
+    private String planCode;
+
+    private int planLevel;
+
     private List<String> selectedDishIds;
 
     private double totalCost;
 
     private double totalPrice;
+
+    private NutritionFactsDto nutrition;
+
+    private String customizationStatus;
+
+    private String preparationStatus;
+
+    private String deliveryStatus;
+
+    private boolean autoSelected;
 }
\ No newline at end of file
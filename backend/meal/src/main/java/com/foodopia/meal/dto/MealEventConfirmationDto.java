@@ -0,0 +1,15 @@
+package com.foodopia.meal.dto;
+
+/**
+ * Confirmation of a meal event by the kitchen, customer or delivery service
+ *
+ * @param customizationId Meal customization the confirmed event was about
+ * @param status Status reported by the confirming service, e.g. RESERVED, ACKNOWLEDGED or SCHEDULED
+ * @param message Optional detail, e.g. why a request was rejected
+ */
+public record MealEventConfirmationDto(
+        String customizationId,
+        String status,
+        String message
+) {
+}
@@ -0,0 +1,28 @@
+package com.foodopia.meal.dto;
+
+/**
+ * Meal customization change sent to the customer service on meal-customer-events, keyed by userId
+ *
+ * @param eventType CUSTOMIZATION_CREATED or CUSTOMIZATION_UPDATED
+ * @param customizationId Meal customization ID
+ * @param scheduledMealId Scheduled meal ID of the customer service
+ * @param userId User ID
+ * @param deliveryDate Delivery date (ISO-8601)
+ * @param mealTemplateId Meal template ID
+ * @param dishCount Number of selected dishes
+ * @param totalPriceCents Total price in cents
+ */
+public record MealUpdateEventDto(
+        String eventType,
+        String customizationId,
+        String scheduledMealId,
+        String userId,
+        String deliveryDate,
+        String mealTemplateId,
+        Integer dishCount,
+        Integer totalPriceCents
+) {
+
+    public static final String CUSTOMIZATION_CREATED = "CUSTOMIZATION_CREATED";
+    public static final String CUSTOMIZATION_UPDATED = "CUSTOMIZATION_UPDATED";
+}
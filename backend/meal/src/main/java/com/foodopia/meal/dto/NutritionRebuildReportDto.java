@@ -0,0 +1,25 @@
+package com.foodopia.meal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NutritionRebuildReportDto {
+
+    private LocalDate periodStart;
+
+    private LocalDate periodEnd;
+
+    // Customizations saved without nutrition that had it computed
+    private int customizationsBackfilled;
+
+    // Weekly summaries marked stale, to be recomputed on their next read
+    private long summariesInvalidated;
+
+    private long elapsedMillis;
+}
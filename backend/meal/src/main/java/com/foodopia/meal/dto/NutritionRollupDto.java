@@ -0,0 +1,23 @@
+package com.foodopia.meal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NutritionRollupDto {
+
+    private String userId;
+
+    private LocalDate periodStart;
+
+    private LocalDate periodEnd;
+
+    private int mealCount;
+
+    private NutritionFactsDto nutrition;
+}
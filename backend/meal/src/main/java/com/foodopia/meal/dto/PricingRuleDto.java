@@ -0,0 +1,38 @@
+package com.foodopia.meal.dto;
+
+import com.foodopia.meal.entity.PricingRuleType;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class PricingRuleDto {
+
+    private String id;
+
+    @NotBlank(message = "name cannot be null or empty")
+    private String name;
+
+    @NotNull(message = "type cannot be null")
+    private PricingRuleType type;
+
+    private String planCode;
+
+    private Integer planLevel;
+
+    private String category;
+
+    private LocalDate validFrom;
+
+    private LocalDate validTo;
+
+    @DecimalMin(value = "0.0", message = "rate cannot be negative")
+    private double rate;
+
+    private int priority;
+
+    private boolean isActive = true;
+}
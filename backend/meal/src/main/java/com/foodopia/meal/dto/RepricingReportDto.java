@@ -0,0 +1,23 @@
+package com.foodopia.meal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepricingReportDto {
+
+    private LocalDate deliveryFrom;
+
+    private int pricingRules;
+
+    private long scanned;
+
+    private long repriced;
+
+    private long elapsedMillis;
+}
@@ -0,0 +1,28 @@
+package com.foodopia.meal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenueRebuildReportDto {
+
+    private LocalDate periodStart;
+
+    private LocalDate periodEnd;
+
+    private int days;
+
+    private long customizations;
+
+    private int rollupRows;
+
+    // Days with changes in flight, left to the rollup repair job
+    private int deferredDays;
+
+    private long elapsedMillis;
+}
@@ -0,0 +1,35 @@
+package com.foodopia.meal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenueRollupDto {
+
+    private LocalDate periodStart;
+
+    private LocalDate periodEnd;
+
+    private String dimension;
+
+    private String key;
+
+    private int count;
+
+    private double revenue;
+
+    private double cost;
+
+    private double margin;
+
+    // Margin as a fraction of revenue, 0 without revenue
+    private double marginRate;
+
+    // Some days of the period await a repair of failed increments, the figures may be off
+    private boolean stale;
+}
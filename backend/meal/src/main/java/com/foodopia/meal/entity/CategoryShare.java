@@ -0,0 +1,26 @@
+package com.foodopia.meal.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * Share of a customization's revenue and cost attributed to one dish category, fixed when its
+ * dishes are selected
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryShare {
+
+    @Field("category")
+    private String category;
+
+    @Field("share")
+    private double share;
+
+    // Dish servings of the category
+    @Field("servings")
+    private int servings;
+}
@@ -0,0 +1,58 @@
+package com.foodopia.meal.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Revenue and cost of the customizations of one delivery date for one dimension key, incremented
+ * on every customization write.
+ */
+@Document(collection = "daily_revenue_rollups")
+@CompoundIndexes({
+        @CompoundIndex(name = "dimension_date_key_idx", def = "{'dimension': 1, 'delivery_date': 1, 'dimension_key': 1}", unique = true)
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyRevenueRollup {
+
+    @Id
+    private String id;
+
+    @Field("delivery_date")
+    private LocalDate deliveryDate;
+
+    @Field("dimension")
+    private RevenueDimension dimension;
+
+    @Field("dimension_key")
+    private String dimensionKey;
+
+    // Customizations for TOTAL and PLAN, dish servings for CATEGORY
+    @Field("count")
+    private int count;
+
+    @Field("revenue")
+    private double revenue;
+
+    @Field("cost")
+    private double cost;
+
+    // Incremented by every write, so a repair only replaces the totals it has read
+    @Field("version")
+    private long version;
+
+    @Field("updated_at")
+    private LocalDateTime updatedAt;
+}
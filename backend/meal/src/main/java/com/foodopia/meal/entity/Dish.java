@@ -22,7 +22,7 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class Dish implements IPriceCalculable {
     @Id
     private String id;
@@ -90,6 +90,15 @@ public class Dish implements IPriceCalculable {
     @Field("updated_at")
     private LocalDateTime updatedAt;
 
+    /**
+     * Whether the dish can be served on the given delivery date
+     */
+    public boolean isAvailableOn(LocalDate date) {
+        return isAvailable
+                && (availableFrom == null || !availableFrom.isAfter(date))
+                && (availableUntil == null || !availableUntil.isBefore(date));
+    }
+
     @Override
     public double calculateCost() {
         return totalCost;
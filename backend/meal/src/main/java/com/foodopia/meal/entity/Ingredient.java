@@ -9,6 +9,7 @@ import org.springframework.data.mongodb.core.mapping.Field;
 @Document(collection = "ingredients")
 @Data
 @Getter @Setter
+@NoArgsConstructor
 @AllArgsConstructor
 public class Ingredient implements IPriceCalculable {
     @Id
@@ -0,0 +1,25 @@
+package com.foodopia.meal.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * Grams of one ingredient a customization adds to the demand of its delivery date, and the dish
+ * servings that use it
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngredientAmount {
+
+    @Field("ingredient_id")
+    private String ingredientId;
+
+    @Field("quantity")
+    private double quantity; // in grams
+
+    @Field("servings")
+    private int servings;
+}
@@ -0,0 +1,52 @@
+package com.foodopia.meal.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Grams of one ingredient needed for the customizations of one delivery date, incremented on
+ * every customization write.
+ */
+@Document(collection = "ingredient_demand")
+@CompoundIndexes({
+        @CompoundIndex(name = "date_ingredient_idx", def = "{'delivery_date': 1, 'ingredient_id': 1}", unique = true)
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IngredientDemand {
+
+    @Id
+    private String id;
+
+    @Field("delivery_date")
+    private LocalDate deliveryDate;
+
+    @Field("ingredient_id")
+    private String ingredientId;
+
+    @Field("quantity")
+    private double quantity; // in grams
+
+    // Dish servings that use the ingredient
+    @Field("servings")
+    private int servings;
+
+    // Incremented by every write, so a repair only replaces the totals it has read
+    @Field("version")
+    private long version;
+
+    @Field("updated_at")
+    private LocalDateTime updatedAt;
+}
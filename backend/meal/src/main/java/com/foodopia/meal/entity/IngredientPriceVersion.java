@@ -0,0 +1,43 @@
+package com.foodopia.meal.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Unit price of an ingredient from a date on, until the next version of the same ingredient.
+ */
+@Document(collection = "ingredient_price_history")
+@CompoundIndexes({
+        @CompoundIndex(name = "ingredient_effective_idx", def = "{'ingredient_id': 1, 'effective_from': 1}", unique = true)
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IngredientPriceVersion {
+
+    @Id
+    private String id;
+
+    @Field("ingredient_id")
+    private String ingredientId;
+
+    @Field("effective_from")
+    private LocalDate effectiveFrom;
+
+    @Field("unit_price")
+    private double unitPrice;
+
+    @Field("recorded_at")
+    private LocalDateTime recordedAt;
+}
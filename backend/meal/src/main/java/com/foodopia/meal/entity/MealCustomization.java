@@ -13,7 +13,9 @@ import org.springframework.data.mongodb.core.mapping.Field;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Document(collection = "meal_customizations")
 @CompoundIndexes({
@@ -54,12 +56,70 @@ public class MealCustomization implements IPriceCalculable {
 
     // ==================== Pricing ====================
 
+    /**
+     * Plan code and level of the subscription the meal was scheduled for, the plan it is priced for
+     */
+    @Field("plan_code")
+    private String planCode;
+
+    @Field("plan_level")
+    private int planLevel;
+
+    /**
+     * Split of the price and cost over dish categories by dish cost when the dishes were selected,
+     * so revenue by category does not move when dish costs change later
+     */
+    @Field("category_shares")
+    private List<CategoryShare> categoryShares;
+
     @Field("total_cost")
     private double totalCost;
 
     @Field("total_price")
     private double totalPrice;
 
+    // ==================== Nutrition ====================
+
+    /**
+     * Sum of the selected dishes' nutrition per serving, stored for server-side rollups
+     */
+    @Field("nutrition")
+    private NutritionFacts nutrition;
+
+    // ==================== Ingredient Demand ====================
+
+    /**
+     * What the selected dishes' recipes added to ingredient_demand, subtracted again when they change
+     */
+    @Field("ingredient_amounts")
+    private List<IngredientAmount> ingredientAmounts;
+
+    // ==================== Fulfilment ====================
+
+    /**
+     * Status confirmed by the customer service
+     */
+    @Field("customization_status")
+    private String customizationStatus;
+
+    /**
+     * Status confirmed by the kitchen service
+     */
+    @Field("preparation_status")
+    private String preparationStatus;
+
+    /**
+     * Status confirmed by the delivery service
+     */
+    @Field("delivery_status")
+    private String deliveryStatus;
+
+    /**
+     * Dishes were picked by the auto-fill because the customer did not customize in time
+     */
+    @Field("auto_selected")
+    private boolean autoSelected;
+
     // ==================== Timestamps ====================
 
     /**
@@ -85,6 +145,54 @@ public class MealCustomization implements IPriceCalculable {
                 .sum();
     }
 
+    public NutritionFacts calculateNutrition() {
+        NutritionFacts total = NutritionFacts.zero();
+        if (selectedDishes == null) {
+            return total;
+        }
+        for (Dish dish : selectedDishes) {
+            total.addScaled(dish.getNutritionPerServing(), 1.0);
+        }
+        return total;
+    }
+
+    public List<IngredientAmount> calculateIngredientAmounts() {
+        Map<String, IngredientAmount> amounts = new LinkedHashMap<>();
+        if (selectedDishes == null) {
+            return new ArrayList<>();
+        }
+        for (Dish dish : selectedDishes) {
+            if (dish == null || dish.getIngredients() == null) continue;
+            for (DishIngredient dishIngredient : dish.getIngredients()) {
+                if (dishIngredient.getIngredientId() == null) continue;
+                IngredientAmount amount = amounts.computeIfAbsent(dishIngredient.getIngredientId(),
+                        id -> new IngredientAmount(id, 0, 0));
+                amount.setQuantity(amount.getQuantity() + dishIngredient.getQuantity());
+                amount.setServings(amount.getServings() + 1);
+            }
+        }
+        return new ArrayList<>(amounts.values());
+    }
+
+    public List<CategoryShare> calculateCategoryShares() {
+        Map<String, CategoryShare> shares = new LinkedHashMap<>();
+        if (selectedDishes == null || selectedDishes.isEmpty()) {
+            return new ArrayList<>();
+        }
+        double dishCost = 0;
+        for (Dish dish : selectedDishes) {
+            dishCost += Math.max(dish.getTotalCost(), 0);
+        }
+        for (Dish dish : selectedDishes) {
+            double share = dishCost > 0 ? Math.max(dish.getTotalCost(), 0) / dishCost : 1.0 / selectedDishes.size();
+            CategoryShare categoryShare = shares.computeIfAbsent(
+                    dish.getCategory() != null ? dish.getCategory() : "UNKNOWN", category -> new CategoryShare(category, 0, 0));
+            categoryShare.setShare(categoryShare.getShare() + share);
+            categoryShare.setServings(categoryShare.getServings() + 1);
+        }
+        return new ArrayList<>(shares.values());
+    }
+
     @Override
     public double calculatePrice(double markup) {
         return calculateCost() * (1 + markup);
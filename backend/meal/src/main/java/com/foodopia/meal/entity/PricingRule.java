@@ -0,0 +1,61 @@
+package com.foodopia.meal.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One pricing rule. Conditions left null match anything; of the rules of a type matching a dish,
+ * the one with the highest priority wins, then the one with the most conditions.
+ */
+@Document(collection = "pricing_rules")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PricingRule {
+
+    @Id
+    private String id;
+
+    @Field("name")
+    private String name;
+
+    @Field("type")
+    private PricingRuleType type;
+
+    @Field("plan_code")
+    private String planCode;
+
+    @Field("plan_level")
+    private Integer planLevel;
+
+    @Field("category")
+    private String category;
+
+    @Field("valid_from")
+    private LocalDate validFrom;
+
+    @Field("valid_to")
+    private LocalDate validTo;
+
+    // Markup over cost for MARKUP rules, share of the price taken off for PROMOTION rules
+    @Field("rate")
+    private double rate;
+
+    @Field("priority")
+    private int priority;
+
+    @Field("is_active")
+    private boolean isActive;
+
+    @Field("updated_at")
+    private LocalDateTime updatedAt;
+}
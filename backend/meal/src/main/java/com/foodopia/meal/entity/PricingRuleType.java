@@ -0,0 +1,9 @@
+package com.foodopia.meal.entity;
+
+/**
+ * MARKUP rules set the markup over a dish's cost, PROMOTION rules take a share off the marked-up price
+ */
+public enum PricingRuleType {
+    MARKUP,
+    PROMOTION
+}
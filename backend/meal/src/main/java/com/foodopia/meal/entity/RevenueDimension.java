@@ -0,0 +1,13 @@
+package com.foodopia.meal.entity;
+
+/**
+ * Breakdown of a daily revenue rollup row
+ */
+public enum RevenueDimension {
+    // Every customization of the day, key "ALL"
+    TOTAL,
+    // Keyed by the plan code of the customization's meal template
+    PLAN,
+    // Keyed by dish category; a customization's revenue and cost are split by its stored category shares
+    CATEGORY
+}
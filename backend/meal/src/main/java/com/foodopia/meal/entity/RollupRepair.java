@@ -0,0 +1,59 @@
+package com.foodopia.meal.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A date of a rollup whose incremental update failed after the customization write was stored.
+ * RollupRepairJob recomputes it in the background and then removes the repair.
+ */
+@Document(collection = "rollup_repairs")
+@CompoundIndexes({
+        @CompoundIndex(name = "rollup_scope_date_idx", def = "{'rollup': 1, 'scope': 1, 'date': 1}", unique = true)
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RollupRepair {
+
+    @Id
+    private String id;
+
+    @Field("rollup")
+    private RollupType rollup;
+
+    // User ID for NUTRITION, empty for rollups over all users
+    @Field("scope")
+    private String scope;
+
+    @Field("date")
+    private LocalDate date;
+
+    // Incremented by every failure recorded, so a repair that ran meanwhile does not remove a newer one
+    @Field("generation")
+    private long generation;
+
+    @Field("attempts")
+    private int attempts;
+
+    // Set while a job instance is repairing it
+    @Field("claimed_until")
+    private LocalDateTime claimedUntil;
+
+    @Field("created_at")
+    private LocalDateTime createdAt;
+
+    @Field("updated_at")
+    private LocalDateTime updatedAt;
+}
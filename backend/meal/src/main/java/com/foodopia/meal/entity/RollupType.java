@@ -0,0 +1,13 @@
+package com.foodopia.meal.entity;
+
+/**
+ * Materialized view of the customizations a rollup repair belongs to
+ */
+public enum RollupType {
+    // weekly_nutrition_summaries, scoped to a user; the date is the week start
+    NUTRITION,
+    // ingredient_demand, over all users; the date is the delivery date
+    INGREDIENT_DEMAND,
+    // daily_revenue_rollups, over all users; the date is the delivery date
+    REVENUE
+}
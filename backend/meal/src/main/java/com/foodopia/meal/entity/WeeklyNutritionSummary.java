@@ -0,0 +1,55 @@
+package com.foodopia.meal.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Per-user weekly nutrition totals, incremented on every customization write.
+ * Weeks start on Monday. A stale summary - one created by an increment, or whose increment
+ * failed - is not trusted until it has been recomputed from the customizations.
+ */
+@Document(collection = "weekly_nutrition_summaries")
+@CompoundIndexes({
+        @CompoundIndex(name = "user_week_idx", def = "{'user_id': 1, 'week_start': 1}", unique = true)
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WeeklyNutritionSummary {
+
+    @Id
+    private String id;
+
+    @Field("user_id")
+    private String userId;
+
+    @Field("week_start")
+    private LocalDate weekStart;
+
+    @Field("meal_count")
+    private int mealCount;
+
+    @Field("nutrition")
+    private NutritionFacts nutrition;
+
+    @Field("stale")
+    private boolean stale;
+
+    // Incremented by every incremental write, so a recompute only replaces what it has read
+    @Field("version")
+    private long version;
+
+    @Field("updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,112 @@
+package com.foodopia.meal.events;
+
+import com.foodopia.meal.dto.CatalogChangeEventDto;
+import com.foodopia.meal.dto.DeliveryRequestEventDto;
+import com.foodopia.meal.dto.InventoryUpdateEventDto;
+import com.foodopia.meal.dto.MealUpdateEventDto;
+import com.foodopia.meal.entity.Dish;
+import com.foodopia.meal.entity.MealCustomization;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Emits the events of a meal customization change to the kitchen, customer and delivery services.
+ * Events carry a Kafka message key - the userId for customer events, the delivery date for kitchen
+ * and delivery events - so everything about one user or one delivery day lands on one partition in
+ * order. Sends are asynchronous; the producers batch and compress them (see the kafka bindings in
+ * application.yml). Catalog changes go to the API gateway, keyed by resource, so it can purge its
+ * cached catalog responses, and to every meal-service instance, which updates its catalog cache.
+ */
+@Component
+public class MealEventPublisher {
+
+    static final String INVENTORY_BINDING = "sendInventoryUpdate-out-0";
+    static final String MEAL_UPDATE_BINDING = "sendMealUpdate-out-0";
+    static final String DELIVERY_BINDING = "sendDeliveryRequest-out-0";
+    static final String CATALOG_BINDING = "sendCatalogChange-out-0";
+
+    private static final Logger log = LoggerFactory.getLogger(MealEventPublisher.class);
+
+    private final StreamBridge streamBridge;
+
+    public MealEventPublisher(StreamBridge streamBridge) {
+        this.streamBridge = streamBridge;
+    }
+
+    /**
+     * Publish a created or updated customization. {@code previousDishes} are the dishes selected
+     * before the change, empty for a new customization; only the difference is sent to the kitchen.
+     */
+    public void customizationChanged(MealCustomization customization, List<Dish> previousDishes, boolean created) {
+        String eventType = created ? MealUpdateEventDto.CUSTOMIZATION_CREATED : MealUpdateEventDto.CUSTOMIZATION_UPDATED;
+        String deliveryDate = customization.getDeliveryDate() != null ? customization.getDeliveryDate().toString() : null;
+        String dateKey = deliveryDate != null ? deliveryDate : customization.getUserId();
+
+        Map<String, Integer> deltas = new HashMap<>();
+        for (Dish dish : previousDishes) {
+            deltas.merge(dish.getId(), -1, Integer::sum);
+        }
+        for (Dish dish : customization.getSelectedDishes()) {
+            deltas.merge(dish.getId(), 1, Integer::sum);
+        }
+        int inventoryEvents = 0;
+        for (Map.Entry<String, Integer> delta : deltas.entrySet()) {
+            if (delta.getValue() == 0) continue;
+            send(INVENTORY_BINDING, dateKey, new InventoryUpdateEventDto(deliveryDate, delta.getKey(),
+                    delta.getValue(), customization.getId()));
+            inventoryEvents++;
+        }
+
+        send(MEAL_UPDATE_BINDING, customization.getUserId(), new MealUpdateEventDto(eventType, customization.getId(),
+                customization.getScheduledMealId(), customization.getUserId(), deliveryDate,
+                customization.getMealTemplateId(), customization.getSelectedDishes().size(),
+                (int) Math.round(customization.getTotalPrice() * 100)));
+
+        // Updates only change the dishes, which the delivery service does not need to know about
+        if (created) {
+            send(DELIVERY_BINDING, dateKey, new DeliveryRequestEventDto(eventType, customization.getId(),
+                    customization.getScheduledMealId(), customization.getUserId(), deliveryDate));
+        }
+        log.debug("Published {} events for meal customization: {} with {} inventory changes",
+                eventType, customization.getId(), inventoryEvents);
+    }
+
+    /**
+     * Publish a change to a dish, meal template or meal plan type
+     */
+    public void catalogChanged(String resource, String id) {
+        send(CATALOG_BINDING, resource, new CatalogChangeEventDto(resource, id, null));
+        log.debug("Published catalog change of {}: {}", resource, id);
+    }
+
+    /**
+     * Publish a change to several dishes, meal templates or meal plan types in one event
+     */
+    public void catalogChanged(String resource, List<String> ids) {
+        send(CATALOG_BINDING, resource, new CatalogChangeEventDto(resource, null, ids));
+        log.debug("Published catalog change of {} {}", ids.size(), resource);
+    }
+
+    private void send(String binding, String key, Object event) {
+        try {
+            Message<Object> message = MessageBuilder.withPayload(event)
+                    .setHeader(KafkaHeaders.KEY, key != null ? key.getBytes(StandardCharsets.UTF_8) : null)
+                    .build();
+            if (!streamBridge.send(binding, message)) {
+                log.error("Failed to send {} to {}", event.getClass().getSimpleName(), binding);
+            }
+        } catch (Exception e) {
+            log.error("Error sending {} to {} - {}", event.getClass().getSimpleName(), binding, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.foodopia.meal.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.LocalDate;
+
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class DishUnavailableException extends RuntimeException {
+
+    public DishUnavailableException(String dishId, LocalDate deliveryDate) {
+        super(String.format("Dish '%s' is not available on %s", dishId, deliveryDate));
+    }
+}
@@ -0,0 +1,59 @@
+package com.foodopia.meal.functions;
+
+import com.foodopia.meal.cache.CatalogWarmup;
+import com.foodopia.meal.dto.CatalogChangeEventDto;
+import com.foodopia.meal.dto.MealEventConfirmationDto;
+import com.foodopia.meal.service.IMealConfirmationService;
+import com.foodopia.meal.service.IMealConfirmationService.ConfirmationSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Batch consumers of the confirmations sent back by the kitchen, customer and delivery services.
+ * Each batch is applied as one bulk update; offsets are committed once the consumer returns.
+ * Catalog changes made through any instance are applied to this instance's catalog cache.
+ */
+@Configuration
+public class MealFunctions {
+
+    private static final Logger log = LoggerFactory.getLogger(MealFunctions.class);
+
+    @Bean
+    public Consumer<List<MealEventConfirmationDto>> updateKitchenInventory(IMealConfirmationService confirmationService) {
+        return confirmations -> apply(confirmationService, ConfirmationSource.KITCHEN, confirmations);
+    }
+
+    @Bean
+    public Consumer<List<MealEventConfirmationDto>> updateCustomerMeal(IMealConfirmationService confirmationService) {
+        return confirmations -> apply(confirmationService, ConfirmationSource.CUSTOMER, confirmations);
+    }
+
+    @Bean
+    public Consumer<List<MealEventConfirmationDto>> updateDeliverySchedule(IMealConfirmationService confirmationService) {
+        return confirmations -> apply(confirmationService, ConfirmationSource.DELIVERY, confirmations);
+    }
+
+    @Bean
+    public Consumer<CatalogChangeEventDto> refreshCatalog(CatalogWarmup catalogWarmup) {
+        return event -> {
+            try {
+                catalogWarmup.applyChange(event.resource(), event.changedIds());
+            } catch (Exception e) {
+                // The periodic refresh picks the change up instead
+                log.warn("Failed to apply catalog change of {}: {} - {}", event.resource(), event.changedIds(), e.getMessage());
+            }
+        };
+    }
+
+    private void apply(IMealConfirmationService confirmationService, ConfirmationSource source,
+                       List<MealEventConfirmationDto> confirmations) {
+        log.info("Processing batch of {} {} confirmations", confirmations.size(), source);
+        int updated = confirmationService.applyConfirmations(source, confirmations);
+        log.debug("Updated {} meal customizations from {} confirmations", updated, source);
+    }
+}
@@ -2,8 +2,10 @@ package com.foodopia.meal.repository;
 
 import com.foodopia.meal.entity.Dish;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,6 +27,14 @@ public interface DishRepository extends MongoRepository<Dish, String> {
     // Find dishes containing an ingredient (embedded list field)
     List<Dish> findByIngredientsIngredientId(String ingredientId);
 
+    // Find dishes available on a date, open-ended windows included (served by available_date_range_idx)
+    @Query("{ 'is_available': true, 'available_from': { '$not': { '$gt': ?0 } }, 'available_until': { '$not': { '$lt': ?0 } } }")
+    List<Dish> findAvailableOn(LocalDate date);
+
+    // Find dishes of a category available on a date
+    @Query("{ 'is_available': true, 'category': ?1, 'available_from': { '$not': { '$gt': ?0 } }, 'available_until': { '$not': { '$lt': ?0 } } }")
+    List<Dish> findAvailableOnByCategory(LocalDate date, String category);
+
     // Check if dish exists by name
     boolean existsByName(String name);
 }
\ No newline at end of file
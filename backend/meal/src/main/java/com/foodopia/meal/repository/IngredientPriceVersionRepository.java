@@ -0,0 +1,14 @@
+package com.foodopia.meal.repository;
+
+import com.foodopia.meal.entity.IngredientPriceVersion;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface IngredientPriceVersionRepository extends MongoRepository<IngredientPriceVersion, String> {
+
+    // Find the price versions of an ingredient, oldest first
+    List<IngredientPriceVersion> findByIngredientIdOrderByEffectiveFromAsc(String ingredientId);
+}
@@ -0,0 +1,7 @@
+package com.foodopia.meal.repository;
+
+import com.foodopia.meal.entity.PricingRule;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface PricingRuleRepository extends MongoRepository<PricingRule, String> {
+}
@@ -0,0 +1,16 @@
+package com.foodopia.meal.repository;
+
+import com.foodopia.meal.entity.WeeklyNutritionSummary;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface WeeklyNutritionSummaryRepository extends MongoRepository<WeeklyNutritionSummary, String> {
+
+    // Find weekly summaries for a user whose week starts within the range (inclusive)
+    List<WeeklyNutritionSummary> findByUserIdAndWeekStartBetweenOrderByWeekStartAsc(
+            String userId, LocalDate fromWeekStart, LocalDate toWeekStart);
+}
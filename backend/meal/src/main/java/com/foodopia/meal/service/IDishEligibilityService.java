@@ -0,0 +1,19 @@
+package com.foodopia.meal.service;
+
+import com.foodopia.meal.dto.DietPreferenceFilterDto;
+import com.foodopia.meal.dto.DishEligibilityDto;
+
+public interface IDishEligibilityService {
+
+    /**
+     * Fetch IDs of available dishes compatible with a diet preference
+     * @param filterDto - DietPreferenceFilterDto object
+     * @return DishEligibilityDto
+     */
+    DishEligibilityDto fetchEligibleDishes(DietPreferenceFilterDto filterDto);
+
+    /**
+     * Drop the in-memory index and cached results after catalog changes
+     */
+    void invalidate();
+}
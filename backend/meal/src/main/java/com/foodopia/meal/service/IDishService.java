@@ -2,6 +2,7 @@ package com.foodopia.meal.service;
 
 import com.foodopia.meal.dto.DishDto;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface IDishService {
@@ -32,6 +33,14 @@ public interface IDishService {
      */
     List<DishDto> fetchDishesByCategory(String category);
 
+    /**
+     * Fetch dishes available on a delivery date
+     * @param date - Delivery date
+     * @param category - Dish category, null for all categories
+     * @return List of DishDto
+     */
+    List<DishDto> fetchAvailableDishes(LocalDate date, String category);
+
     /**
      * Fetch dishes that include a dietary tag
      * @param dietaryTag - Dietary tag (e.g. vegan, halal, gluten-free)
@@ -0,0 +1,51 @@
+package com.foodopia.meal.service;
+
+import com.foodopia.meal.dto.IngredientDemandReportDto;
+import com.foodopia.meal.entity.MealCustomization;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+public interface IIngredientDemandService {
+
+    /**
+     * Fetch ingredient quantities and cost needed for the customizations within a delivery date range,
+     * flagged stale when some of its dates await a repair
+     * @param from - First delivery date (inclusive)
+     * @param to - Last delivery date (inclusive)
+     * @return IngredientDemandReportDto
+     */
+    IngredientDemandReportDto fetchDemand(LocalDate from, LocalDate to);
+
+    /**
+     * Apply a customization write to the demand of its delivery date: subtract the ingredient amounts
+     * stored with the previous state and add those of the current one
+     * @param previous - Customization as stored before the write, null if new
+     * @param current - Customization as written, with its ingredient amounts
+     */
+    void recordCustomizationChange(MealCustomization previous, MealCustomization current);
+
+    /**
+     * Count newly created customizations in the demand of their delivery dates, with one bulk write
+     * @param customizations - Newly created customizations
+     */
+    void recordNewCustomizations(Collection<MealCustomization> customizations);
+
+    /**
+     * Store the ingredient amounts of the customizations within a delivery date range under the
+     * current recipes and recompute the demand of the range; dates with changes in flight are left
+     * to the repair job
+     * @param from - First delivery date (inclusive)
+     * @param to - Last delivery date (inclusive)
+     * @return Number of customizations counted
+     */
+    long rebuildDemand(LocalDate from, LocalDate to);
+
+    /**
+     * Recompute the demand of one delivery date from the ingredient amounts stored with its
+     * customizations, unless it has changes that may still be in flight
+     * @param deliveryDate - Delivery date
+     * @return true when repaired, false when it has to be retried later
+     */
+    boolean repairDate(LocalDate deliveryDate);
+}
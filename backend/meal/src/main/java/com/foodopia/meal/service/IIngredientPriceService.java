@@ -0,0 +1,49 @@
+package com.foodopia.meal.service;
+
+import com.foodopia.meal.domain.DishCostCalculator;
+import com.foodopia.meal.dto.DishCostDto;
+import com.foodopia.meal.dto.IngredientPriceDto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface IIngredientPriceService {
+
+    /**
+     * Record a new unit price effective today
+     * @param ingredientId - Ingredient ID
+     * @param previousPrice - Price before the change, null for a new ingredient
+     * @param newPrice - New unit price
+     */
+    void recordPriceChange(String ingredientId, Double previousPrice, double newPrice);
+
+    /**
+     * Fetch the price versions of an ingredient, oldest first
+     * @param ingredientId - Ingredient ID
+     * @return List of IngredientPriceDto
+     */
+    List<IngredientPriceDto> fetchPriceHistory(String ingredientId);
+
+    /**
+     * Fetch the unit price of an ingredient in effect on a date
+     * @param ingredientId - Ingredient ID
+     * @param asOf - Date
+     * @return IngredientPriceDto of the version in effect
+     */
+    IngredientPriceDto fetchPriceAsOf(String ingredientId, LocalDate asOf);
+
+    /**
+     * Fetch the cost of a dish at the ingredient prices in effect on a date
+     * @param dishId - Dish ID
+     * @param asOf - Date
+     * @return DishCostDto
+     */
+    DishCostDto fetchDishCostAsOf(String dishId, LocalDate asOf);
+
+    /**
+     * Cost calculator over all ingredients at the prices in effect on a date
+     * @param asOf - Date
+     * @return DishCostCalculator
+     */
+    DishCostCalculator costCalculatorAsOf(LocalDate asOf);
+}
@@ -0,0 +1,15 @@
+package com.foodopia.meal.service;
+
+import com.foodopia.meal.dto.AutoFillReportDto;
+
+import java.time.LocalDate;
+
+public interface IMealAutoFillService {
+
+    /**
+     * Create default customizations for the scheduled meals of a delivery date that have none
+     * @param deliveryDate - Delivery date
+     * @return AutoFillReportDto
+     */
+    AutoFillReportDto autoFill(LocalDate deliveryDate);
+}
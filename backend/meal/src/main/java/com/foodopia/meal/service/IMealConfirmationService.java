@@ -0,0 +1,35 @@
+package com.foodopia.meal.service;
+
+import com.foodopia.meal.dto.MealEventConfirmationDto;
+
+import java.util.List;
+
+public interface IMealConfirmationService {
+
+    /**
+     * Status field of a meal customization that a confirming service owns
+     */
+    enum ConfirmationSource {
+        KITCHEN("preparation_status"),
+        CUSTOMER("customization_status"),
+        DELIVERY("delivery_status");
+
+        private final String statusField;
+
+        ConfirmationSource(String statusField) {
+            this.statusField = statusField;
+        }
+
+        public String statusField() {
+            return statusField;
+        }
+    }
+
+    /**
+     * Apply a batch of confirmations to the meal customizations in one bulk write
+     * @param source - Service that sent the confirmations
+     * @param confirmations - Confirmations in arrival order; the last one per customization wins
+     * @return Number of customizations that were updated
+     */
+    int applyConfirmations(ConfirmationSource source, List<MealEventConfirmationDto> confirmations);
+}
@@ -0,0 +1,14 @@
+package com.foodopia.meal.service;
+
+import com.foodopia.meal.dto.CopyCustomizationsRequestDto;
+import com.foodopia.meal.dto.CopyCustomizationsResultDto;
+
+public interface IMealCustomizationCopyService {
+
+    /**
+     * Copy a user's customizations of a source date range onto the scheduled meals of the target range
+     * @param request - CopyCustomizationsRequestDto object
+     * @return CopyCustomizationsResultDto
+     */
+    CopyCustomizationsResultDto copyCustomizations(CopyCustomizationsRequestDto request);
+}
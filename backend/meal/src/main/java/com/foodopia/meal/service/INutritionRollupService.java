@@ -0,0 +1,77 @@
+package com.foodopia.meal.service;
+
+import com.foodopia.meal.dto.NutritionRebuildReportDto;
+import com.foodopia.meal.dto.NutritionRollupDto;
+import com.foodopia.meal.entity.MealCustomization;
+import com.foodopia.meal.entity.NutritionFacts;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface INutritionRollupService {
+
+    /**
+     * Fetch total nutrition of a user's customizations within a delivery date range
+     * @param userId - User ID
+     * @param from - First delivery date (inclusive)
+     * @param to - Last delivery date (inclusive)
+     * @return NutritionRollupDto
+     */
+    NutritionRollupDto fetchTotalNutrition(String userId, LocalDate from, LocalDate to);
+
+    /**
+     * Fetch nutrition per delivery date of a user's customizations within a range
+     * @param userId - User ID
+     * @param from - First delivery date (inclusive)
+     * @param to - Last delivery date (inclusive)
+     * @return List of NutritionRollupDto, one per day with customizations
+     */
+    List<NutritionRollupDto> fetchDailyNutrition(String userId, LocalDate from, LocalDate to);
+
+    /**
+     * Fetch nutrition per week (Monday to Sunday) from the incrementally maintained summaries,
+     * recomputing weeks whose summary is missing or stale
+     * @param userId - User ID
+     * @param from - Any date in the first week
+     * @param to - Any date in the last week
+     * @return List of NutritionRollupDto, one per week with customizations
+     */
+    List<NutritionRollupDto> fetchWeeklyNutrition(String userId, LocalDate from, LocalDate to);
+
+    /**
+     * Apply a customization write to the weekly summary of its delivery week
+     * @param userId - User ID
+     * @param deliveryDate - Delivery date of the customization
+     * @param previous - Nutrition stored before the write, null for a new customization or one
+     *                 saved before nutrition was stored
+     * @param current - Nutrition stored after the write
+     * @param created - Whether the write created the customization
+     */
+    void recordCustomizationChange(String userId, LocalDate deliveryDate,
+                                   NutritionFacts previous, NutritionFacts current, boolean created);
+
+    /**
+     * Count newly created customizations in the weekly summaries of their delivery weeks,
+     * with one bulk write for all of them
+     * @param customizations - Newly created customizations with their nutrition set
+     */
+    void recordNewCustomizations(Collection<MealCustomization> customizations);
+
+    /**
+     * Compute the nutrition of customizations within a delivery date range that were saved without
+     * it, and mark the weekly summaries of the range stale so their next read recomputes them
+     * @param from - First delivery date (inclusive)
+     * @param to - Last delivery date (inclusive)
+     * @return NutritionRebuildReportDto
+     */
+    NutritionRebuildReportDto rebuildSummaries(LocalDate from, LocalDate to);
+
+    /**
+     * Mark a weekly summary stale after its increment failed, so the next read recomputes it
+     * @param userId - User ID
+     * @param weekStart - Monday of the week
+     * @return true once repaired
+     */
+    boolean repairWeek(String userId, LocalDate weekStart);
+}
@@ -0,0 +1,49 @@
+package com.foodopia.meal.service;
+
+import com.foodopia.meal.dto.PricingRuleDto;
+import com.foodopia.meal.dto.RepricingReportDto;
+import com.foodopia.meal.entity.MealCustomization;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface IPricingService {
+
+    /**
+     * Fetch all pricing rules, active or not
+     * @return List of PricingRuleDto
+     */
+    List<PricingRuleDto> fetchRules();
+
+    /**
+     * Create a pricing rule, put it in effect and reprice future customizations in the background
+     * @param ruleDto - PricingRuleDto Object
+     */
+    void createRule(PricingRuleDto ruleDto);
+
+    /**
+     * Update a pricing rule, put it in effect and reprice future customizations in the background
+     * @param ruleDto - PricingRuleDto Object
+     * @return boolean indicating if the update was successful or not
+     */
+    boolean updateRule(PricingRuleDto ruleDto);
+
+    /**
+     * Price a customization from its dishes, delivery date and the plan stored with it
+     * @param customization - MealCustomization with its dishes selected
+     * @return Total price
+     */
+    double priceOf(MealCustomization customization);
+
+    /**
+     * Set the total price of customizations for the plans stored with them
+     * @param customizations - MealCustomizations with their dishes selected
+     */
+    void applyPrices(Collection<MealCustomization> customizations);
+
+    /**
+     * Reprice every customization delivered after today under the rules in effect
+     * @return RepricingReportDto
+     */
+    RepricingReportDto repriceFutureCustomizations();
+}
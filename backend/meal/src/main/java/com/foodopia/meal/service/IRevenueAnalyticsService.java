@@ -0,0 +1,72 @@
+package com.foodopia.meal.service;
+
+import com.foodopia.meal.dto.RevenueRebuildReportDto;
+import com.foodopia.meal.dto.RevenueRollupDto;
+import com.foodopia.meal.entity.MealCustomization;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface IRevenueAnalyticsService {
+
+    /**
+     * Fetch revenue and margin per delivery date, days awaiting a repair flagged stale
+     * @param from - First delivery date (inclusive)
+     * @param to - Last delivery date (inclusive)
+     * @return List of RevenueRollupDto, one per day with customizations
+     */
+    List<RevenueRollupDto> fetchDailyRevenue(LocalDate from, LocalDate to);
+
+    /**
+     * Fetch revenue and margin per meal plan over a delivery date range
+     * @param from - First delivery date (inclusive)
+     * @param to - Last delivery date (inclusive)
+     * @return List of RevenueRollupDto, one per plan code
+     */
+    List<RevenueRollupDto> fetchRevenueByPlan(LocalDate from, LocalDate to);
+
+    /**
+     * Fetch revenue and margin per dish category over a delivery date range
+     * @param from - First delivery date (inclusive)
+     * @param to - Last delivery date (inclusive)
+     * @return List of RevenueRollupDto, one per dish category
+     */
+    List<RevenueRollupDto> fetchRevenueByCategory(LocalDate from, LocalDate to);
+
+    /**
+     * Apply a customization write to the rollups of its delivery date
+     * @param previous - Customization as stored before the write, null if new
+     * @param current - Customization as stored after the write
+     */
+    void recordCustomizationChange(MealCustomization previous, MealCustomization current);
+
+    /**
+     * Apply a batch of customization writes to the rollups, with one bulk write
+     * @param previous - Customizations as stored before the writes
+     * @param current - The same customizations after the writes, in the same order
+     */
+    void recordCustomizationChanges(List<MealCustomization> previous, List<MealCustomization> current);
+
+    /**
+     * Count newly created customizations in the rollups, with one bulk write
+     * @param customizations - Newly created customizations
+     */
+    void recordNewCustomizations(Collection<MealCustomization> customizations);
+
+    /**
+     * Recompute the rollups of a delivery date range from the customizations, days in parallel
+     * @param from - First delivery date (inclusive)
+     * @param to - Last delivery date (inclusive)
+     * @return RevenueRebuildReportDto
+     */
+    RevenueRebuildReportDto rebuildRollups(LocalDate from, LocalDate to);
+
+    /**
+     * Recompute the rollups of one delivery date from its customizations, unless it has changes
+     * that may still be in flight
+     * @param deliveryDate - Delivery date
+     * @return true when repaired, false when it has to be retried later
+     */
+    boolean repairDay(LocalDate deliveryDate);
+}
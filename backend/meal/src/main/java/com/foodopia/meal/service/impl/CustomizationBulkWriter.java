@@ -0,0 +1,59 @@
+package com.foodopia.meal.service.impl;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.foodopia.meal.entity.MealCustomization;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+
+/**
+ * Bulk writes of new customizations that tolerate losing the race for a scheduled meal
+ */
+final class CustomizationBulkWriter {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private CustomizationBulkWriter() {
+        // restrict instantiation
+    }
+
+    /**
+     * Insert the customizations with one unordered bulk write, returning the ones written; those
+     * whose scheduled meal got a customization in the meantime fail on the unique scheduled_meal_id
+     * index and are left out
+     */
+    static List<MealCustomization> insertNew(MongoTemplate mongoTemplate, List<MealCustomization> customizations) {
+        if (customizations.isEmpty()) return customizations;
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MealCustomization.class)
+                    .insert(customizations)
+                    .execute();
+            return customizations;
+        } catch (DataAccessException e) {
+            MongoBulkWriteException bulkException = null;
+            for (Throwable cause = e; cause != null && bulkException == null; cause = cause.getCause()) {
+                if (cause instanceof MongoBulkWriteException candidate) bulkException = candidate;
+            }
+            if (bulkException == null || bulkException.getWriteConcernError() != null
+                    || !bulkException.getWriteErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY)) {
+                throw e;
+            }
+            Set<Integer> rejected = new HashSet<>();
+            for (BulkWriteError error : bulkException.getWriteErrors()) {
+                rejected.add(error.getIndex());
+            }
+            List<MealCustomization> inserted = new ArrayList<>(customizations.size() - rejected.size());
+            for (int i = 0; i < customizations.size(); i++) {
+                if (!rejected.contains(i)) inserted.add(customizations.get(i));
+            }
+            return inserted;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.foodopia.meal.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.foodopia.meal.cache.CatalogCache;
+import com.foodopia.meal.domain.DishEligibilityIndex;
+import com.foodopia.meal.dto.DietPreferenceFilterDto;
+import com.foodopia.meal.dto.DishEligibilityDto;
+import com.foodopia.meal.entity.Dish;
+import com.foodopia.meal.entity.Ingredient;
+import com.foodopia.meal.repository.DishRepository;
+import com.foodopia.meal.repository.IngredientRepository;
+import com.foodopia.meal.service.IDishEligibilityService;
+
+@Service
+public class DishEligibilityServiceImpl implements IDishEligibilityService {
+
+    private static final Logger log = LoggerFactory.getLogger(DishEligibilityServiceImpl.class);
+    private final DishRepository dishRepository;
+    private final IngredientRepository ingredientRepository;
+    private final CatalogCache catalogCache;
+    private final int maxCachedPreferences;
+
+    // Index and its result cache are swapped together so a rebuild never serves stale results
+    private volatile Snapshot snapshot;
+
+    public DishEligibilityServiceImpl(DishRepository dishRepository,
+                                      IngredientRepository ingredientRepository,
+                                      CatalogCache catalogCache,
+                                      @Value("${foodopia.meal.eligibility.max-cached-preferences:4096}") int maxCachedPreferences) {
+        this.dishRepository = dishRepository;
+        this.ingredientRepository = ingredientRepository;
+        this.catalogCache = catalogCache;
+        this.maxCachedPreferences = maxCachedPreferences;
+    }
+
+    @Override
+    public DishEligibilityDto fetchEligibleDishes(DietPreferenceFilterDto filterDto) {
+        TreeSet<String> allergies = normalize(filterDto.getAllergies());
+        TreeSet<String> foodsToAvoid = normalize(filterDto.getFoodsToAvoid());
+        TreeSet<String> dietaryGoals = normalize(filterDto.getDietaryGoals());
+        String key = "a=" + String.join(",", allergies)
+                + "|f=" + String.join(",", foodsToAvoid)
+                + "|g=" + String.join(",", dietaryGoals);
+
+        Snapshot current = currentSnapshot();
+        DishEligibilityDto cached = current.results.get(key);
+        if (cached != null) {
+            log.debug("Eligibility cache hit for preference fingerprint: {}", cached.getFingerprint());
+            return cached;
+        }
+
+        if (current.results.size() >= maxCachedPreferences) {
+            log.debug("Eligibility cache reached {} preferences, clearing", maxCachedPreferences);
+            current.results.clear();
+        }
+        DishEligibilityDto computed = current.results.computeIfAbsent(key, k -> new DishEligibilityDto(
+                UUID.nameUUIDFromBytes(k.getBytes(StandardCharsets.UTF_8)).toString(),
+                List.copyOf(current.index.eligibleDishIds(allergies, foodsToAvoid, dietaryGoals))));
+        log.debug("Computed {} eligible dishes out of {} for preference fingerprint: {}",
+                computed.getDishIds().size(), current.index.size(), computed.getFingerprint());
+        return computed;
+    }
+
+    @Override
+    public synchronized void invalidate() {
+        log.debug("Invalidating dish eligibility index");
+        snapshot = null;
+    }
+
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                boolean warm = catalogCache.isWarm();
+                List<Dish> dishes = warm ? catalogCache.dishes() : dishRepository.findAll();
+                List<Ingredient> ingredients = warm ? catalogCache.ingredients() : ingredientRepository.findAll();
+                Map<String, Ingredient> ingredientsById = ingredients.stream()
+                        .collect(Collectors.toMap(Ingredient::getId, Function.identity()));
+                snapshot = new Snapshot(DishEligibilityIndex.build(dishes, ingredientsById), new ConcurrentHashMap<>());
+                log.debug("Built dish eligibility index over {} dishes and {} ingredients",
+                        dishes.size(), ingredientsById.size());
+            }
+            return snapshot;
+        }
+    }
+
+    private static TreeSet<String> normalize(Collection<String> terms) {
+        TreeSet<String> normalized = new TreeSet<>();
+        if (terms == null) {
+            return normalized;
+        }
+        for (String term : terms) {
+            String key = DishEligibilityIndex.normalize(term);
+            if (!key.isEmpty()) {
+                normalized.add(key);
+            }
+        }
+        return normalized;
+    }
+
+    private record Snapshot(DishEligibilityIndex index, Map<String, DishEligibilityDto> results) {
+    }
+}
@@ -1,6 +1,8 @@
 package com.foodopia.meal.service.impl;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -12,15 +14,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import com.foodopia.meal.cache.CatalogCache;
+import com.foodopia.meal.domain.DishCostCalculator;
+import com.foodopia.meal.dto.CatalogChangeEventDto;
 import com.foodopia.meal.dto.DishDto;
 import com.foodopia.meal.entity.Dish;
 import com.foodopia.meal.entity.Ingredient;
 import com.foodopia.meal.entity.NutritionFacts;
+import com.foodopia.meal.events.MealEventPublisher;
 import com.foodopia.meal.exception.ResourceAlreadyExistsException;
 import com.foodopia.meal.exception.ResourceNotFoundException;
 import com.foodopia.meal.mapper.DishMapper;
 import com.foodopia.meal.repository.DishRepository;
 import com.foodopia.meal.repository.IngredientRepository;
+import com.foodopia.meal.service.IDishEligibilityService;
 import com.foodopia.meal.service.IDishService;
 
 import lombok.AllArgsConstructor;
@@ -32,6 +39,9 @@ public class DishServiceImpl implements IDishService {
     private static final Logger log = LoggerFactory.getLogger(DishServiceImpl.class);
     private DishRepository dishRepository;
     private IngredientRepository ingredientRepository;
+    private IDishEligibilityService dishEligibilityService;
+    private CatalogCache catalogCache;
+    private MealEventPublisher mealEventPublisher;
 
     @Override
     public void createDish(DishDto dishDto) {
@@ -48,13 +58,16 @@ public class DishServiceImpl implements IDishService {
         dish.setCreatedAt(LocalDateTime.now());
         dish.setUpdatedAt(LocalDateTime.now());
         dishRepository.save(dish);
+        catalogCache.putDish(dish);
+        mealEventPublisher.catalogChanged(CatalogChangeEventDto.DISHES, dish.getId());
+        dishEligibilityService.invalidate();
         log.debug("Successfully created dish with id: {} and name: {}", dish.getId(), dish.getName());
     }
 
     @Override
     public DishDto fetchDish(String id) {
         log.debug("Fetching dish with id: {}", id);
-        Dish dish = dishRepository.findById(id)
+        Dish dish = (catalogCache.isWarm() ? catalogCache.findDish(id) : dishRepository.findById(id))
                 .orElseThrow(() -> {
                     log.error("Dish not found with id: {}", id);
                     return new ResourceNotFoundException("Dish", "id", id);
@@ -70,7 +83,7 @@ public class DishServiceImpl implements IDishService {
     @Override
     public List<DishDto> fetchAllDishes() {
         log.debug("Fetching all dishes");
-        List<Dish> dishes = dishRepository.findAll();
+        List<Dish> dishes = catalogCache.isWarm() ? catalogCache.dishes() : dishRepository.findAll();
         log.debug("Found {} dishes", dishes.size());
         return mapDishesToDtos(dishes);
     }
@@ -78,11 +91,29 @@ public class DishServiceImpl implements IDishService {
     @Override
     public List<DishDto> fetchDishesByCategory(String category) {
         log.debug("Fetching dishes by category: {}", category);
-        List<Dish> dishes = dishRepository.findByCategory(category);
+        List<Dish> dishes = catalogCache.isWarm()
+                ? catalogCache.dishes().stream()
+                        .filter(dish -> category.equals(dish.getCategory()))
+                        .collect(Collectors.toList())
+                : dishRepository.findByCategory(category);
         log.debug("Found {} dishes in category: {}", dishes.size(), category);
         return mapDishesToDtos(dishes);
     }
 
+    @Override
+    public List<DishDto> fetchAvailableDishes(LocalDate date, String category) {
+        log.debug("Fetching dishes available on {} in category: {}", date, category);
+        List<Dish> dishes;
+        if (catalogCache.isWarm()) {
+            dishes = catalogCache.availableDishes(date, category);
+        } else {
+            dishes = category == null ? dishRepository.findAvailableOn(date)
+                    : dishRepository.findAvailableOnByCategory(date, category);
+        }
+        log.debug("Found {} dishes available on {} in category: {}", dishes.size(), date, category);
+        return mapDishesToDtos(dishes);
+    }
+
     @Override
     public List<DishDto> fetchDishesByDietaryTag(String dietaryTag) {
         log.debug("Fetching dishes by dietary tag: {}", dietaryTag);
@@ -130,6 +161,9 @@ public class DishServiceImpl implements IDishService {
         recalculateAndSetDerivedFields(dish);
         dish.setUpdatedAt(LocalDateTime.now());
         dishRepository.save(dish);
+        catalogCache.putDish(dish);
+        mealEventPublisher.catalogChanged(CatalogChangeEventDto.DISHES, dish.getId());
+        dishEligibilityService.invalidate();
         log.debug("Successfully updated dish with id: {}", dishDto.getId());
         return true;
     }
@@ -150,39 +184,19 @@ public class DishServiceImpl implements IDishService {
             return;
         }
 
-        Set<String> ingredientIds = dish.getIngredients().stream()
-                .map(di -> di.getIngredientId())
-                .filter(id -> id != null && !id.isBlank())
-                .collect(Collectors.toSet());
-
-        Map<String, Ingredient> ingredientsById = ingredientRepository.findAllById(ingredientIds).stream()
-                .collect(Collectors.toMap(Ingredient::getId, Function.identity()));
-
-        for (String ingredientId : ingredientIds) {
-            if (!ingredientsById.containsKey(ingredientId)) {
-                throw new ResourceNotFoundException("Ingredient", "id", ingredientId);
+        Set<String> ingredientIds = new HashSet<>();
+        for (var di : dish.getIngredients()) {
+            if (di.getIngredientId() != null && !di.getIngredientId().isBlank()) {
+                ingredientIds.add(di.getIngredientId());
             }
         }
 
-        double totalCost = dish.getIngredients().stream()
-                .mapToDouble(di -> {
-                    Ingredient ingredient = ingredientsById.get(di.getIngredientId());
-                    return ingredient.getUnitPrice() * di.getQuantity();
-                })
-                .sum();
-
-        NutritionFacts nutrition = NutritionFacts.zero();
-        for (var di : dish.getIngredients()) {
-            Ingredient ingredient = ingredientsById.get(di.getIngredientId());
-            if (ingredient == null) continue;
-            NutritionFacts per100g = ingredient.getNutritionPer100g();
-            // quantity is treated as grams
-            double scale = di.getQuantity() / 100.0;
-            nutrition.addScaled(per100g, scale);
+        DishCostCalculator calculator = DishCostCalculator.of(ingredientRepository.findAllById(ingredientIds));
+        String missingIngredientId = calculator.findMissingIngredient(dish);
+        if (missingIngredientId != null) {
+            throw new ResourceNotFoundException("Ingredient", "id", missingIngredientId);
         }
-
-        dish.setTotalCost(totalCost);
-        dish.setNutritionPerServing(nutrition);
+        calculator.recalculate(dish);
     }
 
     private Map<String, Ingredient> fetchIngredientsForDish(Dish dish) {
@@ -193,8 +207,7 @@ public class DishServiceImpl implements IDishService {
                 .map(di -> di.getIngredientId())
                 .filter(id -> id != null && !id.isBlank())
                 .collect(Collectors.toSet());
-        return ingredientRepository.findAllById(ids).stream()
-                .collect(Collectors.toMap(Ingredient::getId, Function.identity()));
+        return findIngredientsById(ids);
     }
 
     private Map<String, Ingredient> fetchIngredientsForDishes(List<Dish> dishes) {
@@ -213,6 +226,17 @@ public class DishServiceImpl implements IDishService {
         if (ids.isEmpty()) {
             return Map.of();
         }
+        return findIngredientsById(ids);
+    }
+
+    private Map<String, Ingredient> findIngredientsById(Set<String> ids) {
+        if (catalogCache.isWarm()) {
+            Map<String, Ingredient> ingredientsById = new HashMap<>();
+            for (String id : ids) {
+                catalogCache.findIngredient(id).ifPresent(ingredient -> ingredientsById.put(id, ingredient));
+            }
+            return ingredientsById;
+        }
         return ingredientRepository.findAllById(ids).stream()
                 .collect(Collectors.toMap(Ingredient::getId, Function.identity()));
     }
@@ -0,0 +1,408 @@
+package com.foodopia.meal.service.impl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.foodopia.meal.cache.CatalogCache;
+import com.foodopia.meal.dto.IngredientDemandDto;
+import com.foodopia.meal.dto.IngredientDemandReportDto;
+import com.foodopia.meal.entity.Dish;
+import com.foodopia.meal.entity.Ingredient;
+import com.foodopia.meal.entity.IngredientAmount;
+import com.foodopia.meal.entity.IngredientDemand;
+import com.foodopia.meal.entity.MealCustomization;
+import com.foodopia.meal.entity.RollupType;
+import com.foodopia.meal.repository.DishRepository;
+import com.foodopia.meal.repository.IngredientRepository;
+import com.foodopia.meal.service.IIngredientDemandService;
+import com.mongodb.DBRef;
+
+/**
+ * Maintains ingredient_demand, the grams of every ingredient per delivery date, as a materialized
+ * view of the customizations: each customization stores the ingredient amounts its recipes added,
+ * and a write adds the new amounts and subtracts the stored ones, so a demand report only sums the
+ * view rows of its range and recipe changes in between never skew it. After recipe changes a
+ * rebuild re-explodes the customizations of a range. A date whose increment failed is recorded for
+ * RollupRepairJob and reported stale until repaired; reads never recompute it.
+ * <p>
+ * A date is recomputed from the stored amounts and written row by row, each write guarded by the
+ * version the row had before the customizations were read, so increments landing meanwhile are
+ * never overwritten - the date is left for a later run instead. So is a date with customizations
+ * changed within the settle time, whose increments may still land after the write.
+ */
+@Service
+public class IngredientDemandServiceImpl implements IIngredientDemandService {
+
+    private static final Logger log = LoggerFactory.getLogger(IngredientDemandServiceImpl.class);
+    private static final int REBUILD_CHUNK_SIZE = 500;
+    // Rows of the rollup over all users
+    private static final String ALL_USERS = "";
+    private final MongoTemplate mongoTemplate;
+    private final IngredientRepository ingredientRepository;
+    private final DishRepository dishRepository;
+    private final CatalogCache catalogCache;
+    private final RollupRepairs rollupRepairs;
+
+    public IngredientDemandServiceImpl(MongoTemplate mongoTemplate,
+                                       IngredientRepository ingredientRepository,
+                                       DishRepository dishRepository,
+                                       CatalogCache catalogCache,
+                                       RollupRepairs rollupRepairs) {
+        this.mongoTemplate = mongoTemplate;
+        this.ingredientRepository = ingredientRepository;
+        this.dishRepository = dishRepository;
+        this.catalogCache = catalogCache;
+        this.rollupRepairs = rollupRepairs;
+    }
+
+    @Override
+    public IngredientDemandReportDto fetchDemand(LocalDate from, LocalDate to) {
+        log.debug("Fetching ingredient demand from {} to {}", from, to);
+        Set<LocalDate> staleDates = rollupRepairs.pendingDates(RollupType.INGREDIENT_DEMAND, ALL_USERS, from, to);
+        List<IngredientDemand> rows = mongoTemplate.find(
+                Query.query(Criteria.where("deliveryDate").gte(from).lte(to)), IngredientDemand.class);
+        Map<String, IngredientDemandDto> byIngredient = new HashMap<>();
+        for (IngredientDemand row : rows) {
+            IngredientDemandDto demand = byIngredient.computeIfAbsent(row.getIngredientId(),
+                    id -> new IngredientDemandDto(id, null, null, 0, 0, 0));
+            demand.setQuantity(demand.getQuantity() + row.getQuantity());
+            demand.setServings(demand.getServings() + row.getServings());
+        }
+        // Rows of dishes removed from every customization in the range are left at zero
+        byIngredient.values().removeIf(demand -> demand.getServings() <= 0);
+
+        Map<String, Ingredient> ingredients = findIngredients(byIngredient.keySet());
+        double totalCost = 0;
+        for (IngredientDemandDto demand : byIngredient.values()) {
+            Ingredient ingredient = ingredients.get(demand.getIngredientId());
+            if (ingredient == null) continue;
+            demand.setName(ingredient.getName());
+            demand.setUnit(ingredient.getUnit());
+            demand.setCost(ingredient.getUnitPrice() * demand.getQuantity());
+            totalCost += demand.getCost();
+        }
+        List<IngredientDemandDto> result = new ArrayList<>(byIngredient.values());
+        result.sort(Comparator.comparingDouble(IngredientDemandDto::getCost).reversed()
+                .thenComparing(IngredientDemandDto::getIngredientId));
+        log.debug("Found demand for {} ingredients from {} to {} from {} rows, {} dates awaiting repair",
+                result.size(), from, to, rows.size(), staleDates.size());
+        return new IngredientDemandReportDto(from, to, totalCost, !staleDates.isEmpty(), result);
+    }
+
+    @Override
+    public void recordCustomizationChange(MealCustomization previous, MealCustomization current) {
+        Map<String, Demand> deltas = new HashMap<>();
+        if (previous != null && previous.getDeliveryDate() != null) {
+            add(previous.getDeliveryDate(), amountsOf(previous), -1, deltas);
+        }
+        if (current.getDeliveryDate() != null) {
+            add(current.getDeliveryDate(), amountsOf(current), 1, deltas);
+        }
+        write(deltas);
+    }
+
+    @Override
+    public void recordNewCustomizations(Collection<MealCustomization> customizations) {
+        Map<String, Demand> deltas = new HashMap<>();
+        for (MealCustomization customization : customizations) {
+            if (customization.getDeliveryDate() == null) continue;
+            add(customization.getDeliveryDate(), amountsOf(customization), 1, deltas);
+        }
+        write(deltas);
+    }
+
+    @Override
+    public long rebuildDemand(LocalDate from, LocalDate to) {
+        log.info("Rebuilding ingredient demand from {} to {}", from, to);
+        Map<String, Dish> dishes = new HashMap<>();
+        long customizations = 0;
+        Query query = Query.query(Criteria.where("delivery_date").gte(toDate(from)).lte(toDate(to)))
+                .cursorBatchSize(REBUILD_CHUNK_SIZE);
+        query.fields().include("delivery_date", "selected_dishes", "updated_at");
+        List<Document> chunk = new ArrayList<>(REBUILD_CHUNK_SIZE);
+        try (Stream<Document> stream = mongoTemplate.stream(query, Document.class,
+                mongoTemplate.getCollectionName(MealCustomization.class))) {
+            Iterator<Document> cursor = stream.iterator();
+            while (cursor.hasNext()) {
+                chunk.add(cursor.next());
+                if (chunk.size() == REBUILD_CHUNK_SIZE) {
+                    customizations += explode(chunk, dishes, null, true);
+                    chunk.clear();
+                }
+            }
+        }
+        customizations += explode(chunk, dishes, null, true);
+
+        List<LocalDate> deferred = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            if (!repairDate(date)) deferred.add(date);
+        }
+        if (!deferred.isEmpty()) {
+            rollupRepairs.record(RollupType.INGREDIENT_DEMAND, ALL_USERS, deferred);
+        }
+        log.info("Rebuilt ingredient demand of {} customizations from {} to {}, {} dates left to the repair job",
+                customizations, from, to, deferred.size());
+        return customizations;
+    }
+
+    @Override
+    public boolean repairDate(LocalDate deliveryDate) {
+        // Versions of the rows before the customizations are read
+        Query rowQuery = Query.query(Criteria.where("deliveryDate").is(deliveryDate));
+        rowQuery.fields().include("ingredientId", "version");
+        Map<String, IngredientDemand> previous = new HashMap<>();
+        mongoTemplate.find(rowQuery, IngredientDemand.class).forEach(row -> previous.put(row.getIngredientId(), row));
+
+        Date settledBefore = Date.from(rollupRepairs.settledBefore().atZone(ZoneId.systemDefault()).toInstant());
+        Map<String, Demand> demand = new HashMap<>();
+        Map<String, Dish> dishes = new HashMap<>();
+        Query query = Query.query(Criteria.where("delivery_date").is(toDate(deliveryDate)))
+                .cursorBatchSize(REBUILD_CHUNK_SIZE);
+        query.fields().include("delivery_date", "selected_dishes", "ingredient_amounts", "updated_at");
+        List<Document> unexploded = new ArrayList<>();
+        try (Stream<Document> stream = mongoTemplate.stream(query, Document.class,
+                mongoTemplate.getCollectionName(MealCustomization.class))) {
+            Iterator<Document> cursor = stream.iterator();
+            while (cursor.hasNext()) {
+                Document customization = cursor.next();
+                Date updatedAt = customization.getDate("updated_at");
+                if (updatedAt != null && !updatedAt.before(settledBefore)) {
+                    log.debug("Leaving ingredient demand of {} to a later repair, it has recent changes", deliveryDate);
+                    return false;
+                }
+                List<Document> stored = customization.getList("ingredient_amounts", Document.class);
+                if (stored == null) {
+                    unexploded.add(customization);
+                    if (unexploded.size() == REBUILD_CHUNK_SIZE) {
+                        explode(unexploded, dishes, demand, false);
+                        unexploded.clear();
+                    }
+                    continue;
+                }
+                List<IngredientAmount> amounts = new ArrayList<>(stored.size());
+                for (Document amount : stored) {
+                    amounts.add(mongoTemplate.getConverter().read(IngredientAmount.class, amount));
+                }
+                add(deliveryDate, amounts, 1, demand);
+            }
+        }
+        explode(unexploded, dishes, demand, false);
+        return replaceRows(deliveryDate, demand, previous);
+    }
+
+    /**
+     * Write the recomputed rows of a date over the rows read before, returning false when an
+     * increment changed or created one in between
+     */
+    private boolean replaceRows(LocalDate deliveryDate, Map<String, Demand> demand, Map<String, IngredientDemand> previous) {
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations updates = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, IngredientDemand.class);
+        List<IngredientDemand> inserts = new ArrayList<>();
+        int guarded = 0;
+        for (Demand row : demand.values()) {
+            IngredientDemand read = previous.remove(row.ingredientId);
+            if (read == null) {
+                inserts.add(IngredientDemand.builder()
+                        .deliveryDate(deliveryDate)
+                        .ingredientId(row.ingredientId)
+                        .quantity(row.quantity)
+                        .servings(row.servings)
+                        .updatedAt(now)
+                        .build());
+            } else {
+                updates.updateOne(Query.query(Criteria.where("id").is(read.getId()).and("version").is(read.getVersion())),
+                        total(row.quantity, row.servings, now));
+                guarded++;
+            }
+        }
+        // Ingredients no customization of the date uses any more
+        for (IngredientDemand read : previous.values()) {
+            updates.updateOne(Query.query(Criteria.where("id").is(read.getId()).and("version").is(read.getVersion())),
+                    total(0, 0, now));
+            guarded++;
+        }
+
+        boolean complete = true;
+        if (guarded > 0) {
+            complete = updates.execute().getMatchedCount() == guarded;
+        }
+        if (!inserts.isEmpty()) {
+            try {
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, IngredientDemand.class).insert(inserts).execute();
+            } catch (DataAccessException e) {
+                // An increment created the row since the read: the insert fails on the unique index
+                complete = false;
+            }
+        }
+        log.debug("Recomputed {} ingredient demand rows of {}, {}", demand.size(), deliveryDate,
+                complete ? "repaired" : "changed meanwhile, left to a later repair");
+        return complete;
+    }
+
+    private static Update total(double quantity, int servings, LocalDateTime now) {
+        return new Update()
+                .set("quantity", quantity)
+                .set("servings", servings)
+                .set("updatedAt", now)
+                .inc("version", 1);
+    }
+
+    /**
+     * Explode one chunk of customizations under the current recipes, store each one's ingredient
+     * amounts and add them to the demand when given, returning the number of customizations. With
+     * replace the stored amounts are overwritten unless the customization changed since it was read,
+     * otherwise only missing amounts are stored.
+     */
+    private int explode(List<Document> chunk, Map<String, Dish> dishes, Map<String, Demand> demand, boolean replace) {
+        if (chunk.isEmpty()) return 0;
+        Set<String> missing = new HashSet<>();
+        for (Document customization : chunk) {
+            for (String dishId : dishIds(customization)) {
+                if (!dishes.containsKey(dishId)) missing.add(dishId);
+            }
+        }
+        dishes.putAll(findDishes(missing));
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MealCustomization.class);
+        for (Document customization : chunk) {
+            List<Dish> selected = new ArrayList<>();
+            for (String dishId : dishIds(customization)) {
+                Dish dish = dishes.get(dishId);
+                if (dish != null) selected.add(dish);
+            }
+            List<IngredientAmount> amounts = MealCustomization.builder().selectedDishes(selected).build()
+                    .calculateIngredientAmounts();
+            if (demand != null) {
+                add(customization.getDate("delivery_date").toInstant().atZone(ZoneId.systemDefault()).toLocalDate(),
+                        amounts, 1, demand);
+            }
+            Criteria unchanged = replace
+                    ? Criteria.where("_id").is(customization.get("_id")).and("updated_at").is(customization.get("updated_at"))
+                    : Criteria.where("_id").is(customization.get("_id")).and("ingredient_amounts").exists(false);
+            bulk.updateOne(Query.query(unchanged), Update.update("ingredientAmounts", amounts));
+        }
+        bulk.execute();
+        return chunk.size();
+    }
+
+    /**
+     * The amounts stored with a customization; one stored before amounts were is taken at the
+     * current recipes of its dishes
+     */
+    private static List<IngredientAmount> amountsOf(MealCustomization customization) {
+        return customization.getIngredientAmounts() != null ? customization.getIngredientAmounts()
+                : customization.calculateIngredientAmounts();
+    }
+
+    private static void add(LocalDate deliveryDate, List<IngredientAmount> amounts, int sign, Map<String, Demand> deltas) {
+        for (IngredientAmount amount : amounts) {
+            Demand delta = deltas.computeIfAbsent(deliveryDate + "|" + amount.getIngredientId(),
+                    key -> new Demand(deliveryDate, amount.getIngredientId()));
+            delta.quantity += sign * amount.getQuantity();
+            delta.servings += sign * amount.getServings();
+        }
+    }
+
+    private static List<String> dishIds(Document customization) {
+        List<Object> references = customization.getList("selected_dishes", Object.class, List.of());
+        List<String> ids = new ArrayList<>(references.size());
+        for (Object reference : references) {
+            ids.add((reference instanceof DBRef dbRef ? dbRef.getId() : reference).toString());
+        }
+        return ids;
+    }
+
+    private void write(Map<String, Demand> deltas) {
+        // An unchanged recipe on both sides of an update cancels out
+        deltas.values().removeIf(delta -> delta.servings == 0 && Math.abs(delta.quantity) < 1e-9);
+        if (deltas.isEmpty()) return;
+
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, IngredientDemand.class);
+        for (Demand delta : deltas.values()) {
+            bulk.upsert(Query.query(Criteria.where("deliveryDate").is(delta.deliveryDate)
+                            .and("ingredientId").is(delta.ingredientId)),
+                    new Update()
+                            .inc("quantity", delta.quantity)
+                            .inc("servings", delta.servings)
+                            .inc("version", 1)
+                            .set("updatedAt", now));
+        }
+        try {
+            bulk.execute();
+            log.debug("Updated {} ingredient demand rows", deltas.size());
+        } catch (Exception e) {
+            // The write is stored already: recompute its dates in the background rather than fail it
+            Set<LocalDate> dates = new TreeSet<>();
+            deltas.values().forEach(delta -> dates.add(delta.deliveryDate));
+            log.warn("Failed to update {} ingredient demand rows, recording a repair of dates {}", deltas.size(), dates, e);
+            rollupRepairs.record(RollupType.INGREDIENT_DEMAND, ALL_USERS, dates);
+        }
+    }
+
+    private Map<String, Ingredient> findIngredients(Set<String> ids) {
+        Map<String, Ingredient> ingredients = new HashMap<>();
+        if (catalogCache.isWarm()) {
+            for (String id : ids) {
+                catalogCache.findIngredient(id).ifPresent(ingredient -> ingredients.put(id, ingredient));
+            }
+        } else if (!ids.isEmpty()) {
+            ingredientRepository.findAllById(ids).forEach(ingredient -> ingredients.put(ingredient.getId(), ingredient));
+        }
+        return ingredients;
+    }
+
+    private Map<String, Dish> findDishes(Set<String> ids) {
+        Map<String, Dish> dishes = new HashMap<>();
+        if (catalogCache.isWarm()) {
+            for (String id : ids) {
+                catalogCache.findDish(id).ifPresent(dish -> dishes.put(id, dish));
+            }
+        } else if (!ids.isEmpty()) {
+            dishRepository.findAllById(ids).forEach(dish -> dishes.put(dish.getId(), dish));
+        }
+        return dishes;
+    }
+
+    // LocalDate is stored as midnight in the default time zone
+    private static Date toDate(LocalDate date) {
+        return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    // Demand change of one ingredient on one delivery date
+    private static final class Demand {
+        private final LocalDate deliveryDate;
+        private final String ingredientId;
+        private double quantity;
+        private int servings;
+
+        private Demand(LocalDate deliveryDate, String ingredientId) {
+            this.deliveryDate = deliveryDate;
+            this.ingredientId = ingredientId;
+        }
+    }
+}
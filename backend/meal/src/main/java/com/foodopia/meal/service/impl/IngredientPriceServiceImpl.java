@@ -0,0 +1,155 @@
+package com.foodopia.meal.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.foodopia.meal.cache.CatalogCache;
+import com.foodopia.meal.domain.DishCostCalculator;
+import com.foodopia.meal.domain.IngredientPriceHistory;
+import com.foodopia.meal.dto.DishCostDto;
+import com.foodopia.meal.dto.IngredientPriceDto;
+import com.foodopia.meal.entity.Dish;
+import com.foodopia.meal.entity.Ingredient;
+import com.foodopia.meal.entity.IngredientPriceVersion;
+import com.foodopia.meal.exception.ResourceNotFoundException;
+import com.foodopia.meal.repository.DishRepository;
+import com.foodopia.meal.repository.IngredientPriceVersionRepository;
+import com.foodopia.meal.repository.IngredientRepository;
+import com.foodopia.meal.service.IIngredientPriceService;
+
+/**
+ * Effective-dated ingredient prices. Every price change upserts a version keyed by ingredient and
+ * effective date into ingredient_price_history; an ingredient's first change also records the
+ * price it had before, effective since {@link #SINCE_ALWAYS}, so older dates keep their price.
+ * As-of lookups are served from an in-memory {@link IngredientPriceHistory} that this instance
+ * updates on its own writes and reloads after {@code refresh-interval} to pick up other instances'.
+ */
+@Service
+public class IngredientPriceServiceImpl implements IIngredientPriceService {
+
+    private static final Logger log = LoggerFactory.getLogger(IngredientPriceServiceImpl.class);
+    private static final LocalDate SINCE_ALWAYS = LocalDate.EPOCH;
+
+    private final MongoTemplate mongoTemplate;
+    private final IngredientPriceVersionRepository priceVersionRepository;
+    private final IngredientRepository ingredientRepository;
+    private final DishRepository dishRepository;
+    private final CatalogCache catalogCache;
+    private final long refreshIntervalNanos;
+
+    private volatile Snapshot snapshot;
+
+    public IngredientPriceServiceImpl(MongoTemplate mongoTemplate,
+                                      IngredientPriceVersionRepository priceVersionRepository,
+                                      IngredientRepository ingredientRepository,
+                                      DishRepository dishRepository,
+                                      CatalogCache catalogCache,
+                                      @Value("${foodopia.meal.price-history.refresh-interval:5m}") Duration refreshInterval) {
+        this.mongoTemplate = mongoTemplate;
+        this.priceVersionRepository = priceVersionRepository;
+        this.ingredientRepository = ingredientRepository;
+        this.dishRepository = dishRepository;
+        this.catalogCache = catalogCache;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+    }
+
+    @Override
+    public synchronized void recordPriceChange(String ingredientId, Double previousPrice, double newPrice) {
+        LocalDate today = LocalDate.now();
+        log.debug("Recording price {} of ingredient id: {} effective {}", newPrice, ingredientId, today);
+        IngredientPriceHistory history = currentHistory();
+        if (previousPrice != null && !mongoTemplate.exists(Query.query(Criteria.where("ingredientId").is(ingredientId)),
+                IngredientPriceVersion.class)) {
+            history = history.with(upsert(ingredientId, SINCE_ALWAYS, previousPrice));
+        }
+        history = history.with(upsert(ingredientId, today, newPrice));
+        snapshot = new Snapshot(history, snapshot.loadedAt());
+    }
+
+    @Override
+    public List<IngredientPriceDto> fetchPriceHistory(String ingredientId) {
+        log.debug("Fetching price history of ingredient id: {}", ingredientId);
+        Ingredient ingredient = findIngredient(ingredientId);
+        List<IngredientPriceVersion> versions = priceVersionRepository.findByIngredientIdOrderByEffectiveFromAsc(ingredientId);
+        if (versions.isEmpty()) {
+            // Never changed: the current price has always been in effect
+            return List.of(new IngredientPriceDto(ingredientId, SINCE_ALWAYS, ingredient.getUnitPrice()));
+        }
+        return versions.stream()
+                .map(version -> new IngredientPriceDto(ingredientId, version.getEffectiveFrom(), version.getUnitPrice()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public IngredientPriceDto fetchPriceAsOf(String ingredientId, LocalDate asOf) {
+        log.debug("Fetching price of ingredient id: {} as of {}", ingredientId, asOf);
+        Ingredient ingredient = findIngredient(ingredientId);
+        return new IngredientPriceDto(ingredientId, asOf,
+                currentHistory().priceAsOf(ingredientId, asOf, ingredient.getUnitPrice()));
+    }
+
+    @Override
+    public DishCostDto fetchDishCostAsOf(String dishId, LocalDate asOf) {
+        log.debug("Fetching cost of dish id: {} as of {}", dishId, asOf);
+        Dish dish = (catalogCache.isWarm() ? catalogCache.findDish(dishId) : dishRepository.findById(dishId))
+                .orElseThrow(() -> new ResourceNotFoundException("Dish", "id", dishId));
+        return new DishCostDto(dishId, asOf, costCalculatorAsOf(asOf).cost(dish), dish.getTotalCost());
+    }
+
+    @Override
+    public DishCostCalculator costCalculatorAsOf(LocalDate asOf) {
+        List<Ingredient> ingredients = catalogCache.isWarm() ? catalogCache.ingredients() : ingredientRepository.findAll();
+        return DishCostCalculator.asOf(ingredients, currentHistory(), asOf);
+    }
+
+    private IngredientPriceVersion upsert(String ingredientId, LocalDate effectiveFrom, double unitPrice) {
+        LocalDateTime now = LocalDateTime.now();
+        mongoTemplate.upsert(
+                Query.query(Criteria.where("ingredientId").is(ingredientId).and("effectiveFrom").is(effectiveFrom)),
+                new Update().set("unitPrice", unitPrice).set("recordedAt", now),
+                IngredientPriceVersion.class);
+        return IngredientPriceVersion.builder()
+                .ingredientId(ingredientId)
+                .effectiveFrom(effectiveFrom)
+                .unitPrice(unitPrice)
+                .recordedAt(now)
+                .build();
+    }
+
+    private Ingredient findIngredient(String ingredientId) {
+        return (catalogCache.isWarm() ? catalogCache.findIngredient(ingredientId) : ingredientRepository.findById(ingredientId))
+                .orElseThrow(() -> new ResourceNotFoundException("Ingredient", "id", ingredientId));
+    }
+
+    private IngredientPriceHistory currentHistory() {
+        Snapshot current = snapshot;
+        if (current != null && System.nanoTime() - current.loadedAt() < refreshIntervalNanos) {
+            return current.history();
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current == null || System.nanoTime() - current.loadedAt() >= refreshIntervalNanos) {
+                List<IngredientPriceVersion> versions = priceVersionRepository.findAll();
+                current = new Snapshot(IngredientPriceHistory.of(versions), System.nanoTime());
+                snapshot = current;
+                log.debug("Loaded {} ingredient price versions", versions.size());
+            }
+            return current.history();
+        }
+    }
+
+    private record Snapshot(IngredientPriceHistory history, long loadedAt) {
+    }
+}
@@ -2,24 +2,31 @@ package com.foodopia.meal.service.impl;
 
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import com.foodopia.meal.cache.CatalogCache;
+import com.foodopia.meal.domain.DishCostCalculator;
+import com.foodopia.meal.dto.CatalogChangeEventDto;
 import com.foodopia.meal.dto.IngredientDto;
 import com.foodopia.meal.entity.Dish;
 import com.foodopia.meal.entity.Ingredient;
-import com.foodopia.meal.entity.NutritionFacts;
+import com.foodopia.meal.events.MealEventPublisher;
 import com.foodopia.meal.exception.ResourceAlreadyExistsException;
 import com.foodopia.meal.exception.ResourceNotFoundException;
 import com.foodopia.meal.mapper.IngredientMapper;
 import com.foodopia.meal.repository.DishRepository;
 import com.foodopia.meal.repository.IngredientRepository;
+import com.foodopia.meal.service.IDishEligibilityService;
+import com.foodopia.meal.service.IIngredientPriceService;
 import com.foodopia.meal.service.IIngredientService;
 
 import lombok.AllArgsConstructor;
@@ -31,6 +38,11 @@ public class IngredientServiceImpl implements IIngredientService {
     private static final Logger log = LoggerFactory.getLogger(IngredientServiceImpl.class);
     private IngredientRepository ingredientRepository;
     private DishRepository dishRepository;
+    private CatalogCache catalogCache;
+    private IIngredientPriceService ingredientPriceService;
+    private IDishEligibilityService dishEligibilityService;
+    private MealEventPublisher mealEventPublisher;
+    private MongoTemplate mongoTemplate;
 
     @Override
     public void createIngredient(IngredientDto ingredientDto) {
@@ -45,13 +57,18 @@ public class IngredientServiceImpl implements IIngredientService {
         Ingredient ingredient = IngredientMapper.mapToIngredient(ingredientDto, new Ingredient(
                 null, null, 0, null, "g", null));
         ingredientRepository.save(ingredient);
+        catalogCache.putIngredient(ingredient);
+        // Dishes may already reference the new ingredient id, which the index so far ignored
+        dishEligibilityService.invalidate();
+        mealEventPublisher.catalogChanged(CatalogChangeEventDto.INGREDIENTS, ingredient.getId());
+        ingredientPriceService.recordPriceChange(ingredient.getId(), null, ingredient.getUnitPrice());
         log.debug("Successfully created ingredient with id: {} and name: {}", ingredient.getId(), ingredient.getName());
     }
 
     @Override
     public IngredientDto fetchIngredient(String id) {
         log.debug("Fetching ingredient with id: {}", id);
-        Ingredient ingredient = ingredientRepository.findById(id)
+        Ingredient ingredient = (catalogCache.isWarm() ? catalogCache.findIngredient(id) : ingredientRepository.findById(id))
                 .orElseThrow(() -> {
                     log.error("Ingredient not found with id: {}", id);
                     return new ResourceNotFoundException("Ingredient", "id", id);
@@ -76,7 +93,7 @@ public class IngredientServiceImpl implements IIngredientService {
     @Override
     public List<IngredientDto> fetchAllIngredients() {
         log.debug("Fetching all ingredients");
-        List<Ingredient> ingredients = ingredientRepository.findAll();
+        List<Ingredient> ingredients = catalogCache.isWarm() ? catalogCache.ingredients() : ingredientRepository.findAll();
         log.debug("Found {} ingredients", ingredients.size());
         return ingredients.stream()
                 .map(ingredient -> IngredientMapper.mapToIngredientDto(ingredient, new IngredientDto()))
@@ -105,6 +122,15 @@ public class IngredientServiceImpl implements IIngredientService {
         double oldPrice = ingredient.getUnitPrice();
         ingredient.setUnitPrice(newPrice);
         ingredientRepository.save(ingredient);
+        try {
+            ingredientPriceService.recordPriceChange(id, oldPrice, newPrice);
+        } catch (RuntimeException e) {
+            // Without its history version the new price must not stay in effect
+            restorePrice(id, oldPrice, newPrice);
+            throw e;
+        }
+        catalogCache.putIngredient(ingredient);
+        mealEventPublisher.catalogChanged(CatalogChangeEventDto.INGREDIENTS, id);
 
         // Recalculate costs for dishes that reference this ingredient
         try {
@@ -119,25 +145,14 @@ public class IngredientServiceImpl implements IIngredientService {
                         }
                     });
                 }
-                Map<String, Ingredient> ingredientsById = ingredientRepository.findAllById(ingredientIds).stream()
-                        .collect(Collectors.toMap(Ingredient::getId, Function.identity()));
-
-                for (Dish dish : affectedDishes) {
-                    double total = 0.0;
-                    NutritionFacts nutrition = NutritionFacts.zero();
-                    if (dish.getIngredients() != null) {
-                        for (var di : dish.getIngredients()) {
-                            Ingredient ing = ingredientsById.get(di.getIngredientId());
-                            if (ing == null) continue;
-                            total += ing.getUnitPrice() * di.getQuantity();
-                            double scale = di.getQuantity() / 100.0;
-                            nutrition.addScaled(ing.getNutritionPer100g(), scale);
-                        }
-                    }
-                    dish.setTotalCost(total);
-                    dish.setNutritionPerServing(nutrition);
-                }
+                DishCostCalculator calculator = DishCostCalculator.of(ingredientRepository.findAllById(ingredientIds));
+                calculator.recalculateAll(affectedDishes);
                 dishRepository.saveAll(affectedDishes);
+                catalogCache.putDishes(affectedDishes);
+                dishEligibilityService.invalidate();
+                // Dish responses carry the cost and ingredients
+                mealEventPublisher.catalogChanged(CatalogChangeEventDto.DISHES,
+                        affectedDishes.stream().map(Dish::getId).toList());
                 log.debug("Recalculated totalCost for {} dishes affected by ingredient {}", affectedDishes.size(), id);
             }
         } catch (Exception e) {
@@ -147,4 +162,26 @@ public class IngredientServiceImpl implements IIngredientService {
         log.debug("Successfully updated ingredient price for id: {} from {} to {}", id, oldPrice, newPrice);
         return true;
     }
+
+    /**
+     * Put the previous price back after its change could not be versioned, unless another update
+     * replaced the new price meanwhile
+     */
+    private void restorePrice(String id, double oldPrice, double newPrice) {
+        try {
+            long restored = mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("_id").is(id).and("unitPrice").is(newPrice)),
+                    Update.update("unitPrice", oldPrice), Ingredient.class).getModifiedCount();
+            if (restored > 0) {
+                log.warn("Restored price {} of ingredient id: {} after its change to {} could not be versioned",
+                        oldPrice, id, newPrice);
+            } else {
+                log.warn("Price of ingredient id: {} changed again before its unversioned change to {} was undone",
+                        id, newPrice);
+            }
+        } catch (Exception e) {
+            log.error("Failed to restore price {} of ingredient id: {} after its change could not be versioned",
+                    oldPrice, id, e);
+        }
+    }
 }
\ No newline at end of file
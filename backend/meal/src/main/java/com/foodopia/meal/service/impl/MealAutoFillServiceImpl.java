@@ -0,0 +1,251 @@
+package com.foodopia.meal.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import com.foodopia.meal.cache.CatalogCache;
+import com.foodopia.meal.client.CustomerServiceClient;
+import com.foodopia.meal.client.SchedulingServiceClient;
+import com.foodopia.meal.client.dto.ScheduledMealClientDto;
+import com.foodopia.meal.domain.DefaultMealSelector;
+import com.foodopia.meal.dto.AutoFillReportDto;
+import com.foodopia.meal.dto.DietPreferenceFilterDto;
+import com.foodopia.meal.entity.Dish;
+import com.foodopia.meal.entity.MealCustomization;
+import com.foodopia.meal.entity.MealPlanType;
+import com.foodopia.meal.entity.MealTemplate;
+import com.foodopia.meal.events.MealEventPublisher;
+import com.foodopia.meal.repository.DishRepository;
+import com.foodopia.meal.repository.MealPlanTypeRepository;
+import com.foodopia.meal.repository.MealTemplateRepository;
+import com.foodopia.meal.service.IDishEligibilityService;
+import com.foodopia.meal.service.IMealAutoFillService;
+import com.foodopia.meal.service.IIngredientDemandService;
+import com.foodopia.meal.service.IPricingService;
+import com.foodopia.meal.service.IRevenueAnalyticsService;
+import com.foodopia.meal.service.INutritionRollupService;
+
+/**
+ * Fills the scheduled meals nobody customized with default dishes. The scheduled meals of the
+ * date are paged from scheduling-service and handled in chunks of one page: one query finds the
+ * chunk's existing customizations, one customer-service call fetches the diet preferences of its
+ * users, and one unordered bulk insert writes the new customizations. Memory
+ * is bounded by the chunk size plus one selector per template and one eligibility set per distinct
+ * diet preference. A customization the customer creates concurrently wins: the unique
+ * scheduled_meal_id index rejects the default one.
+ */
+@Service
+public class MealAutoFillServiceImpl implements IMealAutoFillService {
+
+    private static final Logger log = LoggerFactory.getLogger(MealAutoFillServiceImpl.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final SchedulingServiceClient schedulingServiceClient;
+    private final CustomerServiceClient customerServiceClient;
+    private final CatalogCache catalogCache;
+    private final DishRepository dishRepository;
+    private final MealTemplateRepository mealTemplateRepository;
+    private final MealPlanTypeRepository mealPlanTypeRepository;
+    private final IDishEligibilityService dishEligibilityService;
+    private final INutritionRollupService nutritionRollupService;
+    private final IIngredientDemandService ingredientDemandService;
+    private final IRevenueAnalyticsService revenueAnalyticsService;
+    private final IPricingService pricingService;
+    private final MealEventPublisher mealEventPublisher;
+    private final int chunkSize;
+
+    public MealAutoFillServiceImpl(MongoTemplate mongoTemplate,
+                                   SchedulingServiceClient schedulingServiceClient,
+                                   CustomerServiceClient customerServiceClient,
+                                   CatalogCache catalogCache,
+                                   DishRepository dishRepository,
+                                   MealTemplateRepository mealTemplateRepository,
+                                   MealPlanTypeRepository mealPlanTypeRepository,
+                                   IDishEligibilityService dishEligibilityService,
+                                   INutritionRollupService nutritionRollupService,
+                                   IIngredientDemandService ingredientDemandService,
+                                   IRevenueAnalyticsService revenueAnalyticsService,
+                                   IPricingService pricingService,
+                                   MealEventPublisher mealEventPublisher,
+                                   @Value("${foodopia.meal.auto-fill.chunk-size:500}") int chunkSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.schedulingServiceClient = schedulingServiceClient;
+        this.customerServiceClient = customerServiceClient;
+        this.catalogCache = catalogCache;
+        this.dishRepository = dishRepository;
+        this.mealTemplateRepository = mealTemplateRepository;
+        this.mealPlanTypeRepository = mealPlanTypeRepository;
+        this.dishEligibilityService = dishEligibilityService;
+        this.nutritionRollupService = nutritionRollupService;
+        this.ingredientDemandService = ingredientDemandService;
+        this.revenueAnalyticsService = revenueAnalyticsService;
+        this.pricingService = pricingService;
+        this.mealEventPublisher = mealEventPublisher;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public AutoFillReportDto autoFill(LocalDate deliveryDate) {
+        log.debug("Auto-filling meal customizations for delivery date: {}", deliveryDate);
+        long start = System.nanoTime();
+        Run run = new Run(deliveryDate);
+
+        String afterId = null;
+        List<ScheduledMealClientDto> chunk;
+        do {
+            chunk = schedulingServiceClient.fetchScheduledMeals(deliveryDate, afterId, chunkSize);
+            fillChunk(run, chunk);
+            if (!chunk.isEmpty()) afterId = chunk.get(chunk.size() - 1).getId();
+        } while (chunk.size() == chunkSize);
+
+        run.report.setElapsedMillis(Duration.ofNanos(System.nanoTime() - start).toMillis());
+        log.info("Auto-filled {} of {} scheduled meals for {} in {} ms, {} already customized, {} unfillable",
+                run.report.getAutoFilled(), run.report.getScheduledMeals(), deliveryDate,
+                run.report.getElapsedMillis(), run.report.getAlreadyCustomized(), run.report.getUnfillable());
+        return run.report;
+    }
+
+    private void fillChunk(Run run, List<ScheduledMealClientDto> chunk) {
+        if (chunk.isEmpty()) return;
+        run.report.setScheduledMeals(run.report.getScheduledMeals() + chunk.size());
+
+        List<String> scheduledMealIds = new ArrayList<>(chunk.size());
+        Set<String> userIds = new HashSet<>();
+        for (ScheduledMealClientDto scheduledMeal : chunk) {
+            scheduledMealIds.add(scheduledMeal.getId());
+            userIds.add(scheduledMeal.getUserId());
+        }
+        Set<String> customized = existingCustomizations(scheduledMealIds);
+        run.report.setAlreadyCustomized(run.report.getAlreadyCustomized() + customized.size());
+        Map<String, DietPreferenceFilterDto> preferences = dietPreferences(userIds);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<MealCustomization> created = new ArrayList<>(chunk.size() - customized.size());
+        for (ScheduledMealClientDto scheduledMeal : chunk) {
+            String scheduledMealId = scheduledMeal.getId();
+            if (customized.contains(scheduledMealId)) continue;
+            String userId = scheduledMeal.getUserId();
+            DefaultMealSelector selector = run.selector(scheduledMeal.getPlanCode());
+            List<Dish> dishes = selector == null ? null
+                    : selector.select(run.eligibleDishIds(preferences.get(userId)), scheduledMealId.hashCode());
+            if (dishes == null) {
+                run.report.setUnfillable(run.report.getUnfillable() + 1);
+                continue;
+            }
+            MealCustomization customization = MealCustomization.builder()
+                    .scheduledMealId(scheduledMealId)
+                    .userId(userId)
+                    .deliveryDate(run.deliveryDate)
+                    .mealTemplateId(selector.template().getId())
+                    .planCode(scheduledMeal.getPlanCode())
+                    .planLevel(scheduledMeal.getPlanLevel())
+                    .selectedDishes(dishes)
+                    .autoSelected(true)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+            customization.setTotalCost(customization.calculateCost());
+            customization.setNutrition(customization.calculateNutrition());
+            customization.setIngredientAmounts(customization.calculateIngredientAmounts());
+            customization.setCategoryShares(customization.calculateCategoryShares());
+            created.add(customization);
+        }
+        pricingService.applyPrices(created);
+
+        List<MealCustomization> inserted = CustomizationBulkWriter.insertNew(mongoTemplate, created);
+        run.report.setAutoFilled(run.report.getAutoFilled() + inserted.size());
+        run.report.setAlreadyCustomized(run.report.getAlreadyCustomized() + created.size() - inserted.size());
+        RollupUpdates.apply("nutrition", () -> nutritionRollupService.recordNewCustomizations(inserted));
+        RollupUpdates.apply("ingredient demand", () -> ingredientDemandService.recordNewCustomizations(inserted));
+        RollupUpdates.apply("revenue", () -> revenueAnalyticsService.recordNewCustomizations(inserted));
+        for (MealCustomization customization : inserted) {
+            mealEventPublisher.customizationChanged(customization, List.of(), true);
+        }
+    }
+
+    private Set<String> existingCustomizations(List<String> scheduledMealIds) {
+        Query query = Query.query(Criteria.where("scheduledMealId").in(scheduledMealIds));
+        query.fields().include("scheduledMealId");
+        Set<String> existing = new HashSet<>();
+        for (MealCustomization customization : mongoTemplate.find(query, MealCustomization.class)) {
+            existing.add(customization.getScheduledMealId());
+        }
+        return existing;
+    }
+
+    private Map<String, DietPreferenceFilterDto> dietPreferences(Set<String> userIds) {
+        Map<String, DietPreferenceFilterDto> preferences = new HashMap<>();
+        customerServiceClient.fetchDietPreferences(userIds).forEach((userId, preference) -> {
+            DietPreferenceFilterDto filter = new DietPreferenceFilterDto();
+            filter.setAllergies(preference.getAllergies());
+            filter.setFoodsToAvoid(preference.getFoodsToAvoid());
+            filter.setDietaryGoals(preference.getDietaryGoals());
+            preferences.put(userId, filter);
+        });
+        return preferences;
+    }
+
+    /**
+     * State of one auto-fill run: selectors per plan and eligible dishes per diet preference
+     */
+    private final class Run {
+
+        private final LocalDate deliveryDate;
+        private final AutoFillReportDto report = new AutoFillReportDto();
+        private final Map<String, DefaultMealSelector> selectorsByPlanCode = new HashMap<>();
+        private final Map<String, Set<String>> eligibleByFingerprint = new HashMap<>();
+        private List<Dish> dishes;
+
+        private Run(LocalDate deliveryDate) {
+            this.deliveryDate = deliveryDate;
+            report.setDeliveryDate(deliveryDate);
+        }
+
+        DefaultMealSelector selector(String planCode) {
+            if (planCode == null) return null;
+            return selectorsByPlanCode.computeIfAbsent(planCode, code -> {
+                MealTemplate template = findTemplate(code);
+                if (template == null) {
+                    log.warn("No meal template found for plan code: {}, its meals cannot be auto-filled", code);
+                    return null;
+                }
+                if (dishes == null) {
+                    dishes = catalogCache.isWarm() ? catalogCache.availableDishes(deliveryDate, null)
+                            : dishRepository.findAvailableOn(deliveryDate);
+                }
+                return DefaultMealSelector.build(template, dishes, deliveryDate);
+            });
+        }
+
+        Set<String> eligibleDishIds(DietPreferenceFilterDto preference) {
+            if (preference == null) return null;
+            var eligibility = dishEligibilityService.fetchEligibleDishes(preference);
+            return eligibleByFingerprint.computeIfAbsent(eligibility.getFingerprint(),
+                    fingerprint -> new HashSet<>(eligibility.getDishIds()));
+        }
+
+        private MealTemplate findTemplate(String planCode) {
+            boolean warm = catalogCache.isWarm();
+            MealPlanType planType = (warm ? catalogCache.findMealPlanType(planCode)
+                    : mealPlanTypeRepository.findByPlanCode(planCode)).orElse(null);
+            if (planType == null || planType.getTemplateId() == null) return null;
+            return (warm ? catalogCache.findMealTemplate(planType.getTemplateId())
+                    : mealTemplateRepository.findById(planType.getTemplateId())).orElse(null);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.foodopia.meal.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.foodopia.meal.dto.MealEventConfirmationDto;
+import com.foodopia.meal.entity.MealCustomization;
+import com.foodopia.meal.service.IMealConfirmationService;
+import com.mongodb.bulk.BulkWriteResult;
+
+import lombok.AllArgsConstructor;
+
+@Service
+@AllArgsConstructor
+public class MealConfirmationServiceImpl implements IMealConfirmationService {
+
+    private static final Logger log = LoggerFactory.getLogger(MealConfirmationServiceImpl.class);
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public int applyConfirmations(ConfirmationSource source, List<MealEventConfirmationDto> confirmations) {
+        // Only the latest confirmation per customization needs to be written
+        Map<String, MealEventConfirmationDto> latest = new LinkedHashMap<>();
+        for (MealEventConfirmationDto confirmation : confirmations) {
+            if (confirmation == null || confirmation.customizationId() == null || confirmation.status() == null) {
+                log.warn("Ignoring incomplete {} confirmation: {}", source, confirmation);
+                continue;
+            }
+            latest.put(confirmation.customizationId(), confirmation);
+        }
+        if (latest.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MealCustomization.class);
+        for (MealEventConfirmationDto confirmation : latest.values()) {
+            bulk.updateOne(Query.query(Criteria.where("_id").is(confirmation.customizationId())),
+                    new Update().set(source.statusField(), confirmation.status()).set("updated_at", now));
+        }
+        BulkWriteResult result = bulk.execute();
+        if (result.getMatchedCount() < latest.size()) {
+            log.warn("{} of {} {} confirmations referenced unknown meal customizations",
+                    latest.size() - result.getMatchedCount(), latest.size(), source);
+        }
+        log.debug("Applied {} {} confirmations from a batch of {}", result.getModifiedCount(), source,
+                confirmations.size());
+        return result.getModifiedCount();
+    }
+}
@@ -0,0 +1,364 @@
+package com.foodopia.meal.service.impl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.foodopia.meal.cache.CatalogCache;
+import com.foodopia.meal.client.SchedulingServiceClient;
+import com.foodopia.meal.client.dto.ScheduledMealClientDto;
+import com.foodopia.meal.dto.CopyCustomizationsRequestDto;
+import com.foodopia.meal.dto.CopyCustomizationsResultDto;
+import com.foodopia.meal.entity.CategoryShare;
+import com.foodopia.meal.entity.Dish;
+import com.foodopia.meal.entity.IngredientAmount;
+import com.foodopia.meal.entity.MealCustomization;
+import com.foodopia.meal.entity.NutritionFacts;
+import com.foodopia.meal.events.MealEventPublisher;
+import com.foodopia.meal.exception.InvalidRequestException;
+import com.foodopia.meal.repository.DishRepository;
+import com.foodopia.meal.service.IMealCustomizationCopyService;
+import com.foodopia.meal.service.IIngredientDemandService;
+import com.foodopia.meal.service.IPricingService;
+import com.foodopia.meal.service.IRevenueAnalyticsService;
+import com.foodopia.meal.service.INutritionRollupService;
+import com.mongodb.DBRef;
+import com.mongodb.bulk.BulkWriteResult;
+
+/**
+ * Copies a user's customizations from one date range to another. The i-th customization of a
+ * source day goes to the i-th scheduled meal (by sequence) of the matching target day. Source and
+ * target are read with one query each and the customizations raw, so dish references are resolved
+ * against the catalog cache in one pass instead of one lookup per dish; new customizations are
+ * written with one bulk insert and replaced ones with one bulk update. A replacement only applies
+ * when the customization is unchanged since it was read, and without overwrite only to
+ * auto-selected ones, so a customer's concurrent edit is never overwritten.
+ */
+@Service
+public class MealCustomizationCopyServiceImpl implements IMealCustomizationCopyService {
+
+    private static final Logger log = LoggerFactory.getLogger(MealCustomizationCopyServiceImpl.class);
+    private static final int MAX_COPY_DAYS = 31;
+    private static final List<String> REPLACED_FIELDS = List.of("meal_template_id", "plan_code", "plan_level",
+            "category_shares", "selected_dishes", "total_cost", "total_price", "nutrition", "ingredient_amounts",
+            "auto_selected", "updated_at");
+
+    private final MongoTemplate mongoTemplate;
+    private final SchedulingServiceClient schedulingServiceClient;
+    private final CatalogCache catalogCache;
+    private final DishRepository dishRepository;
+    private final INutritionRollupService nutritionRollupService;
+    private final IIngredientDemandService ingredientDemandService;
+    private final IRevenueAnalyticsService revenueAnalyticsService;
+    private final IPricingService pricingService;
+    private final MealEventPublisher mealEventPublisher;
+
+    public MealCustomizationCopyServiceImpl(MongoTemplate mongoTemplate,
+                                            SchedulingServiceClient schedulingServiceClient,
+                                            CatalogCache catalogCache,
+                                            DishRepository dishRepository,
+                                            INutritionRollupService nutritionRollupService,
+                                            IIngredientDemandService ingredientDemandService,
+                                            IRevenueAnalyticsService revenueAnalyticsService,
+                                            IPricingService pricingService,
+                                            MealEventPublisher mealEventPublisher) {
+        this.mongoTemplate = mongoTemplate;
+        this.schedulingServiceClient = schedulingServiceClient;
+        this.catalogCache = catalogCache;
+        this.dishRepository = dishRepository;
+        this.nutritionRollupService = nutritionRollupService;
+        this.ingredientDemandService = ingredientDemandService;
+        this.revenueAnalyticsService = revenueAnalyticsService;
+        this.pricingService = pricingService;
+        this.mealEventPublisher = mealEventPublisher;
+    }
+
+    @Override
+    public CopyCustomizationsResultDto copyCustomizations(CopyCustomizationsRequestDto request) {
+        String userId = request.getUserId();
+        long days = ChronoUnit.DAYS.between(request.getSourceFrom(), request.getSourceTo());
+        if (days < 0) {
+            throw new InvalidRequestException("Source end date must not be before the source start date");
+        }
+        if (days >= MAX_COPY_DAYS) {
+            throw new InvalidRequestException("At most " + MAX_COPY_DAYS + " days can be copied at once");
+        }
+        LocalDate targetFrom = request.getTargetFrom();
+        LocalDate targetTo = targetFrom.plusDays(days);
+        if (!targetFrom.isAfter(request.getSourceTo()) && !targetTo.isBefore(request.getSourceFrom())) {
+            throw new InvalidRequestException("Source and target date ranges must not overlap");
+        }
+        long offset = ChronoUnit.DAYS.between(request.getSourceFrom(), targetFrom);
+        log.debug("Copying meal customizations of user id: {} from {} - {} to {} - {}",
+                userId, request.getSourceFrom(), request.getSourceTo(), targetFrom, targetTo);
+
+        CopyCustomizationsResultDto result = new CopyCustomizationsResultDto();
+        result.setUserId(userId);
+        result.setTargetFrom(targetFrom);
+        result.setTargetTo(targetTo);
+
+        String collection = mongoTemplate.getCollectionName(MealCustomization.class);
+        Query sourceQuery = Query.query(Criteria.where("user_id").is(userId)
+                        .and("delivery_date").gte(toDate(request.getSourceFrom())).lte(toDate(request.getSourceTo())))
+                .with(Sort.by("delivery_date", "created_at", "_id"));
+        sourceQuery.fields().include("delivery_date", "meal_template_id", "selected_dishes");
+        List<Document> sources = mongoTemplate.find(sourceQuery, Document.class, collection);
+        if (sources.isEmpty()) return result;
+
+        Map<LocalDate, Deque<ScheduledMealClientDto>> scheduledMealsByDate = findScheduledMeals(userId, targetFrom, targetTo);
+        List<String> targetMealIds = scheduledMealsByDate.values().stream().flatMap(Deque::stream)
+                .map(ScheduledMealClientDto::getId).toList();
+        Map<String, Document> existingByMeal = new HashMap<>();
+        if (!targetMealIds.isEmpty()) {
+            Query existingQuery = Query.query(Criteria.where("scheduled_meal_id").in(targetMealIds));
+            existingQuery.fields().include("scheduled_meal_id", "auto_selected", "meal_template_id", "selected_dishes",
+                    "total_cost", "total_price", "nutrition", "ingredient_amounts", "category_shares", "updated_at");
+            for (Document existing : mongoTemplate.find(existingQuery, Document.class, collection)) {
+                existingByMeal.put(existing.getString("scheduled_meal_id"), existing);
+            }
+        }
+
+        Set<String> dishIds = new HashSet<>();
+        sources.forEach(source -> dishIds.addAll(dishIds(source)));
+        existingByMeal.values().forEach(existing -> dishIds.addAll(dishIds(existing)));
+        Map<String, Dish> dishes = findDishes(dishIds);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<MealCustomization> inserts = new ArrayList<>();
+        List<Replacement> replacements = new ArrayList<>();
+        for (Document source : sources) {
+            LocalDate targetDate = toLocalDate(source.getDate("delivery_date")).plusDays(offset);
+            Deque<ScheduledMealClientDto> scheduledMeals = scheduledMealsByDate.get(targetDate);
+            ScheduledMealClientDto scheduledMeal = scheduledMeals != null ? scheduledMeals.poll() : null;
+            if (scheduledMeal == null) {
+                result.setUnmatched(result.getUnmatched() + 1);
+                continue;
+            }
+            String scheduledMealId = scheduledMeal.getId();
+            Document existing = existingByMeal.get(scheduledMealId);
+            if (existing != null && !request.isOverwrite() && !existing.getBoolean("auto_selected", false)) {
+                result.setSkippedExisting(result.getSkippedExisting() + 1);
+                continue;
+            }
+            List<Dish> selected = availableDishes(dishIds(source), dishes, targetDate);
+            if (selected == null) {
+                result.setSkippedUnavailable(result.getSkippedUnavailable() + 1);
+                continue;
+            }
+
+            MealCustomization customization = MealCustomization.builder()
+                    .scheduledMealId(scheduledMealId)
+                    .userId(userId)
+                    .deliveryDate(targetDate)
+                    .mealTemplateId(source.getString("meal_template_id"))
+                    .planCode(scheduledMeal.getPlanCode())
+                    .planLevel(scheduledMeal.getPlanLevel())
+                    .selectedDishes(selected)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+            customization.setTotalCost(customization.calculateCost());
+            customization.setNutrition(customization.calculateNutrition());
+            customization.setIngredientAmounts(customization.calculateIngredientAmounts());
+            customization.setCategoryShares(customization.calculateCategoryShares());
+            if (existing == null) {
+                inserts.add(customization);
+                continue;
+            }
+            customization.setId(existing.get("_id").toString());
+            Document previousNutrition = existing.get("nutrition", Document.class);
+            MealCustomization previous = MealCustomization.builder()
+                    .deliveryDate(targetDate)
+                    .mealTemplateId(existing.getString("meal_template_id"))
+                    .selectedDishes(availableDishes(dishIds(existing), dishes, null))
+                    .ingredientAmounts(ingredientAmounts(existing))
+                    .categoryShares(categoryShares(existing))
+                    .totalCost(number(existing.get("total_cost")))
+                    .totalPrice(number(existing.get("total_price")))
+                    .build();
+            replacements.add(new Replacement(existing.get("_id"), existing.get("updated_at"), customization, previous,
+                    previousNutrition != null ? mongoTemplate.getConverter().read(NutritionFacts.class, previousNutrition) : null));
+        }
+        List<MealCustomization> priced = new ArrayList<>(inserts);
+        replacements.forEach(replacement -> priced.add(replacement.customization()));
+        pricingService.applyPrices(priced);
+
+        List<MealCustomization> inserted = CustomizationBulkWriter.insertNew(mongoTemplate, inserts);
+        // A customization created for the target meal in the meantime is kept
+        result.setCreated(inserted.size());
+        result.setSkippedExisting(result.getSkippedExisting() + inserts.size() - inserted.size());
+        List<Replacement> replaced = replace(replacements, request.isOverwrite());
+        result.setReplaced(replaced.size());
+        // The others changed since they were read, a concurrent edit is kept
+        result.setSkippedExisting(result.getSkippedExisting() + replacements.size() - replaced.size());
+
+        // The writes are stored: a rollup that fails to follow is repaired, the events still go out
+        RollupUpdates.apply("nutrition", () -> nutritionRollupService.recordNewCustomizations(inserted));
+        RollupUpdates.apply("ingredient demand", () -> ingredientDemandService.recordNewCustomizations(inserted));
+        RollupUpdates.apply("revenue", () -> revenueAnalyticsService.recordNewCustomizations(inserted));
+        for (MealCustomization customization : inserted) {
+            mealEventPublisher.customizationChanged(customization, List.of(), true);
+        }
+        for (Replacement replacement : replaced) {
+            MealCustomization customization = replacement.customization();
+            RollupUpdates.apply("nutrition", () -> nutritionRollupService.recordCustomizationChange(userId,
+                    customization.getDeliveryDate(), replacement.previousNutrition(), customization.getNutrition(), false));
+            RollupUpdates.apply("ingredient demand",
+                    () -> ingredientDemandService.recordCustomizationChange(replacement.previous(), customization));
+            RollupUpdates.apply("revenue",
+                    () -> revenueAnalyticsService.recordCustomizationChange(replacement.previous(), customization));
+            mealEventPublisher.customizationChanged(customization, replacement.previous().getSelectedDishes(), false);
+        }
+        log.debug("Copied meal customizations of user id: {} to {} - {}: {} created, {} replaced, {} kept, {} unavailable, {} unmatched",
+                userId, targetFrom, targetTo, result.getCreated(), result.getReplaced(), result.getSkippedExisting(),
+                result.getSkippedUnavailable(), result.getUnmatched());
+        return result;
+    }
+
+    /**
+     * Scheduled meals of the user per target date, in sequence order
+     */
+    private Map<LocalDate, Deque<ScheduledMealClientDto>> findScheduledMeals(String userId, LocalDate from, LocalDate to) {
+        Map<LocalDate, Deque<ScheduledMealClientDto>> byDate = new HashMap<>();
+        for (ScheduledMealClientDto scheduledMeal : schedulingServiceClient.fetchUserScheduledMeals(userId, from, to)) {
+            byDate.computeIfAbsent(scheduledMeal.getDeliveryDate(), date -> new ArrayDeque<>())
+                    .add(scheduledMeal);
+        }
+        return byDate;
+    }
+
+    private Map<String, Dish> findDishes(Set<String> dishIds) {
+        Map<String, Dish> dishes = new HashMap<>();
+        if (catalogCache.isWarm()) {
+            for (String dishId : dishIds) {
+                catalogCache.findDish(dishId).ifPresent(dish -> dishes.put(dishId, dish));
+            }
+        } else if (!dishIds.isEmpty()) {
+            dishRepository.findAllById(dishIds).forEach(dish -> dishes.put(dish.getId(), dish));
+        }
+        return dishes;
+    }
+
+    /**
+     * The dishes in order, or null when one is gone or, given a date, not available on it
+     */
+    private static List<Dish> availableDishes(List<String> dishIds, Map<String, Dish> dishes, LocalDate date) {
+        List<Dish> selected = new ArrayList<>(dishIds.size());
+        for (String dishId : dishIds) {
+            Dish dish = dishes.get(dishId);
+            if (dish == null) {
+                if (date != null) return null;
+                continue;
+            }
+            if (date != null && !dish.isAvailableOn(date)) return null;
+            selected.add(dish);
+        }
+        return date != null && selected.isEmpty() ? null : selected;
+    }
+
+    /**
+     * Replace each customization still as it was read, and without overwrite still auto-selected
+     * @return The replacements applied
+     */
+    private List<Replacement> replace(List<Replacement> replacements, boolean overwrite) {
+        if (replacements.isEmpty()) return replacements;
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MealCustomization.class);
+        for (Replacement replacement : replacements) {
+            Document written = new Document();
+            mongoTemplate.getConverter().write(replacement.customization(), written);
+            Update update = new Update();
+            REPLACED_FIELDS.forEach(field -> update.set(field, written.get(field)));
+            Criteria unchanged = Criteria.where("_id").is(replacement.id()).and("updated_at").is(replacement.updatedAt());
+            if (!overwrite) unchanged.and("auto_selected").is(true);
+            bulkOps.updateOne(Query.query(unchanged), update);
+        }
+        BulkWriteResult bulkResult = bulkOps.execute();
+        if (bulkResult.getMatchedCount() == replacements.size()) return replacements;
+
+        // Some were changed concurrently: the applied ones carry this run's updated_at
+        Map<Object, Replacement> byId = new HashMap<>();
+        replacements.forEach(replacement -> byId.put(replacement.id(), replacement));
+        Query applied = Query.query(Criteria.where("_id").in(byId.keySet())
+                .and("updated_at").is(replacements.get(0).customization().getUpdatedAt()));
+        applied.fields().include("_id");
+        List<Replacement> replaced = new ArrayList<>();
+        for (Document document : mongoTemplate.find(applied, Document.class, mongoTemplate.getCollectionName(MealCustomization.class))) {
+            replaced.add(byId.get(document.get("_id")));
+        }
+        return replaced;
+    }
+
+    private static List<String> dishIds(Document customization) {
+        List<Object> references = customization.getList("selected_dishes", Object.class, List.of());
+        List<String> ids = new ArrayList<>(references.size());
+        for (Object reference : references) {
+            ids.add((reference instanceof DBRef dbRef ? dbRef.getId() : reference).toString());
+        }
+        return ids;
+    }
+
+    /**
+     * The ingredient amounts stored with a customization, null for one stored before they were
+     */
+    private List<IngredientAmount> ingredientAmounts(Document customization) {
+        List<Document> stored = customization.getList("ingredient_amounts", Document.class);
+        if (stored == null) return null;
+        List<IngredientAmount> amounts = new ArrayList<>(stored.size());
+        for (Document amount : stored) {
+            amounts.add(mongoTemplate.getConverter().read(IngredientAmount.class, amount));
+        }
+        return amounts;
+    }
+
+    /**
+     * The category shares stored with a customization, null for one stored before they were
+     */
+    private List<CategoryShare> categoryShares(Document customization) {
+        List<Document> stored = customization.getList("category_shares", Document.class);
+        if (stored == null) return null;
+        List<CategoryShare> shares = new ArrayList<>(stored.size());
+        for (Document share : stored) {
+            shares.add(mongoTemplate.getConverter().read(CategoryShare.class, share));
+        }
+        return shares;
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number number ? number.doubleValue() : 0;
+    }
+
+    // LocalDate is stored as midnight in the default time zone
+    private static Date toDate(LocalDate date) {
+        return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    // previous holds the date, template, dishes and totals stored before the replacement, updatedAt its stored value
+    private record Replacement(Object id, Object updatedAt, MealCustomization customization, MealCustomization previous,
+                               NutritionFacts previousNutrition) {
+    }
+}
@@ -2,21 +2,35 @@ package com.foodopia.meal.service.impl;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import com.foodopia.meal.cache.CatalogCache;
 import com.foodopia.meal.dto.MealCustomizationDto;
+import com.foodopia.meal.dto.NutritionFactsDto;
 import com.foodopia.meal.entity.Dish;
 import com.foodopia.meal.entity.MealCustomization;
+import com.foodopia.meal.entity.NutritionFacts;
+import com.foodopia.meal.events.MealEventPublisher;
+import com.foodopia.meal.exception.DishUnavailableException;
 import com.foodopia.meal.exception.ResourceAlreadyExistsException;
 import com.foodopia.meal.exception.ResourceNotFoundException;
 import com.foodopia.meal.repository.DishRepository;
+import com.foodopia.meal.mapper.NutritionMapper;
 import com.foodopia.meal.repository.MealCustomizationRepository;
+import com.foodopia.meal.service.IIngredientDemandService;
+import com.foodopia.meal.service.IPricingService;
+import com.foodopia.meal.service.IRevenueAnalyticsService;
 import com.foodopia.meal.service.IMealCustomizationService;
+import com.foodopia.meal.service.INutritionRollupService;
 
 import lombok.AllArgsConstructor;
 
@@ -27,6 +41,12 @@ public class MealCustomizationServiceImpl implements IMealCustomizationService {
     private static final Logger log = LoggerFactory.getLogger(MealCustomizationServiceImpl.class);
     private MealCustomizationRepository customizationRepository;
     private DishRepository dishRepository;
+    private CatalogCache catalogCache;
+    private INutritionRollupService nutritionRollupService;
+    private IIngredientDemandService ingredientDemandService;
+    private IRevenueAnalyticsService revenueAnalyticsService;
+    private IPricingService pricingService;
+    private MealEventPublisher mealEventPublisher;
 
     @Override
     public void createCustomization(MealCustomizationDto customizationDto) {
@@ -41,19 +61,15 @@ public class MealCustomizationServiceImpl implements IMealCustomizationService {
         }
 
         // Fetch selected dishes
-        List<Dish> dishes = customizationDto.getSelectedDishIds().stream()
-                .map(id -> dishRepository.findById(id)
-                        .orElseThrow(() -> {
-                            log.error("Dish not found during customization creation with id: {}", id);
-                            return new ResourceNotFoundException("Dish", "id", id);
-                        }))
-                .collect(Collectors.toList());
+        List<Dish> dishes = resolveAvailableDishes(customizationDto.getSelectedDishIds(), customizationDto.getDeliveryDate());
 
         MealCustomization customization = MealCustomization.builder()
                 .scheduledMealId(customizationDto.getScheduledMealId())
                 .userId(customizationDto.getUserId())
                 .deliveryDate(customizationDto.getDeliveryDate())
                 .mealTemplateId(customizationDto.getMealTemplateId())
+                .planCode(customizationDto.getPlanCode())
+                .planLevel(customizationDto.getPlanLevel())
                 .selectedDishes(dishes)
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
@@ -61,9 +77,18 @@ public class MealCustomizationServiceImpl implements IMealCustomizationService {
 
         // Calculate costs
         customization.setTotalCost(customization.calculateCost());
-        customization.setTotalPrice(customization.calculatePrice(0.3)); // 30% markup
+        customization.setTotalPrice(pricingService.priceOf(customization));
+        customization.setNutrition(customization.calculateNutrition());
+        customization.setIngredientAmounts(customization.calculateIngredientAmounts());
+        customization.setCategoryShares(customization.calculateCategoryShares());
 
         customizationRepository.save(customization);
+        // The customization is stored: a rollup that fails to follow is repaired, not the write failed
+        RollupUpdates.apply("nutrition", () -> nutritionRollupService.recordCustomizationChange(customization.getUserId(),
+                customization.getDeliveryDate(), null, customization.getNutrition(), true));
+        RollupUpdates.apply("ingredient demand", () -> ingredientDemandService.recordCustomizationChange(null, customization));
+        RollupUpdates.apply("revenue", () -> revenueAnalyticsService.recordCustomizationChange(null, customization));
+        mealEventPublisher.customizationChanged(customization, List.of(), true);
         log.debug("Successfully created meal customization with id: {} for scheduled meal: {}, total cost: {}, total price: {}", 
                 customization.getId(), customizationDto.getScheduledMealId(), 
                 customization.getTotalCost(), customization.getTotalPrice());
@@ -115,27 +140,75 @@ public class MealCustomizationServiceImpl implements IMealCustomizationService {
                 });
 
         // Fetch updated dishes
-        List<Dish> dishes = customizationDto.getSelectedDishIds().stream()
-                .map(id -> dishRepository.findById(id)
-                        .orElseThrow(() -> {
-                            log.error("Dish not found during customization update with id: {}", id);
-                            return new ResourceNotFoundException("Dish", "id", id);
-                        }))
-                .collect(Collectors.toList());
-
+        List<Dish> dishes = resolveAvailableDishes(customizationDto.getSelectedDishIds(), customization.getDeliveryDate());
+
+        List<Dish> previousDishes = customization.getSelectedDishes();
+        MealCustomization previous = MealCustomization.builder()
+                .deliveryDate(customization.getDeliveryDate())
+                .mealTemplateId(customization.getMealTemplateId())
+                .selectedDishes(previousDishes)
+                .ingredientAmounts(customization.getIngredientAmounts())
+                .categoryShares(customization.getCategoryShares())
+                .totalCost(customization.getTotalCost())
+                .totalPrice(customization.getTotalPrice())
+                .build();
         customization.setSelectedDishes(dishes);
+        customization.setAutoSelected(false);
         customization.setUpdatedAt(LocalDateTime.now());
 
         // Recalculate costs
         customization.setTotalCost(customization.calculateCost());
-        customization.setTotalPrice(customization.calculatePrice(0.3));
+        customization.setTotalPrice(pricingService.priceOf(customization));
+        NutritionFacts previousNutrition = customization.getNutrition();
+        customization.setNutrition(customization.calculateNutrition());
+        customization.setIngredientAmounts(customization.calculateIngredientAmounts());
+        customization.setCategoryShares(customization.calculateCategoryShares());
 
         customizationRepository.save(customization);
+        RollupUpdates.apply("nutrition", () -> nutritionRollupService.recordCustomizationChange(customization.getUserId(),
+                customization.getDeliveryDate(), previousNutrition, customization.getNutrition(), false));
+        RollupUpdates.apply("ingredient demand", () -> ingredientDemandService.recordCustomizationChange(previous, customization));
+        RollupUpdates.apply("revenue", () -> revenueAnalyticsService.recordCustomizationChange(previous, customization));
+        mealEventPublisher.customizationChanged(customization,
+                previousDishes != null ? previousDishes : List.of(), false);
         log.debug("Successfully updated meal customization with id: {}, new total cost: {}, new total price: {}", 
                 customizationDto.getId(), customization.getTotalCost(), customization.getTotalPrice());
         return true;
     }
 
+    /**
+     * Resolve the selected dishes in one pass - from the catalog cache when warm, otherwise with a
+     * single query - and reject any that is unknown or not available on the delivery date
+     */
+    private List<Dish> resolveAvailableDishes(List<String> dishIds, LocalDate deliveryDate) {
+        if (dishIds == null || dishIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<String, Dish> dishesById = new HashMap<>();
+        if (catalogCache.isWarm()) {
+            for (String id : dishIds) {
+                catalogCache.findDish(id).ifPresent(dish -> dishesById.put(id, dish));
+            }
+        } else {
+            dishRepository.findAllById(new HashSet<>(dishIds)).forEach(dish -> dishesById.put(dish.getId(), dish));
+        }
+
+        List<Dish> dishes = new ArrayList<>(dishIds.size());
+        for (String id : dishIds) {
+            Dish dish = dishesById.get(id);
+            if (dish == null) {
+                log.error("Dish not found during customization with id: {}", id);
+                throw new ResourceNotFoundException("Dish", "id", id);
+            }
+            if (deliveryDate != null && !dish.isAvailableOn(deliveryDate)) {
+                log.warn("Dish with id: {} is not available on delivery date: {}", id, deliveryDate);
+                throw new DishUnavailableException(id, deliveryDate);
+            }
+            dishes.add(dish);
+        }
+        return dishes;
+    }
+
     // Helper method to map entity to DTO
     private MealCustomizationDto mapToDto(MealCustomization customization) {
         MealCustomizationDto dto = new MealCustomizationDto();
@@ -144,11 +217,18 @@ public class MealCustomizationServiceImpl implements IMealCustomizationService {
         dto.setUserId(customization.getUserId());
         dto.setDeliveryDate(customization.getDeliveryDate());
         dto.setMealTemplateId(customization.getMealTemplateId());
+        dto.setPlanCode(customization.getPlanCode());
+        dto.setPlanLevel(customization.getPlanLevel());
         dto.setSelectedDishIds(customization.getSelectedDishes().stream()
                 .map(Dish::getId)
                 .collect(Collectors.toList()));
         dto.setTotalCost(customization.getTotalCost());
         dto.setTotalPrice(customization.getTotalPrice());
+        dto.setNutrition(NutritionMapper.mapToDto(customization.getNutrition(), new NutritionFactsDto()));
+        dto.setCustomizationStatus(customization.getCustomizationStatus());
+        dto.setPreparationStatus(customization.getPreparationStatus());
+        dto.setDeliveryStatus(customization.getDeliveryStatus());
+        dto.setAutoSelected(customization.isAutoSelected());
         return dto;
     }
 }
\ No newline at end of file
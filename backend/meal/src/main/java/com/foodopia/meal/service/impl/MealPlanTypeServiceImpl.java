@@ -1,7 +1,10 @@
 package com.foodopia.meal.service.impl;
 
+import com.foodopia.meal.cache.CatalogCache;
+import com.foodopia.meal.dto.CatalogChangeEventDto;
 import com.foodopia.meal.dto.MealPlanTypeDto;
 import com.foodopia.meal.entity.MealPlanType;
+import com.foodopia.meal.events.MealEventPublisher;
 import com.foodopia.meal.exception.ResourceAlreadyExistsException;
 import com.foodopia.meal.exception.ResourceNotFoundException;
 import com.foodopia.meal.mapper.MealPlanTypeMapper;
@@ -24,6 +27,8 @@ public class MealPlanTypeServiceImpl implements IMealPlanTypeService {
 
     private MealPlanTypeRepository mealPlanTypeRepository;
     private MealTemplateRepository mealTemplateRepository;
+    private CatalogCache catalogCache;
+    private MealEventPublisher mealEventPublisher;
 
     @Override
     public void createMealPlanType(MealPlanTypeDto mealPlanTypeDto) {
@@ -38,6 +43,8 @@ public class MealPlanTypeServiceImpl implements IMealPlanTypeService {
 
         MealPlanType mealPlanType = MealPlanTypeMapper.mapToEntity(mealPlanTypeDto, new MealPlanType());
         mealPlanTypeRepository.save(mealPlanType);
+        catalogCache.putMealPlanType(mealPlanType);
+        mealEventPublisher.catalogChanged(CatalogChangeEventDto.MEAL_PLAN_TYPES, mealPlanType.getPlanCode());
         log.debug("Successfully created meal plan type with planCode: {}", mealPlanType.getPlanCode());
     }
 
@@ -51,7 +58,10 @@ public class MealPlanTypeServiceImpl implements IMealPlanTypeService {
     @Override
     public List<MealPlanTypeDto> fetchAllActiveMealPlanTypes() {
         log.debug("Fetching all active meal plan types");
-        return mealPlanTypeRepository.findByIsActiveTrue().stream()
+        List<MealPlanType> planTypes = catalogCache.isWarm()
+                ? catalogCache.mealPlanTypes().stream().filter(MealPlanType::isActive).collect(Collectors.toList())
+                : mealPlanTypeRepository.findByIsActiveTrue();
+        return planTypes.stream()
                 .map(planType -> MealPlanTypeMapper.mapToDto(planType, new MealPlanTypeDto()))
                 .collect(Collectors.toList());
     }
@@ -59,7 +69,9 @@ public class MealPlanTypeServiceImpl implements IMealPlanTypeService {
     @Override
     public boolean updateMealPlanType(String planCode, MealPlanTypeDto mealPlanTypeDto) {
         log.debug("Updating meal plan type with planCode: {}", planCode);
-        MealPlanType mealPlanType = findByPlanCode(planCode);
+        // Read from the database so the cached instance is only replaced after a successful save
+        MealPlanType mealPlanType = mealPlanTypeRepository.findByPlanCode(planCode)
+                .orElseThrow(() -> new ResourceNotFoundException("MealPlanType", "planCode", planCode));
 
         if (mealPlanTypeDto.getTemplateId() != null) {
             validateTemplateExists(mealPlanTypeDto.getTemplateId());
@@ -77,11 +89,13 @@ public class MealPlanTypeServiceImpl implements IMealPlanTypeService {
         mealPlanType.setActive(mealPlanTypeDto.isActive());
 
         mealPlanTypeRepository.save(mealPlanType);
+        catalogCache.putMealPlanType(mealPlanType);
+        mealEventPublisher.catalogChanged(CatalogChangeEventDto.MEAL_PLAN_TYPES, mealPlanType.getPlanCode());
         return true;
     }
 
     private MealPlanType findByPlanCode(String planCode) {
-        return mealPlanTypeRepository.findByPlanCode(planCode)
+        return (catalogCache.isWarm() ? catalogCache.findMealPlanType(planCode) : mealPlanTypeRepository.findByPlanCode(planCode))
                 .orElseThrow(() -> new ResourceNotFoundException("MealPlanType", "planCode", planCode));
     }
 
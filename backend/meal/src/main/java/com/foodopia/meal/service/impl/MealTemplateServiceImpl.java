@@ -7,9 +7,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import com.foodopia.meal.cache.CatalogCache;
+import com.foodopia.meal.dto.CatalogChangeEventDto;
 import com.foodopia.meal.dto.MealTemplateDto;
 import com.foodopia.meal.entity.Dish;
 import com.foodopia.meal.entity.MealTemplate;
+import com.foodopia.meal.events.MealEventPublisher;
 import com.foodopia.meal.exception.ResourceAlreadyExistsException;
 import com.foodopia.meal.exception.ResourceNotFoundException;
 import com.foodopia.meal.mapper.MealTemplateMapper;
@@ -26,6 +29,8 @@ public class MealTemplateServiceImpl implements IMealTemplateService {
     private static final Logger log = LoggerFactory.getLogger(MealTemplateServiceImpl.class);
     private MealTemplateRepository mealTemplateRepository;
     private DishRepository dishRepository;
+    private CatalogCache catalogCache;
+    private MealEventPublisher mealEventPublisher;
 
     @Override
     public void createMealTemplate(MealTemplateDto mealTemplateDto) {
@@ -40,13 +45,15 @@ public class MealTemplateServiceImpl implements IMealTemplateService {
         MealTemplate mealTemplate = MealTemplateMapper.mapToMealTemplate(
                 mealTemplateDto, new MealTemplate());
         mealTemplateRepository.save(mealTemplate);
+        catalogCache.putMealTemplate(mealTemplate);
+        mealEventPublisher.catalogChanged(CatalogChangeEventDto.MEAL_TEMPLATES, mealTemplate.getId());
         log.debug("Successfully created meal template with id: {} and name: {}", mealTemplate.getId(), mealTemplate.getName());
     }
 
     @Override
     public MealTemplateDto fetchMealTemplate(String id) {
         log.debug("Fetching meal template with id: {}", id);
-        MealTemplate mealTemplate = mealTemplateRepository.findById(id)
+        MealTemplate mealTemplate = (catalogCache.isWarm() ? catalogCache.findMealTemplate(id) : mealTemplateRepository.findById(id))
                 .orElseThrow(() -> {
                     log.error("Meal template not found with id: {}", id);
                     return new ResourceNotFoundException("MealTemplate", "id", id);
@@ -59,7 +66,7 @@ public class MealTemplateServiceImpl implements IMealTemplateService {
     @Override
     public List<MealTemplateDto> fetchAllMealTemplates() {
         log.debug("Fetching all meal templates");
-        List<MealTemplate> templates = mealTemplateRepository.findAll();
+        List<MealTemplate> templates = catalogCache.isWarm() ? catalogCache.mealTemplates() : mealTemplateRepository.findAll();
         log.debug("Found {} meal templates", templates.size());
         return templates.stream()
                 .map(template -> MealTemplateMapper.mapToMealTemplateDto(template, new MealTemplateDto()))
@@ -69,7 +76,7 @@ public class MealTemplateServiceImpl implements IMealTemplateService {
     @Override
     public boolean validateDishSelection(String templateId, List<String> dishIds) {
         log.debug("Validating dish selection for template id: {} with {} dishes", templateId, dishIds.size());
-        MealTemplate template = mealTemplateRepository.findById(templateId)
+        MealTemplate template = (catalogCache.isWarm() ? catalogCache.findMealTemplate(templateId) : mealTemplateRepository.findById(templateId))
                 .orElseThrow(() -> {
                     log.error("Meal template not found for validation with id: {}", templateId);
                     return new ResourceNotFoundException("MealTemplate", "id", templateId);
@@ -77,7 +84,7 @@ public class MealTemplateServiceImpl implements IMealTemplateService {
 
         // Fetch selected dishes
         List<Dish> dishes = dishIds.stream()
-                .map(id -> dishRepository.findById(id)
+                .map(id -> (catalogCache.isWarm() ? catalogCache.findDish(id) : dishRepository.findById(id))
                         .orElseThrow(() -> {
                             log.error("Dish not found during validation with id: {}", id);
                             return new ResourceNotFoundException("Dish", "id", id);
@@ -0,0 +1,463 @@
+package com.foodopia.meal.service.impl;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.GroupOperation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.foodopia.meal.cache.CatalogCache;
+import com.foodopia.meal.dto.NutritionFactsDto;
+import com.foodopia.meal.dto.NutritionRebuildReportDto;
+import com.foodopia.meal.dto.NutritionRollupDto;
+import com.foodopia.meal.entity.Dish;
+import com.foodopia.meal.entity.MealCustomization;
+import com.foodopia.meal.entity.NutritionFacts;
+import com.foodopia.meal.entity.RollupType;
+import com.foodopia.meal.entity.WeeklyNutritionSummary;
+import com.foodopia.meal.exception.InvalidRequestException;
+import com.foodopia.meal.mapper.NutritionMapper;
+import com.foodopia.meal.repository.DishRepository;
+import com.foodopia.meal.repository.WeeklyNutritionSummaryRepository;
+import com.foodopia.meal.service.INutritionRollupService;
+import com.mongodb.DBRef;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Nutrition totals of the customizations. Weekly summaries are kept up to date with $inc deltas on
+ * every customization write, but only trusted while complete and not stale: a week without a
+ * summary, with one created by an increment (it may predate this summary and so lack older
+ * customizations) or with one whose increment failed is recomputed from the customizations, and the
+ * summary is replaced with the result. Reads therefore always agree with the per-range aggregation.
+ * A recompute only stores weeks without recent changes, whose increments cannot still be in flight.
+ * When not even marking a week stale succeeds, a rollup repair is recorded for RollupRepairJob.
+ */
+@Service
+public class NutritionRollupServiceImpl implements INutritionRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(NutritionRollupServiceImpl.class);
+    // Ranges up to a year get empty weeks stored too, so later reads find every week summarized
+    private static final int MAX_STORED_WEEKS = 53;
+    private static final int MAX_REBUILD_DAYS = 366;
+    private static final int BACKFILL_BATCH_SIZE = 500;
+    private final MongoTemplate mongoTemplate;
+    private final WeeklyNutritionSummaryRepository weeklyNutritionSummaryRepository;
+    private final CatalogCache catalogCache;
+    private final DishRepository dishRepository;
+    private final RollupRepairs rollupRepairs;
+
+    public NutritionRollupServiceImpl(MongoTemplate mongoTemplate,
+                                      WeeklyNutritionSummaryRepository weeklyNutritionSummaryRepository,
+                                      CatalogCache catalogCache,
+                                      DishRepository dishRepository,
+                                      RollupRepairs rollupRepairs) {
+        this.mongoTemplate = mongoTemplate;
+        this.weeklyNutritionSummaryRepository = weeklyNutritionSummaryRepository;
+        this.catalogCache = catalogCache;
+        this.dishRepository = dishRepository;
+        this.rollupRepairs = rollupRepairs;
+    }
+
+    @Override
+    public NutritionRollupDto fetchTotalNutrition(String userId, LocalDate from, LocalDate to) {
+        log.debug("Fetching total nutrition for user id: {} from {} to {}", userId, from, to);
+        // Whole weeks are answered from the weekly summaries without touching customizations
+        if (from.getDayOfWeek() == DayOfWeek.MONDAY && to.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            List<NutritionRollupDto> weeks = fetchWeeklyNutrition(userId, from, to);
+            NutritionFacts total = NutritionFacts.zero();
+            int mealCount = 0;
+            for (NutritionRollupDto week : weeks) {
+                total.addScaled(NutritionMapper.mapToEntity(week.getNutrition(), new NutritionFacts()), 1.0);
+                mealCount += week.getMealCount();
+            }
+            return new NutritionRollupDto(userId, from, to, mealCount,
+                    NutritionMapper.mapToDto(total, new NutritionFactsDto()));
+        }
+
+        List<NutritionAggregate> results = aggregate(userId, from, to, Aggregation.group());
+        if (results.isEmpty()) {
+            return new NutritionRollupDto(userId, from, to, 0,
+                    NutritionMapper.mapToDto(NutritionFacts.zero(), new NutritionFactsDto()));
+        }
+        return toRollup(userId, from, to, results.get(0));
+    }
+
+    @Override
+    public List<NutritionRollupDto> fetchDailyNutrition(String userId, LocalDate from, LocalDate to) {
+        log.debug("Fetching daily nutrition for user id: {} from {} to {}", userId, from, to);
+        List<NutritionAggregate> results = aggregate(userId, from, to, Aggregation.group("deliveryDate"));
+        log.debug("Found nutrition for {} days for user id: {}", results.size(), userId);
+        return results.stream()
+                .map(day -> toRollup(userId, day.getDay(), day.getDay(), day))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<NutritionRollupDto> fetchWeeklyNutrition(String userId, LocalDate from, LocalDate to) {
+        log.debug("Fetching weekly nutrition for user id: {} from {} to {}", userId, from, to);
+        LocalDate firstWeek = weekStart(from);
+        LocalDate lastWeek = weekStart(to);
+        List<WeeklyNutritionSummary> summaries = weeklyNutritionSummaryRepository
+                .findByUserIdAndWeekStartBetweenOrderByWeekStartAsc(userId, firstWeek, lastWeek);
+        long weeks = ChronoUnit.WEEKS.between(firstWeek, lastWeek) + 1;
+        if (summaries.size() != weeks || summaries.stream().anyMatch(WeeklyNutritionSummary::isStale)) {
+            summaries = recomputeWeeks(userId, firstWeek, lastWeek, summaries);
+        }
+        return summaries.stream()
+                .filter(summary -> summary.getMealCount() > 0)
+                .map(summary -> new NutritionRollupDto(userId, summary.getWeekStart(),
+                        summary.getWeekStart().plusDays(6), summary.getMealCount(),
+                        NutritionMapper.mapToDto(summary.getNutrition(), new NutritionFactsDto())))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void recordCustomizationChange(String userId, LocalDate deliveryDate,
+                                          NutritionFacts previous, NutritionFacts current, boolean created) {
+        if (userId == null || deliveryDate == null) {
+            return;
+        }
+        LocalDate weekStart = weekStart(deliveryDate);
+        if (!created && previous == null) {
+            // Saved before nutrition was stored, so what its week counted for it is unknown
+            markStale(userId, List.of(weekStart));
+            return;
+        }
+        NutritionFacts delta = NutritionFacts.zero()
+                .addScaled(current, 1.0)
+                .addScaled(previous, -1.0);
+        try {
+            mongoTemplate.upsert(weekQuery(userId, weekStart),
+                    increment(created ? 1 : 0, delta, LocalDateTime.now()), WeeklyNutritionSummary.class);
+            log.debug("Updated weekly nutrition summary for user id: {} and week: {}", userId, weekStart);
+        } catch (Exception e) {
+            log.warn("Failed to update weekly nutrition summary for user id: {} and week: {}", userId, weekStart, e);
+            markStale(userId, List.of(weekStart));
+        }
+    }
+
+    @Override
+    public void recordNewCustomizations(Collection<MealCustomization> customizations) {
+        Map<String, WeekDelta> deltas = new HashMap<>();
+        for (MealCustomization customization : customizations) {
+            if (customization.getUserId() == null || customization.getDeliveryDate() == null) {
+                continue;
+            }
+            LocalDate weekStart = weekStart(customization.getDeliveryDate());
+            WeekDelta delta = deltas.computeIfAbsent(customization.getUserId() + "|" + weekStart,
+                    key -> new WeekDelta(customization.getUserId(), weekStart, NutritionFacts.zero()));
+            delta.meals++;
+            delta.nutrition.addScaled(customization.getNutrition(), 1.0);
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, WeeklyNutritionSummary.class);
+        for (WeekDelta delta : deltas.values()) {
+            bulk.upsert(weekQuery(delta.userId, delta.weekStart), increment(delta.meals, delta.nutrition, now));
+        }
+        try {
+            bulk.execute();
+            log.debug("Updated {} weekly nutrition summaries for {} new customizations",
+                    deltas.size(), customizations.size());
+        } catch (Exception e) {
+            log.warn("Failed to update {} weekly nutrition summaries", deltas.size(), e);
+            Map<String, List<LocalDate>> weeksByUser = new HashMap<>();
+            for (WeekDelta delta : deltas.values()) {
+                weeksByUser.computeIfAbsent(delta.userId, k -> new ArrayList<>()).add(delta.weekStart);
+            }
+            weeksByUser.forEach(this::markStale);
+        }
+    }
+
+    @Override
+    public NutritionRebuildReportDto rebuildSummaries(LocalDate from, LocalDate to) {
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        if (days < 1 || days > MAX_REBUILD_DAYS) {
+            throw new InvalidRequestException("Rebuild range must cover 1 to " + MAX_REBUILD_DAYS + " days");
+        }
+        log.info("Rebuilding weekly nutrition summaries from {} to {}", from, to);
+        long start = System.nanoTime();
+        int backfilled = backfillNutrition(from, to);
+        long invalidated = mongoTemplate.updateMulti(
+                Query.query(Criteria.where("weekStart").gte(weekStart(from)).lte(weekStart(to))),
+                Update.update("stale", true), WeeklyNutritionSummary.class).getModifiedCount();
+
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        log.info("Backfilled nutrition of {} customizations and invalidated {} weekly summaries in {} ms",
+                backfilled, invalidated, elapsedMillis);
+        return new NutritionRebuildReportDto(from, to, backfilled, invalidated, elapsedMillis);
+    }
+
+    @Override
+    public boolean repairWeek(String userId, LocalDate weekStart) {
+        mongoTemplate.upsert(weekQuery(userId, weekStart),
+                new Update().set("stale", true).inc("version", 1), WeeklyNutritionSummary.class);
+        return true;
+    }
+
+    /**
+     * Recompute the weeks of a user from the customizations and store the results in place of the
+     * summaries read before. A summary changed in between is left alone, and so is a week with a
+     * customization changed within the settle time: its increment may land after the store and be
+     * counted twice. Either stays stale and the next read recomputes it again.
+     */
+    private List<WeeklyNutritionSummary> recomputeWeeks(String userId, LocalDate firstWeek, LocalDate lastWeek,
+                                                        List<WeeklyNutritionSummary> read) {
+        Map<LocalDate, WeeklyNutritionSummary> weeks = new TreeMap<>();
+        boolean store = ChronoUnit.WEEKS.between(firstWeek, lastWeek) < MAX_STORED_WEEKS;
+        if (store) {
+            for (LocalDate week = firstWeek; !week.isAfter(lastWeek); week = week.plusWeeks(1)) {
+                weeks.put(week, emptyWeek(userId, week));
+            }
+        }
+        LocalDateTime settledBefore = rollupRepairs.settledBefore();
+        Set<LocalDate> unsettled = new HashSet<>();
+        for (NutritionAggregate day : aggregate(userId, firstWeek, lastWeek.plusDays(6), Aggregation.group("deliveryDate"))) {
+            WeeklyNutritionSummary week = weeks.computeIfAbsent(weekStart(day.getDay()), w -> emptyWeek(userId, w));
+            if (day.getLastUpdatedAt() == null || !day.getLastUpdatedAt().isBefore(settledBefore)) {
+                unsettled.add(week.getWeekStart());
+            }
+            week.setMealCount(week.getMealCount() + (int) day.getMealCount());
+            NutritionFacts nutrition = week.getNutrition();
+            nutrition.setCaloriesKcal(nutrition.getCaloriesKcal() + day.getCaloriesKcal());
+            nutrition.setProteinG(nutrition.getProteinG() + day.getProteinG());
+            nutrition.setSugarG(nutrition.getSugarG() + day.getSugarG());
+            nutrition.setSaltMg(nutrition.getSaltMg() + day.getSaltMg());
+        }
+        if (!store) {
+            return new ArrayList<>(weeks.values());
+        }
+
+        Map<LocalDate, WeeklyNutritionSummary> readByWeek = read.stream()
+                .collect(Collectors.toMap(WeeklyNutritionSummary::getWeekStart, summary -> summary));
+        LocalDateTime now = LocalDateTime.now();
+        int stored = 0;
+        for (WeeklyNutritionSummary week : weeks.values()) {
+            WeeklyNutritionSummary previous = readByWeek.get(week.getWeekStart());
+            week.setUpdatedAt(now);
+            if (unsettled.contains(week.getWeekStart())) {
+                continue;
+            }
+            try {
+                if (previous == null) {
+                    // Fails on the unique index when an increment has created the summary since the read
+                    mongoTemplate.insert(week);
+                    stored++;
+                } else if (previous.isStale()) {
+                    stored += (int) mongoTemplate.updateFirst(
+                            Query.query(Criteria.where("id").is(previous.getId()).and("version").is(previous.getVersion())),
+                            new Update()
+                                    .set("mealCount", week.getMealCount())
+                                    .set("nutrition", week.getNutrition())
+                                    .set("stale", false)
+                                    .set("updatedAt", now),
+                            WeeklyNutritionSummary.class).getModifiedCount();
+                }
+            } catch (DuplicateKeyException e) {
+                log.debug("Weekly nutrition summary for user id: {} and week: {} was created concurrently",
+                        userId, week.getWeekStart());
+            } catch (Exception e) {
+                log.warn("Failed to store recomputed weekly nutrition summary for user id: {} and week: {}",
+                        userId, week.getWeekStart(), e);
+            }
+        }
+        log.debug("Recomputed {} weeks of nutrition for user id: {}, stored {}", weeks.size(), userId, stored);
+        return new ArrayList<>(weeks.values());
+    }
+
+    /**
+     * Compute and store the nutrition of customizations saved before it was stored on them,
+     * returning how many were updated
+     */
+    private int backfillNutrition(LocalDate from, LocalDate to) {
+        String collection = mongoTemplate.getCollectionName(MealCustomization.class);
+        Query query = Query.query(Criteria.where("delivery_date").gte(toDate(from)).lte(toDate(to))
+                        .and("nutrition").exists(false))
+                .with(Sort.by("_id"))
+                .limit(BACKFILL_BATCH_SIZE);
+        query.fields().include("selected_dishes");
+        int backfilled = 0;
+        Object lastId = null;
+        while (true) {
+            Query batch = lastId == null ? query : Query.of(query).addCriteria(Criteria.where("_id").gt(lastId));
+            List<Document> documents = mongoTemplate.find(batch, Document.class, collection);
+            if (documents.isEmpty()) {
+                break;
+            }
+            Set<String> dishIds = new HashSet<>();
+            List<List<String>> dishIdsPerCustomization = new ArrayList<>(documents.size());
+            for (Document document : documents) {
+                List<String> ids = new ArrayList<>();
+                for (Object reference : document.getList("selected_dishes", Object.class, List.of())) {
+                    ids.add((reference instanceof DBRef dbRef ? dbRef.getId() : reference).toString());
+                }
+                dishIdsPerCustomization.add(ids);
+                dishIds.addAll(ids);
+            }
+            Map<String, Dish> dishes = findDishes(dishIds);
+
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+            for (int i = 0; i < documents.size(); i++) {
+                NutritionFacts nutrition = NutritionFacts.zero();
+                for (String dishId : dishIdsPerCustomization.get(i)) {
+                    Dish dish = dishes.get(dishId);
+                    if (dish != null) {
+                        nutrition.addScaled(dish.getNutritionPerServing(), 1.0);
+                    }
+                }
+                Document facts = new Document();
+                mongoTemplate.getConverter().write(nutrition, facts);
+                facts.remove("_class");
+                bulk.updateOne(Query.query(Criteria.where("_id").is(documents.get(i).get("_id"))
+                        .and("nutrition").exists(false)), Update.update("nutrition", facts));
+            }
+            backfilled += bulk.execute().getModifiedCount();
+            lastId = documents.get(documents.size() - 1).get("_id");
+        }
+        return backfilled;
+    }
+
+    private void markStale(String userId, List<LocalDate> weekStarts) {
+        try {
+            for (LocalDate weekStart : weekStarts) {
+                repairWeek(userId, weekStart);
+            }
+        } catch (Exception e) {
+            // The summaries are off and nothing says so yet: leave it to the repair job
+            log.warn("Failed to mark weekly nutrition summaries of user id: {} stale, recording a repair of weeks {}",
+                    userId, weekStarts, e);
+            rollupRepairs.record(RollupType.NUTRITION, userId, weekStarts);
+        }
+    }
+
+    private static Query weekQuery(String userId, LocalDate weekStart) {
+        return Query.query(Criteria.where("userId").is(userId).and("weekStart").is(weekStart));
+    }
+
+    // A summary created by an increment has only seen that increment, so it starts out stale
+    private static Update increment(int meals, NutritionFacts delta, LocalDateTime now) {
+        return new Update()
+                .inc("mealCount", meals)
+                .inc("nutrition.caloriesKcal", delta.getCaloriesKcal())
+                .inc("nutrition.proteinG", delta.getProteinG())
+                .inc("nutrition.sugarG", delta.getSugarG())
+                .inc("nutrition.saltMg", delta.getSaltMg())
+                .inc("version", 1)
+                .setOnInsert("stale", true)
+                .set("updatedAt", now);
+    }
+
+    private static WeeklyNutritionSummary emptyWeek(String userId, LocalDate weekStart) {
+        return WeeklyNutritionSummary.builder()
+                .userId(userId)
+                .weekStart(weekStart)
+                .nutrition(NutritionFacts.zero())
+                .build();
+    }
+
+    private Map<String, Dish> findDishes(Set<String> ids) {
+        Map<String, Dish> dishes = new HashMap<>();
+        if (catalogCache.isWarm()) {
+            for (String id : ids) {
+                catalogCache.findDish(id).ifPresent(dish -> dishes.put(id, dish));
+            }
+        } else if (!ids.isEmpty()) {
+            dishRepository.findAllById(ids).forEach(dish -> dishes.put(dish.getId(), dish));
+        }
+        return dishes;
+    }
+
+    // LocalDate is stored as midnight in the default time zone
+    private static Date toDate(LocalDate date) {
+        return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    private List<NutritionAggregate> aggregate(String userId, LocalDate from, LocalDate to, GroupOperation group) {
+        TypedAggregation<MealCustomization> aggregation = Aggregation.newAggregation(MealCustomization.class,
+                Aggregation.match(Criteria.where("userId").is(userId)
+                        .and("deliveryDate").gte(from).lte(to)),
+                group.count().as("mealCount")
+                        .sum("nutrition.caloriesKcal").as("caloriesKcal")
+                        .sum("nutrition.proteinG").as("proteinG")
+                        .sum("nutrition.sugarG").as("sugarG")
+                        .sum("nutrition.saltMg").as("saltMg")
+                        .max("updatedAt").as("lastUpdatedAt"),
+                Aggregation.sort(Sort.Direction.ASC, Aggregation.previousOperation()));
+        return mongoTemplate.aggregate(aggregation, NutritionAggregate.class).getMappedResults();
+    }
+
+    private static NutritionRollupDto toRollup(String userId, LocalDate from, LocalDate to, NutritionAggregate result) {
+        NutritionFactsDto nutrition = new NutritionFactsDto();
+        nutrition.setCaloriesKcal(result.getCaloriesKcal());
+        nutrition.setProteinG(result.getProteinG());
+        nutrition.setSugarG(result.getSugarG());
+        nutrition.setSaltMg(result.getSaltMg());
+        return new NutritionRollupDto(userId, from, to, (int) result.getMealCount(), nutrition);
+    }
+
+    private static LocalDate weekStart(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    // Summary change of one user and week
+    private static final class WeekDelta {
+        private final String userId;
+        private final LocalDate weekStart;
+        private final NutritionFacts nutrition;
+        private int meals;
+
+        private WeekDelta(String userId, LocalDate weekStart, NutritionFacts nutrition) {
+            this.userId = userId;
+            this.weekStart = weekStart;
+            this.nutrition = nutrition;
+        }
+    }
+
+    // Result row of the nutrition aggregation; day is null when grouping over the whole range
+    @Data
+    @NoArgsConstructor
+    static class NutritionAggregate {
+        @Id
+        private LocalDate day;
+        private long mealCount;
+        private double caloriesKcal;
+        private double proteinG;
+        private double sugarG;
+        private double saltMg;
+        private LocalDateTime lastUpdatedAt;
+    }
+}
@@ -0,0 +1,511 @@
+package com.foodopia.meal.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+
+import com.foodopia.meal.cache.CatalogCache;
+import com.foodopia.meal.client.SchedulingServiceClient;
+import com.foodopia.meal.client.dto.ScheduledMealClientDto;
+import com.foodopia.meal.domain.PricingEngine;
+import com.foodopia.meal.domain.PricingTable;
+import com.foodopia.meal.dto.PricingRuleDto;
+import com.foodopia.meal.dto.RepricingReportDto;
+import com.foodopia.meal.entity.CategoryShare;
+import com.foodopia.meal.entity.Dish;
+import com.foodopia.meal.entity.MealCustomization;
+import com.foodopia.meal.entity.MealPlanType;
+import com.foodopia.meal.entity.PricingRule;
+import com.foodopia.meal.events.MealEventPublisher;
+import com.foodopia.meal.exception.InvalidRequestException;
+import com.foodopia.meal.exception.ResourceNotFoundException;
+import com.foodopia.meal.repository.DishRepository;
+import com.foodopia.meal.repository.MealPlanTypeRepository;
+import com.foodopia.meal.repository.PricingRuleRepository;
+import com.foodopia.meal.service.IPricingService;
+import com.foodopia.meal.service.IRevenueAnalyticsService;
+import com.mongodb.DBRef;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Prices customizations with the {@link PricingEngine} over the rules in pricing_rules. Rule
+ * writes validate by compiling the resulting rule set before saving it, install it on this
+ * instance right away and reprice the customizations delivered after today on a background
+ * thread; other instances pick up the rules after {@code refresh-interval}. A customization is
+ * priced for the plan code and level stored with it, taken from its scheduled meal by whoever
+ * creates it, or the plan of its meal template when it has none. Repricing looks up the plan of
+ * customizations stored before plans were, through scheduling-service, and stores it.
+ */
+@Service
+public class PricingServiceImpl implements IPricingService {
+
+    private static final Logger log = LoggerFactory.getLogger(PricingServiceImpl.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final SchedulingServiceClient schedulingServiceClient;
+    private final PricingRuleRepository pricingRuleRepository;
+    private final MealPlanTypeRepository mealPlanTypeRepository;
+    private final DishRepository dishRepository;
+    private final CatalogCache catalogCache;
+    private final IRevenueAnalyticsService revenueAnalyticsService;
+    private final MealEventPublisher mealEventPublisher;
+    private final PricingEngine engine;
+    private final long refreshIntervalNanos;
+    private final int chunkSize;
+    private final ExecutorService repricingExecutor;
+    private final AtomicBoolean repricingQueued = new AtomicBoolean();
+
+    private volatile boolean loaded;
+    private volatile long loadedAt;
+
+    public PricingServiceImpl(MongoTemplate mongoTemplate,
+                              SchedulingServiceClient schedulingServiceClient,
+                              PricingRuleRepository pricingRuleRepository,
+                              MealPlanTypeRepository mealPlanTypeRepository,
+                              DishRepository dishRepository,
+                              CatalogCache catalogCache,
+                              IRevenueAnalyticsService revenueAnalyticsService,
+                              MealEventPublisher mealEventPublisher,
+                              @Value("${foodopia.meal.pricing.default-markup:0.3}") double defaultMarkup,
+                              @Value("${foodopia.meal.pricing.refresh-interval:1m}") Duration refreshInterval,
+                              @Value("${foodopia.meal.pricing.reprice-chunk-size:500}") int chunkSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.schedulingServiceClient = schedulingServiceClient;
+        this.pricingRuleRepository = pricingRuleRepository;
+        this.mealPlanTypeRepository = mealPlanTypeRepository;
+        this.dishRepository = dishRepository;
+        this.catalogCache = catalogCache;
+        this.revenueAnalyticsService = revenueAnalyticsService;
+        this.mealEventPublisher = mealEventPublisher;
+        this.engine = new PricingEngine(defaultMarkup);
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+        this.chunkSize = chunkSize;
+        this.repricingExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pricing-repricer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public List<PricingRuleDto> fetchRules() {
+        log.debug("Fetching pricing rules");
+        return pricingRuleRepository.findAll(Sort.by(Sort.Direction.DESC, "priority")).stream()
+                .map(this::mapToDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void createRule(PricingRuleDto ruleDto) {
+        log.debug("Creating pricing rule: {}", ruleDto.getName());
+        PricingRule rule = new PricingRule();
+        mapToEntity(ruleDto, rule);
+        List<PricingRule> rules = pricingRuleRepository.findAll();
+        rules.add(rule);
+        validate(rules);
+        pricingRuleRepository.save(rule);
+        rulesChanged();
+        log.debug("Successfully created pricing rule with id: {}", rule.getId());
+    }
+
+    @Override
+    public boolean updateRule(PricingRuleDto ruleDto) {
+        log.debug("Updating pricing rule with id: {}", ruleDto.getId());
+        if (ruleDto.getId() == null) {
+            throw new InvalidRequestException("id is required to update a pricing rule");
+        }
+        PricingRule rule = pricingRuleRepository.findById(ruleDto.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("PricingRule", "id", ruleDto.getId()));
+        mapToEntity(ruleDto, rule);
+        List<PricingRule> rules = pricingRuleRepository.findAll();
+        rules.replaceAll(existing -> existing.getId().equals(rule.getId()) ? rule : existing);
+        validate(rules);
+        pricingRuleRepository.save(rule);
+        rulesChanged();
+        log.debug("Successfully updated pricing rule with id: {}", rule.getId());
+        return true;
+    }
+
+    @Override
+    public double priceOf(MealCustomization customization) {
+        return price(currentTable(), customization, planCodesByTemplate());
+    }
+
+    @Override
+    public void applyPrices(Collection<MealCustomization> customizations) {
+        if (customizations.isEmpty()) return;
+        PricingTable table = currentTable();
+        Map<String, String> planCodes = planCodesByTemplate();
+        for (MealCustomization customization : customizations) {
+            customization.setTotalPrice(price(table, customization, planCodes));
+        }
+    }
+
+    @Override
+    public RepricingReportDto repriceFutureCustomizations() {
+        LocalDate from = LocalDate.now().plusDays(1);
+        long start = System.nanoTime();
+        PricingTable table = currentTable();
+        log.info("Repricing customizations delivered from {} under {} pricing rules", from, table.ruleCount());
+        Map<String, String> planCodes = planCodesByTemplate();
+
+        Query query = Query.query(Criteria.where("delivery_date").gte(toDate(from)))
+                .with(Sort.by("_id"))
+                .cursorBatchSize(chunkSize);
+        query.fields().include("scheduled_meal_id", "user_id", "delivery_date", "meal_template_id",
+                "plan_code", "plan_level", "selected_dishes", "category_shares", "total_cost", "total_price", "updated_at");
+        long scanned = 0;
+        long repriced = 0;
+        List<Document> chunk = new ArrayList<>(chunkSize);
+        try (Stream<Document> stream = mongoTemplate.stream(query, Document.class,
+                mongoTemplate.getCollectionName(MealCustomization.class))) {
+            Iterator<Document> cursor = stream.iterator();
+            while (cursor.hasNext()) {
+                chunk.add(cursor.next());
+                if (chunk.size() == chunkSize) {
+                    scanned += chunk.size();
+                    repriced += repriceChunk(table, chunk, planCodes);
+                    chunk.clear();
+                }
+            }
+        }
+        scanned += chunk.size();
+        repriced += repriceChunk(table, chunk, planCodes);
+
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        log.info("Repriced {} of {} customizations delivered from {} in {} ms", repriced, scanned, from, elapsedMillis);
+        return new RepricingReportDto(from, table.ruleCount(), scanned, repriced, elapsedMillis);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        repricingExecutor.shutdownNow();
+    }
+
+    /**
+     * Reprice one chunk at the current dish costs, returning the number of changed customizations
+     */
+    private int repriceChunk(PricingTable table, List<Document> chunk, Map<String, String> planCodes) {
+        if (chunk.isEmpty()) return 0;
+        Set<String> unplanned = new HashSet<>();
+        Set<String> dishIds = new HashSet<>();
+        for (Document document : chunk) {
+            if (!document.containsKey("plan_code")) unplanned.add(document.getString("scheduled_meal_id"));
+            dishIds.addAll(dishIds(document));
+        }
+        Map<String, Plan> plans = plansOf(unplanned);
+        Map<String, Dish> dishes = findDishes(dishIds);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object> ids = new ArrayList<>();
+        List<MealCustomization> previous = new ArrayList<>();
+        List<MealCustomization> current = new ArrayList<>();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MealCustomization.class);
+        for (Document document : chunk) {
+            List<Dish> selected = new ArrayList<>();
+            for (String dishId : dishIds(document)) {
+                Dish dish = dishes.get(dishId);
+                // A dish gone from the catalog cannot be priced, leave the customization as it is
+                if (dish == null) {
+                    selected = null;
+                    break;
+                }
+                selected.add(dish);
+            }
+            if (selected == null) continue;
+            Plan plan = document.containsKey("plan_code")
+                    ? new Plan(document.getString("plan_code"), (int) number(document.get("plan_level")))
+                    : plans.get(document.getString("scheduled_meal_id"));
+            // The plan of a customization stored before plans were could not be looked up, price it next time
+            if (plan == null) continue;
+            List<CategoryShare> shares = categoryShares(document);
+            // Stored before shares were: fix its split at the current dish costs from now on
+            boolean storeShares = shares == null;
+            if (storeShares) {
+                shares = MealCustomization.builder().selectedDishes(selected).build().calculateCategoryShares();
+            }
+
+            MealCustomization before = MealCustomization.builder()
+                    .id(document.get("_id").toString())
+                    .scheduledMealId(document.getString("scheduled_meal_id"))
+                    .userId(document.getString("user_id"))
+                    .deliveryDate(toLocalDate(document.getDate("delivery_date")))
+                    .mealTemplateId(document.getString("meal_template_id"))
+                    .planCode(plan.planCode())
+                    .planLevel(plan.planLevel())
+                    .categoryShares(shares)
+                    .selectedDishes(selected)
+                    .totalCost(number(document.get("total_cost")))
+                    .totalPrice(number(document.get("total_price")))
+                    .build();
+            MealCustomization after = MealCustomization.builder()
+                    .id(before.getId())
+                    .scheduledMealId(before.getScheduledMealId())
+                    .userId(before.getUserId())
+                    .deliveryDate(before.getDeliveryDate())
+                    .mealTemplateId(before.getMealTemplateId())
+                    .planCode(plan.planCode())
+                    .planLevel(plan.planLevel())
+                    .categoryShares(shares)
+                    .selectedDishes(selected)
+                    .updatedAt(now)
+                    .build();
+            after.setTotalCost(after.calculateCost());
+            after.setTotalPrice(price(table, after, planCodes));
+            boolean storePlan = !document.containsKey("plan_code");
+            if (!storePlan && !storeShares && Math.abs(after.getTotalPrice() - before.getTotalPrice()) < 1e-9
+                    && Math.abs(after.getTotalCost() - before.getTotalCost()) < 1e-9) {
+                continue;
+            }
+            Update update = new Update()
+                    .set("totalCost", after.getTotalCost())
+                    .set("totalPrice", after.getTotalPrice())
+                    .set("updatedAt", now);
+            if (storePlan) {
+                update.set("planCode", plan.planCode()).set("planLevel", plan.planLevel());
+            }
+            if (storeShares) {
+                update.set("categoryShares", shares);
+            }
+            // Priced as read: a customization changed since keeps the change, and its own price
+            bulk.updateOne(Query.query(Criteria.where("_id").is(document.get("_id"))
+                    .and("updated_at").is(document.get("updated_at"))), update);
+            ids.add(document.get("_id"));
+            previous.add(before);
+            current.add(after);
+        }
+        if (current.isEmpty()) return 0;
+
+        if (bulk.execute().getMatchedCount() < current.size()) {
+            // Some were changed concurrently: the applied ones carry this chunk's updated_at
+            Query applied = Query.query(Criteria.where("_id").in(ids).and("updated_at").is(now));
+            applied.fields().include("_id");
+            Set<Object> appliedIds = new HashSet<>();
+            for (Document document : mongoTemplate.find(applied, Document.class,
+                    mongoTemplate.getCollectionName(MealCustomization.class))) {
+                appliedIds.add(document.get("_id"));
+            }
+            List<MealCustomization> appliedPrevious = new ArrayList<>();
+            List<MealCustomization> appliedCurrent = new ArrayList<>();
+            for (int i = 0; i < ids.size(); i++) {
+                if (appliedIds.contains(ids.get(i))) {
+                    appliedPrevious.add(previous.get(i));
+                    appliedCurrent.add(current.get(i));
+                }
+            }
+            log.debug("Skipped repricing {} customizations changed since they were read",
+                    current.size() - appliedCurrent.size());
+            previous = appliedPrevious;
+            current = appliedCurrent;
+            if (current.isEmpty()) return 0;
+        }
+        List<MealCustomization> repricedPrevious = previous;
+        List<MealCustomization> repricedCurrent = current;
+        RollupUpdates.apply("revenue",
+                () -> revenueAnalyticsService.recordCustomizationChanges(repricedPrevious, repricedCurrent));
+        for (MealCustomization customization : current) {
+            // Same dishes before and after, so only the price change is published
+            mealEventPublisher.customizationChanged(customization, customization.getSelectedDishes(), false);
+        }
+        return current.size();
+    }
+
+    private static double price(PricingTable table, MealCustomization customization, Map<String, String> planCodes) {
+        String planCode = customization.getPlanCode();
+        if (planCode == null && customization.getMealTemplateId() != null) {
+            planCode = planCodes.get(customization.getMealTemplateId());
+        }
+        return table.price(customization.getSelectedDishes(), planCode, customization.getPlanLevel(),
+                customization.getDeliveryDate());
+    }
+
+    private void validate(List<PricingRule> rules) {
+        try {
+            PricingTable.compile(rules, engine.table().defaultMarkup());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException(e.getMessage());
+        }
+    }
+
+    private void rulesChanged() {
+        synchronized (this) {
+            reload();
+        }
+        if (repricingQueued.compareAndSet(false, true)) {
+            repricingExecutor.execute(() -> {
+                // Rule changes arriving while this run is under way queue one more run
+                repricingQueued.set(false);
+                try {
+                    repriceFutureCustomizations();
+                } catch (Exception e) {
+                    log.warn("Failed to reprice future customizations after a pricing rule change", e);
+                }
+            });
+        }
+    }
+
+    private PricingTable currentTable() {
+        if (loaded && System.nanoTime() - loadedAt < refreshIntervalNanos) {
+            return engine.table();
+        }
+        synchronized (this) {
+            if (!loaded || System.nanoTime() - loadedAt >= refreshIntervalNanos) {
+                reload();
+            }
+            return engine.table();
+        }
+    }
+
+    private void reload() {
+        try {
+            PricingTable table = engine.install(pricingRuleRepository.findAll());
+            log.debug("Installed decision table of {} active pricing rules", table.ruleCount());
+        } catch (IllegalArgumentException e) {
+            log.error("Pricing rules do not compile, keeping the rules in effect - {}", e.getMessage());
+        }
+        loadedAt = System.nanoTime();
+        loaded = true;
+    }
+
+    /**
+     * Plans of scheduled meals by id from scheduling-service; empty when it cannot be reached
+     */
+    private Map<String, Plan> plansOf(Set<String> scheduledMealIds) {
+        Map<String, Plan> plans = new HashMap<>();
+        if (scheduledMealIds.isEmpty()) return plans;
+        try {
+            for (ScheduledMealClientDto scheduledMeal : schedulingServiceClient.fetchScheduledMealsByIds(scheduledMealIds)) {
+                plans.put(scheduledMeal.getId(), new Plan(scheduledMeal.getPlanCode(), scheduledMeal.getPlanLevel()));
+            }
+        } catch (RestClientException e) {
+            log.warn("Failed to look up the plans of {} scheduled meals, repricing their customizations next time - {}",
+                    scheduledMealIds.size(), e.getMessage());
+        }
+        return plans;
+    }
+
+    private Map<String, String> planCodesByTemplate() {
+        List<MealPlanType> planTypes = catalogCache.isWarm() ? catalogCache.mealPlanTypes() : mealPlanTypeRepository.findAll();
+        Map<String, String> planCodes = new HashMap<>();
+        for (MealPlanType planType : planTypes) {
+            if (planType.getTemplateId() != null && planType.getPlanCode() != null) {
+                planCodes.merge(planType.getTemplateId(), planType.getPlanCode(),
+                        (first, second) -> first.compareTo(second) <= 0 ? first : second);
+            }
+        }
+        return planCodes;
+    }
+
+    private Map<String, Dish> findDishes(Set<String> ids) {
+        Map<String, Dish> dishes = new HashMap<>();
+        if (catalogCache.isWarm()) {
+            for (String id : ids) {
+                catalogCache.findDish(id).ifPresent(dish -> dishes.put(id, dish));
+            }
+        } else if (!ids.isEmpty()) {
+            dishRepository.findAllById(ids).forEach(dish -> dishes.put(dish.getId(), dish));
+        }
+        return dishes;
+    }
+
+    private void mapToEntity(PricingRuleDto ruleDto, PricingRule rule) {
+        rule.setName(ruleDto.getName());
+        rule.setType(ruleDto.getType());
+        rule.setPlanCode(blankToNull(ruleDto.getPlanCode()));
+        rule.setPlanLevel(ruleDto.getPlanLevel());
+        rule.setCategory(blankToNull(ruleDto.getCategory()));
+        rule.setValidFrom(ruleDto.getValidFrom());
+        rule.setValidTo(ruleDto.getValidTo());
+        rule.setRate(ruleDto.getRate());
+        rule.setPriority(ruleDto.getPriority());
+        rule.setActive(ruleDto.isActive());
+        rule.setUpdatedAt(LocalDateTime.now());
+    }
+
+    private PricingRuleDto mapToDto(PricingRule rule) {
+        PricingRuleDto ruleDto = new PricingRuleDto();
+        ruleDto.setId(rule.getId());
+        ruleDto.setName(rule.getName());
+        ruleDto.setType(rule.getType());
+        ruleDto.setPlanCode(rule.getPlanCode());
+        ruleDto.setPlanLevel(rule.getPlanLevel());
+        ruleDto.setCategory(rule.getCategory());
+        ruleDto.setValidFrom(rule.getValidFrom());
+        ruleDto.setValidTo(rule.getValidTo());
+        ruleDto.setRate(rule.getRate());
+        ruleDto.setPriority(rule.getPriority());
+        ruleDto.setActive(rule.isActive());
+        return ruleDto;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static List<String> dishIds(Document customization) {
+        List<Object> references = customization.getList("selected_dishes", Object.class, List.of());
+        List<String> ids = new ArrayList<>(references.size());
+        for (Object reference : references) {
+            ids.add((reference instanceof DBRef dbRef ? dbRef.getId() : reference).toString());
+        }
+        return ids;
+    }
+
+    /**
+     * The category shares stored with a customization, null for one stored before they were
+     */
+    private List<CategoryShare> categoryShares(Document customization) {
+        List<Document> stored = customization.getList("category_shares", Document.class);
+        if (stored == null) return null;
+        List<CategoryShare> shares = new ArrayList<>(stored.size());
+        for (Document share : stored) {
+            shares.add(mongoTemplate.getConverter().read(CategoryShare.class, share));
+        }
+        return shares;
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number number ? number.doubleValue() : 0;
+    }
+
+    // LocalDate is stored as midnight in the default time zone
+    private static Date toDate(LocalDate date) {
+        return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    private record Plan(String planCode, int planLevel) {
+    }
+}
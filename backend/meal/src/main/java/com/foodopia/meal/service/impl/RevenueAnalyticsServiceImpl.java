@@ -0,0 +1,494 @@
+package com.foodopia.meal.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.foodopia.meal.cache.CatalogCache;
+import com.foodopia.meal.dto.RevenueRebuildReportDto;
+import com.foodopia.meal.dto.RevenueRollupDto;
+import com.foodopia.meal.entity.CategoryShare;
+import com.foodopia.meal.entity.DailyRevenueRollup;
+import com.foodopia.meal.entity.Dish;
+import com.foodopia.meal.entity.MealCustomization;
+import com.foodopia.meal.entity.MealPlanType;
+import com.foodopia.meal.entity.RevenueDimension;
+import com.foodopia.meal.entity.RollupType;
+import com.foodopia.meal.exception.InvalidRequestException;
+import com.foodopia.meal.repository.DishRepository;
+import com.foodopia.meal.repository.MealPlanTypeRepository;
+import com.foodopia.meal.service.IRevenueAnalyticsService;
+import com.mongodb.DBRef;
+
+/**
+ * Maintains daily_revenue_rollups: revenue (total price) and cost of the customizations per
+ * delivery date, in total, per plan and per dish category. Every customization write applies its
+ * difference with one bulk upsert of $inc deltas, so analytics over a range read only
+ * days x keys rollup rows. Category rows split a customization's price and cost by the category
+ * shares stored with it when its dishes were selected, so later dish cost changes leave them be; a
+ * rebuild recomputes a range from the customizations, one day per task. A day whose increment
+ * failed is recorded for RollupRepairJob and reported stale until repaired; range queries read only
+ * rollups and never recompute it.
+ * <p>
+ * A day is recomputed into rows written one by one, each guarded by the version it had before the
+ * customizations were read, so increments landing meanwhile are never overwritten - the day is
+ * left for a later run instead. So is a day with customizations changed within the settle time,
+ * whose increments may still land after the write.
+ */
+@Service
+public class RevenueAnalyticsServiceImpl implements IRevenueAnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(RevenueAnalyticsServiceImpl.class);
+    private static final String ALL = "ALL";
+    private static final String UNKNOWN = "UNKNOWN";
+    private static final int MAX_REBUILD_DAYS = 366;
+    // Rows of the rollup over all users
+    private static final String ALL_USERS = "";
+
+    private final MongoTemplate mongoTemplate;
+    private final CatalogCache catalogCache;
+    private final DishRepository dishRepository;
+    private final MealPlanTypeRepository mealPlanTypeRepository;
+    private final RollupRepairs rollupRepairs;
+    private final int rebuildParallelism;
+
+    public RevenueAnalyticsServiceImpl(MongoTemplate mongoTemplate,
+                                       CatalogCache catalogCache,
+                                       DishRepository dishRepository,
+                                       MealPlanTypeRepository mealPlanTypeRepository,
+                                       RollupRepairs rollupRepairs,
+                                       @Value("${foodopia.meal.revenue.rebuild-parallelism:4}") int rebuildParallelism) {
+        this.mongoTemplate = mongoTemplate;
+        this.catalogCache = catalogCache;
+        this.dishRepository = dishRepository;
+        this.mealPlanTypeRepository = mealPlanTypeRepository;
+        this.rollupRepairs = rollupRepairs;
+        this.rebuildParallelism = Math.max(rebuildParallelism, 1);
+    }
+
+    @Override
+    public List<RevenueRollupDto> fetchDailyRevenue(LocalDate from, LocalDate to) {
+        log.debug("Fetching daily revenue from {} to {}", from, to);
+        Set<LocalDate> staleDays = staleDays(from, to);
+        return findRollups(RevenueDimension.TOTAL, from, to).stream()
+                .map(row -> toDto(row.getDeliveryDate(), row.getDeliveryDate(), row.getDimension(),
+                        row.getDimensionKey(), row.getCount(), row.getRevenue(), row.getCost(),
+                        staleDays.contains(row.getDeliveryDate())))
+                .filter(row -> row.getCount() > 0)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<RevenueRollupDto> fetchRevenueByPlan(LocalDate from, LocalDate to) {
+        log.debug("Fetching revenue by plan from {} to {}", from, to);
+        return sumByKey(RevenueDimension.PLAN, from, to);
+    }
+
+    @Override
+    public List<RevenueRollupDto> fetchRevenueByCategory(LocalDate from, LocalDate to) {
+        log.debug("Fetching revenue by dish category from {} to {}", from, to);
+        return sumByKey(RevenueDimension.CATEGORY, from, to);
+    }
+
+    @Override
+    public void recordCustomizationChange(MealCustomization previous, MealCustomization current) {
+        Map<String, String> planCodes = planCodesByTemplate();
+        Map<String, Delta> deltas = new HashMap<>();
+        contribute(previous, -1, planCodes, deltas);
+        contribute(current, 1, planCodes, deltas);
+        write(deltas);
+    }
+
+    @Override
+    public void recordCustomizationChanges(List<MealCustomization> previous, List<MealCustomization> current) {
+        if (current.isEmpty()) return;
+        Map<String, String> planCodes = planCodesByTemplate();
+        Map<String, Delta> deltas = new HashMap<>();
+        for (int i = 0; i < current.size(); i++) {
+            contribute(previous.get(i), -1, planCodes, deltas);
+            contribute(current.get(i), 1, planCodes, deltas);
+        }
+        write(deltas);
+    }
+
+    @Override
+    public void recordNewCustomizations(Collection<MealCustomization> customizations) {
+        if (customizations.isEmpty()) return;
+        Map<String, String> planCodes = planCodesByTemplate();
+        Map<String, Delta> deltas = new HashMap<>();
+        for (MealCustomization customization : customizations) {
+            contribute(customization, 1, planCodes, deltas);
+        }
+        write(deltas);
+    }
+
+    @Override
+    public RevenueRebuildReportDto rebuildRollups(LocalDate from, LocalDate to) {
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        if (days < 1 || days > MAX_REBUILD_DAYS) {
+            throw new InvalidRequestException("Rebuild range must cover 1 to " + MAX_REBUILD_DAYS + " days");
+        }
+        log.info("Rebuilding revenue rollups from {} to {} with {} threads", from, to, rebuildParallelism);
+        long start = System.nanoTime();
+        Map<String, String> planCodes = planCodesByTemplate();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(rebuildParallelism, days), runnable -> {
+            Thread thread = new Thread(runnable, "revenue-rebuild-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long customizations = 0;
+        int rows = 0;
+        List<LocalDate> deferred = new ArrayList<>();
+        try {
+            List<Future<DayRebuild>> results = new ArrayList<>(days);
+            for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                LocalDate date = day;
+                results.add(executor.submit(() -> rebuildDay(date, planCodes)));
+            }
+            for (Future<DayRebuild> result : results) {
+                DayRebuild day = result.get();
+                customizations += day.customizations();
+                rows += day.rows();
+                if (!day.complete()) {
+                    deferred.add(day.date());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rebuilding revenue rollups", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to rebuild revenue rollups - " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (!deferred.isEmpty()) {
+            rollupRepairs.record(RollupType.REVENUE, ALL_USERS, deferred);
+        }
+
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        log.info("Rebuilt {} revenue rollup rows from {} customizations over {} days in {} ms, {} days left to the repair job",
+                rows, customizations, days, elapsedMillis, deferred.size());
+        return new RevenueRebuildReportDto(from, to, days, customizations, rows, deferred.size(), elapsedMillis);
+    }
+
+    @Override
+    public boolean repairDay(LocalDate deliveryDate) {
+        return rebuildDay(deliveryDate, planCodesByTemplate()).complete();
+    }
+
+    /**
+     * Recompute the rollups of one day and write them over the rows read before
+     */
+    private DayRebuild rebuildDay(LocalDate date, Map<String, String> planCodes) {
+        // Versions of the rows before the customizations are read
+        Map<String, DailyRevenueRollup> previous = new HashMap<>();
+        Query rowQuery = Query.query(Criteria.where("deliveryDate").is(date));
+        rowQuery.fields().include("dimension", "dimensionKey", "version");
+        for (DailyRevenueRollup row : mongoTemplate.find(rowQuery, DailyRevenueRollup.class)) {
+            previous.put(row.getDimension() + "|" + row.getDimensionKey(), row);
+        }
+
+        Date settledBefore = Date.from(rollupRepairs.settledBefore().atZone(ZoneId.systemDefault()).toInstant());
+        Query query = Query.query(Criteria.where("delivery_date").is(toDate(date)));
+        query.fields().include("meal_template_id", "selected_dishes", "category_shares", "total_cost", "total_price",
+                "updated_at");
+        List<Document> documents = mongoTemplate.find(query, Document.class,
+                mongoTemplate.getCollectionName(MealCustomization.class));
+        for (Document document : documents) {
+            Date updatedAt = document.getDate("updated_at");
+            if (updatedAt != null && !updatedAt.before(settledBefore)) {
+                log.debug("Leaving revenue rollups of {} to a later repair, it has recent changes", date);
+                return new DayRebuild(date, documents.size(), 0, false);
+            }
+        }
+
+        Set<String> dishIds = new HashSet<>();
+        List<List<String>> dishIdsPerCustomization = new ArrayList<>(documents.size());
+        for (Document document : documents) {
+            List<String> ids = new ArrayList<>();
+            for (Object reference : document.getList("selected_dishes", Object.class, List.of())) {
+                ids.add((reference instanceof DBRef dbRef ? dbRef.getId() : reference).toString());
+            }
+            dishIdsPerCustomization.add(ids);
+            dishIds.addAll(ids);
+        }
+        Map<String, Dish> dishes = findDishes(dishIds);
+
+        Map<String, Delta> rollups = new HashMap<>();
+        BulkOperations backfill = null;
+        for (int i = 0; i < documents.size(); i++) {
+            Document document = documents.get(i);
+            List<Dish> selected = new ArrayList<>();
+            for (String dishId : dishIdsPerCustomization.get(i)) {
+                Dish dish = dishes.get(dishId);
+                if (dish != null) selected.add(dish);
+            }
+            MealCustomization customization = MealCustomization.builder()
+                    .deliveryDate(date)
+                    .mealTemplateId(document.getString("meal_template_id"))
+                    .selectedDishes(selected)
+                    .categoryShares(categoryShares(document))
+                    .totalCost(number(document.get("total_cost")))
+                    .totalPrice(number(document.get("total_price")))
+                    .build();
+            if (customization.getCategoryShares() == null) {
+                // Stored before shares were: fix its split at the current dish costs from now on
+                customization.setCategoryShares(customization.calculateCategoryShares());
+                if (backfill == null) {
+                    backfill = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MealCustomization.class);
+                }
+                backfill.updateOne(Query.query(Criteria.where("_id").is(document.get("_id"))
+                        .and("category_shares").exists(false)),
+                        Update.update("categoryShares", customization.getCategoryShares()));
+            }
+            contribute(customization, 1, planCodes, rollups);
+        }
+        if (backfill != null) backfill.execute();
+
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations updates = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DailyRevenueRollup.class);
+        List<DailyRevenueRollup> inserts = new ArrayList<>();
+        int guarded = 0;
+        for (Delta rollup : rollups.values()) {
+            DailyRevenueRollup read = previous.remove(rollup.dimension + "|" + rollup.key);
+            if (read == null) {
+                inserts.add(DailyRevenueRollup.builder()
+                        .deliveryDate(date)
+                        .dimension(rollup.dimension)
+                        .dimensionKey(rollup.key)
+                        .count(rollup.count)
+                        .revenue(rollup.revenue)
+                        .cost(rollup.cost)
+                        .updatedAt(now)
+                        .build());
+            } else {
+                updates.updateOne(Query.query(Criteria.where("id").is(read.getId()).and("version").is(read.getVersion())),
+                        total(rollup.count, rollup.revenue, rollup.cost, now));
+                guarded++;
+            }
+        }
+        // Keys no customization of the day has any more
+        for (DailyRevenueRollup read : previous.values()) {
+            updates.updateOne(Query.query(Criteria.where("id").is(read.getId()).and("version").is(read.getVersion())),
+                    total(0, 0, 0, now));
+            guarded++;
+        }
+
+        boolean complete = true;
+        if (guarded > 0) {
+            complete = updates.execute().getMatchedCount() == guarded;
+        }
+        if (!inserts.isEmpty()) {
+            try {
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DailyRevenueRollup.class).insert(inserts).execute();
+            } catch (DataAccessException e) {
+                // An increment created the row since the read: the insert fails on the unique index
+                complete = false;
+            }
+        }
+        return new DayRebuild(date, documents.size(), rollups.size(), complete);
+    }
+
+    private static Update total(int count, double revenue, double cost, LocalDateTime now) {
+        return new Update()
+                .set("count", count)
+                .set("revenue", revenue)
+                .set("cost", cost)
+                .set("updatedAt", now)
+                .inc("version", 1);
+    }
+
+    private static void contribute(MealCustomization customization, int sign, Map<String, String> planCodes,
+                                   Map<String, Delta> deltas) {
+        if (customization == null || customization.getDeliveryDate() == null) return;
+        LocalDate date = customization.getDeliveryDate();
+        double revenue = customization.getTotalPrice();
+        double cost = customization.getTotalCost();
+        delta(deltas, date, RevenueDimension.TOTAL, ALL).add(sign, revenue, cost);
+        String planCode = customization.getMealTemplateId() != null
+                ? planCodes.getOrDefault(customization.getMealTemplateId(), UNKNOWN) : UNKNOWN;
+        delta(deltas, date, RevenueDimension.PLAN, planCode).add(sign, revenue, cost);
+
+        // One stored before shares were is split at the current dish costs
+        List<CategoryShare> shares = customization.getCategoryShares() != null
+                ? customization.getCategoryShares() : customization.calculateCategoryShares();
+        for (CategoryShare share : shares) {
+            delta(deltas, date, RevenueDimension.CATEGORY, share.getCategory())
+                    .add(sign * share.getServings(), revenue * share.getShare(), cost * share.getShare());
+        }
+    }
+
+    private static Delta delta(Map<String, Delta> deltas, LocalDate date, RevenueDimension dimension, String key) {
+        return deltas.computeIfAbsent(date + "|" + dimension + "|" + key, k -> new Delta(date, dimension, key));
+    }
+
+    private void write(Map<String, Delta> deltas) {
+        // Rows an update left untouched cancel out
+        deltas.values().removeIf(delta -> delta.count == 0
+                && Math.abs(delta.revenue) < 1e-9 && Math.abs(delta.cost) < 1e-9);
+        if (deltas.isEmpty()) return;
+
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DailyRevenueRollup.class);
+        for (Delta delta : deltas.values()) {
+            bulk.upsert(Query.query(Criteria.where("dimension").is(delta.dimension)
+                            .and("deliveryDate").is(delta.deliveryDate)
+                            .and("dimensionKey").is(delta.key)),
+                    new Update()
+                            .inc("count", delta.count)
+                            .inc("revenue", delta.revenue)
+                            .inc("cost", delta.cost)
+                            .inc("version", 1)
+                            .set("updatedAt", now));
+        }
+        try {
+            bulk.execute();
+            log.debug("Updated {} daily revenue rollups", deltas.size());
+        } catch (Exception e) {
+            // The write is stored already: recompute its days in the background rather than fail it
+            Set<LocalDate> days = new TreeSet<>();
+            deltas.values().forEach(delta -> days.add(delta.deliveryDate));
+            log.warn("Failed to update {} daily revenue rollups, recording a repair of days {}", deltas.size(), days, e);
+            rollupRepairs.record(RollupType.REVENUE, ALL_USERS, days);
+        }
+    }
+
+    private Set<LocalDate> staleDays(LocalDate from, LocalDate to) {
+        return rollupRepairs.pendingDates(RollupType.REVENUE, ALL_USERS, from, to);
+    }
+
+    /**
+     * The category shares stored with a customization, null for one stored before they were
+     */
+    private List<CategoryShare> categoryShares(Document customization) {
+        List<Document> stored = customization.getList("category_shares", Document.class);
+        if (stored == null) return null;
+        List<CategoryShare> shares = new ArrayList<>(stored.size());
+        for (Document share : stored) {
+            shares.add(mongoTemplate.getConverter().read(CategoryShare.class, share));
+        }
+        return shares;
+    }
+
+    private List<DailyRevenueRollup> findRollups(RevenueDimension dimension, LocalDate from, LocalDate to) {
+        return mongoTemplate.find(Query.query(Criteria.where("dimension").is(dimension)
+                        .and("deliveryDate").gte(from).lte(to))
+                .with(Sort.by("deliveryDate", "dimensionKey")), DailyRevenueRollup.class);
+    }
+
+    private List<RevenueRollupDto> sumByKey(RevenueDimension dimension, LocalDate from, LocalDate to) {
+        boolean stale = !staleDays(from, to).isEmpty();
+        Map<String, Delta> totals = new HashMap<>();
+        for (DailyRevenueRollup row : findRollups(dimension, from, to)) {
+            totals.computeIfAbsent(row.getDimensionKey(), key -> new Delta(null, dimension, key))
+                    .add(row.getCount(), row.getRevenue(), row.getCost());
+        }
+        return totals.values().stream()
+                .filter(total -> total.count > 0)
+                .map(total -> toDto(from, to, dimension, total.key, total.count, total.revenue, total.cost, stale))
+                .sorted(Comparator.comparingDouble(RevenueRollupDto::getRevenue).reversed()
+                        .thenComparing(RevenueRollupDto::getKey))
+                .collect(Collectors.toList());
+    }
+
+    private static RevenueRollupDto toDto(LocalDate from, LocalDate to, RevenueDimension dimension, String key,
+                                          int count, double revenue, double cost, boolean stale) {
+        double margin = revenue - cost;
+        return new RevenueRollupDto(from, to, dimension.name(), key, count, revenue, cost, margin,
+                revenue > 0 ? margin / revenue : 0, stale);
+    }
+
+    private Map<String, String> planCodesByTemplate() {
+        List<MealPlanType> planTypes = catalogCache.isWarm() ? catalogCache.mealPlanTypes() : mealPlanTypeRepository.findAll();
+        Map<String, String> planCodes = new HashMap<>();
+        for (MealPlanType planType : planTypes) {
+            if (planType.getTemplateId() != null && planType.getPlanCode() != null) {
+                // Templates shared by several plans are attributed to the first plan code
+                planCodes.merge(planType.getTemplateId(), planType.getPlanCode(),
+                        (first, second) -> first.compareTo(second) <= 0 ? first : second);
+            }
+        }
+        return planCodes;
+    }
+
+    private Map<String, Dish> findDishes(Set<String> ids) {
+        Map<String, Dish> dishes = new HashMap<>();
+        if (catalogCache.isWarm()) {
+            for (String id : ids) {
+                catalogCache.findDish(id).ifPresent(dish -> dishes.put(id, dish));
+            }
+        } else if (!ids.isEmpty()) {
+            dishRepository.findAllById(ids).forEach(dish -> dishes.put(dish.getId(), dish));
+        }
+        return dishes;
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number number ? number.doubleValue() : 0;
+    }
+
+    // LocalDate is stored as midnight in the default time zone
+    private static Date toDate(LocalDate date) {
+        return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    // Counts of a day's rebuild; incomplete when left to a later repair
+    private record DayRebuild(LocalDate date, int customizations, int rows, boolean complete) {
+    }
+
+    // Rollup change, or running total, of one date and dimension key
+    private static final class Delta {
+        private final LocalDate deliveryDate;
+        private final RevenueDimension dimension;
+        private final String key;
+        private int count;
+        private double revenue;
+        private double cost;
+
+        private Delta(LocalDate deliveryDate, RevenueDimension dimension, String key) {
+            this.deliveryDate = deliveryDate;
+            this.dimension = dimension;
+            this.key = key;
+        }
+
+        private void add(int count, double revenue, double cost) {
+            this.count += count;
+            this.revenue += revenue;
+            this.cost += cost;
+        }
+    }
+}
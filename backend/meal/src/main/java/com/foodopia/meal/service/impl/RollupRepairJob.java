@@ -0,0 +1,108 @@
+package com.foodopia.meal.service.impl;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.foodopia.meal.entity.RollupRepair;
+import com.foodopia.meal.service.IIngredientDemandService;
+import com.foodopia.meal.service.INutritionRollupService;
+import com.foodopia.meal.service.IRevenueAnalyticsService;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Works off the recorded rollup repairs every {@code repair-interval}. A repair is claimed for
+ * {@code repair-lease}, so instances do not repair the same date twice; one whose date cannot be
+ * recomputed safely yet - it has changes that may still be in flight - is retried on a later run.
+ */
+@Component
+public class RollupRepairJob {
+
+    private static final Logger log = LoggerFactory.getLogger(RollupRepairJob.class);
+    private static final int MAX_REPAIRS_PER_RUN = 200;
+
+    private final RollupRepairs rollupRepairs;
+    private final INutritionRollupService nutritionRollupService;
+    private final IIngredientDemandService ingredientDemandService;
+    private final IRevenueAnalyticsService revenueAnalyticsService;
+    private final Duration interval;
+    private final Duration lease;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "rollup-repair");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RollupRepairJob(RollupRepairs rollupRepairs,
+                           INutritionRollupService nutritionRollupService,
+                           IIngredientDemandService ingredientDemandService,
+                           IRevenueAnalyticsService revenueAnalyticsService,
+                           @Value("${foodopia.meal.rollups.repair-interval:1m}") Duration interval,
+                           @Value("${foodopia.meal.rollups.repair-lease:5m}") Duration lease) {
+        this.rollupRepairs = rollupRepairs;
+        this.nutritionRollupService = nutritionRollupService;
+        this.ingredientDemandService = ingredientDemandService;
+        this.revenueAnalyticsService = revenueAnalyticsService;
+        this.interval = interval;
+        this.lease = lease;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor.scheduleWithFixedDelay(this::run, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    void run() {
+        try {
+            rollupRepairs.saveUnsaved();
+            int repaired = 0;
+            int deferred = 0;
+            for (int i = 0; i < MAX_REPAIRS_PER_RUN; i++) {
+                Optional<RollupRepair> claimed = rollupRepairs.claim(lease);
+                if (claimed.isEmpty()) break;
+                RollupRepair repair = claimed.get();
+                if (repair(repair)) {
+                    rollupRepairs.complete(repair, interval);
+                    repaired++;
+                } else {
+                    rollupRepairs.release(repair, interval);
+                    deferred++;
+                }
+            }
+            if (repaired + deferred > 0) {
+                log.info("Repaired {} rollup dates, {} left for a later run", repaired, deferred);
+            }
+        } catch (Exception e) {
+            log.warn("Rollup repair run failed", e);
+        }
+    }
+
+    private boolean repair(RollupRepair repair) {
+        try {
+            return switch (repair.getRollup()) {
+                case NUTRITION -> nutritionRollupService.repairWeek(repair.getScope(), repair.getDate());
+                case INGREDIENT_DEMAND -> ingredientDemandService.repairDate(repair.getDate());
+                case REVENUE -> revenueAnalyticsService.repairDay(repair.getDate());
+            };
+        } catch (Exception e) {
+            log.warn("Failed to repair the {} rollup for '{}' on {}, attempt {}", repair.getRollup(),
+                    repair.getScope(), repair.getDate(), repair.getAttempts(), e);
+            return false;
+        }
+    }
+}
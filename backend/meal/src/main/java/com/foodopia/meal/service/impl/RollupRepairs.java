@@ -0,0 +1,139 @@
+package com.foodopia.meal.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.foodopia.meal.entity.RollupRepair;
+import com.foodopia.meal.entity.RollupType;
+
+/**
+ * The rollup dates whose incremental update failed after the customization write was stored.
+ * Recording a repair never fails the write: one that cannot be stored either is kept in memory
+ * and stored by the next run of RollupRepairJob, which recomputes the dates in the background.
+ * Reads report a range with pending repairs as stale instead of recomputing it.
+ */
+@Component
+public class RollupRepairs {
+
+    private static final Logger log = LoggerFactory.getLogger(RollupRepairs.class);
+    private static final int MAX_UNSAVED = 10_000;
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration settleTime;
+    private final Queue<RollupRepair> unsaved = new ConcurrentLinkedQueue<>();
+
+    public RollupRepairs(MongoTemplate mongoTemplate,
+                         @Value("${foodopia.meal.rollups.settle-time:30s}") Duration settleTime) {
+        this.mongoTemplate = mongoTemplate;
+        this.settleTime = settleTime;
+    }
+
+    /**
+     * Record the dates of a rollup for repair
+     * @param scope - User ID for NUTRITION, empty for rollups over all users
+     */
+    public void record(RollupType rollup, String scope, Collection<LocalDate> dates) {
+        for (LocalDate date : new TreeSet<>(dates)) {
+            try {
+                save(rollup, scope, date);
+            } catch (Exception e) {
+                log.error("Failed to record a repair of the {} rollup for '{}' on {}, keeping it until the next repair run",
+                        rollup, scope, date, e);
+                if (unsaved.size() < MAX_UNSAVED) {
+                    unsaved.add(RollupRepair.builder().rollup(rollup).scope(scope).date(date).build());
+                }
+            }
+        }
+    }
+
+    /**
+     * Dates of the scope within a range with a pending repair
+     */
+    public Set<LocalDate> pendingDates(RollupType rollup, String scope, LocalDate from, LocalDate to) {
+        Query query = Query.query(Criteria.where("rollup").is(rollup).and("scope").is(scope)
+                .and("date").gte(from).lte(to));
+        query.fields().include("date");
+        Set<LocalDate> dates = new TreeSet<>();
+        mongoTemplate.find(query, RollupRepair.class).forEach(repair -> dates.add(repair.getDate()));
+        return dates;
+    }
+
+    /**
+     * Customizations changed after this may still have their rollup increments in flight, so a
+     * recompute that counts them must not mark their dates repaired
+     */
+    public LocalDateTime settledBefore() {
+        return LocalDateTime.now().minus(settleTime);
+    }
+
+    /**
+     * Store the repairs that could not be stored when they were recorded
+     */
+    void saveUnsaved() {
+        RollupRepair repair;
+        while ((repair = unsaved.peek()) != null) {
+            save(repair.getRollup(), repair.getScope(), repair.getDate());
+            unsaved.poll();
+        }
+    }
+
+    /**
+     * Claim the longest waiting repair no other run holds, for the lease
+     */
+    Optional<RollupRepair> claim(Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = Query.query(new Criteria().orOperator(
+                        Criteria.where("claimedUntil").is(null), Criteria.where("claimedUntil").lt(now)))
+                .with(Sort.by("updatedAt"));
+        return Optional.ofNullable(mongoTemplate.findAndModify(query,
+                new Update().set("claimedUntil", now.plus(lease)).inc("attempts", 1),
+                FindAndModifyOptions.options().returnNew(true), RollupRepair.class));
+    }
+
+    /**
+     * Remove a repaired repair, unless a failure was recorded for its date since it was claimed
+     */
+    void complete(RollupRepair repair, Duration retryAfter) {
+        long removed = mongoTemplate.remove(Query.query(Criteria.where("id").is(repair.getId())
+                .and("generation").is(repair.getGeneration())), RollupRepair.class).getDeletedCount();
+        if (removed == 0) {
+            release(repair, retryAfter);
+        }
+    }
+
+    /**
+     * Leave a repair to a later run
+     */
+    void release(RollupRepair repair, Duration retryAfter) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(repair.getId())),
+                Update.update("claimedUntil", LocalDateTime.now().plus(retryAfter)), RollupRepair.class);
+    }
+
+    private void save(RollupType rollup, String scope, LocalDate date) {
+        LocalDateTime now = LocalDateTime.now();
+        mongoTemplate.upsert(Query.query(Criteria.where("rollup").is(rollup).and("scope").is(scope).and("date").is(date)),
+                new Update()
+                        .inc("generation", 1)
+                        .set("updatedAt", now)
+                        .setOnInsert("createdAt", now),
+                RollupRepair.class);
+    }
+}
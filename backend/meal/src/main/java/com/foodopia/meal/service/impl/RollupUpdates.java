@@ -0,0 +1,26 @@
+package com.foodopia.meal.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Applies a stored customization write to a rollup. The write stands whatever happens to the
+ * rollup - its service records what needs repair - so a failure is logged and the remaining
+ * rollups and events still run.
+ */
+final class RollupUpdates {
+
+    private static final Logger log = LoggerFactory.getLogger(RollupUpdates.class);
+
+    private RollupUpdates() {
+        // restrict instantiation
+    }
+
+    static void apply(String rollup, Runnable update) {
+        try {
+            update.run();
+        } catch (RuntimeException e) {
+            log.error("Failed to apply customization changes to the {} rollup", rollup, e);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.foodopia.meal.benchmark;
+
+import com.foodopia.meal.domain.DishCostCalculator;
+import com.foodopia.meal.entity.Dish;
+import com.foodopia.meal.entity.DishIngredient;
+import com.foodopia.meal.entity.Ingredient;
+import com.foodopia.meal.entity.NutritionFacts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the dish recalculation of DishServiceImpl and IngredientServiceImpl before and after
+ * DishCostCalculator, each with the ingredient fetch it makes (minus the database round trip).
+ * Every benchmark recomputes {@value #DISHES} dishes per invocation, so the GC profiler's
+ * gc.alloc.rate.norm is bytes allocated per dish.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.foodopia.meal.benchmark.DishCostCalculatorBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DishCostCalculatorBenchmark {
+
+    private static final int INGREDIENTS = 200;
+    private static final int DISHES = 1000;
+    private static final int LINES_PER_DISH = 8;
+
+    private List<Ingredient> ingredients;
+    private Map<String, Ingredient> repository;
+    private List<Dish> dishes;
+    private DishCostCalculator calculator;
+
+    private int[] offsets;
+    private int[] ingredientIndexes;
+    private double[] quantities;
+    private double[] costs;
+    private double[] nutrients;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        ingredients = new ArrayList<>(INGREDIENTS);
+        for (int i = 0; i < INGREDIENTS; i++) {
+            NutritionFacts per100g = new NutritionFacts(
+                    random.nextDouble() * 500, random.nextDouble() * 30,
+                    random.nextDouble() * 20, random.nextDouble() * 800);
+            ingredients.add(new Ingredient("ing-" + i, "ingredient-" + i,
+                    random.nextDouble() / 10, "category-" + (i % 10), "g", per100g));
+        }
+
+        repository = ingredients.stream().collect(Collectors.toMap(Ingredient::getId, Function.identity()));
+
+        dishes = new ArrayList<>(DISHES);
+        for (int d = 0; d < DISHES; d++) {
+            List<DishIngredient> lines = new ArrayList<>(LINES_PER_DISH);
+            for (int l = 0; l < LINES_PER_DISH; l++) {
+                lines.add(new DishIngredient("ing-" + random.nextInt(INGREDIENTS), 10 + random.nextInt(200)));
+            }
+            dishes.add(Dish.builder().id("dish-" + d).name("dish-" + d).ingredients(lines).build());
+        }
+
+        calculator = DishCostCalculator.of(ingredients);
+
+        offsets = new int[DISHES + 1];
+        ingredientIndexes = new int[DISHES * LINES_PER_DISH];
+        quantities = new double[DISHES * LINES_PER_DISH];
+        int line = 0;
+        for (int d = 0; d < DISHES; d++) {
+            offsets[d] = line;
+            for (DishIngredient di : dishes.get(d).getIngredients()) {
+                ingredientIndexes[line] = calculator.indexOf(di.getIngredientId());
+                quantities[line] = di.getQuantity();
+                line++;
+            }
+        }
+        offsets[DISHES] = line;
+        costs = new double[DISHES];
+        nutrients = new double[DISHES * DishCostCalculator.NUTRIENTS];
+    }
+
+    // DishServiceImpl before DishCostCalculator: per dish, fetch its ingredients, index them with a
+    // collector and recompute with streams
+    @Benchmark
+    @OperationsPerInvocation(DISHES)
+    public void legacyDishService(Blackhole blackhole) {
+        for (Dish dish : dishes) {
+            Set<String> ingredientIds = dish.getIngredients().stream()
+                    .map(di -> di.getIngredientId())
+                    .filter(id -> id != null && !id.isBlank())
+                    .collect(Collectors.toSet());
+            Map<String, Ingredient> ingredientsById = findAllById(ingredientIds).stream()
+                    .collect(Collectors.toMap(Ingredient::getId, Function.identity()));
+            for (String ingredientId : ingredientIds) {
+                if (!ingredientsById.containsKey(ingredientId)) {
+                    throw new IllegalStateException("Ingredient not found: " + ingredientId);
+                }
+            }
+            double totalCost = dish.getIngredients().stream()
+                    .mapToDouble(di -> {
+                        Ingredient ingredient = ingredientsById.get(di.getIngredientId());
+                        return ingredient.getUnitPrice() * di.getQuantity();
+                    })
+                    .sum();
+            NutritionFacts nutrition = NutritionFacts.zero();
+            for (var di : dish.getIngredients()) {
+                Ingredient ingredient = ingredientsById.get(di.getIngredientId());
+                if (ingredient == null) {
+                    continue;
+                }
+                nutrition.addScaled(ingredient.getNutritionPer100g(), di.getQuantity() / 100.0);
+            }
+            dish.setTotalCost(totalCost);
+            dish.setNutritionPerServing(nutrition);
+        }
+        blackhole.consume(dishes);
+    }
+
+    // DishServiceImpl now: the same per-dish fetch, recomputed by a calculator over those ingredients
+    @Benchmark
+    @OperationsPerInvocation(DISHES)
+    public void calculatorDishService(Blackhole blackhole) {
+        for (Dish dish : dishes) {
+            Set<String> ingredientIds = new HashSet<>();
+            for (DishIngredient di : dish.getIngredients()) {
+                if (di.getIngredientId() != null && !di.getIngredientId().isBlank()) {
+                    ingredientIds.add(di.getIngredientId());
+                }
+            }
+            DishCostCalculator dishCalculator = DishCostCalculator.of(findAllById(ingredientIds));
+            if (dishCalculator.findMissingIngredient(dish) != null) {
+                throw new IllegalStateException("Ingredient not found in " + dish.getId());
+            }
+            dishCalculator.recalculate(dish);
+        }
+        blackhole.consume(dishes);
+    }
+
+    // IngredientServiceImpl before DishCostCalculator: one fetch for all affected dishes, then a loop
+    // allocating a NutritionFacts per dish
+    @Benchmark
+    @OperationsPerInvocation(DISHES)
+    public void legacyIngredientService(Blackhole blackhole) {
+        Map<String, Ingredient> ingredientsById = findAllById(referencedIngredientIds()).stream()
+                .collect(Collectors.toMap(Ingredient::getId, Function.identity()));
+        for (Dish dish : dishes) {
+            double total = 0.0;
+            NutritionFacts nutrition = NutritionFacts.zero();
+            for (var di : dish.getIngredients()) {
+                Ingredient ing = ingredientsById.get(di.getIngredientId());
+                if (ing == null) {
+                    continue;
+                }
+                total += ing.getUnitPrice() * di.getQuantity();
+                nutrition.addScaled(ing.getNutritionPer100g(), di.getQuantity() / 100.0);
+            }
+            dish.setTotalCost(total);
+            dish.setNutritionPerServing(nutrition);
+        }
+        blackhole.consume(dishes);
+    }
+
+    // IngredientServiceImpl now: the same fetch, recomputed by one calculator, which packs the dishes
+    // into the bulk mode's arrays and writes the results back
+    @Benchmark
+    @OperationsPerInvocation(DISHES)
+    public void calculatorIngredientService(Blackhole blackhole) {
+        DishCostCalculator.of(findAllById(referencedIngredientIds())).recalculateAll(dishes);
+        blackhole.consume(dishes);
+    }
+
+    // The bulk mode alone over dishes packed in setUp, i.e. calculatorIngredientService without the
+    // fetch, the packing and the write-back
+    @Benchmark
+    @OperationsPerInvocation(DISHES)
+    public void calculatorPrimitiveBulk(Blackhole blackhole) {
+        calculator.recalculateAll(offsets, ingredientIndexes, quantities, costs, nutrients);
+        blackhole.consume(costs);
+        blackhole.consume(nutrients);
+    }
+
+    private Set<String> referencedIngredientIds() {
+        Set<String> ingredientIds = new HashSet<>();
+        for (Dish dish : dishes) {
+            for (DishIngredient di : dish.getIngredients()) {
+                ingredientIds.add(di.getIngredientId());
+            }
+        }
+        return ingredientIds;
+    }
+
+    // Stands in for IngredientRepository.findAllById without the database round trip, which both
+    // implementations pay alike
+    private List<Ingredient> findAllById(Set<String> ids) {
+        List<Ingredient> found = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Ingredient ingredient = repository.get(id);
+            if (ingredient != null) {
+                found.add(ingredient);
+            }
+        }
+        return found;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DishCostCalculatorBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,69 @@
+package com.foodopia.meal.cache;
+
+import com.foodopia.meal.entity.Dish;
+import com.foodopia.meal.entity.NutritionFacts;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+class CatalogCacheTests {
+
+    @Test
+    void keepsWritesMadeWhileALoadWasReading() {
+        CatalogCache cache = new CatalogCache();
+        cache.load(snapshot(dish("d-1", 1.0)), "mongodb", cache.beginLoad());
+
+        long loadStartedAt = cache.beginLoad();
+        cache.putDish(dish("d-1", 2.0));
+        cache.putDish(dish("d-2", 3.0));
+        // Read before the writes were saved
+        cache.load(snapshot(dish("d-1", 1.0)), "mongodb", loadStartedAt);
+
+        assertEquals(2.0, cache.findDish("d-1").orElseThrow().getTotalCost());
+        assertEquals(3.0, cache.findDish("d-2").orElseThrow().getTotalCost());
+    }
+
+    @Test
+    void dropsWritesTheLoadAlreadyRead() {
+        CatalogCache cache = new CatalogCache();
+        cache.putDish(dish("d-1", 2.0));
+        long loadStartedAt = cache.beginLoad();
+        cache.load(snapshot(dish("d-1", 5.0)), "mongodb", loadStartedAt);
+
+        assertEquals(5.0, cache.findDish("d-1").orElseThrow().getTotalCost());
+    }
+
+    @Test
+    void storesCopiesOfWrittenDishes() {
+        CatalogCache cache = new CatalogCache();
+        cache.load(snapshot(), "mongodb", cache.beginLoad());
+        Dish dish = dish("d-1", 1.0);
+        cache.putDish(dish);
+
+        dish.setTotalCost(9.0);
+        dish.getNutritionPerServing().setCaloriesKcal(900);
+        dish.getAllergens().add("peanuts");
+
+        Dish cached = cache.findDish("d-1").orElseThrow();
+        assertNotSame(dish, cached);
+        assertEquals(1.0, cached.getTotalCost());
+        assertEquals(100, cached.getNutritionPerServing().getCaloriesKcal());
+        assertEquals(List.of(), cached.getAllergens());
+    }
+
+    private static Dish dish(String id, double totalCost) {
+        return Dish.builder()
+                .id(id)
+                .totalCost(totalCost)
+                .nutritionPerServing(new NutritionFacts(100, 10, 5, 200))
+                .build();
+    }
+
+    private static CatalogSnapshot snapshot(Dish... dishes) {
+        return new CatalogSnapshot(LocalDateTime.now(), List.of(dishes), List.of(), List.of(), List.of());
+    }
+}
@@ -0,0 +1,69 @@
+package com.foodopia.meal.domain;
+
+import com.foodopia.meal.entity.Dish;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DishAvailabilityIndexTests {
+
+    private static final String[] CATEGORIES = {"meat", "vegetable", "soup", "grain", "dessert"};
+    private static final LocalDate BASE = LocalDate.of(2026, 1, 1);
+
+    @Test
+    void matchesCatalogScanForEveryDayAndCategory() {
+        Random random = new Random(7);
+        List<Dish> dishes = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            LocalDate from = random.nextInt(5) == 0 ? null : BASE.plusDays(random.nextInt(365));
+            LocalDate until = random.nextInt(4) == 0 ? null
+                    : (from != null ? from : BASE).plusDays(random.nextInt(120) - 10);
+            dishes.add(Dish.builder()
+                    .id("dish-" + i)
+                    .category(CATEGORIES[random.nextInt(CATEGORIES.length)])
+                    .isAvailable(random.nextInt(10) != 0)
+                    .availableFrom(from)
+                    .availableUntil(until)
+                    .build());
+        }
+        DishAvailabilityIndex index = DishAvailabilityIndex.build(dishes);
+
+        for (int day = -20; day < 400; day += 3) {
+            LocalDate date = BASE.plusDays(day);
+            assertEquals(scan(dishes, date, null), ids(index.availableOn(date, null)), "all categories on " + date);
+            for (String category : CATEGORIES) {
+                assertEquals(scan(dishes, date, category), ids(index.availableOn(date, category)),
+                        category + " on " + date);
+            }
+        }
+    }
+
+    @Test
+    void unknownCategoryHasNoDishes() {
+        Dish dish = Dish.builder().id("always").category("soup").isAvailable(true).build();
+        DishAvailabilityIndex index = DishAvailabilityIndex.build(List.of(dish));
+
+        assertEquals(List.of("always"), ids(index.availableOn(BASE, "soup")));
+        assertTrue(index.availableOn(BASE, "dessert").isEmpty());
+    }
+
+    private static List<String> scan(List<Dish> dishes, LocalDate date, String category) {
+        return dishes.stream()
+                .filter(dish -> dish.isAvailableOn(date))
+                .filter(dish -> category == null || category.equals(dish.getCategory()))
+                .map(Dish::getId)
+                .sorted()
+                .toList();
+    }
+
+    private static List<String> ids(List<Dish> dishes) {
+        return dishes.stream().map(Dish::getId).sorted(Comparator.naturalOrder()).toList();
+    }
+}
@@ -0,0 +1,36 @@
+package com.foodopia.meal.domain;
+
+import com.foodopia.meal.entity.Dish;
+import com.foodopia.meal.entity.DishIngredient;
+import com.foodopia.meal.entity.Ingredient;
+import com.foodopia.meal.entity.NutritionFacts;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DishCostCalculatorTests {
+
+    @Test
+    void recalculatesEveryDishSkippingUnknownIngredients() {
+        DishCostCalculator calculator = DishCostCalculator.of(List.of(
+                new Ingredient("rice", "rice", 0.01, "grain", "g", new NutritionFacts(130, 2.7, 0.1, 1)),
+                new Ingredient("egg", "egg", 0.05, "protein", "g", new NutritionFacts(155, 13, 1.1, 124))));
+
+        Dish bowl = Dish.builder().id("bowl").ingredients(List.of(
+                new DishIngredient("rice", 200), new DishIngredient("egg", 50), new DishIngredient("gone", 30))).build();
+        Dish empty = Dish.builder().id("empty").build();
+        Dish eggs = Dish.builder().id("eggs").ingredients(List.of(new DishIngredient("egg", 100))).build();
+        calculator.recalculateAll(List.of(bowl, empty, eggs));
+
+        assertEquals(4.5, bowl.getTotalCost(), 1e-9);
+        assertEquals(2 * 130 + 0.5 * 155, bowl.getNutritionPerServing().getCaloriesKcal(), 1e-9);
+        assertEquals(2 * 1 + 0.5 * 124, bowl.getNutritionPerServing().getSaltMg(), 1e-9);
+        assertEquals(0.0, empty.getTotalCost(), 1e-9);
+        assertEquals(0.0, empty.getNutritionPerServing().getProteinG(), 1e-9);
+        assertEquals(5.0, eggs.getTotalCost(), 1e-9);
+        assertEquals(13.0, eggs.getNutritionPerServing().getProteinG(), 1e-9);
+        assertEquals(calculator.cost(bowl), bowl.getTotalCost(), 1e-9);
+    }
+}
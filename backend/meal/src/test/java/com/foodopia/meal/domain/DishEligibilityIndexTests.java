@@ -0,0 +1,70 @@
+package com.foodopia.meal.domain;
+
+import com.foodopia.meal.entity.Dish;
+import com.foodopia.meal.entity.DishIngredient;
+import com.foodopia.meal.entity.Ingredient;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DishEligibilityIndexTests {
+
+    private static final Map<String, Ingredient> INGREDIENTS = Map.of(
+            "i-peanut", new Ingredient("i-peanut", "Peanut", 1.0, "nuts", "g", null),
+            "i-beef", new Ingredient("i-beef", "Beef", 2.0, "meat", "g", null),
+            "i-rice", new Ingredient("i-rice", "Rice", 0.5, "grain", "g", null));
+
+    private final DishEligibilityIndex index = DishEligibilityIndex.build(List.of(
+            dish("satay", true, List.of("vegan"), List.of(), "i-peanut", "i-rice"),
+            dish("stew", true, List.of("halal"), List.of("celery"), "i-beef"),
+            dish("pilaf", true, List.of("vegan", "halal"), List.of(), "i-rice"),
+            dish("retired", false, List.of("vegan"), List.of(), "i-rice")), INGREDIENTS);
+
+    @Test
+    void excludesUnavailableDishes() {
+        assertEquals(List.of("satay", "stew", "pilaf"), index.eligibleDishIds(List.of(), List.of(), List.of()));
+    }
+
+    @Test
+    void allergiesMatchDeclaredAllergensAndIngredients() {
+        assertEquals(List.of("satay", "pilaf"), index.eligibleDishIds(List.of("celery"), List.of(), List.of()));
+        assertEquals(List.of("stew", "pilaf"), index.eligibleDishIds(List.of("peanut"), List.of(), List.of()));
+        assertEquals(List.of("satay", "pilaf"), index.eligibleDishIds(List.of("meat"), List.of(), List.of()));
+    }
+
+    @Test
+    void foodsToAvoidMatchIngredientNamesAndCategories() {
+        assertEquals(List.of("stew"), index.eligibleDishIds(List.of(), List.of("grain"), List.of()));
+        assertEquals(List.of("satay", "pilaf"), index.eligibleDishIds(List.of(), List.of("beef"), List.of()));
+    }
+
+    @Test
+    void knownDietaryGoalsAreRequiredAndUnknownOnesIgnored() {
+        assertEquals(List.of("pilaf"), index.eligibleDishIds(List.of(), List.of(), List.of("vegan", "halal")));
+        assertEquals(List.of("satay", "stew", "pilaf"),
+                index.eligibleDishIds(List.of(), List.of(), List.of("low-carb")));
+    }
+
+    @Test
+    void ignoresIngredientsMissingFromTheCatalog() {
+        DishEligibilityIndex partial = DishEligibilityIndex.build(
+                List.of(dish("satay", true, List.of(), List.of(), "i-peanut", "i-unknown")), INGREDIENTS);
+        assertEquals(List.of(), partial.eligibleDishIds(List.of("peanut"), List.of(), List.of()));
+        assertEquals(List.of("satay"), partial.eligibleDishIds(List.of(), List.of("unknown"), List.of()));
+    }
+
+    private static Dish dish(String id, boolean available, List<String> tags, List<String> allergens,
+                             String... ingredientIds) {
+        return Dish.builder()
+                .id(id)
+                .isAvailable(available)
+                .dietaryTags(tags)
+                .allergens(allergens)
+                .ingredients(Arrays.stream(ingredientIds).map(i -> new DishIngredient(i, 100)).toList())
+                .build();
+    }
+}
@@ -0,0 +1,50 @@
+package com.foodopia.meal.domain;
+
+import com.foodopia.meal.entity.IngredientPriceVersion;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IngredientPriceHistoryTests {
+
+    private static final LocalDate JAN = LocalDate.of(2026, 1, 1);
+    private static final LocalDate MAR = LocalDate.of(2026, 3, 1);
+    private static final LocalDate JUN = LocalDate.of(2026, 6, 1);
+
+    @Test
+    void returnsVersionInEffectOnDate() {
+        IngredientPriceHistory history = IngredientPriceHistory.of(List.of(
+                version("rice", JUN, 3.0), version("rice", JAN, 1.0), version("rice", MAR, 2.0)));
+
+        assertEquals(1.0, history.priceAsOf("rice", JAN.minusDays(30), 9.0), "before the first version");
+        assertEquals(1.0, history.priceAsOf("rice", JAN, 9.0));
+        assertEquals(1.0, history.priceAsOf("rice", MAR.minusDays(1), 9.0));
+        assertEquals(2.0, history.priceAsOf("rice", MAR, 9.0));
+        assertEquals(3.0, history.priceAsOf("rice", JUN.plusYears(1), 9.0));
+        assertEquals(9.0, history.priceAsOf("beans", MAR, 9.0), "no versions falls back");
+    }
+
+    @Test
+    void withAddsOrReplacesWithoutChangingOriginal() {
+        IngredientPriceHistory original = IngredientPriceHistory.of(List.of(version("rice", JAN, 1.0), version("rice", JUN, 3.0)));
+
+        IngredientPriceHistory inserted = original.with(version("rice", MAR, 2.0));
+        IngredientPriceHistory replaced = inserted.with(version("rice", MAR, 2.5));
+
+        assertEquals(1.0, original.priceAsOf("rice", MAR, 0));
+        assertEquals(2.0, inserted.priceAsOf("rice", MAR.plusDays(10), 0));
+        assertEquals(2.5, replaced.priceAsOf("rice", MAR.plusDays(10), 0));
+        assertEquals(3.0, replaced.priceAsOf("rice", JUN, 0));
+    }
+
+    private static IngredientPriceVersion version(String ingredientId, LocalDate effectiveFrom, double unitPrice) {
+        return IngredientPriceVersion.builder()
+                .ingredientId(ingredientId)
+                .effectiveFrom(effectiveFrom)
+                .unitPrice(unitPrice)
+                .build();
+    }
+}
@@ -0,0 +1,74 @@
+package com.foodopia.meal.domain;
+
+import com.foodopia.meal.entity.Dish;
+import com.foodopia.meal.entity.PricingRule;
+import com.foodopia.meal.entity.PricingRuleType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PricingTableTests {
+
+    private static final LocalDate JAN = LocalDate.of(2026, 1, 1);
+    private static final LocalDate MAR = LocalDate.of(2026, 3, 1);
+
+    @Test
+    void picksHighestPriorityThenMostSpecificMarkup() {
+        PricingTable table = PricingTable.compile(List.of(
+                rule("r1", PricingRuleType.MARKUP, null, null, null, 0.5, 0),
+                rule("r2", PricingRuleType.MARKUP, "FAMILY", null, "meat", 0.2, 0),
+                rule("r3", PricingRuleType.MARKUP, "FAMILY", 2, null, 0.1, 5)), 0.3);
+
+        assertEquals(0.5, table.markup("SINGLE", 1, "meat", JAN), 1e-9, "catch-all");
+        assertEquals(0.2, table.markup("FAMILY", 1, "Meat", JAN), 1e-9, "more specific wins");
+        assertEquals(0.1, table.markup("FAMILY", 2, "meat", JAN), 1e-9, "higher priority wins");
+        assertEquals(0.3, PricingTable.empty(0.3).markup("FAMILY", 2, "meat", JAN), 1e-9, "default markup");
+    }
+
+    @Test
+    void appliesPromotionWithinItsDates() {
+        PricingRule promotion = rule("p1", PricingRuleType.PROMOTION, null, null, "soup", 0.5, 0);
+        promotion.setValidFrom(JAN);
+        promotion.setValidTo(MAR.minusDays(1));
+        PricingTable table = PricingTable.compile(List.of(promotion), 0.0);
+
+        List<Dish> meal = List.of(dish("soup", 10.0), dish("grain", 4.0));
+        assertEquals(14.0, table.price(meal, "FAMILY", 1, JAN.minusDays(1)), 1e-9);
+        assertEquals(9.0, table.price(meal, "FAMILY", 1, JAN), 1e-9);
+        assertEquals(9.0, table.price(meal, "FAMILY", 1, MAR.minusDays(1)), 1e-9);
+        assertEquals(14.0, table.price(meal, "FAMILY", 1, MAR), 1e-9);
+    }
+
+    @Test
+    void ignoresInactiveAndRejectsInvalidRules() {
+        PricingRule inactive = rule("r1", PricingRuleType.MARKUP, null, null, null, 1.0, 0);
+        inactive.setActive(false);
+        assertEquals(0.3, PricingTable.compile(List.of(inactive), 0.3).markup(null, 0, null, JAN), 1e-9);
+
+        assertThrows(IllegalArgumentException.class, () -> PricingTable.compile(
+                List.of(rule("p1", PricingRuleType.PROMOTION, null, null, null, 1.5, 0)), 0.3));
+    }
+
+    private static PricingRule rule(String id, PricingRuleType type, String planCode, Integer planLevel,
+                                    String category, double rate, int priority) {
+        return PricingRule.builder()
+                .id(id)
+                .name(id)
+                .type(type)
+                .planCode(planCode)
+                .planLevel(planLevel)
+                .category(category)
+                .rate(rate)
+                .priority(priority)
+                .isActive(true)
+                .build();
+    }
+
+    private static Dish dish(String category, double cost) {
+        return Dish.builder().id(category).category(category).totalCost(cost).build();
+    }
+}
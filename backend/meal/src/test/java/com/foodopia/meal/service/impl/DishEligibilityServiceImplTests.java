@@ -0,0 +1,71 @@
+package com.foodopia.meal.service.impl;
+
+import com.foodopia.meal.cache.CatalogCache;
+import com.foodopia.meal.dto.DietPreferenceFilterDto;
+import com.foodopia.meal.dto.DishEligibilityDto;
+import com.foodopia.meal.entity.Dish;
+import com.foodopia.meal.entity.DishIngredient;
+import com.foodopia.meal.entity.Ingredient;
+import com.foodopia.meal.repository.DishRepository;
+import com.foodopia.meal.repository.IngredientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DishEligibilityServiceImplTests {
+
+    private final DishRepository dishRepository = mock(DishRepository.class);
+    private final IngredientRepository ingredientRepository = mock(IngredientRepository.class);
+    private final List<Ingredient> ingredients = new ArrayList<>();
+    private DishEligibilityServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        ingredients.add(new Ingredient("i-1", "Tofu", 1.0, "soy", "g", null));
+        when(dishRepository.findAll()).thenReturn(List.of(Dish.builder()
+                .id("d-1")
+                .isAvailable(true)
+                .ingredients(List.of(new DishIngredient("i-1", 150)))
+                .build()));
+        when(ingredientRepository.findAll()).thenAnswer(invocation -> List.copyOf(ingredients));
+        service = new DishEligibilityServiceImpl(dishRepository, ingredientRepository, new CatalogCache(), 16);
+    }
+
+    @Test
+    void normalizesPreferencesIntoOneCacheEntry() {
+        DishEligibilityDto first = service.fetchEligibleDishes(filter(List.of(" Peanut", "dairy")));
+        DishEligibilityDto second = service.fetchEligibleDishes(filter(List.of("DAIRY", "peanut ")));
+
+        assertSame(first, second);
+        assertEquals(List.of("d-1"), first.getDishIds());
+        verify(dishRepository, times(1)).findAll();
+    }
+
+    @Test
+    void reflectsIngredientChangesAfterInvalidate() {
+        DietPreferenceFilterDto avoidPeanut = filter(List.of("peanut"));
+        assertEquals(List.of("d-1"), service.fetchEligibleDishes(avoidPeanut).getDishIds());
+
+        ingredients.set(0, new Ingredient("i-1", "Peanut", 1.0, "nuts", "g", null));
+        assertEquals(List.of("d-1"), service.fetchEligibleDishes(avoidPeanut).getDishIds(), "cached until invalidated");
+
+        service.invalidate();
+        assertEquals(List.of(), service.fetchEligibleDishes(avoidPeanut).getDishIds());
+        verify(dishRepository, times(2)).findAll();
+    }
+
+    private static DietPreferenceFilterDto filter(List<String> allergies) {
+        DietPreferenceFilterDto filter = new DietPreferenceFilterDto();
+        filter.setAllergies(allergies);
+        return filter;
+    }
+}
@@ -0,0 +1,332 @@
+package com.foodopia.notification.coalesce;
+
+import com.foodopia.notification.dispatch.NotificationDeadLetterPublisher;
+import com.foodopia.notification.dispatch.NotificationDispatcher;
+import com.foodopia.notification.dto.AuthEventDto;
+import com.foodopia.notification.dto.NotificationBatchResultDto;
+import com.foodopia.notification.entity.CoalescingWindow;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Folds bursts of the same security event for one user into a single digest. The first event of a
+ * user and event type opens a window and is sent immediately; duplicates arriving before the window
+ * closes are counted and sent as one {@code <EVENT_TYPE>_DIGEST} notification when it does.
+ *
+ * Windows are kept in an insertion-ordered map bounded by {@code max-in-memory-windows} and are
+ * written to MongoDB as soon as they open, so a crash does not lose them; folds are counted in memory
+ * and added to the stored window on every flush, which bounds a crash to one flush interval of counts.
+ * Beyond the bound the oldest windows are only kept in MongoDB, as are all open windows on shutdown.
+ * The background flusher closes expired in-memory windows and claims expired stored windows left
+ * behind by other or crashed instances. MongoDB is only consulted for folds while stored windows
+ * may exist.
+ */
+@Component
+public class NotificationCoalescer {
+
+    public static final String DIGEST_SUFFIX = "_DIGEST";
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationCoalescer.class);
+    private static final int SPILL_FLUSH_LIMIT = 500;
+
+    private final NotificationDispatcher dispatcher;
+    private final MongoTemplate mongoTemplate;
+    private final StreamBridge streamBridge;
+    private final NotificationDeadLetterPublisher deadLetters;
+    private final Duration window;
+    private final Set<String> eventTypes;
+    private final int maxInMemoryWindows;
+    private final Duration flushInterval;
+    private final Duration claimGrace;
+
+    // Insertion order is close order since every window has the same length
+    private final LinkedHashMap<String, CoalescingWindow> windows = new LinkedHashMap<>();
+    // Set on start when MongoDB holds windows, e.g. of a crashed run, and whenever a window is stored
+    private volatile boolean spillPending = false;
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "notification-coalescer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public NotificationCoalescer(NotificationDispatcher dispatcher,
+                                 MongoTemplate mongoTemplate,
+                                 StreamBridge streamBridge,
+                                 NotificationDeadLetterPublisher deadLetters,
+                                 @Value("${foodopia.notification.coalescing.window:10m}") Duration window,
+                                 @Value("${foodopia.notification.coalescing.event-types:NEW_DEVICE_LOGIN,MULTIPLE_FAILED_ATTEMPTS}") Set<String> eventTypes,
+                                 @Value("${foodopia.notification.coalescing.max-in-memory-windows:10000}") int maxInMemoryWindows,
+                                 @Value("${foodopia.notification.coalescing.flush-interval:5s}") Duration flushInterval) {
+        this.dispatcher = dispatcher;
+        this.mongoTemplate = mongoTemplate;
+        this.streamBridge = streamBridge;
+        this.deadLetters = deadLetters;
+        this.window = window;
+        this.eventTypes = Set.copyOf(eventTypes);
+        this.maxInMemoryWindows = maxInMemoryWindows;
+        this.flushInterval = flushInterval;
+        // Stored windows still held in memory by a live instance are closed by it within a flush interval
+        this.claimGrace = flushInterval.multipliedBy(2);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        try {
+            spillPending = mongoTemplate.exists(new Query(), CoalescingWindow.class);
+        } catch (Exception e) {
+            log.warn("Could not check for stored coalescing windows, assuming some exist - {}", e.getMessage());
+            spillPending = true;
+        }
+        if (!flusher.isShutdown()) {
+            flusher.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(), flushInterval.toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Return the events of the batch that must be sent now; duplicates inside an open window are
+     * folded into it and dropped from the batch
+     */
+    public List<AuthEventDto> admit(List<AuthEventDto> events) {
+        List<AuthEventDto> admitted = new ArrayList<>(events.size());
+        List<CoalescingWindow> opened = new ArrayList<>();
+        List<CoalescingWindow> overflow = new ArrayList<>();
+        List<CoalescingWindow> closed = new ArrayList<>();
+        Instant now = Instant.now();
+        for (AuthEventDto event : events) {
+            if (event.userId() == null || !eventTypes.contains(event.eventType())) {
+                admitted.add(event);
+                continue;
+            }
+            String key = event.userId() + ":" + event.eventType();
+            if (foldInMemory(key, event, now, closed) || (spillPending && foldSpilled(key, event, now))) {
+                log.debug("Folded {} event for user: {} into open coalescing window", event.eventType(), event.userId());
+                continue;
+            }
+            CoalescingWindow open = new CoalescingWindow(key, event, now, now.plus(window));
+            opened.add(open);
+            synchronized (windows) {
+                windows.put(key, open);
+                Iterator<CoalescingWindow> eldest = windows.values().iterator();
+                while (windows.size() > maxInMemoryWindows && eldest.hasNext()) {
+                    overflow.add(eldest.next());
+                    eldest.remove();
+                }
+            }
+            admitted.add(event);
+        }
+        // Closed windows leave MongoDB before a window reopened under the same key is stored
+        List<CoalescingWindow> claimed = claim(closed);
+        // Windows that fail to store stay in memory and are retried on the next flush
+        opened.forEach(this::checkpoint);
+        if (!overflow.isEmpty()) {
+            spill(overflow);
+        }
+        sendDigests(claimed);
+        return admitted;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+        List<CoalescingWindow> open;
+        synchronized (windows) {
+            open = new ArrayList<>(windows.values());
+            windows.clear();
+        }
+        if (!open.isEmpty()) {
+            log.info("Spilling {} open coalescing windows before shutdown", open.size());
+            spill(open);
+        }
+    }
+
+    private boolean foldInMemory(String key, AuthEventDto event, Instant now, List<CoalescingWindow> closed) {
+        synchronized (windows) {
+            CoalescingWindow open = windows.get(key);
+            if (open == null) {
+                return false;
+            }
+            if (!open.getClosesAt().isAfter(now)) {
+                // Expired but not flushed yet: close it here so the event opens a new window
+                windows.remove(key);
+                closed.add(open);
+                return false;
+            }
+            open.fold(event);
+            return true;
+        }
+    }
+
+    private boolean foldSpilled(String key, AuthEventDto event, Instant now) {
+        Update update = new Update()
+                .inc("suppressedCount", 1)
+                .set("latestEvent", event);
+        if (event.failedAttempts() != null) {
+            update.max("maxFailedAttempts", event.failedAttempts());
+        }
+        try {
+            return mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("_id").is(key).and("closesAt").gt(now)),
+                    update, CoalescingWindow.class).getMatchedCount() > 0;
+        } catch (Exception e) {
+            log.warn("Failed to fold event into spilled coalescing window {} - {}", key, e.getMessage());
+            return false;
+        }
+    }
+
+    private void spill(List<CoalescingWindow> spilled) {
+        List<CoalescingWindow> unsaved = new ArrayList<>();
+        for (CoalescingWindow open : spilled) {
+            if (!checkpoint(open)) {
+                log.warn("Could not spill coalescing window {}, closing it early", open.getKey());
+                unsaved.add(open);
+            }
+        }
+        log.debug("Spilled {} coalescing windows to MongoDB", spilled.size() - unsaved.size());
+        sendDigests(unsaved);
+    }
+
+    /**
+     * Store the window, or add its folds made since the last checkpoint to the stored window
+     */
+    private boolean checkpoint(CoalescingWindow open) {
+        int folds;
+        AuthEventDto latestEvent;
+        Integer maxFailedAttempts;
+        synchronized (windows) {
+            if (open.isPersisted() && open.getPendingFolds() == 0) {
+                return true;
+            }
+            folds = open.getPendingFolds();
+            latestEvent = open.getLatestEvent();
+            maxFailedAttempts = open.getMaxFailedAttempts();
+        }
+        Update update = new Update()
+                .setOnInsert("userId", open.getUserId())
+                .setOnInsert("eventType", open.getEventType())
+                .setOnInsert("openedAt", open.getOpenedAt())
+                .setOnInsert("closesAt", open.getClosesAt())
+                .inc("suppressedCount", folds)
+                .set("latestEvent", latestEvent);
+        if (maxFailedAttempts != null) {
+            update.max("maxFailedAttempts", maxFailedAttempts);
+        }
+        try {
+            // Increments keep folds made by other instances into the stored window
+            mongoTemplate.upsert(Query.query(Criteria.where("_id").is(open.getKey())), update, CoalescingWindow.class);
+        } catch (Exception e) {
+            log.warn("Failed to store coalescing window {} - {}", open.getKey(), e.getMessage());
+            return false;
+        }
+        synchronized (windows) {
+            open.markPersisted(folds);
+        }
+        spillPending = true;
+        return true;
+    }
+
+    /**
+     * Remove closed in-memory windows from MongoDB; the stored copy also holds folds made by other instances
+     */
+    private List<CoalescingWindow> claim(List<CoalescingWindow> closed) {
+        List<CoalescingWindow> claimed = new ArrayList<>(closed.size());
+        for (CoalescingWindow open : closed) {
+            if (!open.isPersisted()) {
+                claimed.add(open);
+                continue;
+            }
+            try {
+                checkpoint(open);
+                CoalescingWindow stored = mongoTemplate.findAndRemove(
+                        Query.query(Criteria.where("_id").is(open.getKey())), CoalescingWindow.class);
+                claimed.add(stored != null ? stored : open);
+            } catch (Exception e) {
+                log.warn("Failed to remove closed coalescing window {} - {}", open.getKey(), e.getMessage());
+                claimed.add(open);
+            }
+        }
+        return claimed;
+    }
+
+    private void flush() {
+        try {
+            Instant now = Instant.now();
+            List<CoalescingWindow> closed = new ArrayList<>();
+            List<CoalescingWindow> open;
+            synchronized (windows) {
+                Iterator<CoalescingWindow> iterator = windows.values().iterator();
+                while (iterator.hasNext()) {
+                    CoalescingWindow expired = iterator.next();
+                    if (expired.getClosesAt().isAfter(now)) break;
+                    closed.add(expired);
+                    iterator.remove();
+                }
+                open = new ArrayList<>(windows.values());
+            }
+            open.forEach(this::checkpoint);
+            closed = claim(closed);
+            if (spillPending) {
+                closed.addAll(claimSpilled(now));
+            }
+            sendDigests(closed);
+        } catch (Exception e) {
+            log.warn("Failed to flush coalescing windows", e);
+        }
+    }
+
+    private List<CoalescingWindow> claimSpilled(Instant now) {
+        List<CoalescingWindow> claimed = new ArrayList<>();
+        Query expired = Query.query(Criteria.where("closesAt").lte(now.minus(claimGrace))).with(Sort.by("closesAt"));
+        CoalescingWindow spilled;
+        // findAndRemove claims each window once even when several instances flush concurrently
+        while (claimed.size() < SPILL_FLUSH_LIMIT
+                && (spilled = mongoTemplate.findAndRemove(expired, CoalescingWindow.class)) != null) {
+            claimed.add(spilled);
+        }
+        if (claimed.size() < SPILL_FLUSH_LIMIT && !mongoTemplate.exists(new Query(), CoalescingWindow.class)) {
+            spillPending = false;
+        }
+        if (!claimed.isEmpty()) {
+            log.debug("Claimed {} expired coalescing windows from MongoDB", claimed.size());
+        }
+        return claimed;
+    }
+
+    private void sendDigests(List<CoalescingWindow> closed) {
+        List<AuthEventDto> digests = new ArrayList<>();
+        for (CoalescingWindow open : closed) {
+            if (open.getSuppressedCount() > 0 && open.getLatestEvent() != null) {
+                digests.add(open.getLatestEvent().asDigest(open.getEventType() + DIGEST_SUFFIX,
+                        open.getSuppressedCount(), open.getMaxFailedAttempts()));
+            }
+        }
+        if (digests.isEmpty()) return;
+        NotificationBatchResultDto result = dispatcher.dispatch(digests);
+        deadLetters.publishFailed(digests, result);
+        streamBridge.send("authNotifications-out-0", result);
+        log.info("Sent {} digest notifications for closed coalescing windows", digests.size());
+    }
+}
@@ -0,0 +1,38 @@
+package com.foodopia.notification.codec;
+
+import com.foodopia.common.codec.EventSchema;
+import com.foodopia.common.codec.EventSchemaIds;
+import com.foodopia.notification.dto.AuthEventDto;
+
+import static com.foodopia.common.codec.SchemaField.integer;
+import static com.foodopia.common.codec.SchemaField.string;
+
+/**
+ * Compact schemas of the events this service exchanges. Ids come from
+ * {@link EventSchemaIds} so they are shared with the other services.
+ */
+public final class EventSchemas {
+
+    /**
+     * Version 1 is what the authentication service writes, version 2 adds the fields only set
+     * inside this service
+     */
+    public static final EventSchema<AuthEventDto> AUTH_EVENT =
+            EventSchema.builder(EventSchemaIds.AUTH_EVENT, AuthEventDto.class)
+                    .version(1, string("eventType"), string("userId"), string("username"), string("email"),
+                            string("timestamp"), string("deviceInfo"), string("location"), string("ipAddress"),
+                            integer("failedAttempts"))
+                    .version(2, string("eventType"), string("userId"), string("username"), string("email"),
+                            string("timestamp"), string("deviceInfo"), string("location"), string("ipAddress"),
+                            integer("failedAttempts"), string("locale"), integer("occurrences"))
+                    .extractor(event -> new Object[]{event.eventType(), event.userId(), event.username(), event.email(),
+                            event.timestamp(), event.deviceInfo(), event.location(), event.ipAddress(),
+                            event.failedAttempts(), event.locale(), event.occurrences()})
+                    .factory(values -> new AuthEventDto((String) values[0], (String) values[1], (String) values[2],
+                            (String) values[3], (String) values[4], (String) values[5], (String) values[6],
+                            (String) values[7], (Integer) values[8], (String) values[9], (Integer) values[10]))
+                    .build();
+
+    private EventSchemas() {
+    }
+}
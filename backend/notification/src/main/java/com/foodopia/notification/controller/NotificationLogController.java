@@ -0,0 +1,53 @@
+package com.foodopia.notification.controller;
+
+import com.foodopia.notification.dto.NotificationHistoryDto;
+import com.foodopia.notification.service.INotificationLogService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(
+        name = "REST APIs for Notification History",
+        description = "REST APIs to FETCH the delivery history of a user's notifications"
+)
+@RestController
+@RequestMapping(path = "/api", produces = {MediaType.APPLICATION_JSON_VALUE})
+public class NotificationLogController {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationLogController.class);
+    private final INotificationLogService notificationLogService;
+
+    public NotificationLogController(INotificationLogService notificationLogService) {
+        this.notificationLogService = notificationLogService;
+    }
+
+    @Operation(
+            summary = "Fetch Notification History REST API",
+            description = "REST API to fetch a page of a user's notifications with their delivery status, newest first"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+            @ApiResponse(responseCode = "500", description = "HTTP Status Internal Server Error")
+    })
+    @GetMapping("/notifications/{userId}")
+    public ResponseEntity<NotificationHistoryDto> fetchNotificationHistory(
+            @PathVariable String userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        log.debug("Received request to fetch notification history for user id: {}, page: {}", userId, page);
+        NotificationHistoryDto history = notificationLogService.fetchHistory(userId, page, size);
+        log.debug("Successfully fetched {} notifications for user id: {}", history.notifications().size(), userId);
+        return ResponseEntity.status(HttpStatus.OK).body(history);
+    }
+}
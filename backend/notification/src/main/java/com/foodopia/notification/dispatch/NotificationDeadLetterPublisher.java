@@ -0,0 +1,49 @@
+package com.foodopia.notification.dispatch;
+
+import com.foodopia.notification.dto.AuthEventDto;
+import com.foodopia.notification.dto.NotificationBatchResultDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parks the events of users whose notifications failed after all attempts on the dead-letter topic,
+ * from where they can be inspected and replayed onto foodopia-auth-events. The binding is synchronous,
+ * so a failed hand-off throws and the consumed batch is not acknowledged.
+ */
+@Component
+public class NotificationDeadLetterPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationDeadLetterPublisher.class);
+
+    static final String BINDING = "authNotificationsDlq-out-0";
+
+    private final StreamBridge streamBridge;
+
+    public NotificationDeadLetterPublisher(StreamBridge streamBridge) {
+        this.streamBridge = streamBridge;
+    }
+
+    /**
+     * Publish every event of the batch whose user is listed as failed in the result
+     */
+    public void publishFailed(List<AuthEventDto> events, NotificationBatchResultDto result) {
+        if (result.failedUserIds().isEmpty()) return;
+        Set<String> failedUserIds = Set.copyOf(result.failedUserIds());
+        int published = 0;
+        for (AuthEventDto event : events) {
+            if (!failedUserIds.contains(event.userId())) continue;
+            if (!streamBridge.send(BINDING, event)) {
+                throw new IllegalStateException("Could not dead-letter " + event.eventType()
+                        + " event for user: " + event.userId() + " of batch " + result.batchId());
+            }
+            published++;
+        }
+        log.warn("Dead-lettered {} events of batch {} for {} users with failed notifications",
+                published, result.batchId(), failedUserIds.size());
+    }
+}
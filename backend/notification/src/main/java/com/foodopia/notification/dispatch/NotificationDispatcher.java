@@ -0,0 +1,171 @@
+package com.foodopia.notification.dispatch;
+
+import com.foodopia.notification.dto.AuthEventDto;
+import com.foodopia.notification.dto.NotificationBatchResultDto;
+import com.foodopia.notification.entity.NotificationLog;
+import com.foodopia.notification.entity.enums.NotificationStatus;
+import com.foodopia.notification.message.NotificationChannel;
+import com.foodopia.notification.message.NotificationMessage;
+import com.foodopia.notification.message.NotificationMessageFactory;
+import com.foodopia.notification.sender.NotificationSender;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans a batch of authentication events out to a bounded pool of sender threads and waits until
+ * every notification has been delivered or has exhausted its attempts. Each channel is throttled
+ * by its own {@link RateLimiter}; when the pool's queue is full the consuming thread sends the
+ * notification itself, which slows down polling instead of buffering without bound.
+ */
+@Component
+public class NotificationDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private final NotificationMessageFactory messageFactory;
+    private final NotificationLogWriter logWriter;
+    private final Map<NotificationChannel, NotificationSender> senders = new EnumMap<>(NotificationChannel.class);
+    private final Map<NotificationChannel, RateLimiter> rateLimiters = new EnumMap<>(NotificationChannel.class);
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final ThreadPoolExecutor executor;
+
+    public NotificationDispatcher(NotificationMessageFactory messageFactory,
+                                  NotificationLogWriter logWriter,
+                                  List<NotificationSender> senders,
+                                  @Value("${foodopia.notification.dispatch.pool-size:8}") int poolSize,
+                                  @Value("${foodopia.notification.dispatch.queue-capacity:256}") int queueCapacity,
+                                  @Value("${foodopia.notification.dispatch.max-attempts:3}") int maxAttempts,
+                                  @Value("${foodopia.notification.dispatch.retry-backoff:200ms}") Duration retryBackoff,
+                                  @Value("${foodopia.notification.dispatch.email-rate-per-second:50}") double emailRatePerSecond,
+                                  @Value("${foodopia.notification.dispatch.sms-rate-per-second:10}") double smsRatePerSecond) {
+        this.messageFactory = messageFactory;
+        this.logWriter = logWriter;
+        for (NotificationSender sender : senders) {
+            this.senders.put(sender.channel(), sender);
+        }
+        this.rateLimiters.put(NotificationChannel.EMAIL, new RateLimiter(emailRatePerSecond));
+        this.rateLimiters.put(NotificationChannel.SMS, new RateLimiter(smsRatePerSecond));
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoff = retryBackoff;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "notification-sender-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Deliver every notification of the batch and report which users were fully notified
+     */
+    public NotificationBatchResultDto dispatch(List<AuthEventDto> events) {
+        String batchId = UUID.randomUUID().toString();
+        long start = System.nanoTime();
+        log.debug("Dispatching notification batch {} with {} events", batchId, events.size());
+
+        List<NotificationMessage> messages = new ArrayList<>(events.size() * 2);
+        for (AuthEventDto event : events) {
+            messages.addAll(messageFactory.create(event));
+        }
+        List<CompletableFuture<Boolean>> deliveries = new ArrayList<>(messages.size());
+        for (NotificationMessage message : messages) {
+            deliveries.add(CompletableFuture.supplyAsync(() -> deliver(batchId, message), executor));
+        }
+        CompletableFuture.allOf(deliveries.toArray(CompletableFuture[]::new)).join();
+
+        Set<String> failed = new LinkedHashSet<>();
+        for (int i = 0; i < messages.size(); i++) {
+            if (!deliveries.get(i).join()) {
+                failed.add(messages.get(i).userId());
+            }
+        }
+        Set<String> delivered = new LinkedHashSet<>();
+        for (NotificationMessage message : messages) {
+            if (!failed.contains(message.userId())) {
+                delivered.add(message.userId());
+            }
+        }
+
+        log.info("Dispatched notification batch {} in {} ms: {} events, {} notifications, {} users delivered, {} failed",
+                batchId, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), events.size(), messages.size(),
+                delivered.size(), failed.size());
+        return new NotificationBatchResultDto(batchId, events.size(), new ArrayList<>(delivered), new ArrayList<>(failed),
+                LocalDateTime.now());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private boolean deliver(String batchId, NotificationMessage message) {
+        NotificationSender sender = senders.get(message.channel());
+        if (sender == null) {
+            log.warn("No sender configured for channel {}, dropping {} notification for user: {}",
+                    message.channel(), message.eventType(), message.userId());
+            record(batchId, message, NotificationStatus.FAILED, 0, "No sender configured");
+            return false;
+        }
+        RateLimiter rateLimiter = rateLimiters.get(message.channel());
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                rateLimiter.acquire();
+                sender.send(message);
+                record(batchId, message, NotificationStatus.DELIVERED, attempt, null);
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                record(batchId, message, NotificationStatus.FAILED, attempt, "Interrupted");
+                return false;
+            } catch (Exception e) {
+                if (attempt == maxAttempts) {
+                    log.error("Failed to send {} {} to user: {} after {} attempts", message.eventType(),
+                            message.channel(), message.userId(), attempt, e);
+                    record(batchId, message, NotificationStatus.FAILED, attempt, e.getMessage());
+                    return false;
+                }
+                log.warn("Attempt {} to send {} {} to user: {} failed - {}", attempt, message.eventType(),
+                        message.channel(), message.userId(), e.getMessage());
+                try {
+                    Thread.sleep(retryBackoff.toMillis() * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    record(batchId, message, NotificationStatus.FAILED, attempt, "Interrupted");
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void record(String batchId, NotificationMessage message, NotificationStatus status, int attempts,
+                        String error) {
+        logWriter.record(new NotificationLog(message.userId(), message.eventType(), message.channel(), status,
+                message.recipient(), batchId, attempts, error, Instant.now()));
+    }
+}
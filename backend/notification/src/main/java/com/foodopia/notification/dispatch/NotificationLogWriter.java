@@ -0,0 +1,110 @@
+package com.foodopia.notification.dispatch;
+
+import com.foodopia.notification.entity.NotificationLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes delivery outcomes to the notification log off the sending threads. Senders only offer to a
+ * bounded queue; a background thread drains it and inserts up to {@code batch-size} documents per
+ * round trip. When MongoDB falls behind the queue fills up and further entries are dropped and
+ * counted rather than slowing down delivery. The writer starts with the bean, so entries recorded
+ * while the rest of the context is still starting are written too.
+ */
+@Component
+public class NotificationLogWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationLogWriter.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final BlockingQueue<NotificationLog> queue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean running = true;
+    private Thread writer;
+
+    public NotificationLogWriter(MongoTemplate mongoTemplate,
+                                 @Value("${foodopia.notification.log.queue-capacity:10000}") int queueCapacity,
+                                 @Value("${foodopia.notification.log.batch-size:500}") int batchSize,
+                                 @Value("${foodopia.notification.log.flush-interval:1s}") Duration flushInterval) {
+        this.mongoTemplate = mongoTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        if (writer != null || !running) return;
+        writer = new Thread(this::run, "notification-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queue an entry for writing; never blocks
+     */
+    public void record(NotificationLog entry) {
+        if (!queue.offer(entry)) {
+            long total = dropped.incrementAndGet();
+            if (total == 1 || total % 1000 == 0) {
+                log.warn("Notification log queue is full, {} entries dropped so far", total);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        Thread current;
+        synchronized (this) {
+            current = writer;
+        }
+        if (current != null) {
+            current.interrupt();
+            current.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    private void run() {
+        List<NotificationLog> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                NotificationLog first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+            } catch (InterruptedException e) {
+                // Shutting down: write whatever is still queued
+                queue.drainTo(batch, batchSize);
+                if (batch.isEmpty()) break;
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<NotificationLog> batch) {
+        try {
+            mongoTemplate.insert(batch, NotificationLog.class);
+            log.debug("Wrote {} notification log entries", batch.size());
+        } catch (Exception e) {
+            dropped.addAndGet(batch.size());
+            log.warn("Failed to write {} notification log entries - {}", batch.size(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.foodopia.notification.dispatch;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spaces permits evenly at a fixed rate. Callers reserve the next free slot under a short lock
+ * and sleep outside it, so concurrent senders of one channel queue up instead of bursting.
+ */
+public final class RateLimiter {
+
+    private final long intervalNanos;
+    private long nextFreeNanos;
+
+    /**
+     * @param permitsPerSecond Maximum sustained rate; zero or negative disables limiting
+     */
+    public RateLimiter(double permitsPerSecond) {
+        this.intervalNanos = permitsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond) : 0L;
+        this.nextFreeNanos = System.nanoTime();
+    }
+
+    public void acquire() throws InterruptedException {
+        if (intervalNanos == 0L) return;
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextFreeNanos);
+            nextFreeNanos = slot + intervalNanos;
+            waitNanos = slot - now;
+        }
+        if (waitNanos > 0L) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
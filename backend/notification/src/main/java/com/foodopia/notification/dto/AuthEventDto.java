@@ -10,6 +10,8 @@ package com.foodopia.notification.dto;
  * @param location Location
  * @param ipAddress IP address
  * @param failedAttempts Number of failed attempts
+ * @param locale Preferred language of the user (e.g. de or de-DE), null for the default templates
+ * @param occurrences Number of events folded into this digest notification, null for single events
  */
 public record AuthEventDto(
         String eventType,
@@ -20,5 +22,16 @@ public record AuthEventDto(
         String deviceInfo,
         String location,
         String ipAddress,
-        Integer failedAttempts
-) {}
\ No newline at end of file
+        Integer failedAttempts,
+        String locale,
+        Integer occurrences
+) {
+
+    /**
+     * Digest notification standing for {@code occurrences} events that were folded into this one
+     */
+    public AuthEventDto asDigest(String digestEventType, int occurrences, Integer failedAttempts) {
+        return new AuthEventDto(digestEventType, userId, username, email, timestamp, deviceInfo, location,
+                ipAddress, failedAttempts, locale, occurrences);
+    }
+}
\ No newline at end of file
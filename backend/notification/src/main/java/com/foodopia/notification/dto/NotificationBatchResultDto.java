@@ -0,0 +1,19 @@
+package com.foodopia.notification.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * @param batchId Batch ID
+ * @param eventCount Number of events consumed in the batch
+ * @param deliveredUserIds Users whose notifications were all delivered
+ * @param failedUserIds Users with at least one notification that failed after all attempts
+ * @param completedAt Time the batch finished dispatching
+ */
+public record NotificationBatchResultDto(
+        String batchId,
+        int eventCount,
+        List<String> deliveredUserIds,
+        List<String> failedUserIds,
+        LocalDateTime completedAt
+) {}
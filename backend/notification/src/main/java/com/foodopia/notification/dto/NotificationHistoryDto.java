@@ -0,0 +1,18 @@
+package com.foodopia.notification.dto;
+
+import java.util.List;
+
+/**
+ * @param userId User ID
+ * @param page Zero-based page number
+ * @param size Page size
+ * @param hasNext Whether an older page exists
+ * @param notifications Notifications of the page, newest first
+ */
+public record NotificationHistoryDto(
+        String userId,
+        int page,
+        int size,
+        boolean hasNext,
+        List<NotificationLogDto> notifications
+) {}
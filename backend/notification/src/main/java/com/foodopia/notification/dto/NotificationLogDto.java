@@ -0,0 +1,24 @@
+package com.foodopia.notification.dto;
+
+import java.time.Instant;
+
+/**
+ * @param eventType Type of authentication event
+ * @param channel Delivery channel
+ * @param status Delivery outcome
+ * @param recipient Email address or username the notification was sent to
+ * @param batchId Batch the notification was dispatched in
+ * @param attempts Number of send attempts
+ * @param error Last error message of a failed notification
+ * @param createdAt Time the outcome was recorded
+ */
+public record NotificationLogDto(
+        String eventType,
+        String channel,
+        String status,
+        String recipient,
+        String batchId,
+        int attempts,
+        String error,
+        Instant createdAt
+) {}
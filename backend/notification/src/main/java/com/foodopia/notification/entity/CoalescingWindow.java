@@ -0,0 +1,141 @@
+package com.foodopia.notification.entity;
+
+import com.foodopia.notification.dto.AuthEventDto;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Open coalescing window of one user and event type. The first event of the window is sent right
+ * away; later ones only bump {@code suppressedCount} and replace {@code latestEvent}, and are sent
+ * as one digest when the window closes. Windows live in memory and are spilled to this collection
+ * when the in-memory bound is reached or the service shuts down.
+ */
+@Document(collection = "notification_coalescing_windows")
+public class CoalescingWindow {
+
+    @Id
+    private String key;
+    private String userId;
+    private String eventType;
+    private Instant openedAt;
+    @Indexed(name = "closes_at_idx")
+    private Instant closesAt;
+    private int suppressedCount;
+    private Integer maxFailedAttempts;
+    private AuthEventDto latestEvent;
+    // Folds not yet added to the stored window
+    @Transient
+    private int pendingFolds;
+    @Transient
+    private boolean persisted;
+
+    public CoalescingWindow() {
+    }
+
+    public CoalescingWindow(String key, AuthEventDto event, Instant openedAt, Instant closesAt) {
+        this.key = key;
+        this.userId = event.userId();
+        this.eventType = event.eventType();
+        this.openedAt = openedAt;
+        this.closesAt = closesAt;
+        this.maxFailedAttempts = event.failedAttempts();
+        this.latestEvent = event;
+    }
+
+    /**
+     * Fold a duplicate event into the window
+     */
+    public void fold(AuthEventDto event) {
+        suppressedCount++;
+        pendingFolds++;
+        latestEvent = event;
+        if (event.failedAttempts() != null
+                && (maxFailedAttempts == null || event.failedAttempts() > maxFailedAttempts)) {
+            maxFailedAttempts = event.failedAttempts();
+        }
+    }
+
+    /**
+     * Record that the window and the given number of its folds were written to MongoDB
+     */
+    public void markPersisted(int folds) {
+        persisted = true;
+        pendingFolds -= folds;
+    }
+
+    public int getPendingFolds() {
+        return pendingFolds;
+    }
+
+    public boolean isPersisted() {
+        return persisted;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public Instant getOpenedAt() {
+        return openedAt;
+    }
+
+    public void setOpenedAt(Instant openedAt) {
+        this.openedAt = openedAt;
+    }
+
+    public Instant getClosesAt() {
+        return closesAt;
+    }
+
+    public void setClosesAt(Instant closesAt) {
+        this.closesAt = closesAt;
+    }
+
+    public int getSuppressedCount() {
+        return suppressedCount;
+    }
+
+    public void setSuppressedCount(int suppressedCount) {
+        this.suppressedCount = suppressedCount;
+    }
+
+    public Integer getMaxFailedAttempts() {
+        return maxFailedAttempts;
+    }
+
+    public void setMaxFailedAttempts(Integer maxFailedAttempts) {
+        this.maxFailedAttempts = maxFailedAttempts;
+    }
+
+    public AuthEventDto getLatestEvent() {
+        return latestEvent;
+    }
+
+    public void setLatestEvent(AuthEventDto latestEvent) {
+        this.latestEvent = latestEvent;
+    }
+}
@@ -0,0 +1,134 @@
+package com.foodopia.notification.entity;
+
+import com.foodopia.notification.entity.enums.NotificationStatus;
+import com.foodopia.notification.message.NotificationChannel;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Delivery outcome of one notification. A TTL index on {@code createdAt} expires entries after
+ * foodopia.notification.log.retention, and {@code user_created_idx} (userId, createdAt desc) serves
+ * per-user history. An existing TTL index with another retention is reported as failed by
+ * MongoIndexManager until it is changed with collMod.
+ */
+@Document(collection = "notification_logs")
+@CompoundIndexes({
+        @CompoundIndex(name = "user_created_idx", def = "{'userId': 1, 'createdAt': -1}")
+})
+public class NotificationLog {
+
+    @Id
+    private String id;
+    private String userId;
+    private String eventType;
+    private NotificationChannel channel;
+    private NotificationStatus status;
+    private String recipient;
+    private String batchId;
+    private int attempts;
+    private String error;
+    @Indexed(name = "created_at_ttl_idx",
+            expireAfter = "#{@environment.getProperty('foodopia.notification.log.retention', '90d')}")
+    private Instant createdAt;
+
+    public NotificationLog() {
+    }
+
+    public NotificationLog(String userId, String eventType, NotificationChannel channel, NotificationStatus status,
+                           String recipient, String batchId, int attempts, String error, Instant createdAt) {
+        this.userId = userId;
+        this.eventType = eventType;
+        this.channel = channel;
+        this.status = status;
+        this.recipient = recipient;
+        this.batchId = batchId;
+        this.attempts = attempts;
+        this.error = error;
+        this.createdAt = createdAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public NotificationChannel getChannel() {
+        return channel;
+    }
+
+    public void setChannel(NotificationChannel channel) {
+        this.channel = channel;
+    }
+
+    public NotificationStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(NotificationStatus status) {
+        this.status = status;
+    }
+
+    public String getRecipient() {
+        return recipient;
+    }
+
+    public void setRecipient(String recipient) {
+        this.recipient = recipient;
+    }
+
+    public String getBatchId() {
+        return batchId;
+    }
+
+    public void setBatchId(String batchId) {
+        this.batchId = batchId;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,6 @@
+package com.foodopia.notification.entity.enums;
+
+public enum NotificationStatus {
+    DELIVERED,
+    FAILED
+}
@@ -0,0 +1,9 @@
+package com.foodopia.notification.message;
+
+/**
+ * Delivery channel of a notification; each channel has its own sender and rate limit
+ */
+public enum NotificationChannel {
+    EMAIL,
+    SMS
+}
@@ -0,0 +1,18 @@
+package com.foodopia.notification.message;
+
+/**
+ * @param channel Delivery channel
+ * @param userId User ID the notification belongs to
+ * @param eventType Type of authentication event that triggered it
+ * @param recipient Email address or username, depending on the channel
+ * @param subject Subject line, null for SMS
+ * @param body Rendered message body
+ */
+public record NotificationMessage(
+        NotificationChannel channel,
+        String userId,
+        String eventType,
+        String recipient,
+        String subject,
+        String body
+) {}
@@ -0,0 +1,43 @@
+package com.foodopia.notification.message;
+
+import com.foodopia.notification.dto.AuthEventDto;
+import com.foodopia.notification.template.NotificationTemplateEngine;
+import com.foodopia.notification.template.TemplatePart;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Turns an authentication event into the email and SMS notifications to deliver for it
+ */
+@Component
+public class NotificationMessageFactory {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationMessageFactory.class);
+
+    private final NotificationTemplateEngine templateEngine;
+
+    public NotificationMessageFactory(NotificationTemplateEngine templateEngine) {
+        this.templateEngine = templateEngine;
+    }
+
+    public List<NotificationMessage> create(AuthEventDto event) {
+        String eventType = event.eventType();
+        if (!templateEngine.supports(eventType)) {
+            log.warn("Unknown event type: {}", eventType);
+            return List.of();
+        }
+        NotificationMessage email = new NotificationMessage(NotificationChannel.EMAIL, event.userId(), eventType,
+                event.email(),
+                templateEngine.render(eventType, TemplatePart.EMAIL_SUBJECT, event.locale(), event),
+                templateEngine.render(eventType, TemplatePart.EMAIL_BODY, event.locale(), event));
+        String smsBody = templateEngine.render(eventType, TemplatePart.SMS, event.locale(), event);
+        if (smsBody == null) {
+            return List.of(email);
+        }
+        return List.of(email, new NotificationMessage(NotificationChannel.SMS, event.userId(), eventType,
+                event.username(), null, smsBody));
+    }
+}
@@ -0,0 +1,14 @@
+package com.foodopia.notification.repository;
+
+import com.foodopia.notification.entity.NotificationLog;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface NotificationLogRepository extends MongoRepository<NotificationLog, String> {
+
+    // Slice rather than Page: history pages never need a count over the user's whole log
+    Slice<NotificationLog> findByUserIdOrderByCreatedAtDesc(String userId, Pageable pageable);
+}
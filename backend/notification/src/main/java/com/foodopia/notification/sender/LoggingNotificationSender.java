@@ -0,0 +1,31 @@
+package com.foodopia.notification.sender;
+
+import com.foodopia.notification.message.NotificationChannel;
+import com.foodopia.notification.message.NotificationMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stand-in for channels without a configured provider: logs the notification instead of sending it
+ */
+public class LoggingNotificationSender implements NotificationSender {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingNotificationSender.class);
+
+    private final NotificationChannel channel;
+
+    public LoggingNotificationSender(NotificationChannel channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public NotificationChannel channel() {
+        return channel;
+    }
+
+    @Override
+    public void send(NotificationMessage message) {
+        log.info("Sending {} {} to {}: Subject: {}", message.eventType(), channel, message.recipient(), message.subject());
+        log.debug("{} content: {}", channel, message.body());
+    }
+}
@@ -0,0 +1,17 @@
+package com.foodopia.notification.sender;
+
+import com.foodopia.notification.message.NotificationChannel;
+import com.foodopia.notification.message.NotificationMessage;
+
+/**
+ * Delivers notifications of one channel; implementations must be thread-safe
+ */
+public interface NotificationSender {
+
+    NotificationChannel channel();
+
+    /**
+     * Deliver a single notification, throwing if the provider rejected it
+     */
+    void send(NotificationMessage message) throws Exception;
+}
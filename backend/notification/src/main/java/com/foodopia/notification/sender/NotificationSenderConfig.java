@@ -0,0 +1,30 @@
+package com.foodopia.notification.sender;
+
+import com.foodopia.notification.message.NotificationChannel;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.javamail.JavaMailSender;
+
+@Configuration
+public class NotificationSenderConfig {
+
+    /**
+     * SMTP delivery when spring.mail.host is set, otherwise emails are only logged
+     */
+    @Bean
+    public NotificationSender emailSender(ObjectProvider<JavaMailSender> mailSender,
+                                          @Value("${foodopia.notification.mail.from:no-reply@foodopia.com}") String from) {
+        JavaMailSender javaMailSender = mailSender.getIfAvailable();
+        return javaMailSender != null
+                ? new SmtpEmailSender(javaMailSender, from)
+                : new LoggingNotificationSender(NotificationChannel.EMAIL);
+    }
+
+    // In production, integrate with SMS service
+    @Bean
+    public NotificationSender smsSender() {
+        return new LoggingNotificationSender(NotificationChannel.SMS);
+    }
+}
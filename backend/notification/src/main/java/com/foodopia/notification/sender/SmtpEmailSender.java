@@ -0,0 +1,40 @@
+package com.foodopia.notification.sender;
+
+import com.foodopia.notification.message.NotificationChannel;
+import com.foodopia.notification.message.NotificationMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+/**
+ * Sends email notifications through the configured SMTP server
+ */
+public class SmtpEmailSender implements NotificationSender {
+
+    private static final Logger log = LoggerFactory.getLogger(SmtpEmailSender.class);
+
+    private final JavaMailSender mailSender;
+    private final String from;
+
+    public SmtpEmailSender(JavaMailSender mailSender, String from) {
+        this.mailSender = mailSender;
+        this.from = from;
+    }
+
+    @Override
+    public NotificationChannel channel() {
+        return NotificationChannel.EMAIL;
+    }
+
+    @Override
+    public void send(NotificationMessage message) {
+        SimpleMailMessage mail = new SimpleMailMessage();
+        mail.setFrom(from);
+        mail.setTo(message.recipient());
+        mail.setSubject(message.subject());
+        mail.setText(message.body());
+        mailSender.send(mail);
+        log.info("Sent {} email to {}: Subject: {}", message.eventType(), message.recipient(), message.subject());
+    }
+}
@@ -0,0 +1,14 @@
+package com.foodopia.notification.service;
+
+import com.foodopia.notification.dto.NotificationHistoryDto;
+
+public interface INotificationLogService {
+
+    /**
+     * @param userId - User ID
+     * @param page - Zero-based page number
+     * @param size - Page size, capped at the configured maximum
+     * @return Page of the user's notifications, newest first
+     */
+    NotificationHistoryDto fetchHistory(String userId, int page, int size);
+}
@@ -0,0 +1,47 @@
+package com.foodopia.notification.service.impl;
+
+import com.foodopia.notification.dto.NotificationHistoryDto;
+import com.foodopia.notification.dto.NotificationLogDto;
+import com.foodopia.notification.entity.NotificationLog;
+import com.foodopia.notification.repository.NotificationLogRepository;
+import com.foodopia.notification.service.INotificationLogService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class NotificationLogServiceImpl implements INotificationLogService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationLogServiceImpl.class);
+
+    private final NotificationLogRepository notificationLogRepository;
+    private final int maxPageSize;
+
+    public NotificationLogServiceImpl(NotificationLogRepository notificationLogRepository,
+                                      @Value("${foodopia.notification.log.max-page-size:100}") int maxPageSize) {
+        this.notificationLogRepository = notificationLogRepository;
+        this.maxPageSize = maxPageSize;
+    }
+
+    @Override
+    public NotificationHistoryDto fetchHistory(String userId, int page, int size) {
+        int pageNumber = Math.max(page, 0);
+        int pageSize = Math.min(Math.max(size, 1), maxPageSize);
+        log.debug("Fetching notification history page {} (size {}) for user id: {}", pageNumber, pageSize, userId);
+        Slice<NotificationLog> slice = notificationLogRepository
+                .findByUserIdOrderByCreatedAtDesc(userId, PageRequest.of(pageNumber, pageSize));
+        List<NotificationLogDto> notifications = slice.getContent().stream()
+                .map(entry -> new NotificationLogDto(entry.getEventType(),
+                        entry.getChannel() != null ? entry.getChannel().name() : null,
+                        entry.getStatus() != null ? entry.getStatus().name() : null,
+                        entry.getRecipient(), entry.getBatchId(), entry.getAttempts(), entry.getError(),
+                        entry.getCreatedAt()))
+                .toList();
+        return new NotificationHistoryDto(userId, pageNumber, pageSize, slice.hasNext(), notifications);
+    }
+}
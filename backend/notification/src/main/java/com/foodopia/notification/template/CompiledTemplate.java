@@ -0,0 +1,80 @@
+package com.foodopia.notification.template;
+
+import com.foodopia.notification.dto.AuthEventDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A template parsed once into alternating segments: {@code literals[i]} is written before
+ * {@code fields[i]}, and the last literal closes the message. Rendering is a straight walk
+ * over the arrays with no parsing, formatting or intermediate strings.
+ */
+public final class CompiledTemplate {
+
+    private final String[] literals;
+    private final TemplateField[] fields;
+    private final String[] fallbacks;
+    private final int estimatedLength;
+
+    private CompiledTemplate(String[] literals, TemplateField[] fields, String[] fallbacks) {
+        this.literals = literals;
+        this.fields = fields;
+        this.fallbacks = fallbacks;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.estimatedLength = length + fields.length * 16;
+    }
+
+    public static CompiledTemplate parse(String source) {
+        List<String> literals = new ArrayList<>();
+        List<TemplateField> fields = new ArrayList<>();
+        List<String> fallbacks = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = source.indexOf('{', position);
+            if (open < 0) break;
+            int close = source.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at index " + open + " in template: " + source);
+            }
+            String placeholder = source.substring(open + 1, close);
+            int separator = placeholder.indexOf('|');
+            literals.add(source.substring(position, open));
+            fields.add(TemplateField.fromPlaceholder(separator < 0 ? placeholder : placeholder.substring(0, separator)));
+            fallbacks.add(separator < 0 ? null : placeholder.substring(separator + 1));
+            position = close + 1;
+        }
+        literals.add(source.substring(position));
+        return new CompiledTemplate(literals.toArray(String[]::new), fields.toArray(TemplateField[]::new),
+                fallbacks.toArray(String[]::new));
+    }
+
+    /**
+     * Append the rendered template for the event to {@code out}
+     */
+    public void renderTo(AuthEventDto event, StringBuilder out) {
+        out.ensureCapacity(out.length() + estimatedLength);
+        for (int i = 0; i < fields.length; i++) {
+            out.append(literals[i]);
+            fields[i].appendTo(out, event, fallbacks[i]);
+        }
+        out.append(literals[fields.length]);
+    }
+
+    /**
+     * True when the template has no placeholders and always renders to the same text
+     */
+    public boolean isConstant() {
+        return fields.length == 0;
+    }
+
+    /**
+     * The full text of a constant template
+     */
+    public String constantText() {
+        return literals[0];
+    }
+}
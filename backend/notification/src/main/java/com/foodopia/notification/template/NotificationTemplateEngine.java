@@ -0,0 +1,154 @@
+package com.foodopia.notification.template;
+
+import com.foodopia.notification.dto.AuthEventDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads the email and SMS templates from {@code <basename>.properties} and its localized variants
+ * ({@code <basename>_de.properties}, ...) once at startup and compiles them, keyed by event type
+ * and {@link TemplatePart}. A localized file only needs the keys it translates. Messages are
+ * rendered into a per-thread StringBuilder that is reused across messages.
+ */
+@Component
+public class NotificationTemplateEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationTemplateEngine.class);
+    private static final String DEFAULT_LOCALE = "";
+    private static final int MAX_POOLED_CAPACITY = 16 * 1024;
+    private static final int MAX_RESOLVED_LOCALES = 256;
+
+    private final Map<String, Map<String, CompiledTemplate[]>> templatesByLocale = new HashMap<>();
+    private final Map<String, Map<String, CompiledTemplate[]>> resolvedLocales = new ConcurrentHashMap<>();
+    private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
+    public NotificationTemplateEngine(
+            @Value("${foodopia.notification.templates.basename:templates/notification-templates}") String basename,
+            @Value("${foodopia.notification.templates.locales:de}") List<String> locales) {
+        Properties defaults = load(basename + ".properties");
+        if (defaults == null) {
+            throw new IllegalStateException("Missing notification templates: " + basename + ".properties");
+        }
+        Map<String, CompiledTemplate[]> defaultTemplates = compile(defaults, Map.of());
+        templatesByLocale.put(DEFAULT_LOCALE, defaultTemplates);
+        for (String locale : locales) {
+            String key = normalize(locale);
+            if (key.isEmpty()) continue;
+            Properties localized = load(basename + "_" + key + ".properties");
+            if (localized == null) {
+                log.warn("No notification templates found for locale {}, falling back to defaults", key);
+                continue;
+            }
+            templatesByLocale.put(key, compile(localized, defaultTemplates));
+        }
+        log.info("Compiled notification templates for {} event types and locales {}", defaultTemplates.size(),
+                templatesByLocale.keySet());
+    }
+
+    /**
+     * True when there is an email template for the event type
+     */
+    public boolean supports(String eventType) {
+        if (eventType == null) return false;
+        CompiledTemplate[] templates = templatesByLocale.get(DEFAULT_LOCALE).get(eventType);
+        return templates != null && templates[TemplatePart.EMAIL_BODY.ordinal()] != null;
+    }
+
+    /**
+     * Render one part of the event's notification in the requested locale, falling back to its
+     * language and then to the defaults. Returns null when no template exists for the event type.
+     */
+    public String render(String eventType, TemplatePart part, String locale, AuthEventDto event) {
+        CompiledTemplate[] templates = eventType == null ? null : templatesFor(locale).get(eventType);
+        CompiledTemplate template = templates == null ? null : templates[part.ordinal()];
+        if (template == null) {
+            return null;
+        }
+        if (template.isConstant()) {
+            return template.constantText();
+        }
+        StringBuilder buffer = buffers.get();
+        buffer.setLength(0);
+        template.renderTo(event, buffer);
+        String rendered = buffer.toString();
+        if (buffer.capacity() > MAX_POOLED_CAPACITY) {
+            buffers.remove();
+        }
+        return rendered;
+    }
+
+    private Map<String, CompiledTemplate[]> templatesFor(String locale) {
+        if (locale == null || locale.isEmpty()) {
+            return templatesByLocale.get(DEFAULT_LOCALE);
+        }
+        Map<String, CompiledTemplate[]> resolved = resolvedLocales.get(locale);
+        if (resolved != null) {
+            return resolved;
+        }
+        String key = normalize(locale);
+        resolved = templatesByLocale.get(key);
+        if (resolved == null) {
+            int separator = key.indexOf('_');
+            resolved = templatesByLocale.get(separator < 0 ? key : key.substring(0, separator));
+        }
+        if (resolved == null) {
+            resolved = templatesByLocale.get(DEFAULT_LOCALE);
+        }
+        if (resolvedLocales.size() < MAX_RESOLVED_LOCALES) {
+            resolvedLocales.put(locale, resolved);
+        }
+        return resolved;
+    }
+
+    private static Map<String, CompiledTemplate[]> compile(Properties properties,
+                                                           Map<String, CompiledTemplate[]> defaults) {
+        Map<String, CompiledTemplate[]> templates = new HashMap<>();
+        defaults.forEach((eventType, parts) -> templates.put(eventType, parts.clone()));
+        for (String key : properties.stringPropertyNames()) {
+            int separator = key.indexOf('.');
+            TemplatePart part = separator < 0 ? null : TemplatePart.fromKey(key, separator);
+            if (part == null) {
+                throw new IllegalStateException("Invalid notification template key: " + key);
+            }
+            try {
+                templates.computeIfAbsent(key.substring(0, separator), k -> new CompiledTemplate[TemplatePart.values().length])
+                        [part.ordinal()] = CompiledTemplate.parse(properties.getProperty(key));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Invalid notification template " + key + ": " + e.getMessage(), e);
+            }
+        }
+        return Map.copyOf(templates);
+    }
+
+    private static Properties load(String path) {
+        ClassPathResource resource = new ClassPathResource(path);
+        if (!resource.exists()) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read notification templates from " + path, e);
+        }
+        return properties;
+    }
+
+    private static String normalize(String locale) {
+        return Locale.forLanguageTag(locale.trim().replace('_', '-')).toString();
+    }
+}
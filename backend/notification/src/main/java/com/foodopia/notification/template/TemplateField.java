@@ -0,0 +1,92 @@
+package com.foodopia.notification.template;
+
+import com.foodopia.notification.dto.AuthEventDto;
+
+/**
+ * Placeholders a notification template may reference, written as {@code {name}} or
+ * {@code {name|fallback}} where the fallback replaces a null value
+ */
+public enum TemplateField {
+
+    USERNAME("username") {
+        @Override
+        void appendTo(StringBuilder out, AuthEventDto event, String fallback) {
+            appendOrFallback(out, event.username(), fallback);
+        }
+    },
+    EMAIL("email") {
+        @Override
+        void appendTo(StringBuilder out, AuthEventDto event, String fallback) {
+            appendOrFallback(out, event.email(), fallback);
+        }
+    },
+    TIMESTAMP("timestamp") {
+        @Override
+        void appendTo(StringBuilder out, AuthEventDto event, String fallback) {
+            appendOrFallback(out, event.timestamp(), fallback);
+        }
+    },
+    DEVICE_INFO("deviceInfo") {
+        @Override
+        void appendTo(StringBuilder out, AuthEventDto event, String fallback) {
+            appendOrFallback(out, event.deviceInfo(), fallback);
+        }
+    },
+    LOCATION("location") {
+        @Override
+        void appendTo(StringBuilder out, AuthEventDto event, String fallback) {
+            appendOrFallback(out, event.location(), fallback);
+        }
+    },
+    IP_ADDRESS("ipAddress") {
+        @Override
+        void appendTo(StringBuilder out, AuthEventDto event, String fallback) {
+            appendOrFallback(out, event.ipAddress(), fallback);
+        }
+    },
+    FAILED_ATTEMPTS("failedAttempts") {
+        @Override
+        void appendTo(StringBuilder out, AuthEventDto event, String fallback) {
+            appendOrFallback(out, event.failedAttempts(), fallback);
+        }
+    },
+    OCCURRENCES("occurrences") {
+        @Override
+        void appendTo(StringBuilder out, AuthEventDto event, String fallback) {
+            appendOrFallback(out, event.occurrences(), fallback);
+        }
+    };
+
+    private final String placeholder;
+
+    TemplateField(String placeholder) {
+        this.placeholder = placeholder;
+    }
+
+    public String placeholder() {
+        return placeholder;
+    }
+
+    abstract void appendTo(StringBuilder out, AuthEventDto event, String fallback);
+
+    static TemplateField fromPlaceholder(String placeholder) {
+        for (TemplateField field : values()) {
+            if (field.placeholder.equals(placeholder)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown template placeholder: {" + placeholder + "}");
+    }
+
+    private static void appendOrFallback(StringBuilder out, String value, String fallback) {
+        out.append(value != null || fallback == null ? value : fallback);
+    }
+
+    private static void appendOrFallback(StringBuilder out, Integer value, String fallback) {
+        if (value != null) {
+            out.append(value.intValue());
+        } else {
+            out.append(fallback);
+        }
+    }
+}
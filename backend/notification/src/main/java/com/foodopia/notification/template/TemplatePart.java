@@ -0,0 +1,31 @@
+package com.foodopia.notification.template;
+
+/**
+ * Parts of an event's notification, each a separate template keyed {@code <EVENT_TYPE>.<suffix>}
+ */
+public enum TemplatePart {
+
+    EMAIL_SUBJECT("email.subject"),
+    EMAIL_BODY("email.body"),
+    SMS("sms");
+
+    private final String suffix;
+
+    TemplatePart(String suffix) {
+        this.suffix = suffix;
+    }
+
+    public String suffix() {
+        return suffix;
+    }
+
+    static TemplatePart fromKey(String key, int separator) {
+        String suffix = key.substring(separator + 1);
+        for (TemplatePart part : values()) {
+            if (part.suffix.equals(suffix)) {
+                return part;
+            }
+        }
+        return null;
+    }
+}
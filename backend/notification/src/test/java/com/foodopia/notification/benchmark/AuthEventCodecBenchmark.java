@@ -0,0 +1,89 @@
+package com.foodopia.notification.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodopia.common.codec.CompactCodec;
+import com.foodopia.common.codec.EventSchemaRegistry;
+import com.foodopia.notification.codec.EventSchemas;
+import com.foodopia.notification.dto.AuthEventDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JSON encoding Spring Cloud Stream uses for auth events with the compact encoding,
+ * in encode and decode throughput. The encoded sizes are printed before the run.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.foodopia.notification.benchmark.AuthEventCodecBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthEventCodecBenchmark {
+
+    private ObjectMapper objectMapper;
+    private CompactCodec codec;
+    private AuthEventDto event;
+    private byte[] json;
+    private byte[] compact;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapper();
+        codec = new CompactCodec(new EventSchemaRegistry().register(EventSchemas.AUTH_EVENT));
+        event = sampleEvent();
+        json = objectMapper.writeValueAsBytes(event);
+        compact = codec.encode(event);
+    }
+
+    @Benchmark
+    public byte[] jsonEncode() throws Exception {
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public AuthEventDto jsonDecode() throws Exception {
+        return objectMapper.readValue(json, AuthEventDto.class);
+    }
+
+    @Benchmark
+    public byte[] compactEncode() {
+        return codec.encode(event);
+    }
+
+    @Benchmark
+    public AuthEventDto compactDecode() {
+        return codec.decode(compact, AuthEventDto.class);
+    }
+
+    private static AuthEventDto sampleEvent() {
+        return new AuthEventDto("NEW_DEVICE_LOGIN", "65a1f0c2e4b0a1b2c3d4e5f6", "jane.doe", "jane.doe@foodopia.test",
+                "2025-01-01 10:00:00", "Mozilla/5.0 (X11; Linux x86_64; rv:121.0) Gecko/20100101 Firefox/121.0",
+                null, "203.0.113.7", null, null, null);
+    }
+
+    public static void main(String[] args) throws Exception {
+        AuthEventCodecBenchmark sizes = new AuthEventCodecBenchmark();
+        sizes.setUp();
+        System.out.printf("Encoded size: JSON %d bytes, compact %d bytes%n", sizes.json.length, sizes.compact.length);
+        new Runner(new OptionsBuilder()
+                .include(AuthEventCodecBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
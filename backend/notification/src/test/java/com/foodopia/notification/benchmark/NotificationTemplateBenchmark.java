@@ -0,0 +1,85 @@
+package com.foodopia.notification.benchmark;
+
+import com.foodopia.notification.dto.AuthEventDto;
+import com.foodopia.notification.template.NotificationTemplateEngine;
+import com.foodopia.notification.template.TemplatePart;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rendering the new-device email body with the former String.format literal and with
+ * the compiled template. gc.alloc.rate.norm from the GC profiler is bytes allocated per message.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.foodopia.notification.benchmark.NotificationTemplateBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotificationTemplateBenchmark {
+
+    private NotificationTemplateEngine engine;
+    private AuthEventDto event;
+
+    @Setup
+    public void setUp() {
+        engine = new NotificationTemplateEngine("templates/notification-templates", List.of("de"));
+        event = new AuthEventDto("NEW_DEVICE_LOGIN", "user-1", "jane.doe", "jane@foodopia.test",
+                "2025-01-01T10:00:00", "Firefox on Linux", null, "203.0.113.7", null, null, null);
+    }
+
+    @Benchmark
+    public String stringFormat() {
+        return String.format(
+                "Dear %s,\n\n" +
+                        "We detected a login to your Foodopia account from a new device:\n\n" +
+                        "Time: %s\n" +
+                        "Device: %s\n" +
+                        "Location: %s\n" +
+                        "IP Address: %s\n\n" +
+                        "If this was you, no action is needed. Otherwise, please secure your account.\n\n" +
+                        "Best regards,\n" +
+                        "The Foodopia Security Team",
+                event.username(),
+                event.timestamp(),
+                event.deviceInfo() != null ? event.deviceInfo() : "Unknown",
+                event.location() != null ? event.location() : "Unknown",
+                event.ipAddress() != null ? event.ipAddress() : "Unknown"
+        );
+    }
+
+    @Benchmark
+    public String compiledTemplate() {
+        return engine.render(event.eventType(), TemplatePart.EMAIL_BODY, event.locale(), event);
+    }
+
+    @Benchmark
+    public String compiledTemplateLocalized() {
+        return engine.render(event.eventType(), TemplatePart.EMAIL_BODY, "de-DE", event);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(NotificationTemplateBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,119 @@
+package com.foodopia.notification.coalesce;
+
+import com.foodopia.notification.dispatch.NotificationDeadLetterPublisher;
+import com.foodopia.notification.dispatch.NotificationDispatcher;
+import com.foodopia.notification.dto.AuthEventDto;
+import com.foodopia.notification.dto.NotificationBatchResultDto;
+import com.foodopia.notification.entity.CoalescingWindow;
+import com.mongodb.client.result.UpdateResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationCoalescerTests {
+
+    private NotificationDispatcher dispatcher;
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = mock(NotificationDispatcher.class);
+        mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(CoalescingWindow.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+        when(dispatcher.dispatch(anyList()))
+                .thenReturn(new NotificationBatchResultDto("batch", 1, List.of(), List.of(), LocalDateTime.now()));
+    }
+
+    @Test
+    void foldsDuplicatesIntoDigestWhenWindowCloses() throws Exception {
+        NotificationCoalescer coalescer = coalescer(Duration.ofMillis(50), 100);
+
+        List<AuthEventDto> admitted = coalescer.admit(List.of(
+                event("user-1", "NEW_DEVICE_LOGIN", null),
+                event("user-1", "NEW_DEVICE_LOGIN", null),
+                event("user-1", "MULTIPLE_FAILED_ATTEMPTS", 3),
+                event("user-1", "MULTIPLE_FAILED_ATTEMPTS", 7),
+                event("user-1", "PASSWORD_CHANGED", null)));
+
+        assertThat(admitted).extracting(AuthEventDto::eventType)
+                .containsExactly("NEW_DEVICE_LOGIN", "MULTIPLE_FAILED_ATTEMPTS", "PASSWORD_CHANGED");
+
+        Thread.sleep(60);
+        // The next event finds both windows expired: it closes them and opens a new window
+        assertThat(coalescer.admit(List.of(event("user-1", "NEW_DEVICE_LOGIN", null)))).hasSize(1);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<AuthEventDto>> digests = ArgumentCaptor.forClass(List.class);
+        verify(dispatcher).dispatch(digests.capture());
+        assertThat(digests.getValue()).singleElement().satisfies(digest -> {
+            assertThat(digest.eventType()).isEqualTo("NEW_DEVICE_LOGIN_DIGEST");
+            assertThat(digest.occurrences()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void storesWindowsWhenTheyOpen() {
+        NotificationCoalescer coalescer = coalescer(Duration.ofMinutes(10), 2);
+
+        coalescer.admit(List.of(
+                event("user-1", "NEW_DEVICE_LOGIN", null),
+                event("user-1", "NEW_DEVICE_LOGIN", null),
+                event("user-2", "NEW_DEVICE_LOGIN", null),
+                event("user-3", "NEW_DEVICE_LOGIN", null)));
+
+        ArgumentCaptor<Query> stored = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(3)).upsert(stored.capture(), any(Update.class), eq(CoalescingWindow.class));
+        assertThat(stored.getAllValues()).extracting(query -> query.getQueryObject().getString("_id"))
+                .containsExactly("user-1:NEW_DEVICE_LOGIN", "user-2:NEW_DEVICE_LOGIN", "user-3:NEW_DEVICE_LOGIN");
+        verify(dispatcher, never()).dispatch(anyList());
+    }
+
+    @Test
+    void looksUpStoredWindowsOnlyOnceSomeExist() {
+        NotificationCoalescer fresh = coalescer(Duration.ofMinutes(10), 100);
+        fresh.admit(List.of(event("user-1", "NEW_DEVICE_LOGIN", null)));
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(CoalescingWindow.class));
+
+        // A previous run left windows behind
+        when(mongoTemplate.exists(any(Query.class), eq(CoalescingWindow.class))).thenReturn(true);
+        NotificationCoalescer restarted = coalescer(Duration.ofMinutes(10), 100);
+        restarted.start();
+        try {
+            restarted.admit(List.of(event("user-2", "NEW_DEVICE_LOGIN", null)));
+        } finally {
+            restarted.shutdown();
+        }
+        verify(mongoTemplate).updateFirst(any(Query.class), any(Update.class), eq(CoalescingWindow.class));
+    }
+
+    private NotificationCoalescer coalescer(Duration window, int maxInMemoryWindows) {
+        return new NotificationCoalescer(dispatcher, mongoTemplate, mock(StreamBridge.class),
+                mock(NotificationDeadLetterPublisher.class), window,
+                Set.of("NEW_DEVICE_LOGIN", "MULTIPLE_FAILED_ATTEMPTS"), maxInMemoryWindows, Duration.ofSeconds(5));
+    }
+
+    private static AuthEventDto event(String userId, String eventType, Integer failedAttempts) {
+        return new AuthEventDto(eventType, userId, userId, userId + "@foodopia.test", "2025-01-01T10:00:00",
+                "Firefox", "Berlin", "127.0.0.1", failedAttempts, null, null);
+    }
+}
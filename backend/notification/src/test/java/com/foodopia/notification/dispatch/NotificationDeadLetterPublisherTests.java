@@ -0,0 +1,61 @@
+package com.foodopia.notification.dispatch;
+
+import com.foodopia.notification.dto.AuthEventDto;
+import com.foodopia.notification.dto.NotificationBatchResultDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.stream.function.StreamBridge;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationDeadLetterPublisherTests {
+
+    private final StreamBridge streamBridge = mock(StreamBridge.class);
+    private final NotificationDeadLetterPublisher publisher = new NotificationDeadLetterPublisher(streamBridge);
+
+    @Test
+    void publishesOnlyEventsOfFailedUsers() {
+        AuthEventDto ok = event("user-ok");
+        AuthEventDto bad = event("user-bad");
+        when(streamBridge.send(any(), any())).thenReturn(true);
+
+        publisher.publishFailed(List.of(ok, bad), result(List.of("user-ok"), List.of("user-bad")));
+
+        verify(streamBridge).send(NotificationDeadLetterPublisher.BINDING, bad);
+        verify(streamBridge, never()).send(NotificationDeadLetterPublisher.BINDING, ok);
+    }
+
+    @Test
+    void skipsBatchesWithoutFailures() {
+        publisher.publishFailed(List.of(event("user-ok")), result(List.of("user-ok"), List.of()));
+
+        verify(streamBridge, never()).send(any(), any());
+    }
+
+    @Test
+    void throwsWhenTheDeadLetterCannotBeHandedOff() {
+        when(streamBridge.send(eq(NotificationDeadLetterPublisher.BINDING), any())).thenReturn(false);
+
+        assertThatThrownBy(() -> publisher.publishFailed(List.of(event("user-bad")),
+                result(List.of(), List.of("user-bad"))))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static NotificationBatchResultDto result(List<String> delivered, List<String> failed) {
+        return new NotificationBatchResultDto("batch-1", delivered.size() + failed.size(), delivered, failed,
+                LocalDateTime.now());
+    }
+
+    private static AuthEventDto event(String userId) {
+        return new AuthEventDto("PASSWORD_CHANGED", userId, userId, userId + "@foodopia.test", "2025-01-01T10:00:00",
+                "Firefox", "Berlin", "127.0.0.1", 0, null, null);
+    }
+}
@@ -0,0 +1,120 @@
+package com.foodopia.notification.dispatch;
+
+import com.foodopia.notification.dto.AuthEventDto;
+import com.foodopia.notification.dto.NotificationBatchResultDto;
+import com.foodopia.notification.message.NotificationChannel;
+import com.foodopia.notification.message.NotificationMessageFactory;
+import com.foodopia.notification.sender.LoggingNotificationSender;
+import com.foodopia.notification.sender.NotificationSender;
+import com.foodopia.notification.sender.SmtpEmailSender;
+import com.foodopia.notification.template.NotificationTemplateEngine;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class NotificationDispatcherTests {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private NotificationDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) dispatcher.shutdown();
+    }
+
+    @Test
+    void deliversWholeBatchThroughSmtp() throws Exception {
+        dispatcher = dispatcher(smtpSender(), 0);
+        List<AuthEventDto> events = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            events.add(event("user-" + i, i % 2 == 0 ? "USER_REGISTERED" : "NEW_DEVICE_LOGIN"));
+        }
+
+        NotificationBatchResultDto result = dispatcher.dispatch(events);
+
+        assertThat(result.eventCount()).isEqualTo(20);
+        assertThat(result.deliveredUserIds()).hasSize(20);
+        assertThat(result.failedUserIds()).isEmpty();
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(20);
+        assertThat(received[0].getAllRecipients()[0].toString()).endsWith("@foodopia.test");
+    }
+
+    @Test
+    void retriesAndReportsFailedUsers() {
+        AtomicInteger calls = new AtomicInteger();
+        NotificationSender flaky = new NotificationSender() {
+            @Override
+            public NotificationChannel channel() {
+                return NotificationChannel.EMAIL;
+            }
+
+            @Override
+            public void send(com.foodopia.notification.message.NotificationMessage message) {
+                calls.incrementAndGet();
+                if ("user-bad".equals(message.userId())) {
+                    throw new IllegalStateException("mailbox unavailable");
+                }
+            }
+        };
+        dispatcher = dispatcher(flaky, 0);
+
+        NotificationBatchResultDto result = dispatcher.dispatch(List.of(
+                event("user-ok", "PASSWORD_CHANGED"), event("user-bad", "PASSWORD_CHANGED"), event("user-x", "UNKNOWN")));
+
+        assertThat(result.deliveredUserIds()).containsExactly("user-ok");
+        assertThat(result.failedUserIds()).containsExactly("user-bad");
+        assertThat(calls.get()).isEqualTo(1 + 3);
+    }
+
+    @Test
+    void rateLimitsEachChannel() {
+        dispatcher = dispatcher(new LoggingNotificationSender(NotificationChannel.EMAIL), 100);
+        List<AuthEventDto> events = new ArrayList<>();
+        for (int i = 0; i < 21; i++) {
+            events.add(event("user-" + i, "ACCOUNT_UNLOCKED"));
+        }
+
+        long start = System.nanoTime();
+        dispatcher.dispatch(events);
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // 21 permits at 100/s need at least 200 ms, whatever the pool size
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(190);
+    }
+
+    private static NotificationDispatcher dispatcher(NotificationSender emailSender, double emailRate) {
+        return new NotificationDispatcher(new NotificationMessageFactory(new NotificationTemplateEngine(
+                        "templates/notification-templates", List.of("de"))),
+                new NotificationLogWriter(mock(MongoTemplate.class), 1000, 100, Duration.ofSeconds(1)),
+                List.of(emailSender, new LoggingNotificationSender(NotificationChannel.SMS)),
+                4, 8, 3, Duration.ofMillis(1), emailRate, 0);
+    }
+
+    private static NotificationSender smtpSender() {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+        return new SmtpEmailSender(mailSender, "no-reply@foodopia.com");
+    }
+
+    private static AuthEventDto event(String userId, String eventType) {
+        return new AuthEventDto(eventType, userId, userId, userId + "@foodopia.test", "2025-01-01T10:00:00",
+                "Firefox", "Berlin", "127.0.0.1", 5, null, null);
+    }
+}
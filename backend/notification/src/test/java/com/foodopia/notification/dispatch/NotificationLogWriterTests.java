@@ -0,0 +1,35 @@
+package com.foodopia.notification.dispatch;
+
+import com.foodopia.notification.entity.NotificationLog;
+import com.foodopia.notification.entity.enums.NotificationStatus;
+import com.foodopia.notification.message.NotificationChannel;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class NotificationLogWriterTests {
+
+    @Test
+    void writesEntriesRecordedBeforeStart() throws Exception {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        NotificationLogWriter writer = new NotificationLogWriter(mongoTemplate, 100, 10, Duration.ofMillis(10));
+
+        writer.record(new NotificationLog("user-1", "PASSWORD_CHANGED", NotificationChannel.EMAIL,
+                NotificationStatus.DELIVERED, "user-1@foodopia.test", "batch-1", 1, null, Instant.now()));
+        writer.start();
+        try {
+            verify(mongoTemplate, timeout(2000)).insert(anyList(), eq(NotificationLog.class));
+        } finally {
+            writer.shutdown();
+        }
+    }
+}
@@ -2,8 +2,12 @@ package com.foodopia.scheduling;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.data.mongodb.config.EnableMongoAuditing;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@EnableMongoAuditing(auditorAwareRef = "auditAwareImpl")
 public class SchedulingApplication {
 
 	public static void main(String[] args) {
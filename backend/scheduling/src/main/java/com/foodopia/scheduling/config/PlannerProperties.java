@@ -0,0 +1,30 @@
+package com.foodopia.scheduling.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Settings of the delivery planner
+ *
+ * @param parallelism Threads of the planner's fork-join pool, 0 for one per CPU
+ * @param timeLimit Time budget of the local search for one plan
+ * @param vehicleCapacity Deliveries one route can carry
+ * @param routesPerWindow Routes available per region and delivery window
+ * @param defaultWindows Delivery windows used when a request does not name any
+ */
+@ConfigurationProperties(prefix = "foodopia.scheduling.planner")
+public record PlannerProperties(
+        @DefaultValue("0") int parallelism,
+        @DefaultValue("2s") Duration timeLimit,
+        @DefaultValue("40") int vehicleCapacity,
+        @DefaultValue("25") int routesPerWindow,
+        List<Window> defaultWindows
+) {
+
+    public record Window(String id, LocalTime start, LocalTime end) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.foodopia.scheduling.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the weekly schedule generation
+ *
+ * @param subscriptionDatabase Database of the customer service holding user_subscriptions
+ * @param partitions Number of userId ranges generated in parallel
+ * @param chunkSize Scheduled meals written per bulk insert
+ * @param cursorBatchSize Subscriptions fetched per cursor round trip
+ */
+@ConfigurationProperties(prefix = "foodopia.scheduling.schedule-job")
+public record ScheduleJobProperties(
+        @DefaultValue("Foodopia_customer") String subscriptionDatabase,
+        @DefaultValue("4") int partitions,
+        @DefaultValue("1000") int chunkSize,
+        @DefaultValue("500") int cursorBatchSize
+) {
+}
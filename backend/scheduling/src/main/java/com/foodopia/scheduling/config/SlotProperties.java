@@ -0,0 +1,36 @@
+package com.foodopia.scheduling.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.time.LocalTime;
+
+/**
+ * Settings of the slot reservations
+ *
+ * @param bucketSize Length of one time bucket
+ * @param dayStart Start of the first bucket of a day
+ * @param dayEnd End of the last bucket of a day
+ * @param deliveryCapacity Capacity of a new delivery bucket
+ * @param kitchenCapacity Capacity of a new kitchen bucket
+ * @param holdTtl How long a reservation is held before it must be confirmed
+ * @param sweepInterval How often expired holds are released
+ * @param sweepBatchSize Expired holds released per sweep round
+ * @param cacheRefresh How long a cached full bucket is trusted before MongoDB is asked again
+ * @param lockStripes Number of locks the buckets of hot days are striped over
+ */
+@ConfigurationProperties(prefix = "foodopia.scheduling.slots")
+public record SlotProperties(
+        @DefaultValue("30m") Duration bucketSize,
+        @DefaultValue("10:00") LocalTime dayStart,
+        @DefaultValue("22:00") LocalTime dayEnd,
+        @DefaultValue("200") int deliveryCapacity,
+        @DefaultValue("400") int kitchenCapacity,
+        @DefaultValue("10m") Duration holdTtl,
+        @DefaultValue("30s") Duration sweepInterval,
+        @DefaultValue("500") int sweepBatchSize,
+        @DefaultValue("2s") Duration cacheRefresh,
+        @DefaultValue("64") int lockStripes
+) {
+}
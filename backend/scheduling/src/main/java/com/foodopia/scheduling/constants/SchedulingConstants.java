@@ -0,0 +1,17 @@
+package com.foodopia.scheduling.constants;
+
+public final class SchedulingConstants {
+
+    private SchedulingConstants() {}
+
+    public static final String STATUS_201 = "201";
+    public static final String MESSAGE_201 = "Resource created successfully";
+    public static final String STATUS_200 = "200";
+    public static final String MESSAGE_200 = "Request processed successfully";
+    public static final String STATUS_202 = "202";
+    public static final String MESSAGE_202 = "Request accepted for processing";
+    public static final String STATUS_409 = "409";
+    public static final String MESSAGE_409_JOB_RUNNING = "The job is already running";
+    public static final String STATUS_417 = "417";
+    public static final String MESSAGE_417_UPDATE = "Update operation failed. Please try again or contact Dev team";
+}
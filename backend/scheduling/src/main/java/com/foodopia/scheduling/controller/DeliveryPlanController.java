@@ -0,0 +1,49 @@
+package com.foodopia.scheduling.controller;
+
+import com.foodopia.scheduling.dto.DeliveryPlanDto;
+import com.foodopia.scheduling.dto.DeliveryPlanRequestDto;
+import com.foodopia.scheduling.service.IDeliveryPlanService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping(path = "/api/delivery-plans", produces = MediaType.APPLICATION_JSON_VALUE)
+@RequiredArgsConstructor
+@Validated
+public class DeliveryPlanController {
+
+    private static final Logger log = LoggerFactory.getLogger(DeliveryPlanController.class);
+
+    private final IDeliveryPlanService planService;
+
+    @PostMapping
+    public ResponseEntity<DeliveryPlanDto> createPlan(@Valid @RequestBody DeliveryPlanRequestDto requestDto) {
+        log.debug("Received request to plan {} deliveries for date: {}",
+                requestDto.getDeliveries().size(), requestDto.getDeliveryDate());
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(planService.createPlan(requestDto));
+    }
+
+    @GetMapping("/{deliveryDate}")
+    public ResponseEntity<DeliveryPlanDto> fetchPlan(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate deliveryDate) {
+        log.debug("Received request to fetch delivery plan for date: {}", deliveryDate);
+        return ResponseEntity.ok(planService.fetchPlan(deliveryDate));
+    }
+}
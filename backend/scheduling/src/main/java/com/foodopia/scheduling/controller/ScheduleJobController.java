@@ -0,0 +1,59 @@
+package com.foodopia.scheduling.controller;
+
+import com.foodopia.scheduling.constants.SchedulingConstants;
+import com.foodopia.scheduling.dto.ResponseDto;
+import com.foodopia.scheduling.dto.ScheduleJobReportDto;
+import com.foodopia.scheduling.jobs.WeeklyScheduleJob;
+import com.foodopia.scheduling.service.IScheduleJobService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping(path = "/api/schedule-jobs", produces = MediaType.APPLICATION_JSON_VALUE)
+@RequiredArgsConstructor
+@Validated
+public class ScheduleJobController {
+
+    private static final Logger log = LoggerFactory.getLogger(ScheduleJobController.class);
+
+    private final IScheduleJobService scheduleJobService;
+
+    /**
+     * Start or resume the generation of a week, next week by default
+     */
+    @PostMapping("/weekly")
+    public ResponseEntity<ResponseDto> startWeeklyGeneration(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate weekStart) {
+        LocalDate week = weekStart != null ? weekStart : WeeklyScheduleJob.nextWeekStart(LocalDate.now());
+        log.debug("Received request to generate the weekly schedule for week: {}", week);
+        if (scheduleJobService.startWeeklyGeneration(week)) {
+            return ResponseEntity
+                    .status(HttpStatus.ACCEPTED)
+                    .body(new ResponseDto(SchedulingConstants.STATUS_202, SchedulingConstants.MESSAGE_202));
+        }
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(new ResponseDto(SchedulingConstants.STATUS_409, SchedulingConstants.MESSAGE_409_JOB_RUNNING));
+    }
+
+    @GetMapping("/weekly/{weekStart}")
+    public ResponseEntity<ScheduleJobReportDto> fetchReport(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate weekStart) {
+        log.debug("Received request to fetch the weekly schedule report for week: {}", weekStart);
+        return ResponseEntity.ok(scheduleJobService.fetchReport(weekStart));
+    }
+}
@@ -0,0 +1,73 @@
+package com.foodopia.scheduling.controller;
+
+import com.foodopia.scheduling.dto.ScheduledMealDto;
+import com.foodopia.scheduling.entity.enums.ScheduledMealStatus;
+import com.foodopia.scheduling.service.IScheduledMealService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Read access to scheduled meals for the services that act on them, such as meal-service filling
+ * the meals nobody customized
+ */
+@RestController
+@RequestMapping(path = "/api/scheduled-meals", produces = MediaType.APPLICATION_JSON_VALUE)
+@RequiredArgsConstructor
+@Validated
+public class ScheduledMealController {
+
+    private static final Logger log = LoggerFactory.getLogger(ScheduledMealController.class);
+
+    private final IScheduledMealService scheduledMealService;
+
+    /**
+     * Meals of a delivery date page by page: pass the id of the last meal received as {@code after}
+     */
+    @GetMapping
+    public ResponseEntity<List<ScheduledMealDto>> fetchScheduledMeals(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate deliveryDate,
+            @RequestParam(defaultValue = "SCHEDULED") ScheduledMealStatus status,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "500") @Min(1) @Max(1000) int limit) {
+        log.debug("Received request to fetch {} meals for date: {}", status, deliveryDate);
+        return ResponseEntity.ok(scheduledMealService.fetchScheduledMeals(deliveryDate, status, after, limit));
+    }
+
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<List<ScheduledMealDto>> fetchUserScheduledMeals(
+            @PathVariable String userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "SCHEDULED") ScheduledMealStatus status) {
+        log.debug("Received request to fetch {} meals of user id: {} from {} to {}", status, userId, from, to);
+        return ResponseEntity.ok(scheduledMealService.fetchUserScheduledMeals(userId, from, to, status));
+    }
+
+    /**
+     * Up to 1000 meals by id in one call; ids that do not exist are left out
+     */
+    @PostMapping("/lookup")
+    public ResponseEntity<List<ScheduledMealDto>> fetchScheduledMealsByIds(
+            @RequestBody @Size(max = 1000) List<String> ids) {
+        log.debug("Received request to look up {} scheduled meals", ids.size());
+        return ResponseEntity.ok(scheduledMealService.fetchScheduledMealsByIds(ids));
+    }
+}
@@ -0,0 +1,78 @@
+package com.foodopia.scheduling.controller;
+
+import com.foodopia.scheduling.constants.SchedulingConstants;
+import com.foodopia.scheduling.dto.ResponseDto;
+import com.foodopia.scheduling.dto.SlotBucketDto;
+import com.foodopia.scheduling.dto.SlotReservationDto;
+import com.foodopia.scheduling.dto.SlotReservationRequestDto;
+import com.foodopia.scheduling.entity.enums.SlotType;
+import com.foodopia.scheduling.service.ISlotReservationService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping(path = "/api/slots", produces = MediaType.APPLICATION_JSON_VALUE)
+@RequiredArgsConstructor
+@Validated
+public class SlotController {
+
+    private static final Logger log = LoggerFactory.getLogger(SlotController.class);
+
+    private final ISlotReservationService reservationService;
+
+    @GetMapping("/{date}")
+    public ResponseEntity<List<SlotBucketDto>> fetchBuckets(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "DELIVERY") SlotType slotType) {
+        log.debug("Received request to fetch {} slots for date: {}", slotType, date);
+        return ResponseEntity.ok(reservationService.fetchBuckets(date, slotType));
+    }
+
+    @PostMapping("/reservations")
+    public ResponseEntity<SlotReservationDto> reserve(@Valid @RequestBody SlotReservationRequestDto requestDto) {
+        log.debug("Received request to reserve {} slot at {} {} for userId: {}", requestDto.getSlotType(),
+                requestDto.getDate(), requestDto.getStartTime(), requestDto.getUserId());
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(reservationService.reserve(requestDto));
+    }
+
+    @GetMapping("/reservations/{reservationId}")
+    public ResponseEntity<SlotReservationDto> fetchReservation(@PathVariable String reservationId) {
+        log.debug("Received request to fetch slot reservation: {}", reservationId);
+        return ResponseEntity.ok(reservationService.fetchReservation(reservationId));
+    }
+
+    @PutMapping("/reservations/{reservationId}/confirm")
+    public ResponseEntity<ResponseDto> confirm(@PathVariable String reservationId) {
+        log.debug("Received request to confirm slot reservation: {}", reservationId);
+        reservationService.confirm(reservationId);
+        return ResponseEntity.ok(new ResponseDto(SchedulingConstants.STATUS_200, SchedulingConstants.MESSAGE_200));
+    }
+
+    @DeleteMapping("/reservations/{reservationId}")
+    public ResponseEntity<ResponseDto> release(@PathVariable String reservationId) {
+        log.debug("Received request to release slot reservation: {}", reservationId);
+        reservationService.release(reservationId);
+        return ResponseEntity.ok(new ResponseDto(SchedulingConstants.STATUS_200, SchedulingConstants.MESSAGE_200));
+    }
+}
@@ -0,0 +1,31 @@
+package com.foodopia.scheduling.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class DeliveryPlanDto {
+
+    private String id;
+
+    private LocalDate deliveryDate;
+
+    private List<DeliveryWindowDto> windows;
+
+    private int totalDeliveries;
+
+    private int assignedDeliveries;
+
+    private List<String> unassignedCustomizationIds;
+
+    private double totalDistanceKm;
+
+    private long solveMillis;
+
+    private List<DeliveryRouteDto> routes;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,29 @@
+package com.foodopia.scheduling.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class DeliveryPlanRequestDto {
+
+    @NotNull(message = "deliveryDate cannot be null")
+    private LocalDate deliveryDate;
+
+    // Falls back to the configured default windows when empty
+    private List<@Valid DeliveryWindowDto> windows;
+
+    @NotEmpty(message = "deliveries cannot be empty")
+    private List<@Valid DeliveryRequestDto> deliveries;
+
+    @Positive(message = "vehicleCapacity must be greater than zero")
+    private Integer vehicleCapacity;
+
+    @Positive(message = "routesPerWindow must be greater than zero")
+    private Integer routesPerWindow;
+}
@@ -0,0 +1,25 @@
+package com.foodopia.scheduling.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class DeliveryRequestDto {
+
+    @NotBlank(message = "customizationId cannot be null or empty")
+    private String customizationId;
+
+    private String userId;
+
+    @NotBlank(message = "region cannot be null or empty")
+    private String region;
+
+    @NotNull(message = "latitude cannot be null")
+    private Double latitude;
+
+    @NotNull(message = "longitude cannot be null")
+    private Double longitude;
+
+    private String preferredWindowId;
+}
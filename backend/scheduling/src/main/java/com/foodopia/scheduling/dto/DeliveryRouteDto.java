@@ -0,0 +1,17 @@
+package com.foodopia.scheduling.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class DeliveryRouteDto {
+
+    private String region;
+
+    private String windowId;
+
+    private List<String> customizationIds;
+
+    private double distanceKm;
+}
@@ -0,0 +1,24 @@
+package com.foodopia.scheduling.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeliveryWindowDto {
+
+    @NotBlank(message = "window id cannot be null or empty")
+    private String id;
+
+    @NotNull(message = "startTime cannot be null")
+    private LocalTime startTime;
+
+    @NotNull(message = "endTime cannot be null")
+    private LocalTime endTime;
+}
@@ -0,0 +1,12 @@
+package com.foodopia.scheduling.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ResponseDto {
+
+    private String statusCode;
+    private String statusMsg;
+}
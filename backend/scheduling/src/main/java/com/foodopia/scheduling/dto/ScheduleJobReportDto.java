@@ -0,0 +1,26 @@
+package com.foodopia.scheduling.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class ScheduleJobReportDto {
+
+    private LocalDate weekStart;
+
+    private boolean running;
+
+    private int partitions;
+
+    private int completedPartitions;
+
+    private long subscriptions;
+
+    private long scheduledMeals;
+
+    // Longest partition runtime; partitions run in parallel and downtime between resumed runs is not counted
+    private long elapsedMillis;
+
+    private double recordsPerSecond;
+}
@@ -0,0 +1,26 @@
+package com.foodopia.scheduling.dto;
+
+import com.foodopia.scheduling.entity.enums.ScheduledMealStatus;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class ScheduledMealDto {
+
+    private String id;
+
+    private String userId;
+
+    private String subscriptionId;
+
+    private String planCode;
+
+    private int planLevel;
+
+    private LocalDate deliveryDate;
+
+    private int sequence;
+
+    private ScheduledMealStatus status;
+}
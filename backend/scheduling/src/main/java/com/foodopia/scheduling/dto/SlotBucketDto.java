@@ -0,0 +1,25 @@
+package com.foodopia.scheduling.dto;
+
+import com.foodopia.scheduling.entity.enums.SlotType;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+public class SlotBucketDto {
+
+    private String id;
+
+    private LocalDate date;
+
+    private SlotType slotType;
+
+    private LocalTime startTime;
+
+    private LocalTime endTime;
+
+    private int capacity;
+
+    private int available;
+}
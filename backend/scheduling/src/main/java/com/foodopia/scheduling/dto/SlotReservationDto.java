@@ -0,0 +1,38 @@
+package com.foodopia.scheduling.dto;
+
+import com.foodopia.scheduling.entity.enums.ReservationStatus;
+import com.foodopia.scheduling.entity.enums.SlotType;
+import lombok.Data;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+@Data
+public class SlotReservationDto {
+
+    private String id;
+
+    private String bucketId;
+
+    private LocalDate date;
+
+    private SlotType slotType;
+
+    private LocalTime startTime;
+
+    private String userId;
+
+    private String referenceId;
+
+    private int quantity;
+
+    private ReservationStatus status;
+
+    private Instant holdExpiresAt;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+}
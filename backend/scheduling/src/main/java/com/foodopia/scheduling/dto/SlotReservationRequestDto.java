@@ -0,0 +1,31 @@
+package com.foodopia.scheduling.dto;
+
+import com.foodopia.scheduling.entity.enums.SlotType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+public class SlotReservationRequestDto {
+
+    @NotNull(message = "date cannot be null")
+    private LocalDate date;
+
+    @NotNull(message = "slotType cannot be null")
+    private SlotType slotType;
+
+    @NotNull(message = "startTime cannot be null")
+    private LocalTime startTime;
+
+    @NotBlank(message = "userId cannot be null or empty")
+    private String userId;
+
+    private String referenceId;
+
+    @Positive(message = "quantity must be greater than zero")
+    private int quantity = 1;
+}
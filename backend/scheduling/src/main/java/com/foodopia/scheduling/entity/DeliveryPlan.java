@@ -0,0 +1,55 @@
+package com.foodopia.scheduling.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Document(collection = "delivery_plans")
+@CompoundIndexes({
+        @CompoundIndex(name = "date_created_idx", def = "{'delivery_date': 1, 'created_at': -1}")
+})
+@Data
+@EqualsAndHashCode(callSuper = false)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeliveryPlan extends AuditableDocument {
+
+    @Id
+    private String id;
+
+    @Field("delivery_date")
+    private LocalDate deliveryDate;
+
+    @Field("windows")
+    @Builder.Default
+    private List<DeliveryWindow> windows = new ArrayList<>();
+
+    @Field("total_deliveries")
+    private int totalDeliveries;
+
+    @Field("unassigned_customization_ids")
+    @Builder.Default
+    private List<String> unassignedCustomizationIds = new ArrayList<>();
+
+    @Field("total_distance_km")
+    private double totalDistanceKm;
+
+    @Field("solve_millis")
+    private long solveMillis;
+
+    @Field("routes")
+    @Builder.Default
+    private List<DeliveryRoute> routes = new ArrayList<>();
+}
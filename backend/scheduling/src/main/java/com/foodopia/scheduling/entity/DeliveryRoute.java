@@ -0,0 +1,29 @@
+package com.foodopia.scheduling.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.util.List;
+
+/**
+ * Embedded in {@link DeliveryPlan}; stops are in driving order
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeliveryRoute {
+
+    @Field("region")
+    private String region;
+
+    @Field("window_id")
+    private String windowId;
+
+    @Field("customization_ids")
+    private List<String> customizationIds;
+
+    @Field("distance_km")
+    private double distanceKm;
+}
@@ -0,0 +1,23 @@
+package com.foodopia.scheduling.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeliveryWindow {
+
+    @Field("window_id")
+    private String id;
+
+    @Field("start_time")
+    private LocalTime startTime;
+
+    @Field("end_time")
+    private LocalTime endTime;
+}
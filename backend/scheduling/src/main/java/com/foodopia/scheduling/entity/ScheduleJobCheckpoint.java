@@ -0,0 +1,67 @@
+package com.foodopia.scheduling.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Progress of one userId range of a weekly schedule run. The range bounds are fixed when the run
+ * starts, so a resumed run continues the same partitions after the last subscription written.
+ */
+@Document(collection = "schedule_job_checkpoints")
+@CompoundIndexes({
+        @CompoundIndex(name = "week_partition_idx", def = "{'week_start': 1, 'partition': 1}")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScheduleJobCheckpoint {
+
+    @Id
+    private String id;
+
+    @Field("week_start")
+    private LocalDate weekStart;
+
+    @Field("partition")
+    private int partition;
+
+    // Inclusive, null for the first partition
+    @Field("lower_user_id")
+    private String lowerUserId;
+
+    // Exclusive, null for the last partition
+    @Field("upper_user_id")
+    private String upperUserId;
+
+    @Field("last_user_id")
+    private String lastUserId;
+
+    @Field("last_subscription_id")
+    private String lastSubscriptionId;
+
+    @Field("subscriptions")
+    private long subscriptions;
+
+    @Field("scheduled_meals")
+    private long scheduledMeals;
+
+    @Field("elapsed_millis")
+    private long elapsedMillis;
+
+    @Field("completed")
+    private boolean completed;
+
+    @Field("updated_at")
+    private Instant updatedAt;
+}
@@ -0,0 +1,64 @@
+package com.foodopia.scheduling.entity;
+
+import com.foodopia.scheduling.entity.enums.ScheduledMealStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDate;
+
+/**
+ * One meal a subscription is entitled to on a delivery date. The id is derived from subscription,
+ * date and sequence (see WeeklyScheduleJob#scheduledMealId), so generating a week twice creates
+ * every meal once.
+ */
+@Document(collection = "scheduled_meals")
+@CompoundIndexes({
+        @CompoundIndex(name = "user_date_idx", def = "{'user_id': 1, 'delivery_date': 1}"),
+        // Keyset pages of a day's meals in one status, as read by the meal service's auto-fill
+        @CompoundIndex(name = "date_status_id_idx", def = "{'delivery_date': 1, 'status': 1, '_id': 1}")
+})
+@Data
+@EqualsAndHashCode(callSuper = false)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScheduledMeal extends AuditableDocument {
+
+    @Id
+    private String id;
+
+    @Field("user_id")
+    private String userId;
+
+    @Field("subscription_id")
+    private String subscriptionId;
+
+    @Field("plan_code")
+    private String planCode;
+
+    /**
+     * Level of the subscription's plan when the meal was scheduled, meal-service prices the meal for it
+     */
+    @Field("plan_level")
+    private int planLevel;
+
+    @Field("week_start")
+    private LocalDate weekStart;
+
+    @Field("delivery_date")
+    private LocalDate deliveryDate;
+
+    @Field("sequence")
+    private int sequence;
+
+    @Field("status")
+    private ScheduledMealStatus status;
+}
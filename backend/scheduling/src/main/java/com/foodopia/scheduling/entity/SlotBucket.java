@@ -0,0 +1,55 @@
+package com.foodopia.scheduling.entity;
+
+import com.foodopia.scheduling.entity.enums.SlotType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Capacity counter of one time bucket of a day. The id is derived from date, type and start time
+ * (see SlotStore#bucketId), so buckets can be created idempotently with upserts. Only conditional
+ * increments change {@code available} and {@code reserved}, which always add up to {@code capacity}.
+ */
+@Document(collection = "slot_buckets")
+@CompoundIndexes({
+        @CompoundIndex(name = "date_type_start_idx", def = "{'date': 1, 'slot_type': 1, 'start_time': 1}")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SlotBucket {
+
+    @Id
+    private String id;
+
+    @Field("date")
+    private LocalDate date;
+
+    @Field("slot_type")
+    private SlotType slotType;
+
+    @Field("start_time")
+    private LocalTime startTime;
+
+    @Field("end_time")
+    private LocalTime endTime;
+
+    @Field("capacity")
+    private int capacity;
+
+    @Field("available")
+    private int available;
+
+    @Field("reserved")
+    private int reserved;
+}
@@ -0,0 +1,63 @@
+package com.foodopia.scheduling.entity;
+
+import com.foodopia.scheduling.entity.enums.ReservationStatus;
+import com.foodopia.scheduling.entity.enums.SlotType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Document(collection = "slot_reservations")
+@CompoundIndexes({
+        @CompoundIndex(name = "status_hold_expires_idx", def = "{'status': 1, 'hold_expires_at': 1}")
+})
+@Data
+@EqualsAndHashCode(callSuper = false)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SlotReservation extends AuditableDocument {
+
+    @Id
+    private String id;
+
+    @Field("bucket_id")
+    private String bucketId;
+
+    @Field("date")
+    private LocalDate date;
+
+    @Field("slot_type")
+    private SlotType slotType;
+
+    @Field("start_time")
+    private LocalTime startTime;
+
+    @Field("user_id")
+    @Indexed
+    private String userId;
+
+    @Field("reference_id")
+    private String referenceId;
+
+    @Field("quantity")
+    private int quantity;
+
+    @Field("status")
+    private ReservationStatus status;
+
+    // Only set while the reservation is held
+    @Field("hold_expires_at")
+    private Instant holdExpiresAt;
+}
@@ -0,0 +1,8 @@
+package com.foodopia.scheduling.entity.enums;
+
+public enum ReservationStatus {
+    HELD,
+    CONFIRMED,
+    RELEASED,
+    EXPIRED
+}
@@ -0,0 +1,7 @@
+package com.foodopia.scheduling.entity.enums;
+
+public enum ScheduledMealStatus {
+    SCHEDULED,
+    CUSTOMIZED,
+    CANCELLED
+}
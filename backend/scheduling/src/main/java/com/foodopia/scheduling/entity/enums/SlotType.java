@@ -0,0 +1,6 @@
+package com.foodopia.scheduling.entity.enums;
+
+public enum SlotType {
+    DELIVERY,
+    KITCHEN
+}
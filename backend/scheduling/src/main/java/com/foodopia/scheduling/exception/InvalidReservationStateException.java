@@ -0,0 +1,12 @@
+package com.foodopia.scheduling.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class InvalidReservationStateException extends RuntimeException {
+
+    public InvalidReservationStateException(String message) {
+        super(message);
+    }
+}
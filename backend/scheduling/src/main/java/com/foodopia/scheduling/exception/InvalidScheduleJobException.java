@@ -0,0 +1,12 @@
+package com.foodopia.scheduling.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class InvalidScheduleJobException extends RuntimeException {
+
+    public InvalidScheduleJobException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.foodopia.scheduling.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class InvalidSlotRequestException extends RuntimeException {
+
+    public InvalidSlotRequestException(String message) {
+        super(message);
+    }
+}
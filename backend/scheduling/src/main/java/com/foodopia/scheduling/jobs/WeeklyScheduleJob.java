@@ -0,0 +1,328 @@
+package com.foodopia.scheduling.jobs;
+
+import com.foodopia.scheduling.config.ScheduleJobProperties;
+import com.foodopia.scheduling.entity.ScheduleJobCheckpoint;
+import com.foodopia.scheduling.entity.ScheduledMeal;
+import com.foodopia.scheduling.entity.enums.ScheduledMealStatus;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.client.MongoClient;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Generates the scheduled meals of one week for every ACTIVE subscription of the customer service.
+ *
+ * The subscriptions are split into userId ranges of about equal size ({@code $bucketAuto}), which
+ * are generated in parallel. Each range streams its subscriptions with a cursor in userId order and
+ * writes the meals through unordered bulk inserts of {@code chunk-size}; after every chunk the
+ * range's checkpoint records the last userId written. A run that dies is started again for the same
+ * week and continues every range after its checkpoint. Meals carry deterministic ids, so whatever
+ * was written after the last checkpoint is skipped as a duplicate rather than created twice.
+ */
+@Component
+@Slf4j
+public class WeeklyScheduleJob {
+
+    static final String SUBSCRIPTIONS = "user_subscriptions";
+    private static final String ACTIVE = "ACTIVE";
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoTemplate subscriptionTemplate;
+    private final ScheduleJobProperties properties;
+    private final ExecutorService executor;
+    private final Set<LocalDate> running = ConcurrentHashMap.newKeySet();
+
+    public WeeklyScheduleJob(MongoTemplate mongoTemplate, MongoClient mongoClient, ScheduleJobProperties properties) {
+        this.mongoTemplate = mongoTemplate;
+        this.subscriptionTemplate = new MongoTemplate(mongoClient, properties.subscriptionDatabase());
+        this.properties = properties;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(properties.partitions(), runnable -> {
+            Thread thread = new Thread(runnable, "weekly-schedule-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static String scheduledMealId(String subscriptionId, LocalDate deliveryDate, int sequence) {
+        return subscriptionId + "_" + deliveryDate + "_" + sequence;
+    }
+
+    /**
+     * Start or resume the generation of a week in the background
+     *
+     * @return false when it is already running on this instance
+     */
+    public boolean start(LocalDate weekStart) {
+        if (!running.add(weekStart)) return false;
+        Thread coordinator = new Thread(() -> {
+            try {
+                run(weekStart);
+            } catch (Exception e) {
+                log.error("Weekly schedule generation for {} failed - {}", weekStart, e.getMessage(), e);
+            } finally {
+                running.remove(weekStart);
+            }
+        }, "weekly-schedule-" + weekStart);
+        coordinator.setDaemon(true);
+        coordinator.start();
+        return true;
+    }
+
+    public boolean isRunning(LocalDate weekStart) {
+        return running.contains(weekStart);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    void run(LocalDate weekStart) throws InterruptedException {
+        long start = System.nanoTime();
+        List<ScheduleJobCheckpoint> checkpoints = loadOrCreateCheckpoints(weekStart);
+        List<Future<?>> partitions = new ArrayList<>();
+        for (ScheduleJobCheckpoint checkpoint : checkpoints) {
+            if (!checkpoint.isCompleted()) {
+                partitions.add(executor.submit(() -> runPartition(checkpoint)));
+            }
+        }
+        int failed = 0;
+        for (Future<?> partition : partitions) {
+            try {
+                partition.get();
+            } catch (ExecutionException e) {
+                failed++;
+                log.error("Weekly schedule partition for {} failed - {}", weekStart, e.getCause().getMessage(),
+                        e.getCause());
+            }
+        }
+
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        long subscriptions = 0;
+        long meals = 0;
+        for (ScheduleJobCheckpoint checkpoint : findCheckpoints(weekStart)) {
+            subscriptions += checkpoint.getSubscriptions();
+            meals += checkpoint.getScheduledMeals();
+        }
+        log.info("Weekly schedule for {}: {} scheduled meals for {} subscriptions in {} ms ({} records/s), "
+                        + "{} of {} partitions run, {} failed", weekStart, meals, subscriptions, elapsedMillis,
+                Math.round(meals * 1000.0 / Math.max(elapsedMillis, 1)), partitions.size(), checkpoints.size(), failed);
+    }
+
+    public List<ScheduleJobCheckpoint> findCheckpoints(LocalDate weekStart) {
+        return mongoTemplate.find(Query.query(Criteria.where("weekStart").is(weekStart)).with(Sort.by("partition")),
+                ScheduleJobCheckpoint.class);
+    }
+
+    /**
+     * The checkpoints of an interrupted run, or new ones with userId ranges of about equal size
+     */
+    private List<ScheduleJobCheckpoint> loadOrCreateCheckpoints(LocalDate weekStart) {
+        List<ScheduleJobCheckpoint> existing = findCheckpoints(weekStart);
+        if (!existing.isEmpty()) {
+            log.info("Resuming weekly schedule for {} with {} partitions", weekStart, existing.size());
+            return existing;
+        }
+
+        Aggregation buckets = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("status").is(ACTIVE)),
+                Aggregation.bucketAuto("user_id", properties.partitions()))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+        List<Document> ranges = subscriptionTemplate.aggregate(buckets, SUBSCRIPTIONS, Document.class).getMappedResults();
+
+        List<ScheduleJobCheckpoint> checkpoints = new ArrayList<>(ranges.size());
+        for (int i = 0; i < ranges.size(); i++) {
+            // Bucket i covers [min of i, min of i + 1)
+            checkpoints.add(ScheduleJobCheckpoint.builder()
+                    .id(weekStart + "_" + i)
+                    .weekStart(weekStart)
+                    .partition(i)
+                    .lowerUserId(i == 0 ? null : ranges.get(i).get("_id", Document.class).getString("min"))
+                    .upperUserId(i == ranges.size() - 1 ? null
+                            : ranges.get(i + 1).get("_id", Document.class).getString("min"))
+                    .updatedAt(Instant.now())
+                    .build());
+        }
+        try {
+            mongoTemplate.insertAll(checkpoints);
+        } catch (DuplicateKeyException e) {
+            // Another instance started the same week at the same time, follow its partitioning
+            return findCheckpoints(weekStart);
+        }
+        log.info("Starting weekly schedule for {} with {} partitions", weekStart, checkpoints.size());
+        return checkpoints;
+    }
+
+    private void runPartition(ScheduleJobCheckpoint checkpoint) {
+        long chunkStart = System.nanoTime();
+        List<ScheduledMeal> chunk = new ArrayList<>(properties.chunkSize());
+        long chunkSubscriptions = 0;
+        String lastUserId = null;
+
+        try (Stream<Document> subscriptions = subscriptionTemplate.stream(partitionQuery(checkpoint), Document.class,
+                SUBSCRIPTIONS)) {
+            Iterator<Document> cursor = subscriptions.iterator();
+            while (cursor.hasNext()) {
+                Document subscription = cursor.next();
+                String userId = subscription.getString("user_id");
+                // Checkpoints fall between users, so resuming after a userId never skips a subscription
+                if (chunk.size() >= properties.chunkSize() && !userId.equals(lastUserId)) {
+                    saveCheckpoint(checkpoint, lastUserId, chunkSubscriptions, insert(chunk), chunkStart, false);
+                    chunk.clear();
+                    chunkSubscriptions = 0;
+                    chunkStart = System.nanoTime();
+                }
+                generate(subscription, checkpoint.getWeekStart(), chunk);
+                chunkSubscriptions++;
+                lastUserId = userId;
+            }
+        }
+        saveCheckpoint(checkpoint, lastUserId != null ? lastUserId : checkpoint.getLastUserId(), chunkSubscriptions,
+                insert(chunk), chunkStart, true);
+        log.debug("Weekly schedule partition {} for {} completed: {} scheduled meals for {} subscriptions",
+                checkpoint.getPartition(), checkpoint.getWeekStart(), checkpoint.getScheduledMeals(),
+                checkpoint.getSubscriptions());
+    }
+
+    private Query partitionQuery(ScheduleJobCheckpoint checkpoint) {
+        Criteria criteria = Criteria.where("status").is(ACTIVE);
+        Criteria userId = Criteria.where("user_id");
+        boolean bounded = false;
+        String lower = checkpoint.getLastUserId() != null ? checkpoint.getLastUserId() : checkpoint.getLowerUserId();
+        if (checkpoint.getLastUserId() != null) {
+            userId.gt(lower);
+            bounded = true;
+        } else if (lower != null) {
+            userId.gte(lower);
+            bounded = true;
+        }
+        if (checkpoint.getUpperUserId() != null) {
+            userId.lt(checkpoint.getUpperUserId());
+            bounded = true;
+        }
+        Query query = Query.query(bounded ? new Criteria().andOperator(criteria, userId) : criteria)
+                .with(Sort.by("user_id"))
+                .cursorBatchSize(properties.cursorBatchSize());
+        query.fields().include("user_id", "plan_code", "plan_level", "meals_per_month", "start_date", "end_date");
+        return query;
+    }
+
+    /**
+     * Spread the subscription's share of monthly meals over the days of the week it is valid on
+     */
+    private void generate(Document subscription, LocalDate weekStart, List<ScheduledMeal> chunk) {
+        LocalDate startDate = toLocalDate(subscription.getDate("start_date"));
+        LocalDate endDate = toLocalDate(subscription.getDate("end_date"));
+        List<LocalDate> days = new ArrayList<>(7);
+        for (int i = 0; i < 7; i++) {
+            LocalDate day = weekStart.plusDays(i);
+            if ((startDate == null || !day.isBefore(startDate)) && (endDate == null || !day.isAfter(endDate))) {
+                days.add(day);
+            }
+        }
+        Number mealsPerMonth = subscription.get("meals_per_month", Number.class);
+        if (days.isEmpty() || mealsPerMonth == null || mealsPerMonth.intValue() <= 0) return;
+
+        int meals = Math.max(1, (int) Math.round(mealsPerMonth.intValue() * 7 / 30.0));
+        String subscriptionId = subscription.get("_id").toString();
+        String userId = subscription.getString("user_id");
+        String planCode = subscription.getString("plan_code");
+        Number planLevel = subscription.get("plan_level", Number.class);
+        for (int sequence = 0; sequence < meals; sequence++) {
+            LocalDate deliveryDate = days.get(sequence * days.size() / meals);
+            chunk.add(ScheduledMeal.builder()
+                    .id(scheduledMealId(subscriptionId, deliveryDate, sequence))
+                    .userId(userId)
+                    .subscriptionId(subscriptionId)
+                    .planCode(planCode)
+                    .planLevel(planLevel != null ? planLevel.intValue() : 0)
+                    .weekStart(weekStart)
+                    .deliveryDate(deliveryDate)
+                    .sequence(sequence)
+                    .status(ScheduledMealStatus.SCHEDULED)
+                    .build());
+        }
+    }
+
+    /**
+     * Write a chunk, returning the number of new meals; meals written by an earlier attempt are skipped
+     */
+    private int insert(List<ScheduledMeal> chunk) {
+        if (chunk.isEmpty()) return 0;
+        try {
+            return mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ScheduledMeal.class)
+                    .insert(chunk)
+                    .execute()
+                    .getInsertedCount();
+        } catch (DataAccessException e) {
+            MongoBulkWriteException bulkException = bulkWriteException(e);
+            if (bulkException == null || bulkException.getWriteConcernError() != null
+                    || !bulkException.getWriteErrors().stream().allMatch(error -> error.getCode() == 11000)) {
+                throw e;
+            }
+            return bulkException.getWriteResult().getInsertedCount();
+        }
+    }
+
+    private static MongoBulkWriteException bulkWriteException(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoBulkWriteException bulkException) {
+                return bulkException;
+            }
+        }
+        return null;
+    }
+
+    private void saveCheckpoint(ScheduleJobCheckpoint checkpoint, String lastUserId, long subscriptions,
+                                long meals, long chunkStart, boolean completed) {
+        checkpoint.setLastUserId(lastUserId);
+        checkpoint.setSubscriptions(checkpoint.getSubscriptions() + subscriptions);
+        checkpoint.setScheduledMeals(checkpoint.getScheduledMeals() + meals);
+        checkpoint.setElapsedMillis(checkpoint.getElapsedMillis()
+                + Duration.ofNanos(System.nanoTime() - chunkStart).toMillis());
+        checkpoint.setCompleted(completed);
+        checkpoint.setUpdatedAt(Instant.now());
+        mongoTemplate.save(checkpoint);
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date == null ? null : date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    /**
+     * Monday of the week after the given date
+     */
+    public static LocalDate nextWeekStart(LocalDate today) {
+        return today.with(DayOfWeek.MONDAY).plusWeeks(1);
+    }
+}
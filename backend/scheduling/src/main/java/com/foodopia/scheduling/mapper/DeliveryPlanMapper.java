@@ -0,0 +1,44 @@
+package com.foodopia.scheduling.mapper;
+
+import com.foodopia.scheduling.dto.DeliveryPlanDto;
+import com.foodopia.scheduling.dto.DeliveryRouteDto;
+import com.foodopia.scheduling.dto.DeliveryWindowDto;
+import com.foodopia.scheduling.entity.DeliveryPlan;
+import com.foodopia.scheduling.entity.DeliveryRoute;
+import com.foodopia.scheduling.entity.DeliveryWindow;
+
+public final class DeliveryPlanMapper {
+
+    private DeliveryPlanMapper() {}
+
+    public static DeliveryPlanDto mapToDto(DeliveryPlan plan, DeliveryPlanDto dto) {
+        dto.setId(plan.getId());
+        dto.setDeliveryDate(plan.getDeliveryDate());
+        dto.setWindows(plan.getWindows().stream().map(DeliveryPlanMapper::mapToDto).toList());
+        dto.setTotalDeliveries(plan.getTotalDeliveries());
+        dto.setAssignedDeliveries(plan.getTotalDeliveries() - plan.getUnassignedCustomizationIds().size());
+        dto.setUnassignedCustomizationIds(plan.getUnassignedCustomizationIds());
+        dto.setTotalDistanceKm(plan.getTotalDistanceKm());
+        dto.setSolveMillis(plan.getSolveMillis());
+        dto.setRoutes(plan.getRoutes().stream().map(DeliveryPlanMapper::mapToDto).toList());
+        dto.setCreatedAt(plan.getCreatedAt());
+        return dto;
+    }
+
+    public static DeliveryWindowDto mapToDto(DeliveryWindow window) {
+        return new DeliveryWindowDto(window.getId(), window.getStartTime(), window.getEndTime());
+    }
+
+    public static DeliveryWindow mapToEntity(DeliveryWindowDto dto) {
+        return new DeliveryWindow(dto.getId(), dto.getStartTime(), dto.getEndTime());
+    }
+
+    public static DeliveryRouteDto mapToDto(DeliveryRoute route) {
+        DeliveryRouteDto dto = new DeliveryRouteDto();
+        dto.setRegion(route.getRegion());
+        dto.setWindowId(route.getWindowId());
+        dto.setCustomizationIds(route.getCustomizationIds());
+        dto.setDistanceKm(route.getDistanceKm());
+        return dto;
+    }
+}
@@ -0,0 +1,21 @@
+package com.foodopia.scheduling.mapper;
+
+import com.foodopia.scheduling.dto.ScheduledMealDto;
+import com.foodopia.scheduling.entity.ScheduledMeal;
+
+public final class ScheduledMealMapper {
+
+    private ScheduledMealMapper() {}
+
+    public static ScheduledMealDto mapToDto(ScheduledMeal scheduledMeal, ScheduledMealDto dto) {
+        dto.setId(scheduledMeal.getId());
+        dto.setUserId(scheduledMeal.getUserId());
+        dto.setSubscriptionId(scheduledMeal.getSubscriptionId());
+        dto.setPlanCode(scheduledMeal.getPlanCode());
+        dto.setPlanLevel(scheduledMeal.getPlanLevel());
+        dto.setDeliveryDate(scheduledMeal.getDeliveryDate());
+        dto.setSequence(scheduledMeal.getSequence());
+        dto.setStatus(scheduledMeal.getStatus());
+        return dto;
+    }
+}
@@ -0,0 +1,38 @@
+package com.foodopia.scheduling.mapper;
+
+import com.foodopia.scheduling.dto.SlotBucketDto;
+import com.foodopia.scheduling.dto.SlotReservationDto;
+import com.foodopia.scheduling.entity.SlotBucket;
+import com.foodopia.scheduling.entity.SlotReservation;
+
+public final class SlotMapper {
+
+    private SlotMapper() {}
+
+    public static SlotBucketDto mapToDto(SlotBucket bucket, SlotBucketDto dto) {
+        dto.setId(bucket.getId());
+        dto.setDate(bucket.getDate());
+        dto.setSlotType(bucket.getSlotType());
+        dto.setStartTime(bucket.getStartTime());
+        dto.setEndTime(bucket.getEndTime());
+        dto.setCapacity(bucket.getCapacity());
+        dto.setAvailable(bucket.getAvailable());
+        return dto;
+    }
+
+    public static SlotReservationDto mapToDto(SlotReservation reservation, SlotReservationDto dto) {
+        dto.setId(reservation.getId());
+        dto.setBucketId(reservation.getBucketId());
+        dto.setDate(reservation.getDate());
+        dto.setSlotType(reservation.getSlotType());
+        dto.setStartTime(reservation.getStartTime());
+        dto.setUserId(reservation.getUserId());
+        dto.setReferenceId(reservation.getReferenceId());
+        dto.setQuantity(reservation.getQuantity());
+        dto.setStatus(reservation.getStatus());
+        dto.setHoldExpiresAt(reservation.getHoldExpiresAt());
+        dto.setCreatedAt(reservation.getCreatedAt());
+        dto.setUpdatedAt(reservation.getUpdatedAt());
+        return dto;
+    }
+}
@@ -0,0 +1,13 @@
+package com.foodopia.scheduling.planner;
+
+import java.util.List;
+
+/**
+ * @param routes Planned routes of all regions
+ * @param unassignedIds Deliveries that did not fit into any window of their region
+ * @param totalDistanceKm Sum of the route distances
+ * @param solveMillis Time taken to plan
+ */
+public record DeliveryPlanResult(List<PlannedRoute> routes, List<String> unassignedIds, double totalDistanceKm,
+                                 long solveMillis) {
+}
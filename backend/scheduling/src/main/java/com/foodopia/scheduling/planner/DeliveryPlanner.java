@@ -0,0 +1,88 @@
+package com.foodopia.scheduling.planner;
+
+import com.foodopia.scheduling.config.PlannerProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Assigns a day's deliveries to delivery windows and vehicle routes. Regions are independent of each
+ * other and are planned in parallel on a dedicated fork-join pool, each region forking again per
+ * delivery window (see {@link RegionPlanTask}). The heuristic is greedy construction followed by
+ * local search bounded by the configured time limit, so a plan is good rather than optimal but
+ * arrives in predictable time.
+ */
+@Component
+@Slf4j
+public class DeliveryPlanner {
+
+    private final ForkJoinPool pool;
+    private final Duration timeLimit;
+
+    public DeliveryPlanner(PlannerProperties properties) {
+        int parallelism = properties.parallelism() > 0
+                ? properties.parallelism() : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(parallelism);
+        this.timeLimit = properties.timeLimit();
+    }
+
+    /**
+     * Plan the deliveries of one day
+     *
+     * @param deliveries Deliveries to plan
+     * @param windowCount Number of delivery windows, indexes of {@link PlannerDelivery#preferredWindow()}
+     * @param vehicleCapacity Deliveries one route can carry
+     * @param routesPerWindow Routes available per region and window
+     */
+    public DeliveryPlanResult plan(List<PlannerDelivery> deliveries, int windowCount, int vehicleCapacity,
+                                   int routesPerWindow) {
+        long start = System.nanoTime();
+        long deadline = start + timeLimit.toNanos();
+
+        Map<String, List<PlannerDelivery>> byRegion = new LinkedHashMap<>();
+        for (PlannerDelivery delivery : deliveries) {
+            byRegion.computeIfAbsent(delivery.region(), region -> new ArrayList<>()).add(delivery);
+        }
+        List<RegionPlanTask> regionTasks = new ArrayList<>(byRegion.size());
+        byRegion.forEach((region, regionDeliveries) -> regionTasks.add(new RegionPlanTask(
+                region, regionDeliveries, windowCount, vehicleCapacity, routesPerWindow, deadline)));
+
+        List<PlannedRoute> routes = pool.invoke(new RecursiveTask<>() {
+            @Override
+            protected List<PlannedRoute> compute() {
+                List<PlannedRoute> all = new ArrayList<>();
+                for (RegionPlanTask task : ForkJoinTask.invokeAll(regionTasks)) {
+                    all.addAll(task.join());
+                }
+                return all;
+            }
+        });
+
+        List<String> unassigned = new ArrayList<>();
+        double totalDistance = 0;
+        for (RegionPlanTask task : regionTasks) {
+            unassigned.addAll(task.unassigned());
+        }
+        for (PlannedRoute route : routes) {
+            totalDistance += route.distanceKm();
+        }
+        long solveMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        log.debug("Planned {} deliveries in {} regions into {} routes in {} ms, {} unassigned",
+                deliveries.size(), byRegion.size(), routes.size(), solveMillis, unassigned.size());
+        return new DeliveryPlanResult(routes, unassigned, totalDistance, solveMillis);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,12 @@
+package com.foodopia.scheduling.planner;
+
+import java.util.List;
+
+/**
+ * @param region Region of the route
+ * @param window Index of the delivery window the route drives in
+ * @param deliveryIds Deliveries in driving order, starting and ending at the region's depot
+ * @param distanceKm Driving distance estimate of the route
+ */
+public record PlannedRoute(String region, int window, List<String> deliveryIds, double distanceKm) {
+}
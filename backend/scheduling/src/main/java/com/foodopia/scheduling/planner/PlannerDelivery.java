@@ -0,0 +1,13 @@
+package com.foodopia.scheduling.planner;
+
+/**
+ * One delivery to plan
+ *
+ * @param id Customization ID the delivery is for
+ * @param region Region the delivery address belongs to; regions are planned independently
+ * @param latitude Latitude of the delivery address
+ * @param longitude Longitude of the delivery address
+ * @param preferredWindow Index of the preferred delivery window, -1 for any
+ */
+public record PlannerDelivery(String id, String region, double latitude, double longitude, int preferredWindow) {
+}
@@ -0,0 +1,349 @@
+package com.foodopia.scheduling.planner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.IntStream;
+
+/**
+ * Plans the deliveries of one region. Stops are projected onto a local kilometre grid around the
+ * region's centroid, which serves as the depot. Stops are first assigned to delivery windows, after
+ * which every window is planned as a subtask of its own: sweep into balanced routes, order each
+ * route by nearest neighbour, then improve by moving stops between neighbouring routes and by 2-opt
+ * until nothing improves or the deadline passes.
+ */
+class RegionPlanTask extends RecursiveTask<List<PlannedRoute>> {
+
+    private static final double KM_PER_DEGREE_LAT = 110.574;
+    private static final double KM_PER_DEGREE_LON = 111.320;
+    private static final double EPSILON = 1e-9;
+    private static final int DEPOT = -1;
+
+    private final String region;
+    private final List<PlannerDelivery> deliveries;
+    private final int windowCount;
+    private final int vehicleCapacity;
+    private final int routesPerWindow;
+    private final long deadline;
+    private final List<String> unassigned = new ArrayList<>();
+
+    private double[] x;
+    private double[] y;
+
+    RegionPlanTask(String region, List<PlannerDelivery> deliveries, int windowCount, int vehicleCapacity,
+                   int routesPerWindow, long deadline) {
+        this.region = region;
+        this.deliveries = deliveries;
+        this.windowCount = windowCount;
+        this.vehicleCapacity = vehicleCapacity;
+        this.routesPerWindow = routesPerWindow;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Deliveries that did not fit into any window; complete once the task has finished
+     */
+    List<String> unassigned() {
+        return unassigned;
+    }
+
+    @Override
+    protected List<PlannedRoute> compute() {
+        project();
+        int[] windowOf = assignWindows();
+
+        List<WindowTask> windowTasks = new ArrayList<>(windowCount);
+        for (int w = 0; w < windowCount; w++) {
+            final int window = w;
+            int[] stops = IntStream.range(0, windowOf.length).filter(i -> windowOf[i] == window).toArray();
+            if (stops.length > 0) {
+                windowTasks.add(new WindowTask(window, stops));
+            }
+        }
+        invokeAll(windowTasks);
+
+        List<PlannedRoute> routes = new ArrayList<>();
+        for (WindowTask task : windowTasks) {
+            routes.addAll(task.join());
+        }
+        for (int i = 0; i < windowOf.length; i++) {
+            if (windowOf[i] < 0) {
+                unassigned.add(deliveries.get(i).id());
+            }
+        }
+        return routes;
+    }
+
+    private void project() {
+        int n = deliveries.size();
+        double lat0 = 0;
+        double lon0 = 0;
+        for (PlannerDelivery delivery : deliveries) {
+            lat0 += delivery.latitude();
+            lon0 += delivery.longitude();
+        }
+        lat0 /= n;
+        lon0 /= n;
+        double lonScale = KM_PER_DEGREE_LON * Math.cos(Math.toRadians(lat0));
+        x = new double[n];
+        y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = (deliveries.get(i).longitude() - lon0) * lonScale;
+            y[i] = (deliveries.get(i).latitude() - lat0) * KM_PER_DEGREE_LAT;
+        }
+    }
+
+    /**
+     * Stops with a preferred window get it or the closest window in time that still has room.
+     * The remaining stops are cut, in sweep order, into angular sectors sized by the room left in
+     * each window, so that every window serves a compact part of the region.
+     */
+    private int[] assignWindows() {
+        int n = deliveries.size();
+        int[] windowOf = new int[n];
+        Arrays.fill(windowOf, -1);
+        int[] room = new int[windowCount];
+        Arrays.fill(room, vehicleCapacity * routesPerWindow);
+
+        List<Integer> flexible = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            int preferred = deliveries.get(i).preferredWindow();
+            if (preferred < 0 || preferred >= windowCount) {
+                flexible.add(i);
+                continue;
+            }
+            for (int offset = 0; offset < windowCount && windowOf[i] < 0; offset++) {
+                for (int w : new int[]{preferred - offset, preferred + offset}) {
+                    if (w >= 0 && w < windowCount && room[w] > 0) {
+                        windowOf[i] = w;
+                        room[w]--;
+                        break;
+                    }
+                }
+            }
+        }
+
+        flexible.sort(Comparator.comparingDouble(this::angle));
+        int totalRoom = Arrays.stream(room).sum();
+        int toPlace = Math.min(flexible.size(), totalRoom);
+        int[] quota = new int[windowCount];
+        int quotaSum = 0;
+        for (int w = 0; w < windowCount; w++) {
+            quota[w] = totalRoom == 0 ? 0 : (int) ((long) toPlace * room[w] / totalRoom);
+            quotaSum += quota[w];
+        }
+        for (int w = 0; quotaSum < toPlace; w = (w + 1) % windowCount) {
+            if (quota[w] < room[w]) {
+                quota[w]++;
+                quotaSum++;
+            }
+        }
+        int window = 0;
+        for (int k = 0; k < toPlace; k++) {
+            while (quota[window] == 0) {
+                window++;
+            }
+            windowOf[flexible.get(k)] = window;
+            quota[window]--;
+        }
+        return windowOf;
+    }
+
+    private double angle(int stop) {
+        return Math.atan2(y[stop], x[stop]);
+    }
+
+    private double distance(int from, int to) {
+        double fx = from == DEPOT ? 0 : x[from];
+        double fy = from == DEPOT ? 0 : y[from];
+        double tx = to == DEPOT ? 0 : x[to];
+        double ty = to == DEPOT ? 0 : y[to];
+        return Math.hypot(fx - tx, fy - ty);
+    }
+
+    /**
+     * Plans the routes of one delivery window
+     */
+    private final class WindowTask extends RecursiveTask<List<PlannedRoute>> {
+
+        private final int window;
+        private final int[] stops;
+
+        WindowTask(int window, int[] stops) {
+            this.window = window;
+            this.stops = stops;
+        }
+
+        @Override
+        protected List<PlannedRoute> compute() {
+            List<Route> routes = sweep();
+            for (Route route : routes) {
+                route.orderByNearestNeighbour();
+            }
+            relocate(routes);
+            for (Route route : routes) {
+                route.twoOpt();
+            }
+
+            List<PlannedRoute> planned = new ArrayList<>(routes.size());
+            for (Route route : routes) {
+                if (route.size == 0) continue;
+                List<String> ids = new ArrayList<>(route.size);
+                for (int i = 0; i < route.size; i++) {
+                    ids.add(deliveries.get(route.stops[i]).id());
+                }
+                planned.add(new PlannedRoute(region, window, ids, route.length()));
+            }
+            return planned;
+        }
+
+        private List<Route> sweep() {
+            Integer[] ordered = Arrays.stream(stops).boxed().toArray(Integer[]::new);
+            Arrays.sort(ordered, Comparator.comparingDouble(RegionPlanTask.this::angle));
+            int routeCount = (ordered.length + vehicleCapacity - 1) / vehicleCapacity;
+            List<Route> routes = new ArrayList<>(routeCount);
+            int next = 0;
+            for (int r = 0; r < routeCount; r++) {
+                int size = ordered.length / routeCount + (r < ordered.length % routeCount ? 1 : 0);
+                Route route = new Route();
+                for (int i = 0; i < size; i++) {
+                    route.stops[route.size++] = ordered[next++];
+                }
+                routes.add(route);
+            }
+            return routes;
+        }
+
+        /**
+         * Move single stops to the neighbouring route in sweep order wherever that shortens the
+         * total distance and the receiving route has room
+         */
+        private void relocate(List<Route> routes) {
+            if (routes.size() < 2) return;
+            boolean improved = true;
+            while (improved && System.nanoTime() < deadline) {
+                improved = false;
+                for (int r = 0; r < routes.size(); r++) {
+                    Route route = routes.get(r);
+                    Route previous = routes.get((r + routes.size() - 1) % routes.size());
+                    Route next = routes.get((r + 1) % routes.size());
+                    for (int i = 0; i < route.size; i++) {
+                        int stop = route.stops[i];
+                        double saving = route.removalSaving(i);
+                        Route target = null;
+                        int targetPosition = -1;
+                        double bestCost = saving - EPSILON;
+                        for (Route candidate : previous == next ? List.of(next) : List.of(previous, next)) {
+                            if (candidate.size >= vehicleCapacity) continue;
+                            for (int p = 0; p <= candidate.size; p++) {
+                                double cost = candidate.insertionCost(stop, p);
+                                if (cost < bestCost) {
+                                    bestCost = cost;
+                                    target = candidate;
+                                    targetPosition = p;
+                                }
+                            }
+                        }
+                        if (target != null) {
+                            route.remove(i);
+                            target.insert(stop, targetPosition);
+                            improved = true;
+                            i--;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private final class Route {
+
+        private final int[] stops = new int[vehicleCapacity];
+        private int size;
+
+        private int at(int position) {
+            return position < 0 || position >= size ? DEPOT : stops[position];
+        }
+
+        double length() {
+            double length = 0;
+            for (int i = 0; i <= size; i++) {
+                length += distance(at(i - 1), at(i));
+            }
+            return length;
+        }
+
+        double removalSaving(int position) {
+            int before = at(position - 1);
+            int stop = stops[position];
+            int after = at(position + 1);
+            return distance(before, stop) + distance(stop, after) - distance(before, after);
+        }
+
+        double insertionCost(int stop, int position) {
+            int before = at(position - 1);
+            int after = at(position);
+            return distance(before, stop) + distance(stop, after) - distance(before, after);
+        }
+
+        void remove(int position) {
+            System.arraycopy(stops, position + 1, stops, position, size - position - 1);
+            size--;
+        }
+
+        void insert(int stop, int position) {
+            System.arraycopy(stops, position, stops, position + 1, size - position);
+            stops[position] = stop;
+            size++;
+        }
+
+        void orderByNearestNeighbour() {
+            int current = DEPOT;
+            for (int i = 0; i < size; i++) {
+                int nearest = i;
+                double nearestDistance = Double.MAX_VALUE;
+                for (int j = i; j < size; j++) {
+                    double d = distance(current, stops[j]);
+                    if (d < nearestDistance) {
+                        nearestDistance = d;
+                        nearest = j;
+                    }
+                }
+                int swap = stops[i];
+                stops[i] = stops[nearest];
+                stops[nearest] = swap;
+                current = stops[i];
+            }
+        }
+
+        void twoOpt() {
+            boolean improved = true;
+            while (improved && System.nanoTime() < deadline) {
+                improved = false;
+                for (int i = 0; i < size - 1; i++) {
+                    for (int j = i + 1; j < size; j++) {
+                        int a = at(i - 1);
+                        int b = stops[i];
+                        int c = stops[j];
+                        int d = at(j + 1);
+                        double delta = distance(a, c) + distance(b, d) - distance(a, b) - distance(c, d);
+                        if (delta < -EPSILON) {
+                            reverse(i, j);
+                            improved = true;
+                        }
+                    }
+                }
+            }
+        }
+
+        private void reverse(int from, int to) {
+            while (from < to) {
+                int swap = stops[from];
+                stops[from++] = stops[to];
+                stops[to--] = swap;
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.foodopia.scheduling.repository;
+
+import com.foodopia.scheduling.entity.DeliveryPlan;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface DeliveryPlanRepository extends MongoRepository<DeliveryPlan, String> {
+
+    Optional<DeliveryPlan> findFirstByDeliveryDateOrderByCreatedAtDesc(LocalDate deliveryDate);
+}
@@ -0,0 +1,23 @@
+package com.foodopia.scheduling.repository;
+
+import com.foodopia.scheduling.entity.ScheduledMeal;
+import com.foodopia.scheduling.entity.enums.ScheduledMealStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ScheduledMealRepository extends MongoRepository<ScheduledMeal, String> {
+
+    List<ScheduledMeal> findByDeliveryDateAndStatusAndIdGreaterThanOrderByIdAsc(
+            LocalDate deliveryDate, ScheduledMealStatus status, String afterId, Limit limit);
+
+    @Query("{ 'user_id': ?0, 'delivery_date': { $gte: ?1, $lte: ?2 }, 'status': ?3 }")
+    List<ScheduledMeal> findByUserInRange(String userId, LocalDate from, LocalDate to,
+                                          ScheduledMealStatus status, Sort sort);
+}
@@ -0,0 +1,9 @@
+package com.foodopia.scheduling.repository;
+
+import com.foodopia.scheduling.entity.SlotReservation;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SlotReservationRepository extends MongoRepository<SlotReservation, String> {
+}
@@ -0,0 +1,20 @@
+package com.foodopia.scheduling.service;
+
+import com.foodopia.scheduling.dto.DeliveryPlanDto;
+import com.foodopia.scheduling.dto.DeliveryPlanRequestDto;
+
+import java.time.LocalDate;
+
+public interface IDeliveryPlanService {
+
+    /**
+     * Plan windows and routes for the deliveries of one day and store the plan, replacing
+     * earlier plans of that day as the current one
+     */
+    DeliveryPlanDto createPlan(DeliveryPlanRequestDto requestDto);
+
+    /**
+     * The most recently created plan of a day
+     */
+    DeliveryPlanDto fetchPlan(LocalDate deliveryDate);
+}
@@ -0,0 +1,17 @@
+package com.foodopia.scheduling.service;
+
+import com.foodopia.scheduling.dto.ScheduleJobReportDto;
+
+import java.time.LocalDate;
+
+public interface IScheduleJobService {
+
+    /**
+     * Start or resume the generation of the scheduled meals of the week starting on {@code weekStart}
+     *
+     * @return false when the generation of that week is already running
+     */
+    boolean startWeeklyGeneration(LocalDate weekStart);
+
+    ScheduleJobReportDto fetchReport(LocalDate weekStart);
+}
@@ -0,0 +1,28 @@
+package com.foodopia.scheduling.service;
+
+import com.foodopia.scheduling.dto.ScheduledMealDto;
+import com.foodopia.scheduling.entity.enums.ScheduledMealStatus;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface IScheduledMealService {
+
+    /**
+     * One page of the meals of a delivery date in a status, ordered by id
+     * @param afterId - id of the last meal of the previous page, null for the first page
+     * @param limit - maximum number of meals returned
+     */
+    List<ScheduledMealDto> fetchScheduledMeals(LocalDate deliveryDate, ScheduledMealStatus status, String afterId, int limit);
+
+    /**
+     * Meals of a user delivered from one date to another, both inclusive, ordered by date and sequence
+     */
+    List<ScheduledMealDto> fetchUserScheduledMeals(String userId, LocalDate from, LocalDate to, ScheduledMealStatus status);
+
+    /**
+     * The meals with the given ids that exist, in no particular order
+     */
+    List<ScheduledMealDto> fetchScheduledMealsByIds(Collection<String> ids);
+}
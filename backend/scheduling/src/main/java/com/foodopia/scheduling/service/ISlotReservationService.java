@@ -0,0 +1,31 @@
+package com.foodopia.scheduling.service;
+
+import com.foodopia.scheduling.dto.SlotBucketDto;
+import com.foodopia.scheduling.dto.SlotReservationDto;
+import com.foodopia.scheduling.dto.SlotReservationRequestDto;
+import com.foodopia.scheduling.entity.enums.SlotType;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ISlotReservationService {
+
+    List<SlotBucketDto> fetchBuckets(LocalDate date, SlotType slotType);
+
+    /**
+     * Hold units of a bucket; the hold expires unless confirmed in time
+     */
+    SlotReservationDto reserve(SlotReservationRequestDto requestDto);
+
+    SlotReservationDto fetchReservation(String reservationId);
+
+    void confirm(String reservationId);
+
+    void release(String reservationId);
+
+    /**
+     * Release up to {@code limit} holds that expired by {@code now}, returning how many were released
+     */
+    int expireHolds(Instant now, int limit);
+}
@@ -0,0 +1,108 @@
+package com.foodopia.scheduling.service.impl;
+
+import com.foodopia.scheduling.config.PlannerProperties;
+import com.foodopia.scheduling.dto.DeliveryPlanDto;
+import com.foodopia.scheduling.dto.DeliveryPlanRequestDto;
+import com.foodopia.scheduling.dto.DeliveryRequestDto;
+import com.foodopia.scheduling.dto.DeliveryWindowDto;
+import com.foodopia.scheduling.entity.DeliveryPlan;
+import com.foodopia.scheduling.entity.DeliveryRoute;
+import com.foodopia.scheduling.exception.InvalidDeliveryPlanException;
+import com.foodopia.scheduling.exception.ResourceNotFoundException;
+import com.foodopia.scheduling.mapper.DeliveryPlanMapper;
+import com.foodopia.scheduling.planner.DeliveryPlanResult;
+import com.foodopia.scheduling.planner.DeliveryPlanner;
+import com.foodopia.scheduling.planner.PlannedRoute;
+import com.foodopia.scheduling.planner.PlannerDelivery;
+import com.foodopia.scheduling.repository.DeliveryPlanRepository;
+import com.foodopia.scheduling.service.IDeliveryPlanService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class DeliveryPlanServiceImpl implements IDeliveryPlanService {
+
+    private static final Logger log = LoggerFactory.getLogger(DeliveryPlanServiceImpl.class);
+
+    private final DeliveryPlanRepository planRepository;
+    private final DeliveryPlanner planner;
+    private final PlannerProperties properties;
+
+    @Override
+    public DeliveryPlanDto createPlan(DeliveryPlanRequestDto requestDto) {
+        List<DeliveryWindowDto> windows = resolveWindows(requestDto.getWindows());
+        int vehicleCapacity = requestDto.getVehicleCapacity() != null
+                ? requestDto.getVehicleCapacity() : properties.vehicleCapacity();
+        int routesPerWindow = requestDto.getRoutesPerWindow() != null
+                ? requestDto.getRoutesPerWindow() : properties.routesPerWindow();
+        log.debug("Planning {} deliveries for {} in {} windows", requestDto.getDeliveries().size(),
+                requestDto.getDeliveryDate(), windows.size());
+
+        Map<String, Integer> windowIndex = new HashMap<>();
+        for (int i = 0; i < windows.size(); i++) {
+            windowIndex.put(windows.get(i).getId(), i);
+        }
+        List<PlannerDelivery> deliveries = new ArrayList<>(requestDto.getDeliveries().size());
+        for (DeliveryRequestDto delivery : requestDto.getDeliveries()) {
+            // An unknown preferred window counts as no preference
+            int preferred = delivery.getPreferredWindowId() != null
+                    ? windowIndex.getOrDefault(delivery.getPreferredWindowId(), -1) : -1;
+            deliveries.add(new PlannerDelivery(delivery.getCustomizationId(), delivery.getRegion(),
+                    delivery.getLatitude(), delivery.getLongitude(), preferred));
+        }
+
+        DeliveryPlanResult result = planner.plan(deliveries, windows.size(), vehicleCapacity, routesPerWindow);
+
+        List<DeliveryRoute> routes = new ArrayList<>(result.routes().size());
+        for (PlannedRoute route : result.routes()) {
+            routes.add(new DeliveryRoute(route.region(), windows.get(route.window()).getId(),
+                    route.deliveryIds(), route.distanceKm()));
+        }
+        DeliveryPlan plan = DeliveryPlan.builder()
+                .deliveryDate(requestDto.getDeliveryDate())
+                .windows(windows.stream().map(DeliveryPlanMapper::mapToEntity).toList())
+                .totalDeliveries(deliveries.size())
+                .unassignedCustomizationIds(result.unassignedIds())
+                .totalDistanceKm(result.totalDistanceKm())
+                .solveMillis(result.solveMillis())
+                .routes(routes)
+                .build();
+        planRepository.save(plan);
+        log.debug("Created delivery plan with id: {} with {} routes", plan.getId(), routes.size());
+        return DeliveryPlanMapper.mapToDto(plan, new DeliveryPlanDto());
+    }
+
+    @Override
+    public DeliveryPlanDto fetchPlan(LocalDate deliveryDate) {
+        log.debug("Fetching delivery plan for date: {}", deliveryDate);
+        DeliveryPlan plan = planRepository.findFirstByDeliveryDateOrderByCreatedAtDesc(deliveryDate)
+                .orElseThrow(() -> new ResourceNotFoundException("DeliveryPlan", "deliveryDate",
+                        deliveryDate.toString()));
+        return DeliveryPlanMapper.mapToDto(plan, new DeliveryPlanDto());
+    }
+
+    private List<DeliveryWindowDto> resolveWindows(List<DeliveryWindowDto> requested) {
+        if (requested != null && !requested.isEmpty()) {
+            long distinctIds = requested.stream().map(DeliveryWindowDto::getId).distinct().count();
+            if (distinctIds != requested.size()) {
+                throw new InvalidDeliveryPlanException("Delivery window ids must be unique");
+            }
+            return requested;
+        }
+        if (properties.defaultWindows() == null || properties.defaultWindows().isEmpty()) {
+            throw new InvalidDeliveryPlanException("No delivery windows given and none configured");
+        }
+        return properties.defaultWindows().stream()
+                .map(window -> new DeliveryWindowDto(window.id(), window.start(), window.end()))
+                .toList();
+    }
+}
@@ -0,0 +1,59 @@
+package com.foodopia.scheduling.service.impl;
+
+import com.foodopia.scheduling.dto.ScheduleJobReportDto;
+import com.foodopia.scheduling.entity.ScheduleJobCheckpoint;
+import com.foodopia.scheduling.exception.InvalidScheduleJobException;
+import com.foodopia.scheduling.exception.ResourceNotFoundException;
+import com.foodopia.scheduling.jobs.WeeklyScheduleJob;
+import com.foodopia.scheduling.service.IScheduleJobService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ScheduleJobServiceImpl implements IScheduleJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ScheduleJobServiceImpl.class);
+
+    private final WeeklyScheduleJob weeklyScheduleJob;
+
+    @Override
+    public boolean startWeeklyGeneration(LocalDate weekStart) {
+        if (weekStart.getDayOfWeek() != DayOfWeek.MONDAY) {
+            throw new InvalidScheduleJobException("weekStart must be a Monday, got " + weekStart);
+        }
+        log.debug("Starting weekly schedule generation for week: {}", weekStart);
+        return weeklyScheduleJob.start(weekStart);
+    }
+
+    @Override
+    public ScheduleJobReportDto fetchReport(LocalDate weekStart) {
+        log.debug("Fetching weekly schedule report for week: {}", weekStart);
+        List<ScheduleJobCheckpoint> checkpoints = weeklyScheduleJob.findCheckpoints(weekStart);
+        boolean running = weeklyScheduleJob.isRunning(weekStart);
+        if (checkpoints.isEmpty() && !running) {
+            throw new ResourceNotFoundException("ScheduleJob", "weekStart", weekStart.toString());
+        }
+        ScheduleJobReportDto report = new ScheduleJobReportDto();
+        report.setWeekStart(weekStart);
+        report.setRunning(running);
+        report.setPartitions(checkpoints.size());
+        for (ScheduleJobCheckpoint checkpoint : checkpoints) {
+            if (checkpoint.isCompleted()) {
+                report.setCompletedPartitions(report.getCompletedPartitions() + 1);
+            }
+            report.setSubscriptions(report.getSubscriptions() + checkpoint.getSubscriptions());
+            report.setScheduledMeals(report.getScheduledMeals() + checkpoint.getScheduledMeals());
+            report.setElapsedMillis(Math.max(report.getElapsedMillis(), checkpoint.getElapsedMillis()));
+        }
+        report.setRecordsPerSecond(report.getElapsedMillis() == 0 ? 0
+                : report.getScheduledMeals() * 1000.0 / report.getElapsedMillis());
+        return report;
+    }
+}
@@ -0,0 +1,58 @@
+package com.foodopia.scheduling.service.impl;
+
+import com.foodopia.scheduling.dto.ScheduledMealDto;
+import com.foodopia.scheduling.entity.enums.ScheduledMealStatus;
+import com.foodopia.scheduling.mapper.ScheduledMealMapper;
+import com.foodopia.scheduling.repository.ScheduledMealRepository;
+import com.foodopia.scheduling.service.IScheduledMealService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ScheduledMealServiceImpl implements IScheduledMealService {
+
+    private static final Logger log = LoggerFactory.getLogger(ScheduledMealServiceImpl.class);
+
+    private final ScheduledMealRepository scheduledMealRepository;
+
+    @Override
+    public List<ScheduledMealDto> fetchScheduledMeals(LocalDate deliveryDate, ScheduledMealStatus status,
+                                                      String afterId, int limit) {
+        log.debug("Fetching up to {} {} meals for {} after id: {}", limit, status, deliveryDate, afterId);
+        // Every id sorts after the empty string
+        return scheduledMealRepository.findByDeliveryDateAndStatusAndIdGreaterThanOrderByIdAsc(
+                        deliveryDate, status, afterId != null ? afterId : "", Limit.of(limit))
+                .stream()
+                .map(scheduledMeal -> ScheduledMealMapper.mapToDto(scheduledMeal, new ScheduledMealDto()))
+                .toList();
+    }
+
+    @Override
+    public List<ScheduledMealDto> fetchUserScheduledMeals(String userId, LocalDate from, LocalDate to,
+                                                          ScheduledMealStatus status) {
+        log.debug("Fetching {} meals of user id: {} from {} to {}", status, userId, from, to);
+        return scheduledMealRepository.findByUserInRange(userId, from, to, status,
+                        Sort.by("deliveryDate", "sequence", "id"))
+                .stream()
+                .map(scheduledMeal -> ScheduledMealMapper.mapToDto(scheduledMeal, new ScheduledMealDto()))
+                .toList();
+    }
+
+    @Override
+    public List<ScheduledMealDto> fetchScheduledMealsByIds(Collection<String> ids) {
+        log.debug("Fetching {} scheduled meals by id", ids.size());
+        return scheduledMealRepository.findAllById(ids)
+                .stream()
+                .map(scheduledMeal -> ScheduledMealMapper.mapToDto(scheduledMeal, new ScheduledMealDto()))
+                .toList();
+    }
+}
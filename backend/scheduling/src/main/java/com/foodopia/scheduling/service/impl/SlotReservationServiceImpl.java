@@ -0,0 +1,176 @@
+package com.foodopia.scheduling.service.impl;
+
+import com.foodopia.scheduling.config.SlotProperties;
+import com.foodopia.scheduling.dto.SlotBucketDto;
+import com.foodopia.scheduling.dto.SlotReservationDto;
+import com.foodopia.scheduling.dto.SlotReservationRequestDto;
+import com.foodopia.scheduling.entity.SlotBucket;
+import com.foodopia.scheduling.entity.SlotReservation;
+import com.foodopia.scheduling.entity.enums.ReservationStatus;
+import com.foodopia.scheduling.entity.enums.SlotType;
+import com.foodopia.scheduling.exception.InvalidReservationStateException;
+import com.foodopia.scheduling.exception.InvalidSlotRequestException;
+import com.foodopia.scheduling.exception.ResourceNotFoundException;
+import com.foodopia.scheduling.exception.SlotUnavailableException;
+import com.foodopia.scheduling.mapper.SlotMapper;
+import com.foodopia.scheduling.repository.SlotReservationRepository;
+import com.foodopia.scheduling.service.ISlotReservationService;
+import com.foodopia.scheduling.slots.SlotCapacityCache;
+import com.foodopia.scheduling.slots.SlotStore;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+
+@Service
+@RequiredArgsConstructor
+public class SlotReservationServiceImpl implements ISlotReservationService {
+
+    private static final Logger log = LoggerFactory.getLogger(SlotReservationServiceImpl.class);
+
+    private final SlotStore slotStore;
+    private final SlotCapacityCache capacityCache;
+    private final SlotReservationRepository reservationRepository;
+    private final SlotProperties properties;
+
+    @Override
+    public List<SlotBucketDto> fetchBuckets(LocalDate date, SlotType slotType) {
+        log.debug("Fetching {} slot buckets for date: {}", slotType, date);
+        ensureDay(date, slotType);
+        return slotStore.findBuckets(date, slotType).stream()
+                .map(bucket -> SlotMapper.mapToDto(bucket, new SlotBucketDto()))
+                .toList();
+    }
+
+    /**
+     * Takes the units from the bucket first and records the hold second. Should the second write
+     * fail the units are given back; should the instance die in between, the units stay taken
+     * without a hold - capacity can be lost that way, but never oversold.
+     */
+    @Override
+    public SlotReservationDto reserve(SlotReservationRequestDto requestDto) {
+        LocalDate date = requestDto.getDate();
+        SlotType slotType = requestDto.getSlotType();
+        int quantity = requestDto.getQuantity();
+        if (!slotStore.isBucketStart(requestDto.getStartTime())) {
+            throw new InvalidSlotRequestException("No " + slotType + " slot starts at " + requestDto.getStartTime());
+        }
+        ensureDay(date, slotType);
+        String bucketId = SlotStore.bucketId(date, slotType, requestDto.getStartTime());
+        log.debug("Reserving {} units of slot bucket: {} for userId: {}", quantity, bucketId, requestDto.getUserId());
+
+        Lock lock = capacityCache.lockFor(bucketId);
+        lock.lock();
+        try {
+            if (capacityCache.knownUnavailable(bucketId, quantity)) {
+                throw new SlotUnavailableException("Slot " + bucketId + " is fully booked");
+            }
+            SlotBucket bucket = slotStore.tryTake(bucketId, quantity);
+            if (bucket == null) {
+                capacityCache.update(bucketId, quantity - 1);
+                throw new SlotUnavailableException("Slot " + bucketId + " is fully booked");
+            }
+            capacityCache.update(bucketId, bucket.getAvailable());
+        } finally {
+            lock.unlock();
+        }
+
+        SlotReservation reservation = SlotReservation.builder()
+                .bucketId(bucketId)
+                .date(date)
+                .slotType(slotType)
+                .startTime(requestDto.getStartTime())
+                .userId(requestDto.getUserId())
+                .referenceId(requestDto.getReferenceId())
+                .quantity(quantity)
+                .status(ReservationStatus.HELD)
+                .holdExpiresAt(Instant.now().plus(properties.holdTtl()))
+                .build();
+        try {
+            reservationRepository.save(reservation);
+        } catch (RuntimeException e) {
+            giveBack(bucketId, quantity);
+            throw e;
+        }
+        log.debug("Created slot reservation with id: {}", reservation.getId());
+        return SlotMapper.mapToDto(reservation, new SlotReservationDto());
+    }
+
+    @Override
+    public SlotReservationDto fetchReservation(String reservationId) {
+        log.debug("Fetching slot reservation with id: {}", reservationId);
+        return SlotMapper.mapToDto(findReservation(reservationId), new SlotReservationDto());
+    }
+
+    @Override
+    public void confirm(String reservationId) {
+        log.debug("Confirming slot reservation with id: {}", reservationId);
+        if (slotStore.confirm(reservationId, Instant.now()) == null) {
+            SlotReservation reservation = findReservation(reservationId);
+            throw new InvalidReservationStateException("Slot reservation " + reservationId
+                    + " cannot be confirmed, it is " + (reservation.getStatus() == ReservationStatus.HELD
+                    ? "expired" : reservation.getStatus()));
+        }
+    }
+
+    @Override
+    public void release(String reservationId) {
+        log.debug("Releasing slot reservation with id: {}", reservationId);
+        SlotReservation released = slotStore.release(reservationId);
+        if (released == null) {
+            SlotReservation reservation = findReservation(reservationId);
+            throw new InvalidReservationStateException("Slot reservation " + reservationId
+                    + " cannot be released, it is " + reservation.getStatus());
+        }
+        giveBack(released.getBucketId(), released.getQuantity());
+    }
+
+    @Override
+    public int expireHolds(Instant now, int limit) {
+        int expired = 0;
+        for (String reservationId : slotStore.findExpiredHolds(now, limit)) {
+            // Null when the customer confirmed or released it in the meantime
+            SlotReservation reservation = slotStore.expire(reservationId, now);
+            if (reservation != null) {
+                giveBack(reservation.getBucketId(), reservation.getQuantity());
+                expired++;
+            }
+        }
+        capacityCache.evict(LocalDate.now());
+        if (expired > 0) {
+            log.debug("Released {} expired slot holds", expired);
+        }
+        return expired;
+    }
+
+    private void giveBack(String bucketId, int quantity) {
+        Lock lock = capacityCache.lockFor(bucketId);
+        lock.lock();
+        try {
+            SlotBucket bucket = slotStore.giveBack(bucketId, quantity);
+            if (bucket == null) {
+                log.error("Slot bucket {} does not hold {} reserved units to give back", bucketId, quantity);
+                return;
+            }
+            capacityCache.update(bucketId, bucket.getAvailable());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void ensureDay(LocalDate date, SlotType slotType) {
+        if (capacityCache.isDayEnsured(date, slotType)) return;
+        slotStore.ensureDay(date, slotType);
+        capacityCache.markDayEnsured(date, slotType);
+    }
+
+    private SlotReservation findReservation(String reservationId) {
+        return reservationRepository.findById(reservationId)
+                .orElseThrow(() -> new ResourceNotFoundException("SlotReservation", "id", reservationId));
+    }
+}
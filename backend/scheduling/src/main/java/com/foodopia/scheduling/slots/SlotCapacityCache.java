@@ -0,0 +1,78 @@
+package com.foodopia.scheduling.slots;
+
+import com.foodopia.scheduling.config.SlotProperties;
+import com.foodopia.scheduling.entity.enums.SlotType;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory view of the buckets of the days customers are booking right now. Bucket changes of
+ * this instance run under one of a fixed set of striped locks, so the cached availability follows
+ * the MongoDB results in order and requests for the same bucket queue up here instead of racing
+ * each other in MongoDB. A bucket seen full recently rejects further requests without a round
+ * trip until {@code cache-refresh} passes, after which MongoDB decides again - units released by
+ * other instances become visible then. MongoDB stays the only authority on capacity, so a stale
+ * entry can delay a reservation but never overbook.
+ */
+@Component
+public class SlotCapacityCache {
+
+    private final Lock[] stripes;
+    private final long refreshNanos;
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final Set<String> ensuredDays = ConcurrentHashMap.newKeySet();
+
+    public SlotCapacityCache(SlotProperties properties) {
+        this.stripes = new Lock[properties.lockStripes()];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.refreshNanos = properties.cacheRefresh().toNanos();
+    }
+
+    public Lock lockFor(String bucketId) {
+        return stripes[Math.floorMod(bucketId.hashCode(), stripes.length)];
+    }
+
+    /**
+     * Whether a recent result already showed the bucket has fewer than {@code quantity} units
+     */
+    public boolean knownUnavailable(String bucketId, int quantity) {
+        Snapshot snapshot = snapshots.get(bucketId);
+        return snapshot != null && snapshot.available() < quantity
+                && System.nanoTime() - snapshot.takenAt() < refreshNanos;
+    }
+
+    /**
+     * Record the availability of a bucket; callers hold the bucket's lock
+     */
+    public void update(String bucketId, int available) {
+        snapshots.put(bucketId, new Snapshot(available, System.nanoTime()));
+    }
+
+    public boolean isDayEnsured(LocalDate date, SlotType slotType) {
+        return ensuredDays.contains(date + "_" + slotType);
+    }
+
+    public void markDayEnsured(LocalDate date, SlotType slotType) {
+        ensuredDays.add(date + "_" + slotType);
+    }
+
+    /**
+     * Drop snapshots too old to reject anything and days that have passed
+     */
+    public void evict(LocalDate today) {
+        long now = System.nanoTime();
+        snapshots.values().removeIf(snapshot -> now - snapshot.takenAt() >= refreshNanos);
+        ensuredDays.removeIf(day -> LocalDate.parse(day.substring(0, day.indexOf('_'))).isBefore(today));
+    }
+
+    private record Snapshot(int available, long takenAt) {
+    }
+}
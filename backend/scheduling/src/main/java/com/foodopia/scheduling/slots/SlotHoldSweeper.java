@@ -0,0 +1,68 @@
+package com.foodopia.scheduling.slots;
+
+import com.foodopia.scheduling.config.SlotProperties;
+import com.foodopia.scheduling.service.ISlotReservationService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gives the units of holds that were neither confirmed nor released in time back to their
+ * buckets. Every instance may sweep; the conditional status change lets only one of them return
+ * the units of a reservation.
+ */
+@Component
+@Slf4j
+public class SlotHoldSweeper {
+
+    private final ISlotReservationService reservationService;
+    private final SlotProperties properties;
+
+    private volatile boolean running = true;
+    private volatile Thread sweeper;
+
+    public SlotHoldSweeper(ISlotReservationService reservationService, SlotProperties properties) {
+        this.reservationService = reservationService;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (sweeper != null || !running) return;
+        sweeper = new Thread(this::run, "slot-hold-sweeper");
+        sweeper.setDaemon(true);
+        sweeper.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        Thread thread = sweeper;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    private void run() {
+        while (running) {
+            int expired;
+            try {
+                expired = reservationService.expireHolds(Instant.now(), properties.sweepBatchSize());
+            } catch (Exception e) {
+                log.warn("Failed to release expired slot holds - {}", e.getMessage());
+                expired = 0;
+            }
+            // A full batch means more holds are probably waiting
+            if (expired < properties.sweepBatchSize() && running) {
+                LockSupport.parkNanos(this, properties.sweepInterval().toNanos());
+            }
+        }
+    }
+}
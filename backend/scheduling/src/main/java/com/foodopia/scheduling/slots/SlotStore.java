@@ -0,0 +1,161 @@
+package com.foodopia.scheduling.slots;
+
+import com.foodopia.scheduling.config.SlotProperties;
+import com.foodopia.scheduling.entity.SlotBucket;
+import com.foodopia.scheduling.entity.SlotReservation;
+import com.foodopia.scheduling.entity.enums.ReservationStatus;
+import com.foodopia.scheduling.entity.enums.SlotType;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * MongoDB side of the slot reservations. Every change of a bucket counter is a single conditional
+ * {@code $inc}, and every change of a reservation status is a single conditional update on the
+ * expected previous status, so concurrent callers on any number of instances can neither overbook
+ * a bucket nor return the units of one reservation twice.
+ */
+@Component
+public class SlotStore {
+
+    private final MongoTemplate mongoTemplate;
+    private final SlotProperties properties;
+
+    public SlotStore(MongoTemplate mongoTemplate, SlotProperties properties) {
+        this.mongoTemplate = mongoTemplate;
+        this.properties = properties;
+    }
+
+    public static String bucketId(LocalDate date, SlotType slotType, LocalTime startTime) {
+        return date + "_" + slotType + "_" + startTime;
+    }
+
+    /**
+     * Whether a bucket starts at the given time
+     */
+    public boolean isBucketStart(LocalTime time) {
+        long offset = Duration.between(properties.dayStart(), time).toMinutes();
+        return offset >= 0 && time.isBefore(properties.dayEnd())
+                && offset % properties.bucketSize().toMinutes() == 0
+                && !time.plus(properties.bucketSize()).isAfter(properties.dayEnd());
+    }
+
+    /**
+     * Create the buckets of a day that do not exist yet, in one round trip; existing buckets and
+     * their counters are left untouched
+     */
+    public void ensureDay(LocalDate date, SlotType slotType) {
+        int capacity = slotType == SlotType.DELIVERY ? properties.deliveryCapacity() : properties.kitchenCapacity();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SlotBucket.class);
+        LocalTime start = properties.dayStart();
+        while (isBucketStart(start)) {
+            LocalTime end = start.plus(properties.bucketSize());
+            bulk.upsert(Query.query(Criteria.where("_id").is(bucketId(date, slotType, start))), new Update()
+                    .setOnInsert("date", date)
+                    .setOnInsert("slotType", slotType)
+                    .setOnInsert("startTime", start)
+                    .setOnInsert("endTime", end)
+                    .setOnInsert("capacity", capacity)
+                    .setOnInsert("available", capacity)
+                    .setOnInsert("reserved", 0));
+            start = end;
+        }
+        bulk.execute();
+    }
+
+    public List<SlotBucket> findBuckets(LocalDate date, SlotType slotType) {
+        return mongoTemplate.find(Query.query(Criteria.where("date").is(date).and("slotType").is(slotType))
+                .with(Sort.by("startTime")), SlotBucket.class);
+    }
+
+    /**
+     * Take {@code quantity} units from a bucket if it still has them
+     *
+     * @return The bucket after the change, or null when it has fewer units available
+     */
+    public SlotBucket tryTake(String bucketId, int quantity) {
+        return mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(bucketId).and("available").gte(quantity)),
+                new Update().inc("available", -quantity).inc("reserved", quantity),
+                FindAndModifyOptions.options().returnNew(true),
+                SlotBucket.class);
+    }
+
+    /**
+     * Return {@code quantity} previously taken units to a bucket
+     *
+     * @return The bucket after the change, or null when it does not hold that many reserved units
+     */
+    public SlotBucket giveBack(String bucketId, int quantity) {
+        return mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(bucketId).and("reserved").gte(quantity)),
+                new Update().inc("available", quantity).inc("reserved", -quantity),
+                FindAndModifyOptions.options().returnNew(true),
+                SlotBucket.class);
+    }
+
+    /**
+     * Confirm a reservation whose hold has not expired
+     *
+     * @return The confirmed reservation, or null when it is not held (anymore)
+     */
+    public SlotReservation confirm(String reservationId, Instant now) {
+        return mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(reservationId)
+                        .and("status").is(ReservationStatus.HELD)
+                        .and("holdExpiresAt").gt(now)),
+                new Update().set("status", ReservationStatus.CONFIRMED).unset("holdExpiresAt").currentDate("updatedAt"),
+                FindAndModifyOptions.options().returnNew(true),
+                SlotReservation.class);
+    }
+
+    /**
+     * Release a held or confirmed reservation
+     *
+     * @return The reservation as it was before, or null when it was not held or confirmed
+     */
+    public SlotReservation release(String reservationId) {
+        return mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(reservationId)
+                        .and("status").in(ReservationStatus.HELD, ReservationStatus.CONFIRMED)),
+                new Update().set("status", ReservationStatus.RELEASED).unset("holdExpiresAt").currentDate("updatedAt"),
+                SlotReservation.class);
+    }
+
+    /**
+     * Expire a reservation whose hold ran out
+     *
+     * @return The reservation as it was before, or null when another caller confirmed, released
+     * or expired it first
+     */
+    public SlotReservation expire(String reservationId, Instant now) {
+        return mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(reservationId)
+                        .and("status").is(ReservationStatus.HELD)
+                        .and("holdExpiresAt").lte(now)),
+                new Update().set("status", ReservationStatus.EXPIRED).unset("holdExpiresAt").currentDate("updatedAt"),
+                SlotReservation.class);
+    }
+
+    /**
+     * Ids of up to {@code limit} reservations whose hold ran out
+     */
+    public List<String> findExpiredHolds(Instant now, int limit) {
+        Query query = Query.query(Criteria.where("status").is(ReservationStatus.HELD).and("holdExpiresAt").lte(now))
+                .with(Sort.by("holdExpiresAt"))
+                .limit(limit);
+        query.fields().include("_id");
+        return mongoTemplate.find(query, SlotReservation.class).stream().map(SlotReservation::getId).toList();
+    }
+}
@@ -0,0 +1,117 @@
+package com.foodopia.scheduling.jobs;
+
+import com.foodopia.scheduling.config.ScheduleJobProperties;
+import com.foodopia.scheduling.entity.ScheduleJobCheckpoint;
+import com.foodopia.scheduling.entity.ScheduledMeal;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Testcontainers(disabledWithoutDocker = true)
+class WeeklyScheduleJobTests {
+
+    private static final String CUSTOMER_DATABASE = "customer_test";
+    private static final LocalDate WEEK = LocalDate.of(2030, 1, 7);
+    private static final int SUBSCRIPTIONS = 5_000;
+
+    @Container
+    static final MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:6.0");
+
+    private static MongoClient mongoClient;
+    private static MongoTemplate mongoTemplate;
+    private static MongoTemplate customerTemplate;
+
+    private WeeklyScheduleJob job;
+
+    @BeforeAll
+    static void connect() {
+        mongoClient = MongoClients.create(mongoDBContainer.getReplicaSetUrl());
+        mongoTemplate = new MongoTemplate(mongoClient, "scheduling_test");
+        customerTemplate = new MongoTemplate(mongoClient, CUSTOMER_DATABASE);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        mongoClient.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.getDb().drop();
+        customerTemplate.getDb().drop();
+        List<Document> subscriptions = new ArrayList<>(SUBSCRIPTIONS + 100);
+        Date started = Date.from(WEEK.minusMonths(1).atStartOfDay(ZoneId.systemDefault()).toInstant());
+        for (int i = 0; i < SUBSCRIPTIONS; i++) {
+            subscriptions.add(new Document("user_id", String.format("user-%06d", i))
+                    .append("plan_code", "FAMILY")
+                    .append("meals_per_month", 30)
+                    .append("status", "ACTIVE")
+                    .append("start_date", started));
+        }
+        for (int i = 0; i < 100; i++) {
+            subscriptions.add(new Document("user_id", String.format("paused-%04d", i))
+                    .append("meals_per_month", 30)
+                    .append("status", "PAUSED")
+                    .append("start_date", started));
+        }
+        customerTemplate.getCollection(WeeklyScheduleJob.SUBSCRIPTIONS).insertMany(subscriptions);
+        job = new WeeklyScheduleJob(mongoTemplate, mongoClient, new ScheduleJobProperties(CUSTOMER_DATABASE, 4, 500, 200));
+    }
+
+    @AfterEach
+    void tearDown() {
+        job.shutdown();
+    }
+
+    @Test
+    void generatesOneMealPerDayForEveryActiveSubscription() throws Exception {
+        job.run(WEEK);
+
+        assertEquals(SUBSCRIPTIONS * 7L, mongoTemplate.count(new Query(), ScheduledMeal.class));
+        List<ScheduleJobCheckpoint> checkpoints = job.findCheckpoints(WEEK);
+        assertEquals(4, checkpoints.size());
+        assertTrue(checkpoints.stream().allMatch(ScheduleJobCheckpoint::isCompleted));
+        assertEquals(SUBSCRIPTIONS, checkpoints.stream().mapToLong(ScheduleJobCheckpoint::getSubscriptions).sum());
+    }
+
+    @Test
+    void resumesAfterACrashWithoutDuplicates() throws Exception {
+        job.run(WEEK);
+        // Pretend partition 1 died after its first chunk, with later chunks partly written
+        ScheduleJobCheckpoint partition = job.findCheckpoints(WEEK).get(1);
+        String resumeAfter = partition.getLowerUserId();
+        long mealsBefore = mongoTemplate.count(Query.query(Criteria.where("user_id").lte(resumeAfter)
+                .gte(partition.getLowerUserId())), ScheduledMeal.class);
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(partition.getId())), new Update()
+                .set("completed", false).set("last_user_id", resumeAfter)
+                .set("subscriptions", 1).set("scheduled_meals", mealsBefore), ScheduleJobCheckpoint.class);
+        mongoTemplate.remove(Query.query(Criteria.where("user_id").gt(resumeAfter)
+                .lt(partition.getUpperUserId())).limit(1_000), ScheduledMeal.class);
+
+        job.run(WEEK);
+
+        assertEquals(SUBSCRIPTIONS * 7L, mongoTemplate.count(new Query(), ScheduledMeal.class));
+        assertTrue(job.findCheckpoints(WEEK).stream().allMatch(ScheduleJobCheckpoint::isCompleted));
+    }
+}
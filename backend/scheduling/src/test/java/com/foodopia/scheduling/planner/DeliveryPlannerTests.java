@@ -0,0 +1,106 @@
+package com.foodopia.scheduling.planner;
+
+import com.foodopia.scheduling.config.PlannerProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeliveryPlannerTests {
+
+    private static final int WINDOWS = 3;
+    private static final int VEHICLE_CAPACITY = 40;
+    private static final int ROUTES_PER_WINDOW = 25;
+
+    private final DeliveryPlanner planner = new DeliveryPlanner(
+            new PlannerProperties(0, Duration.ofSeconds(2), VEHICLE_CAPACITY, ROUTES_PER_WINDOW, List.of()));
+
+    @AfterEach
+    void tearDown() {
+        planner.shutdown();
+    }
+
+    @Test
+    void plansTenThousandDeliveriesWithinCapacities() {
+        List<PlannerDelivery> deliveries = deliveries(10_000, 8, 42);
+
+        long start = System.nanoTime();
+        DeliveryPlanResult result = planner.plan(deliveries, WINDOWS, VEHICLE_CAPACITY, ROUTES_PER_WINDOW);
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertTrue(elapsedMillis < 5_000, "Planning took " + elapsedMillis + " ms");
+        assertTrue(result.unassignedIds().isEmpty());
+
+        Set<String> planned = new HashSet<>();
+        Map<String, Integer> routesPerRegionWindow = new HashMap<>();
+        for (PlannedRoute route : result.routes()) {
+            assertTrue(route.deliveryIds().size() <= VEHICLE_CAPACITY);
+            for (String id : route.deliveryIds()) {
+                assertTrue(planned.add(id), "Delivery " + id + " planned twice");
+            }
+            routesPerRegionWindow.merge(route.region() + "/" + route.window(), 1, Integer::sum);
+        }
+        assertEquals(deliveries.size(), planned.size());
+        routesPerRegionWindow.values().forEach(count -> assertTrue(count <= ROUTES_PER_WINDOW));
+
+        Map<String, Integer> preferredWindow = new HashMap<>();
+        deliveries.forEach(delivery -> preferredWindow.put(delivery.id(), delivery.preferredWindow()));
+        for (PlannedRoute route : result.routes()) {
+            for (String id : route.deliveryIds()) {
+                int preferred = preferredWindow.get(id);
+                assertTrue(preferred < 0 || preferred == route.window(), "Preferred window ignored for " + id);
+            }
+        }
+    }
+
+    @Test
+    void leavesDeliveriesBeyondCapacityUnassigned() {
+        List<PlannerDelivery> deliveries = deliveries(500, 1, 7);
+
+        DeliveryPlanResult result = planner.plan(deliveries, 2, 10, 10);
+
+        assertEquals(300, result.unassignedIds().size());
+        int planned = result.routes().stream().mapToInt(route -> route.deliveryIds().size()).sum();
+        assertEquals(200, planned);
+    }
+
+    @Test
+    void localSearchDoesNotLengthenRoutes() {
+        List<PlannerDelivery> deliveries = deliveries(1_000, 1, 11);
+        DeliveryPlanner greedyOnly = new DeliveryPlanner(
+                new PlannerProperties(1, Duration.ZERO, VEHICLE_CAPACITY, ROUTES_PER_WINDOW, List.of()));
+        try {
+            double greedy = greedyOnly.plan(deliveries, WINDOWS, VEHICLE_CAPACITY, ROUTES_PER_WINDOW).totalDistanceKm();
+            double improved = planner.plan(deliveries, WINDOWS, VEHICLE_CAPACITY, ROUTES_PER_WINDOW).totalDistanceKm();
+            assertTrue(improved <= greedy, "Improved " + improved + " km vs greedy " + greedy + " km");
+        } finally {
+            greedyOnly.shutdown();
+        }
+    }
+
+    /**
+     * Deliveries scattered around per-region city centres, a quarter of them with a preferred window
+     */
+    private static List<PlannerDelivery> deliveries(int count, int regions, long seed) {
+        Random random = new Random(seed);
+        List<PlannerDelivery> deliveries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int region = i % regions;
+            double latitude = 40.0 + region * 0.5 + random.nextGaussian() * 0.05;
+            double longitude = -74.0 + region * 0.5 + random.nextGaussian() * 0.05;
+            int preferred = random.nextInt(4) == 0 ? random.nextInt(WINDOWS) : -1;
+            deliveries.add(new PlannerDelivery("c" + i, "region-" + region, latitude, longitude, preferred));
+        }
+        return deliveries;
+    }
+}
@@ -0,0 +1,193 @@
+package com.foodopia.scheduling.slots;
+
+import com.foodopia.scheduling.config.SlotProperties;
+import com.foodopia.scheduling.dto.SlotReservationDto;
+import com.foodopia.scheduling.dto.SlotReservationRequestDto;
+import com.foodopia.scheduling.entity.SlotBucket;
+import com.foodopia.scheduling.entity.SlotReservation;
+import com.foodopia.scheduling.entity.enums.ReservationStatus;
+import com.foodopia.scheduling.entity.enums.SlotType;
+import com.foodopia.scheduling.exception.SlotUnavailableException;
+import com.foodopia.scheduling.repository.SlotReservationRepository;
+import com.foodopia.scheduling.service.impl.SlotReservationServiceImpl;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Hammers one bucket from many threads through two independent service instances - as two
+ * scheduling instances would - and checks that exactly the capacity is handed out
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class SlotReservationStressTests {
+
+    private static final int CAPACITY = 50;
+    private static final int THREADS = 32;
+    private static final int ATTEMPTS_PER_THREAD = 20;
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 15);
+    private static final LocalTime START = LocalTime.of(12, 0);
+
+    @Container
+    static final MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:6.0");
+
+    private static MongoClient mongoClient;
+    private static MongoTemplate mongoTemplate;
+
+    private SlotReservationServiceImpl instanceA;
+    private SlotReservationServiceImpl instanceB;
+
+    @BeforeAll
+    static void connect() {
+        mongoClient = MongoClients.create(mongoDBContainer.getReplicaSetUrl());
+        mongoTemplate = new MongoTemplate(mongoClient, "slot_stress_test");
+    }
+
+    @AfterAll
+    static void disconnect() {
+        mongoClient.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.getDb().drop();
+        instanceA = newInstance(Duration.ofMinutes(10));
+        instanceB = newInstance(Duration.ofMinutes(10));
+    }
+
+    @Test
+    void concurrentReservationsNeverOverbook() throws Exception {
+        List<SlotReservationDto> reservations = reserveConcurrently(THREADS * ATTEMPTS_PER_THREAD);
+
+        assertEquals(CAPACITY, reservations.size());
+        assertBucket(0, CAPACITY);
+        assertEquals(CAPACITY, countReservations(ReservationStatus.HELD));
+    }
+
+    @Test
+    void releasedUnitsAreReservedAgainWithoutOverbooking() throws Exception {
+        List<SlotReservationDto> reservations = reserveConcurrently(CAPACITY);
+        assertEquals(CAPACITY, reservations.size());
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> releases = new ArrayList<>();
+            for (int i = 0; i < CAPACITY / 2; i++) {
+                String reservationId = reservations.get(i).getId();
+                SlotReservationServiceImpl service = i % 2 == 0 ? instanceA : instanceB;
+                releases.add(executor.submit(() -> service.release(reservationId)));
+            }
+            for (Future<?> release : releases) {
+                release.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertBucket(CAPACITY / 2, CAPACITY / 2);
+
+        // Let the cached "full" snapshots age out, as they would between customers
+        Thread.sleep(150);
+        List<SlotReservationDto> again = reserveConcurrently(THREADS * ATTEMPTS_PER_THREAD);
+        assertEquals(CAPACITY / 2, again.size());
+        assertBucket(0, CAPACITY);
+        assertEquals(CAPACITY, countReservations(ReservationStatus.HELD));
+    }
+
+    @Test
+    void expiredHoldsAreGivenBack() throws Exception {
+        SlotReservationServiceImpl shortHolds = newInstance(Duration.ofMillis(1));
+        for (int i = 0; i < 10; i++) {
+            shortHolds.reserve(request("user-" + i));
+        }
+        Thread.sleep(20);
+
+        int expired = instanceA.expireHolds(Instant.now(), 100) + instanceB.expireHolds(Instant.now(), 100);
+
+        assertEquals(10, expired);
+        assertBucket(CAPACITY, 0);
+        assertEquals(10, countReservations(ReservationStatus.EXPIRED));
+    }
+
+    private List<SlotReservationDto> reserveConcurrently(int attempts) throws InterruptedException {
+        List<SlotReservationDto> reservations = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger remaining = new AtomicInteger(attempts);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            SlotReservationServiceImpl service = t % 2 == 0 ? instanceA : instanceB;
+            int thread = t;
+            executor.submit(() -> {
+                start.await();
+                while (remaining.getAndDecrement() > 0) {
+                    try {
+                        reservations.add(service.reserve(request("user-" + thread)));
+                    } catch (SlotUnavailableException e) {
+                        // Expected once the bucket is full
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        return reservations;
+    }
+
+    private void assertBucket(int available, int reserved) {
+        SlotBucket bucket = mongoTemplate.findById(SlotStore.bucketId(DATE, SlotType.DELIVERY, START), SlotBucket.class);
+        assertNotNull(bucket);
+        assertEquals(available, bucket.getAvailable());
+        assertEquals(reserved, bucket.getReserved());
+        assertEquals(CAPACITY, bucket.getCapacity());
+    }
+
+    private long countReservations(ReservationStatus status) {
+        return mongoTemplate.count(Query.query(Criteria.where("status").is(status)), SlotReservation.class);
+    }
+
+    private static SlotReservationRequestDto request(String userId) {
+        SlotReservationRequestDto request = new SlotReservationRequestDto();
+        request.setDate(DATE);
+        request.setSlotType(SlotType.DELIVERY);
+        request.setStartTime(START);
+        request.setUserId(userId);
+        return request;
+    }
+
+    private static SlotReservationServiceImpl newInstance(Duration holdTtl) {
+        SlotProperties properties = new SlotProperties(Duration.ofMinutes(30), LocalTime.of(10, 0),
+                LocalTime.of(22, 0), CAPACITY, CAPACITY, holdTtl, Duration.ofSeconds(30), 500,
+                Duration.ofMillis(100), 16);
+        SlotReservationRepository repository = new MongoRepositoryFactory(mongoTemplate)
+                .getRepository(SlotReservationRepository.class);
+        return new SlotReservationServiceImpl(new SlotStore(mongoTemplate, properties),
+                new SlotCapacityCache(properties), repository, properties);
+    }
+}